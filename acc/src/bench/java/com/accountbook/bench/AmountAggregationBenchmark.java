@@ -0,0 +1,107 @@
+package com.accountbook.bench;
+
+import com.accountbook.util.AmountColumns;
+import com.accountbook.util.CategoryManager;
+import com.accountbook.util.LedgerGenerator;
+import java.io.PrintStream;
+import java.time.LocalDate;
+
+/**
+ * 금액 합계 벤치마크입니다. 생성기(LedgerGenerator)로 만든 항목의 열 배열(AmountColumns)에서
+ * 조건별(전체, 날짜 범위, 카테고리, 날짜 범위 + 카테고리) 항목 수와 수입/지출 합계를 스칼라 반복문과
+ * 벡터 구현(jdk.incubator.vector)으로 구해 평균 시간과 배율을 출력합니다.
+ * 측정 전에 두 구현의 결과가 같은지 확인하고, 다르면 종료 코드 1로 끝납니다.
+ * 벡터 모듈 없이 실행하면 스칼라 시간만 출력합니다.
+ *
+ * 실행: java --add-modules jdk.incubator.vector -Xmx2g -cp <클래스 경로> com.accountbook.bench.AmountAggregationBenchmark
+ *       [크기 목록(쉼표 구분)]
+ */
+public class AmountAggregationBenchmark {
+
+    private static final String DEFAULT_SIZES = "10000,1000000,10000000";
+    private static final String CATEGORY = "Food";
+    // 한 번의 측정에서 훑을 최소 행 수 (작은 열은 여러 번 반복)
+    private static final long ROWS_PER_MEASUREMENT = 200_000_000;
+    private static final PrintStream CONSOLE = System.out;
+    private static volatile long sink;
+
+    private interface Aggregator {
+        AmountColumns.Totals sum(AmountColumns columns, LocalDate from, LocalDate to, String category);
+    }
+
+    public static void main(String[] args) {
+        String[] sizeArgs = (args.length > 0 ? args[0] : DEFAULT_SIZES).split(",");
+        CONSOLE.printf("최대 힙 %,d MB, 합계 구현 %s%n", Runtime.getRuntime().maxMemory() >> 20,
+            AmountColumns.getKernelName());
+        CONSOLE.printf("%11s %-22s %12s %12s %8s%n", "행 수", "조건", "스칼라", "벡터", "배율");
+
+        boolean vectorized = AmountColumns.isVectorized();
+        boolean mismatch = false;
+        for (String sizeArg : sizeArgs) {
+            int size = Integer.parseInt(sizeArg.trim());
+            LedgerGenerator.Spec spec = new LedgerGenerator.Spec(size);
+            AmountColumns columns = generate(spec);
+            // 생성 기간의 가운데 3분의 1
+            LocalDate windowStart = spec.startDate.plusDays(spec.days / 3);
+            LocalDate windowEnd = spec.startDate.plusDays(2 * spec.days / 3);
+            Object[][] filters = {
+                {"전체", null, null, null},
+                {"날짜 범위", windowStart, windowEnd, null},
+                {"카테고리", null, null, CATEGORY},
+                {"날짜 범위+카테고리", windowStart, windowEnd, CATEGORY},
+            };
+            for (Object[] filter : filters) {
+                String name = (String) filter[0];
+                LocalDate from = (LocalDate) filter[1];
+                LocalDate to = (LocalDate) filter[2];
+                String category = (String) filter[3];
+                Aggregator scalar = AmountColumns::sumScalar;
+                Aggregator vector = AmountColumns::sumVector;
+
+                if (vectorized && !scalar.sum(columns, from, to, category).equals(vector.sum(columns, from, to, category))) {
+                    CONSOLE.printf("%,11d %-22s 결과 불일치: 스칼라 %s, 벡터 %s%n", size, name,
+                        scalar.sum(columns, from, to, category), vector.sum(columns, from, to, category));
+                    mismatch = true;
+                    continue;
+                }
+                double scalarMillis = measure(scalar, columns, from, to, category);
+                if (!vectorized) {
+                    CONSOLE.printf("%,11d %-22s %10.3fms %12s %8s%n", size, name, scalarMillis, "-", "-");
+                    continue;
+                }
+                double vectorMillis = measure(vector, columns, from, to, category);
+                CONSOLE.printf("%,11d %-22s %10.3fms %10.3fms %7.1fx%n", size, name,
+                    scalarMillis, vectorMillis, scalarMillis / vectorMillis);
+            }
+        }
+        if (mismatch) {
+            System.exit(1);
+        }
+    }
+
+    private static AmountColumns generate(LedgerGenerator.Spec spec) {
+        CategoryManager categories = new CategoryManager();
+        LedgerGenerator generator = new LedgerGenerator(spec, categories);
+        AmountColumns.Builder builder = new AmountColumns.Builder((int) spec.rows, categories);
+        for (long i = 0; i < spec.rows; i++) {
+            builder.add(generator.next());
+        }
+        return builder.build();
+    }
+
+    /**
+     * 예열 후 합계 한 번의 평균 시간(ms)
+     */
+    private static double measure(Aggregator aggregator, AmountColumns columns, LocalDate from, LocalDate to,
+                                  String category) {
+        int repetitions = (int) Math.max(3, ROWS_PER_MEASUREMENT / Math.max(1, columns.size()));
+        for (int i = 0; i < repetitions; i++) {
+            sink += aggregator.sum(columns, from, to, category).count;
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < repetitions; i++) {
+            sink += aggregator.sum(columns, from, to, category).expense;
+        }
+        return (System.nanoTime() - started) / 1e6 / repetitions;
+    }
+}
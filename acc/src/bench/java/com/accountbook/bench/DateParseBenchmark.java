@@ -0,0 +1,108 @@
+package com.accountbook.bench;
+
+import com.accountbook.util.DateCodec;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+
+/**
+ * DateCodec과 기존 DateTimeFormatter(STRICT) 날짜 파싱을 비교하는 벤치마크입니다.
+ * 먼저 두 파서가 같은 결과(유효 날짜는 같은 에포크 일, 잘못된 날짜는 둘 다 예외)를 내는지 확인한 뒤
+ * 같은 입력 배열을 반복 파싱하여 건당 소요 시간을 출력합니다. 외부 라이브러리 없이 실행됩니다.
+ *
+ * 실행: java -cp <클래스 경로> com.accountbook.bench.DateParseBenchmark [반복 횟수]
+ */
+public class DateParseBenchmark {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("uuuu-MM-dd").withResolverStyle(ResolverStyle.STRICT);
+    private static final int WARMUP_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+
+        verify();
+
+        // 2025-10-02부터 약 10년치 날짜 (가계부 파일의 실제 분포와 비슷한 범위)
+        String[] inputs = new String[100_000];
+        LocalDate start = LocalDate.of(2025, 10, 2);
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = start.plusDays(i % 3_650).format(DATE_FORMATTER);
+        }
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            runFormatter(inputs);
+            runCodec(inputs);
+        }
+
+        long formatterNanos = 0;
+        long codecNanos = 0;
+        long checksum = 0;
+        for (int i = 0; i < rounds; i++) {
+            long t0 = System.nanoTime();
+            checksum += runFormatter(inputs);
+            long t1 = System.nanoTime();
+            checksum -= runCodec(inputs);
+            long t2 = System.nanoTime();
+            formatterNanos += t1 - t0;
+            codecNanos += t2 - t1;
+        }
+        if (checksum != 0) {
+            throw new IllegalStateException("두 파서의 결과 합계가 다릅니다: " + checksum);
+        }
+
+        long parses = (long) inputs.length * rounds;
+        double formatterPerParse = (double) formatterNanos / parses;
+        double codecPerParse = (double) codecNanos / parses;
+        System.out.printf("입력 %,d건 x %d회%n", inputs.length, rounds);
+        System.out.printf("DateTimeFormatter(STRICT): %8.1f ns/건%n", formatterPerParse);
+        System.out.printf("DateCodec                : %8.1f ns/건 (%.1f배)%n", codecPerParse, formatterPerParse / codecPerParse);
+    }
+
+    private static long runFormatter(String[] inputs) {
+        long sum = 0;
+        for (String input : inputs) {
+            sum += LocalDate.parse(input, DATE_FORMATTER).toEpochDay();
+        }
+        return sum;
+    }
+
+    private static long runCodec(String[] inputs) {
+        long sum = 0;
+        for (String input : inputs) {
+            sum += DateCodec.parseEpochDay(input);
+        }
+        return sum;
+    }
+
+    // 모든 날짜와 대표적인 잘못된 입력에 대해 두 파서의 판정이 같은지 확인
+    private static void verify() {
+        for (LocalDate d = LocalDate.of(1600, 1, 1); d.getYear() < 2500; d = d.plusDays(1)) {
+            String text = d.format(DATE_FORMATTER);
+            if (DateCodec.parseEpochDay(text) != d.toEpochDay()) {
+                throw new IllegalStateException("에포크 일 불일치: " + text);
+            }
+        }
+        String[] invalid = {
+            "2025-02-29", "2024-02-30", "2100-02-29", "2025-04-31", "2025-13-01", "2025-00-10",
+            "2025-01-00", "2025-1-01", "2025/01/01", "25-01-01", "2025-01-011", "2025-0a-01", " 2025-01-01", ""
+        };
+        for (String text : invalid) {
+            boolean formatterRejects = rejects(() -> LocalDate.parse(text, DATE_FORMATTER));
+            boolean codecRejects = rejects(() -> DateCodec.parseEpochDay(text));
+            if (!formatterRejects || !codecRejects) {
+                throw new IllegalStateException("잘못된 날짜 판정 불일치: \"" + text + "\"");
+            }
+        }
+        System.out.println("검증 완료: 1600~2499년 전체 날짜와 잘못된 입력 " + invalid.length + "건 일치");
+    }
+
+    private static boolean rejects(Runnable parse) {
+        try {
+            parse.run();
+            return false;
+        } catch (DateTimeParseException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.accountbook.bench;
+
+import com.accountbook.model.LedgerItem;
+import com.accountbook.util.CategoryManager;
+import com.accountbook.util.CsvFileHandler;
+import com.accountbook.util.FileFormat;
+import com.accountbook.util.JsonFileHandler;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 가계부 파일 핸들러의 saveToFile/loadFromFile 벤치마크입니다.
+ * FileFormat의 모든 형식을 행 수별(기본 1천, 10만, 1천만 행)로 저장하고 불러와 처리량(행/초, MB/초)과
+ * 할당량(행당 바이트, 할당 속도), GC 횟수를 출력합니다. 외부 라이브러리 없이 실행됩니다.
+ * 할당량은 HotSpot의 스레드별 할당 계수(com.sun.management.ThreadMXBean)를 모든 스레드에 대해 합산한 값입니다
+ * (큰 파일을 병렬로 검증하는 스레드 포함).
+ * 메모리가 모자란 조합(예: 1천만 행 JSON은 파일 전체를 문자열로 만듦)은 건너뛰고 표시합니다.
+ *
+ * 실행: java -Xmx4g -cp <클래스 경로> com.accountbook.bench.FileIoBenchmark [행 수 목록(쉼표 구분)] [측정 횟수]
+ */
+public class FileIoBenchmark {
+
+    private static final String DEFAULT_SIZES = "1000,100000,10000000";
+    // 한 번의 측정에서 처리할 최소 행 수 (작은 파일은 여러 번 반복)
+    private static final long ROWS_PER_MEASUREMENT = 1_000_000;
+    // 이보다 큰 파일은 예열을 생략 (측정 자체가 충분히 김)
+    private static final int WARMUP_MAX_ROWS = 1_000_000;
+    private static final String[] DESCRIPTIONS = {
+        "점심 식사", "편의점 간식", "지하철 교통카드 충전", "월세 이체", "넷플릭스 구독료", "마트 장보기",
+        "카페 아메리카노", "택시 귀가", "친구 생일 선물", "전기 요금 납부", "온라인 쇼핑 의류", "헬스장 월 회비",
+        "11월 급여", "중고거래 판매 대금", "영화 관람", "주말 등산 간식", "병원 진료비", "책 구입",
+        "가스 요금", "동생에게 송금"
+    };
+    private static final PrintStream CONSOLE = System.out;
+    private static final PrintStream SILENT = new PrintStream(OutputStream.nullOutputStream());
+
+    /**
+     * 형식별 저장/불러오기
+     */
+    private interface FormatIo {
+        void save(String fileName, List<LedgerItem> items) throws IOException;
+
+        List<LedgerItem> load(String fileName);
+    }
+
+    public static void main(String[] args) throws IOException {
+        String[] sizes = (args.length > 0 ? args[0] : DEFAULT_SIZES).split(",");
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        Path directory = Files.createTempDirectory("ledger-file-bench");
+        CONSOLE.printf("최대 힙 %,d MB, 측정 %d회 평균%n", Runtime.getRuntime().maxMemory() >> 20, rounds);
+        CONSOLE.printf("%-4s %11s %-4s %10s %13s %9s %10s %12s %10s%n",
+            "형식", "행", "작업", "ms/회", "행/초", "MB/초", "할당 B/행", "할당 MB/초", "GC 회/ms");
+        try {
+            for (String size : sizes) {
+                int rows = Integer.parseInt(size.trim());
+                List<LedgerItem> items = generate(rows, 42);
+                for (FileFormat format : FileFormat.values()) {
+                    String fileName = directory.resolve("bench_" + rows + "." + format.getExtension()).toString();
+                    try {
+                        run(format, ioFor(format), fileName, items, rounds);
+                    } catch (OutOfMemoryError e) {
+                        System.setOut(CONSOLE);
+                        CONSOLE.printf("%-4s %,11d      메모리 부족으로 건너뜀 (-Xmx를 늘리세요)%n", format.getExtension(), rows);
+                    } finally {
+                        new File(fileName).delete();
+                    }
+                }
+                items = null;
+            }
+        } finally {
+            System.setOut(CONSOLE);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    // 새 FileFormat이 추가되면 이 switch가 컴파일되지 않으므로 벤치마크에도 반드시 추가됨
+    private static FormatIo ioFor(FileFormat format) {
+        return switch (format) {
+            case CSV -> new FormatIo() {
+                public void save(String fileName, List<LedgerItem> items) throws IOException {
+                    check(new CsvFileHandler(fileName).saveToFile(items), fileName);
+                }
+
+                public List<LedgerItem> load(String fileName) {
+                    return new CsvFileHandler(fileName).loadFromFile();
+                }
+            };
+            case JSON -> new FormatIo() {
+                public void save(String fileName, List<LedgerItem> items) throws IOException {
+                    check(new JsonFileHandler(fileName).saveToFile(items), fileName);
+                }
+
+                public List<LedgerItem> load(String fileName) {
+                    return new JsonFileHandler(fileName).loadFromFile();
+                }
+            };
+        };
+    }
+
+    private static void check(boolean saved, String fileName) throws IOException {
+        if (!saved) {
+            throw new IOException("저장 실패: " + fileName);
+        }
+    }
+
+    private static void run(FileFormat format, FormatIo io, String fileName, List<LedgerItem> items, int rounds)
+            throws IOException {
+        int rows = items.size();
+        int repeat = (int) Math.max(1, ROWS_PER_MEASUREMENT / Math.max(rows, 1));
+
+        // 저장한 파일을 다시 불러와 내용이 같은지 먼저 확인 (측정 대상이 올바르게 동작하는지)
+        System.setOut(SILENT);
+        io.save(fileName, items);
+        List<LedgerItem> loaded = io.load(fileName);
+        System.setOut(CONSOLE);
+        if (checksum(loaded) != checksum(items)) {
+            throw new IllegalStateException(format + " 저장 후 불러온 내용이 다릅니다 (" + loaded.size() + "/" + rows + "행)");
+        }
+        loaded = null;
+        long fileBytes = new File(fileName).length();
+
+        if (rows <= WARMUP_MAX_ROWS) {
+            measure(() -> io.save(fileName, items), repeat);
+            measure(() -> io.load(fileName), repeat);
+        }
+        Result save = new Result();
+        Result load = new Result();
+        for (int i = 0; i < rounds; i++) {
+            save.add(measure(() -> io.save(fileName, items), repeat));
+            load.add(measure(() -> io.load(fileName), repeat));
+        }
+        print(format, rows, "저장", save, repeat, fileBytes);
+        print(format, rows, "읽기", load, repeat, fileBytes);
+    }
+
+    private interface Operation {
+        void run() throws IOException;
+    }
+
+    /**
+     * 한 번의 측정 결과 (repeat회 합계)
+     */
+    private static class Result {
+        long nanos;
+        long allocatedBytes;
+        long gcCount;
+        long gcMillis;
+        int measurements;
+
+        void add(Result other) {
+            nanos += other.nanos;
+            allocatedBytes += other.allocatedBytes;
+            gcCount += other.gcCount;
+            gcMillis += other.gcMillis;
+            measurements++;
+        }
+    }
+
+    private static Result measure(Operation operation, int repeat) throws IOException {
+        System.setOut(SILENT);
+        try {
+            Result result = new Result();
+            long allocatedBefore = allocatedBytes();
+            long gcCountBefore = gcCount();
+            long gcMillisBefore = gcMillis();
+            long start = System.nanoTime();
+            for (int i = 0; i < repeat; i++) {
+                operation.run();
+            }
+            result.nanos = System.nanoTime() - start;
+            result.allocatedBytes = allocatedBytes() - allocatedBefore;
+            result.gcCount = gcCount() - gcCountBefore;
+            result.gcMillis = gcMillis() - gcMillisBefore;
+            return result;
+        } finally {
+            System.setOut(CONSOLE);
+        }
+    }
+
+    private static void print(FileFormat format, int rows, String operation, Result result, int repeat, long fileBytes) {
+        double operations = (double) result.measurements * repeat;
+        double seconds = result.nanos / 1e9;
+        CONSOLE.printf("%-4s %,11d %-4s %10.2f %,13.0f %9.1f %10.1f %12.1f %5.1f/%.0f%n",
+            format.getExtension(), rows, operation,
+            result.nanos / 1e6 / operations,
+            rows * operations / seconds,
+            fileBytes * operations / seconds / (1 << 20),
+            result.allocatedBytes / (rows * operations),
+            result.allocatedBytes / seconds / (1 << 20),
+            result.gcCount / (double) result.measurements, result.gcMillis / (double) result.measurements);
+    }
+
+    // ====== 데이터 ======
+
+    /**
+     * 검증 규칙을 통과하는 항목을 만듭니다 (2025-10-02부터 약 3년, 지출 85%, 고정 카테고리, 한글 설명).
+     */
+    static List<LedgerItem> generate(int rows, long seed) {
+        Random random = new Random(seed);
+        List<String> categories = CategoryManager.getFixedCategories();
+        LocalDate[] dates = new LocalDate[1_095];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = LocalDate.of(2025, 10, 2).plusDays(i);
+        }
+        List<LedgerItem> items = new ArrayList<>(rows);
+        for (int id = 1; id <= rows; id++) {
+            boolean expense = random.nextInt(100) < 85;
+            int amount = expense ? 1_000 + random.nextInt(200_000) : 100_000 + random.nextInt(4_000_000);
+            items.add(new LedgerItem(id, expense ? " 지출 (-)" : "수입 (+)", dates[random.nextInt(dates.length)],
+                expense ? -amount : amount, categories.get(random.nextInt(categories.size())),
+                random.nextInt(10) == 0 ? null : DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)]));
+        }
+        return items;
+    }
+
+    private static long checksum(List<LedgerItem> items) {
+        long sum = items.size();
+        for (LedgerItem item : items) {
+            sum = sum * 31 + item.getId();
+            sum = sum * 31 + item.getAmount();
+            sum = sum * 31 + item.getDate().toEpochDay();
+            sum = sum * 31 + item.getCategory().hashCode();
+            sum = sum * 31 + (item.getDescription() != null ? item.getDescription().hashCode() : 0);
+            sum = sum * 31 + (item.isExpense() ? 1 : 0);
+        }
+        return sum;
+    }
+
+    // ====== 측정 도구 ======
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long sum = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (bytes > 0) {
+                sum += bytes;
+            }
+        }
+        return sum;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+}
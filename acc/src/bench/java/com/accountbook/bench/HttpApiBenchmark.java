@@ -0,0 +1,173 @@
+package com.accountbook.bench;
+
+import com.accountbook.model.LedgerItem;
+import com.accountbook.service.LedgerService;
+import com.accountbook.ui.HttpApiServer;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 내장 HTTP API 서버의 조회 처리량을 측정하는 부하 테스트입니다.
+ * 임시 디렉터리의 가계부로 서버를 같은 프로세스에서 띄우고, 여러 클라이언트 스레드가
+ * 단건/날짜 범위/월 요약 조회를 섞어 보내는 동안의 초당 요청 수와 지연 시간 분포를 출력합니다.
+ * 클라이언트 쪽 부담이 측정을 흐리지 않도록 각 클라이언트는 연결 하나를 유지(keep-alive)하며
+ * HTTP/1.1 요청을 소켓에 직접 씁니다. 외부 서비스나 라이브러리 없이 실행됩니다.
+ *
+ * 실행: java -cp <클래스 경로> com.accountbook.bench.HttpApiBenchmark [클라이언트 수] [측정 초] [항목 수]
+ */
+public class HttpApiBenchmark {
+
+    private static final long WARMUP_NANOS = 2_000_000_000L;
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int itemCount = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+
+        File dir = Files.createTempDirectory("ledger-http-bench").toFile();
+        LedgerService ledgerService = new LedgerService(new File(dir, "bench.csv").getPath());
+        ledgerService.addItems(seedItems(itemCount));
+
+        HttpApiServer server = new HttpApiServer(ledgerService, 0);
+        server.start();
+        int port = server.getPort();
+        System.out.printf("서버 실행기: %s, 클라이언트 %d개, %d초, 항목 %,d건%n",
+            server.getExecutorDescription(), clients, seconds, itemCount);
+
+        runClients(port, clients, WARMUP_NANOS, itemCount);
+
+        long[][] latencies = runClients(port, clients, seconds * 1_000_000_000L, itemCount);
+        int total = 0;
+        for (long[] perClient : latencies) {
+            total += perClient.length;
+        }
+        long[] all = new long[total];
+        int pos = 0;
+        for (long[] perClient : latencies) {
+            System.arraycopy(perClient, 0, all, pos, perClient.length);
+            pos += perClient.length;
+        }
+        Arrays.sort(all);
+
+        System.out.printf("요청 %,d건, %,.0f 요청/초%n", total, total / (double) seconds);
+        System.out.printf("지연 시간 p50 %.2f ms, p99 %.2f ms, 최대 %.2f ms%n",
+            percentile(all, 0.50), percentile(all, 0.99), all.length > 0 ? all[all.length - 1] / 1e6 : 0.0);
+
+        server.stop(0);
+        for (File file : dir.listFiles()) {
+            file.delete();
+        }
+        dir.delete();
+    }
+
+    private static List<LedgerItem> seedItems(int count) {
+        List<LedgerItem> items = new ArrayList<>(count);
+        String[] categories = {"Food", "Transport", "Living", "Shopping", "Transfer", "Hobby"};
+        LocalDate start = LocalDate.of(2025, 10, 2);
+        for (int i = 0; i < count; i++) {
+            int amount = 1_000 + (i * 37) % 50_000;
+            items.add(new LedgerItem(0, " 지출 (-)", start.plusDays(i % 365), -amount, categories[i % categories.length], "item " + i));
+        }
+        return items;
+    }
+
+    // 각 클라이언트가 주어진 시간 동안 요청을 보내고 요청별 지연 시간(ns)을 반환
+    private static long[][] runClients(int port, int clients, long durationNanos, int itemCount) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        List<Future<long[]>> futures = new ArrayList<>();
+        long deadline = System.nanoTime() + durationNanos;
+        for (int c = 0; c < clients; c++) {
+            futures.add(pool.submit(() -> {
+                try (Socket socket = new Socket("localhost", port)) {
+                    socket.setTcpNoDelay(true);
+                    OutputStream out = socket.getOutputStream();
+                    InputStream in = new BufferedInputStream(socket.getInputStream());
+                    long[] samples = new long[1024];
+                    int n = 0;
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        String path;
+                        int kind = random.nextInt(10);
+                        if (kind < 7) {
+                            path = "/api/items/" + (1 + random.nextInt(itemCount));
+                        } else if (kind < 9) {
+                            LocalDate from = LocalDate.of(2025, 10, 2).plusDays(random.nextInt(350));
+                            path = "/api/items?from=" + from + "&to=" + from.plusDays(7);
+                        } else {
+                            path = "/api/summary?month=2025-1" + random.nextInt(3);
+                        }
+                        long t0 = System.nanoTime();
+                        out.write(("GET " + path + " HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                        out.flush();
+                        int status = readResponse(in);
+                        long elapsed = System.nanoTime() - t0;
+                        if (status != 200) {
+                            throw new IllegalStateException(path + " -> " + status);
+                        }
+                        if (n == samples.length) {
+                            samples = Arrays.copyOf(samples, n * 2);
+                        }
+                        samples[n++] = elapsed;
+                    }
+                    return Arrays.copyOf(samples, n);
+                }
+            }));
+        }
+        long[][] result = new long[clients][];
+        for (int c = 0; c < clients; c++) {
+            result[c] = futures.get(c).get();
+        }
+        pool.shutdown();
+        return result;
+    }
+
+    // 응답 하나를 끝까지 읽고 상태 코드를 반환 (Content-Length 기준)
+    private static int readResponse(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int status = -1;
+        int contentLength = 0;
+        while (true) {
+            int c = in.read();
+            if (c < 0) {
+                throw new IOException("연결이 끊어졌습니다.");
+            }
+            if (c != '\n') {
+                if (c != '\r') line.append((char) c);
+                continue;
+            }
+            if (line.length() == 0) {
+                break; // 헤더 끝
+            }
+            String header = line.toString();
+            if (status < 0) {
+                status = Integer.parseInt(header.substring(9, 12));
+            } else if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                contentLength = Integer.parseInt(header.substring(15).trim());
+            }
+            line.setLength(0);
+        }
+        in.readNBytes(contentLength);
+        return status;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+    }
+}
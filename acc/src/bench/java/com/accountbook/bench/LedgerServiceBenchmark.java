@@ -0,0 +1,278 @@
+package com.accountbook.bench;
+
+import com.accountbook.model.LedgerItem;
+import com.accountbook.service.LedgerService;
+import com.accountbook.util.CategoryManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * LedgerService의 메모리 내 조회/변경 연산 벤치마크와 규모 증가 회귀 검사입니다.
+ * 가계부 크기(기본 1천~1백만 항목)마다 연산별 건당 시간을 재고, 가장 작은 크기와 가장 큰 크기 사이의
+ * 증가 기울기(log 시간 / log 크기)가 연산마다 정한 복잡도 한도를 넘으면 회귀로 보고 종료 코드 1로 끝납니다
+ * (예: ID 조회가 O(1)에서 O(n)으로 바뀌면 기울기가 약 0에서 약 1이 됨).
+ *
+ * 파일 저장은 자동 저장을 끄고(setAutoSave(false)) 임시 디렉터리의 빈 가계부로 시작해 제외합니다.
+ * 조회는 결과 캐시가 있으므로 캐시가 무효화된 직후(항목 하나를 수정한 뒤)의 시간을 재어 검사에 쓰고,
+ * 수정 자체의 시간은 따로 재서 뺍니다. 같은 조회를 반복할 때(캐시 적중)의 시간은 참고로만 출력합니다.
+ *
+ * 실행: java -Xmx2g -cp <클래스 경로> com.accountbook.bench.LedgerServiceBenchmark [크기 목록(쉼표 구분)]
+ */
+public class LedgerServiceBenchmark {
+
+    private static final String DEFAULT_SIZES = "1000,10000,100000,1000000";
+    private static final PrintStream CONSOLE = System.out;
+    private static final PrintStream SILENT = new PrintStream(OutputStream.nullOutputStream());
+    // 한 번의 측정에서 훑는 항목 수의 목표 (O(n) 조회의 반복 횟수를 정함)
+    private static final long SCAN_BUDGET = 20_000_000;
+    // 조회 결과를 버리지 않도록 받아 두는 곳 (JIT가 호출을 없애지 못하게 함)
+    private static volatile long sink;
+
+    /**
+     * 연산의 허용 복잡도. 크기-시간 기울기가 maxSlope를 넘으면 회귀입니다.
+     */
+    private enum Complexity {
+        CONSTANT("O(1)", 0.5),
+        LINEAR("O(n)", 1.5);
+
+        final String label;
+        final double maxSlope;
+
+        Complexity(String label, double maxSlope) {
+            this.label = label;
+            this.maxSlope = maxSlope;
+        }
+    }
+
+    private enum Operation {
+        ITEM_EXISTS("itemExists", Complexity.CONSTANT),
+        ADD_ITEM("addItem", Complexity.CONSTANT),
+        // 항목 목록(ArrayList)에서 지우므로 현재 O(n)
+        DELETE_ITEM("deleteItem", Complexity.LINEAR),
+        GET_ALL_ITEMS("getAllItems", Complexity.LINEAR),
+        GET_BY_DATE_RANGE("getItemsByDateRange", Complexity.LINEAR),
+        GET_BY_CATEGORY("getItemsByCategory", Complexity.LINEAR);
+
+        final String label;
+        final Complexity complexity;
+
+        Operation(String label, Complexity complexity) {
+            this.label = label;
+            this.complexity = complexity;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String[] sizeArgs = (args.length > 0 ? args[0] : DEFAULT_SIZES).split(",");
+        int[] sizes = new int[sizeArgs.length];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = Integer.parseInt(sizeArgs[i].trim());
+        }
+        if (sizes.length < 2) {
+            throw new IllegalArgumentException("규모 검사를 위해 크기를 두 개 이상 주세요.");
+        }
+
+        Path directory = Files.createTempDirectory("ledger-service-bench");
+        try {
+            // 예열: 가장 작은 크기로 모든 연산을 한 번 실행 (결과는 버림)
+            run(directory, sizes[0], new EnumMap<>(Operation.class), new EnumMap<>(Operation.class));
+
+            List<Map<Operation, Double>> results = new ArrayList<>();
+            CONSOLE.printf("%-20s", "연산 (ns/회)");
+            for (int size : sizes) {
+                CONSOLE.printf(" %,14d", size);
+            }
+            CONSOLE.println();
+            Map<Operation, Double> cachedAtLargest = new EnumMap<>(Operation.class);
+            for (int size : sizes) {
+                Map<Operation, Double> nanos = new EnumMap<>(Operation.class);
+                cachedAtLargest.clear();
+                run(directory, size, nanos, cachedAtLargest);
+                results.add(nanos);
+            }
+            for (Operation operation : Operation.values()) {
+                CONSOLE.printf("%-20s", operation.label);
+                for (Map<Operation, Double> nanos : results) {
+                    CONSOLE.printf(" %,14.0f", nanos.get(operation));
+                }
+                CONSOLE.println();
+            }
+            CONSOLE.printf("%n캐시 적중 시 (%,d개): ", sizes[sizes.length - 1]);
+            for (Map.Entry<Operation, Double> entry : cachedAtLargest.entrySet()) {
+                CONSOLE.printf("%s %,.0f ns  ", entry.getKey().label, entry.getValue());
+            }
+            CONSOLE.println();
+
+            boolean regressed = checkScaling(sizes, results);
+            if (regressed) {
+                System.exit(1);
+            }
+        } finally {
+            System.setOut(CONSOLE);
+            try (var files = Files.list(directory)) {
+                files.forEach(file -> file.toFile().delete());
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    /**
+     * 가장 작은 크기와 가장 큰 크기 사이의 기울기를 복잡도 한도와 비교해 출력합니다.
+     * @return 한도를 넘은 연산이 있으면 true
+     */
+    private static boolean checkScaling(int[] sizes, List<Map<Operation, Double>> results) {
+        double sizeRatio = Math.log((double) sizes[sizes.length - 1] / sizes[0]);
+        boolean regressed = false;
+        CONSOLE.printf("%n규모 검사 (%,d → %,d개, 기울기 = log 시간비 / log 크기비)%n", sizes[0], sizes[sizes.length - 1]);
+        for (Operation operation : Operation.values()) {
+            double first = Math.max(results.get(0).get(operation), 1);
+            double last = Math.max(results.get(results.size() - 1).get(operation), 1);
+            double slope = Math.log(last / first) / sizeRatio;
+            boolean ok = slope <= operation.complexity.maxSlope;
+            regressed |= !ok;
+            CONSOLE.printf("%-20s 기울기 %5.2f  허용 %s (≤ %.1f)  %s%n", operation.label, slope,
+                operation.complexity.label, operation.complexity.maxSlope, ok ? "통과" : "회귀");
+        }
+        return regressed;
+    }
+
+    /**
+     * size개 항목의 가계부에서 연산별 건당 시간을 잽니다.
+     */
+    private static void run(Path directory, int size, Map<Operation, Double> nanos, Map<Operation, Double> cached) {
+        Random random = new Random(7);
+        int adds = Math.min(20_000, size / 2);
+        int deletes = Math.min(2_000, size / 4);
+        List<String> categories = CategoryManager.getFixedCategories();
+
+        System.setOut(SILENT);
+        try {
+            // 파일이 없는 임시 가계부로 시작하고 자동 저장을 꺼서 파일 입출력을 제외
+            LedgerService service = new LedgerService(directory.resolve("bench_" + size + ".csv").toString());
+            service.setAutoSave(false);
+            service.addItems(FileIoBenchmark.generate(size - adds, 42));
+
+            // addItem: 마지막 adds개를 하나씩 추가 (끝나면 size개)
+            LocalDate date = LocalDate.of(2026, 3, 1);
+            long start = System.nanoTime();
+            for (int i = 0; i < adds; i++) {
+                service.addItem(" 지출 (-)", date, -(1_000 + i), categories.get(i % categories.size()), "점심 식사");
+            }
+            nanos.put(Operation.ADD_ITEM, (System.nanoTime() - start) / (double) adds);
+
+            // itemExists: 무작위 ID (일부는 없는 ID)
+            int lookups = 1_000_000;
+            int[] ids = new int[lookups];
+            for (int i = 0; i < lookups; i++) {
+                ids[i] = 1 + random.nextInt(size + size / 10);
+            }
+            int found = 0;
+            start = System.nanoTime();
+            for (int id : ids) {
+                if (service.itemExists(id)) {
+                    found++;
+                }
+            }
+            nanos.put(Operation.ITEM_EXISTS, (System.nanoTime() - start) / (double) lookups);
+
+            // deleteItem: 무작위 기존 ID
+            int[] victims = new int[deletes];
+            for (int i = 0; i < deletes; i++) {
+                do {
+                    victims[i] = 1 + random.nextInt(size);
+                } while (!service.itemExists(victims[i]) || contains(victims, i, victims[i]));
+            }
+            start = System.nanoTime();
+            for (int id : victims) {
+                service.deleteItem(id);
+            }
+            nanos.put(Operation.DELETE_ITEM, (System.nanoTime() - start) / (double) deletes);
+
+            // 조회: 캐시를 무효화하는 수정 + 조회 시간에서 수정만의 시간을 뺌
+            int repeat = (int) Math.max(5, Math.min(1_000, SCAN_BUDGET / size));
+            int editId = firstExisting(service, size);
+            double editNanos = timeEdits(service, editId, repeat);
+            LocalDate rangeStart = LocalDate.of(2026, 5, 1);
+            LocalDate rangeEnd = rangeStart.plusDays(29);
+            nanos.put(Operation.GET_ALL_ITEMS,
+                timeColdQuery(service, editId, repeat, () -> service.getAllItems().size()) - editNanos);
+            nanos.put(Operation.GET_BY_DATE_RANGE,
+                timeColdQuery(service, editId, repeat, () -> service.getItemsByDateRange(rangeStart, rangeEnd).size()) - editNanos);
+            nanos.put(Operation.GET_BY_CATEGORY,
+                timeColdQuery(service, editId, repeat, () -> service.getItemsByCategory("Food").size()) - editNanos);
+
+            cached.put(Operation.GET_ALL_ITEMS, timeWarmQuery(() -> service.getAllItems().size()));
+            cached.put(Operation.GET_BY_CATEGORY, timeWarmQuery(() -> service.getItemsByCategory("Food").size()));
+            if (found == 0) {
+                throw new IllegalStateException("조회된 항목이 없습니다.");
+            }
+        } finally {
+            System.setOut(CONSOLE);
+        }
+    }
+
+    private interface Query {
+        int run();
+    }
+
+    private static double timeEdits(LedgerService service, int editId, int repeat) {
+        long start = System.nanoTime();
+        for (int i = 0; i < repeat; i++) {
+            int amount = -(1_000 + i);
+            service.updateItem(editId, item -> item.setAmount(amount));
+        }
+        return (System.nanoTime() - start) / (double) repeat;
+    }
+
+    private static double timeColdQuery(LedgerService service, int editId, int repeat, Query query) {
+        long total = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < repeat; i++) {
+            int amount = -(2_000 + i);
+            service.updateItem(editId, item -> item.setAmount(amount));
+            total += query.run();
+        }
+        double perCall = (System.nanoTime() - start) / (double) repeat;
+        sink = total;
+        return perCall;
+    }
+
+    private static double timeWarmQuery(Query query) {
+        int repeat = 100_000;
+        long total = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < repeat; i++) {
+            total += query.run();
+        }
+        double perCall = (System.nanoTime() - start) / (double) repeat;
+        sink = total;
+        return perCall;
+    }
+
+    private static int firstExisting(LedgerService service, int size) {
+        for (int id = 1; id <= size; id++) {
+            if (service.itemExists(id)) {
+                return id;
+            }
+        }
+        throw new IllegalStateException("항목이 없습니다.");
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,105 @@
+package com.accountbook.bench;
+
+import com.accountbook.model.LedgerItem;
+import com.accountbook.util.ItemSorter;
+import com.accountbook.util.LedgerGenerator;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * 조회 결과 정렬 벤치마크입니다. 생성기(LedgerGenerator)로 만든 ID 순서의 항목 목록을 정렬 기준별로
+ * Stream.sorted(Comparator)와 ItemSorter의 기수 정렬(순차, 병렬)로 정렬해 평균 시간과 배율을 출력합니다.
+ * 측정 전에 세 방식의 결과가 같은 객체를 같은 순서로 담는지 확인하고, 다르면 종료 코드 1로 끝납니다.
+ * 병렬 정렬은 공용 ForkJoinPool 병렬도가 1이면(단일 CPU) 순차와 같은 경로에 조각 나누기 비용만 더해집니다.
+ *
+ * 실행: java -Xmx3g -cp <클래스 경로> com.accountbook.bench.SortBenchmark [크기 목록(쉼표 구분)]
+ */
+public class SortBenchmark {
+
+    private static final String DEFAULT_SIZES = "10000,1000000,10000000";
+    private static final String[] ORDERS = {"date", "-amount", "category,date,-amount", "type,description,id"};
+    // 한 번의 측정에서 정렬할 최소 항목 수 (작은 목록은 여러 번 반복)
+    private static final long ITEMS_PER_MEASUREMENT = 5_000_000;
+    private static final PrintStream CONSOLE = System.out;
+    private static volatile long sink;
+
+    private interface Sorter {
+        List<LedgerItem> sort(List<LedgerItem> items, List<ItemSorter.SortKey> keys);
+    }
+
+    public static void main(String[] args) {
+        String[] sizeArgs = (args.length > 0 ? args[0] : DEFAULT_SIZES).split(",");
+        CONSOLE.printf("최대 힙 %,d MB, 공용 풀 병렬도 %d%n", Runtime.getRuntime().maxMemory() >> 20,
+            ForkJoinPool.getCommonPoolParallelism());
+        CONSOLE.printf("%11s %-24s %14s %12s %12s %8s%n", "항목 수", "정렬 기준", "Stream.sorted", "기수", "기수(병렬)", "배율");
+
+        boolean mismatch = false;
+        for (String sizeArg : sizeArgs) {
+            int size = Integer.parseInt(sizeArg.trim());
+            List<LedgerItem> items = generate(size);
+            for (String spec : ORDERS) {
+                List<ItemSorter.SortKey> keys = ItemSorter.parse(spec);
+                Sorter stream = (list, order) -> list.stream().sorted(ItemSorter.comparator(order))
+                    .collect(Collectors.toList());
+                Sorter radix = ItemSorter::sort;
+                Sorter parallel = ItemSorter::sortParallel;
+
+                List<LedgerItem> expected = stream.sort(items, keys);
+                if (!sameOrder(expected, radix.sort(items, keys)) || !sameOrder(expected, parallel.sort(items, keys))) {
+                    CONSOLE.printf("%,11d %-24s 결과 불일치%n", size, spec);
+                    mismatch = true;
+                    continue;
+                }
+                expected = null;
+
+                double streamMillis = measure(stream, items, keys);
+                double radixMillis = measure(radix, items, keys);
+                double parallelMillis = measure(parallel, items, keys);
+                CONSOLE.printf("%,11d %-24s %12.2fms %10.2fms %10.2fms %7.1fx%n", size, spec,
+                    streamMillis, radixMillis, parallelMillis, streamMillis / Math.min(radixMillis, parallelMillis));
+            }
+        }
+        if (mismatch) {
+            System.exit(1);
+        }
+    }
+
+    private static List<LedgerItem> generate(int size) {
+        LedgerGenerator generator = new LedgerGenerator(new LedgerGenerator.Spec(size));
+        List<LedgerItem> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new LedgerItem(generator.next()));
+        }
+        return items;
+    }
+
+    private static boolean sameOrder(List<LedgerItem> expected, List<LedgerItem> actual) {
+        if (expected.size() != actual.size()) {
+            return false;
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            if (expected.get(i) != actual.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 예열 후 정렬 한 번의 평균 시간(ms)
+     */
+    private static double measure(Sorter sorter, List<LedgerItem> items, List<ItemSorter.SortKey> keys) {
+        int repetitions = (int) Math.max(1, ITEMS_PER_MEASUREMENT / items.size());
+        for (int i = 0; i < Math.max(2, repetitions); i++) {
+            sink += sorter.sort(items, keys).size();
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < repetitions; i++) {
+            sink += sorter.sort(items, keys).get(0).getId();
+        }
+        return (System.nanoTime() - started) / 1e6 / repetitions;
+    }
+}
@@ -0,0 +1,395 @@
+package com.accountbook.util;
+
+import com.accountbook.model.LedgerItem;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OffHeapItemStore의 Foreign Function & Memory API 구현입니다.
+ * 레코드와 설명을 공유 아레나(Arena.ofShared)에서 할당하거나 FileChannel.map(..., arena)로 매핑한 MemorySegment에 담고,
+ * close()에서 Arena.close()로 모든 세그먼트를 한 번에 해제(매핑 해제)합니다. 닫힌 아레나의 세그먼트에 접근하면
+ * 런타임이 IllegalStateException을 던지므로 해제된 메모리를 읽을 수 없습니다.
+ *
+ * 레코드(24바이트, 네이티브 바이트 순서): ID(int), 에포크 일(int), 금액(int), 카테고리 번호(short, 저장소 안의 표),
+ * 표시(byte: 지출), 예비(byte), 설명 위치(long, -1은 없음). 설명은 별도의 문자열 영역에 길이(short)와 UTF-8 바이트로 두며
+ * 같은 설명은 한 번만 저장합니다 (중복 확인용 힙 색인은 MAX_DEDUP_ENTRIES개까지).
+ * 세그먼트는 고정 크기 덩어리로 늘려 가므로 이미 담은 레코드를 옮겨 쓰지 않습니다.
+ *
+ * 이 클래스는 JDK 21 이상이 필요해 src/foreign/java에 따로 두며, OffHeapItemStore.open이 리플렉션으로 불러옵니다.
+ */
+final class ForeignItemStore implements OffHeapItemStore {
+
+    private static final long RECORD_SIZE = 24;
+    private static final long ID_OFFSET = 0;
+    private static final long EPOCH_DAY_OFFSET = 4;
+    private static final long AMOUNT_OFFSET = 8;
+    private static final long CATEGORY_OFFSET = 12;
+    private static final long FLAGS_OFFSET = 14;
+    private static final long DESCRIPTION_OFFSET = 16;
+
+    private static final byte FLAG_EXPENSE = 1;
+
+    // 덩어리 하나의 레코드 수와 문자열 영역 덩어리 크기 (둘 다 2의 거듭제곱)
+    private static final int RECORD_CHUNK_SHIFT = 18;
+    private static final int RECORDS_PER_CHUNK = 1 << RECORD_CHUNK_SHIFT;
+    private static final int STRING_CHUNK_SHIFT = 20;
+    private static final long STRING_CHUNK_SIZE = 1L << STRING_CHUNK_SHIFT;
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+    private static final int MAX_DEDUP_ENTRIES = 1 << 16;
+    // 설명 디코딩 캐시 칸 수 (위치로 바로 찾는 칸, 칸마다 한 개)
+    private static final int DECODE_CACHE_SIZE = 1 << 12;
+    // 레코드 필드는 자기 크기에 맞춰 정렬되어 있고, 설명 길이는 문자열 영역의 아무 위치에나 있음
+    private static final ValueLayout.OfShort LENGTH = ValueLayout.JAVA_SHORT_UNALIGNED;
+
+    private final Arena arena = Arena.ofShared();
+    private final Path recordFile;
+    private final Path stringFile;
+    private final FileChannel recordChannel;
+    private final FileChannel stringChannel;
+    private final List<MemorySegment> recordChunks = new ArrayList<>();
+    private final List<MemorySegment> stringChunks = new ArrayList<>();
+    private final List<String> categories = new ArrayList<>();
+    private final Map<String, Integer> categoryCodes = new HashMap<>();
+    private final Map<String, Long> descriptionRefs = new HashMap<>();
+    // 칸마다 (위치, 문자열)을 한 객체로 두어 읽기만 하는 여러 스레드가 함께 써도 짝이 어긋나지 않음
+    private final Decoded[] decodeCache = new Decoded[DECODE_CACHE_SIZE];
+    private int size;
+    private long stringEnd;
+    private boolean idsAscending = true;
+    private int maxId;
+    private volatile boolean closed;
+
+    private ForeignItemStore(Path recordFile, FileChannel recordChannel, Path stringFile, FileChannel stringChannel) {
+        this.recordFile = recordFile;
+        this.recordChannel = recordChannel;
+        this.stringFile = stringFile;
+        this.stringChannel = stringChannel;
+    }
+
+    /**
+     * OffHeapItemStore.open에서 리플렉션으로 호출합니다.
+     */
+    static ForeignItemStore open(Path mappedFile) throws IOException {
+        if (mappedFile == null) {
+            return new ForeignItemStore(null, null, null, null);
+        }
+        Path strings = Paths.get(mappedFile + ".strings");
+        FileChannel records = FileChannel.open(mappedFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            FileChannel stringArea = FileChannel.open(strings, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            return new ForeignItemStore(mappedFile, records, strings, stringArea);
+        } catch (IOException e) {
+            records.close();
+            Files.deleteIfExists(mappedFile);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isMapped() {
+        return recordChannel != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isIdAscending() {
+        return idsAscending;
+    }
+
+    @Override
+    public long getReservedBytes() {
+        return (long) recordChunks.size() * RECORDS_PER_CHUNK * RECORD_SIZE + stringChunks.size() * STRING_CHUNK_SIZE;
+    }
+
+    @Override
+    public int append(LedgerItem item) {
+        checkOpen();
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("저장소에 담을 수 있는 레코드 수를 넘었습니다.");
+        }
+        if (size >>> RECORD_CHUNK_SHIFT == recordChunks.size()) {
+            recordChunks.add(newChunk(recordChannel, (long) recordChunks.size() * RECORDS_PER_CHUNK * RECORD_SIZE,
+                RECORDS_PER_CHUNK * RECORD_SIZE));
+        }
+        MemorySegment chunk = recordChunks.get(size >>> RECORD_CHUNK_SHIFT);
+        long offset = offsetOf(size);
+        chunk.set(ValueLayout.JAVA_INT, offset + ID_OFFSET, item.getId());
+        chunk.set(ValueLayout.JAVA_INT, offset + EPOCH_DAY_OFFSET, (int) item.getDate().toEpochDay());
+        chunk.set(ValueLayout.JAVA_INT, offset + AMOUNT_OFFSET, item.getAmount());
+        chunk.set(ValueLayout.JAVA_SHORT, offset + CATEGORY_OFFSET, (short) internCategory(item.getCategory()));
+        chunk.set(ValueLayout.JAVA_BYTE, offset + FLAGS_OFFSET, item.isExpense() ? FLAG_EXPENSE : 0);
+        chunk.set(ValueLayout.JAVA_LONG, offset + DESCRIPTION_OFFSET, storeDescription(item.getDescription()));
+        if (size > 0 && item.getId() <= maxId) {
+            idsAscending = false;
+        }
+        maxId = Math.max(maxId, item.getId());
+        return size++;
+    }
+
+    @Override
+    public int indexOfId(int id) {
+        checkOpen();
+        if (idsAscending) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int midId = idAt(mid);
+                if (midId < id) {
+                    low = mid + 1;
+                } else if (midId > id) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+        for (int i = 0; i < size; i++) {
+            if (idAt(i) == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int idAt(int index) {
+        return chunkOf(index).get(ValueLayout.JAVA_INT, offsetOf(index) + ID_OFFSET);
+    }
+
+    @Override
+    public int epochDayAt(int index) {
+        return chunkOf(index).get(ValueLayout.JAVA_INT, offsetOf(index) + EPOCH_DAY_OFFSET);
+    }
+
+    @Override
+    public int categoryCodeAt(int index) {
+        return chunkOf(index).get(ValueLayout.JAVA_SHORT, offsetOf(index) + CATEGORY_OFFSET);
+    }
+
+    @Override
+    public int categoryCodeOf(String category) {
+        Integer code = categoryCodes.get(category);
+        return code != null ? code : -1;
+    }
+
+    @Override
+    public ItemView view() {
+        checkOpen();
+        return new View();
+    }
+
+    /**
+     * 아레나를 닫아 모든 세그먼트를 해제하고 매핑 파일을 삭제합니다.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        descriptionRefs.clear();
+        try {
+            arena.close();
+        } finally {
+            if (recordChannel != null) {
+                try {
+                    recordChannel.close();
+                    stringChannel.close();
+                } finally {
+                    Files.deleteIfExists(recordFile);
+                    Files.deleteIfExists(stringFile);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private final class View implements ItemView {
+        private int index = -1;
+        private MemorySegment chunk;
+        private long offset;
+
+        @Override
+        public ItemView moveTo(int index) {
+            this.chunk = chunkOf(index);
+            this.offset = offsetOf(index);
+            this.index = index;
+            return this;
+        }
+
+        @Override
+        public int getIndex() {
+            return index;
+        }
+
+        @Override
+        public int getId() {
+            return chunk.get(ValueLayout.JAVA_INT, offset + ID_OFFSET);
+        }
+
+        @Override
+        public int getEpochDay() {
+            return chunk.get(ValueLayout.JAVA_INT, offset + EPOCH_DAY_OFFSET);
+        }
+
+        @Override
+        public int getAmount() {
+            return chunk.get(ValueLayout.JAVA_INT, offset + AMOUNT_OFFSET);
+        }
+
+        @Override
+        public boolean isExpense() {
+            return (chunk.get(ValueLayout.JAVA_BYTE, offset + FLAGS_OFFSET) & FLAG_EXPENSE) != 0;
+        }
+
+        @Override
+        public int getCategoryCode() {
+            return chunk.get(ValueLayout.JAVA_SHORT, offset + CATEGORY_OFFSET);
+        }
+
+        @Override
+        public String getCategory() {
+            int code = getCategoryCode();
+            return code >= 0 ? categories.get(code) : null;
+        }
+
+        @Override
+        public String getDescription() {
+            return decode(chunk.get(ValueLayout.JAVA_LONG, offset + DESCRIPTION_OFFSET));
+        }
+    }
+
+    // ====== 레코드/문자열 영역 ======
+
+    private int internCategory(String category) {
+        if (category == null) {
+            return -1;
+        }
+        Integer code = categoryCodes.get(category);
+        if (code == null) {
+            if (categories.size() > Short.MAX_VALUE) {
+                throw new IllegalStateException("저장소에 담을 수 있는 카테고리 수를 넘었습니다.");
+            }
+            code = categories.size();
+            categories.add(category);
+            categoryCodes.put(category, code);
+        }
+        return code;
+    }
+
+    private long storeDescription(String description) {
+        if (description == null) {
+            return -1;
+        }
+        Long known = descriptionRefs.get(description);
+        if (known != null) {
+            return known;
+        }
+        byte[] bytes = description.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("설명이 너무 깁니다: " + bytes.length + "바이트");
+        }
+        int needed = 2 + bytes.length;
+        // 설명 하나는 덩어리 경계를 넘지 않음
+        if ((stringEnd & (STRING_CHUNK_SIZE - 1)) + needed > STRING_CHUNK_SIZE) {
+            stringEnd = (stringEnd | (STRING_CHUNK_SIZE - 1)) + 1;
+        }
+        if (stringEnd >>> STRING_CHUNK_SHIFT == stringChunks.size()) {
+            stringChunks.add(newChunk(stringChannel, stringEnd, STRING_CHUNK_SIZE));
+        }
+        long ref = stringEnd;
+        MemorySegment chunk = stringChunks.get((int) (ref >>> STRING_CHUNK_SHIFT));
+        long offset = ref & (STRING_CHUNK_SIZE - 1);
+        chunk.set(LENGTH, offset, (short) bytes.length);
+        MemorySegment.copy(bytes, 0, chunk, ValueLayout.JAVA_BYTE, offset + 2, bytes.length);
+        stringEnd += needed;
+        if (descriptionRefs.size() < MAX_DEDUP_ENTRIES) {
+            descriptionRefs.put(description, ref);
+        }
+        return ref;
+    }
+
+    private String decode(long ref) {
+        if (ref < 0) {
+            return null;
+        }
+        int slot = (int) (ref ^ (ref >>> 17)) & (DECODE_CACHE_SIZE - 1);
+        Decoded cached = decodeCache[slot];
+        if (cached != null && cached.ref == ref) {
+            checkOpen();
+            return cached.text;
+        }
+        MemorySegment chunk = stringChunks.get((int) (ref >>> STRING_CHUNK_SHIFT));
+        long offset = ref & (STRING_CHUNK_SIZE - 1);
+        byte[] bytes = new byte[chunk.get(LENGTH, offset) & 0xFFFF];
+        MemorySegment.copy(chunk, ValueLayout.JAVA_BYTE, offset + 2, bytes, 0, bytes.length);
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        decodeCache[slot] = new Decoded(ref, text);
+        return text;
+    }
+
+    private static final class Decoded {
+        final long ref;
+        final String text;
+
+        Decoded(long ref, String text) {
+            this.ref = ref;
+            this.text = text;
+        }
+    }
+
+    private MemorySegment chunkOf(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("레코드 위치가 범위를 벗어났습니다: " + index + " (크기 " + size + ")");
+        }
+        return recordChunks.get(index >>> RECORD_CHUNK_SHIFT);
+    }
+
+    private static long offsetOf(int index) {
+        return (index & (RECORDS_PER_CHUNK - 1)) * RECORD_SIZE;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("닫힌 저장소입니다.");
+        }
+    }
+
+    /**
+     * 아레나에 덩어리 하나를 할당하거나(채널이 없을 때) 파일의 해당 구간을 아레나 수명으로 매핑합니다.
+     */
+    private MemorySegment newChunk(FileChannel channel, long position, long bytes) {
+        if (channel == null) {
+            return arena.allocate(bytes, Long.BYTES);
+        }
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, position, bytes, arena);
+        } catch (IOException e) {
+            throw new IllegalStateException("저장소 파일을 늘리지 못했습니다: " + e.getMessage(), e);
+        }
+    }
+}
@@ -1,6 +1,33 @@
 package com.accountbook;
 
+import com.accountbook.model.LedgerItem;
+import com.accountbook.service.LedgerService;
+import com.accountbook.service.VersionedItemStore;
+import com.accountbook.ui.BatchCommandRunner;
 import com.accountbook.ui.CliInterface;
+import com.accountbook.ui.HttpApiServer;
+import com.accountbook.util.DateCodec;
+import com.accountbook.util.CategoryManager;
+import com.accountbook.util.ItemExporter;
+import com.accountbook.util.LedgerGenerator;
+import com.accountbook.util.LedgerMetrics;
+import com.accountbook.util.OffHeapItemStore;
+import com.accountbook.util.ReplicaDirectory;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.function.Predicate;
 
 /**
  * Personal Account Book CLI 프로그램의 메인 애플리케이션 클래스입니다.
@@ -8,22 +35,198 @@ import com.accountbook.ui.CliInterface;
  * - 금융 가계부 항목 추가, 삭제 및 조회
  * - CSV 파일 영속성을 통한 데이터 관리
  * - 직관적인 메뉴 기반 인터페이스를 통한 탐색
- * * 사용법: java com.accountbook.AccountBookApp [파일명]
+ * - HTTP/JSON API 서버 모드 (--server)
+ * - 스크립트/표준 입력의 명령을 메뉴 없이 실행하는 일괄 명령 모드 (--batch)
+ * - 조건에 맞는 항목을 파일/표준 출력으로 바로 내보내기 (--export)
+ * - 같은 파일을 쓰는 여러 프로세스 사이의 파일 잠금 조정 (--shared, CLI/서버/일괄 명령에 적용)
+ * - 저장된 변경을 다른 디렉터리의 복제본으로 보내는 복제 (--replicate-to), 복제본 상태 확인과 승격
+ * - 시드로 재현 가능한 시험용 가계부 파일 생성 (--generate)
+ * - 불러오기/저장/조회/변경 작업 지표를 JMX(com.accountbook:type=LedgerMetrics)로 노출, 주기적 출력 (--metrics-every)
+ * * 사용법: java com.accountbook.AccountBookApp [--shared] [--history [보존할 버전 수]] [--server [포트] [--flush-millis 간격] [--verbose]] [파일명]
+ *          java com.accountbook.AccountBookApp --server [포트] --offheap | --offheap-map 작업파일 [파일명]
+ *          java com.accountbook.AccountBookApp --batch 스크립트|- [--flush-every N] [--verbose] [--shared] [파일명]
+ *          java com.accountbook.AccountBookApp --export 대상파일|- [--format csv|json|ndjson] [--from 날짜] [--to 날짜]
+ *                                              [--category 이름] [--sorted] [--offheap | --offheap-map 작업파일]
+ *                                              [--verbose] [파일명]
+ *          java com.accountbook.AccountBookApp --replica-status 디렉터리 | --promote-replica 디렉터리 [파일명]
+ *          java com.accountbook.AccountBookApp --generate 대상파일 --rows N [--seed N] [--from 시작일] [--days N]
+ *                                              [--categories 이름=비중,...] [--descriptions 파일] [--skew 지수]
+ *                                              [--blank 비율] [--income 비율] [--format csv|json|ndjson]
+ * CLI/서버/일괄 명령 실행에는 --replicate-to 디렉터리를 함께 줄 수 있습니다.
+ * CLI/서버/일괄 명령/내보내기 실행에 --metrics-every 초를 주면 그 간격과 종료 시 지표 요약을 표준 오류로 출력합니다.
+ * 내보내기나 서버에 --offheap을 주면 항목을 힙 밖 메모리에, --offheap-map 작업파일을 주면 그 파일을 매핑한 메모리에 올린
+ * 읽기 전용 가계부(LedgerService.openOffHeap)로 내보내거나 조회 API를 제공합니다 (힙이 작은 환경에서 큰 가계부,
+ * 작업 파일은 끝나면 삭제). JDK 21 이상에서 src/foreign/java를 함께 컴파일해야 하며, 쓸 수 없으면 힙에 불러옵니다.
  * 파일명이 제공되지 않으면 기본값인 "ledger.csv"가 사용됩니다.
  */
 public class AccountBookApp {
     
+    // 종료할 때 보내지 않은 변경을 복제본에 보내며 기다리는 최대 시간
+    private static final long REPLICA_CLOSE_TIMEOUT_MILLIS = 10_000;
+    
     public static void main(String[] args) {
         try {
-            CliInterface cli;
+            String fileName = null;
+            boolean serverMode = false;
+            int port = HttpApiServer.DEFAULT_PORT;
+            String batchScript = null;
+            int flushInterval = 0;
+            long serverFlushMillis = HttpApiServer.DEFAULT_FLUSH_INTERVAL_MILLIS;
+            boolean verbose = false;
+            String exportTarget = null;
+            String exportFormat = null;
+            String exportFrom = null;
+            String exportTo = null;
+            String exportCategory = null;
+            boolean exportSorted = false;
+            boolean offHeap = false;
+            String offHeapMapFile = null;
+            boolean shared = false;
+            int historyVersions = 0;
+            String replicaDirectory = null;
+            String replicaCommand = null;
+            String generateTarget = null;
+            LedgerGenerator.Spec generateSpec = new LedgerGenerator.Spec(0);
+            String categoryMix = null;
+            String descriptionFile = null;
+            long metricsInterval = 0;
+            
+            for (int i = 0; i < args.length; i++) {
+                if ("--server".equals(args[i])) {
+                    serverMode = true;
+                    // 다음 인자가 숫자면 포트로 사용
+                    if (i + 1 < args.length && args[i + 1].matches("\\d+")) {
+                        port = Integer.parseInt(args[++i]);
+                    }
+                } else if ("--batch".equals(args[i]) && i + 1 < args.length) {
+                    batchScript = args[++i];
+                } else if ("--flush-every".equals(args[i]) && i + 1 < args.length) {
+                    flushInterval = Integer.parseInt(args[++i]);
+                } else if ("--flush-millis".equals(args[i]) && i + 1 < args.length) {
+                    serverFlushMillis = Long.parseLong(args[++i]);
+                } else if ("--export".equals(args[i]) && i + 1 < args.length) {
+                    exportTarget = args[++i];
+                } else if ("--format".equals(args[i]) && i + 1 < args.length) {
+                    exportFormat = args[++i];
+                } else if ("--from".equals(args[i]) && i + 1 < args.length) {
+                    exportFrom = args[++i];
+                } else if ("--to".equals(args[i]) && i + 1 < args.length) {
+                    exportTo = args[++i];
+                } else if ("--category".equals(args[i]) && i + 1 < args.length) {
+                    exportCategory = args[++i];
+                } else if ("--sorted".equals(args[i])) {
+                    exportSorted = true;
+                } else if ("--offheap".equals(args[i])) {
+                    offHeap = true;
+                } else if ("--offheap-map".equals(args[i]) && i + 1 < args.length) {
+                    offHeap = true;
+                    offHeapMapFile = args[++i];
+                } else if ("--replicate-to".equals(args[i]) && i + 1 < args.length) {
+                    replicaDirectory = args[++i];
+                } else if (("--replica-status".equals(args[i]) || "--promote-replica".equals(args[i]))
+                        && i + 1 < args.length) {
+                    replicaCommand = args[i];
+                    replicaDirectory = args[++i];
+                } else if ("--generate".equals(args[i]) && i + 1 < args.length) {
+                    generateTarget = args[++i];
+                } else if ("--rows".equals(args[i]) && i + 1 < args.length) {
+                    generateSpec.rows = Long.parseLong(args[++i].replace("_", ""));
+                } else if ("--seed".equals(args[i]) && i + 1 < args.length) {
+                    generateSpec.seed = Long.parseLong(args[++i]);
+                } else if ("--days".equals(args[i]) && i + 1 < args.length) {
+                    generateSpec.days = Integer.parseInt(args[++i]);
+                } else if ("--categories".equals(args[i]) && i + 1 < args.length) {
+                    categoryMix = args[++i];
+                } else if ("--descriptions".equals(args[i]) && i + 1 < args.length) {
+                    descriptionFile = args[++i];
+                } else if ("--skew".equals(args[i]) && i + 1 < args.length) {
+                    generateSpec.descriptionSkew = Double.parseDouble(args[++i]);
+                } else if ("--blank".equals(args[i]) && i + 1 < args.length) {
+                    generateSpec.blankDescriptionPercent = Integer.parseInt(args[++i]);
+                } else if ("--income".equals(args[i]) && i + 1 < args.length) {
+                    generateSpec.incomePercent = Integer.parseInt(args[++i]);
+                } else if ("--metrics-every".equals(args[i]) && i + 1 < args.length) {
+                    metricsInterval = Long.parseLong(args[++i]);
+                } else if ("--history".equals(args[i])) {
+                    historyVersions = CliInterface.DEFAULT_HISTORY_VERSIONS;
+                    // 다음 인자가 숫자면 보존할 버전 수로 사용
+                    if (i + 1 < args.length && args[i + 1].matches("\\d+")) {
+                        historyVersions = Integer.parseInt(args[++i]);
+                    }
+                } else if ("--shared".equals(args[i])) {
+                    shared = true;
+                } else if ("--verbose".equals(args[i]) || "-v".equals(args[i])) {
+                    verbose = true;
+                } else {
+                    fileName = args[i];
+                }
+            }
+            
+            if (replicaCommand != null) {
+                System.exit(runReplicaCommand(replicaCommand, replicaDirectory, fileName) ? 0 : 1);
+            }
+            
+            if (generateTarget != null) {
+                if (exportFrom != null) {
+                    generateSpec.startDate = DateCodec.parse(exportFrom);
+                }
+                if (descriptionFile != null) {
+                    generateSpec.descriptions = LedgerGenerator.parseDescriptions(
+                        Files.readAllLines(Paths.get(descriptionFile), StandardCharsets.UTF_8));
+                }
+                System.exit(runGenerate(generateTarget, exportFormat, categoryMix, generateSpec) ? 0 : 1);
+            }
+            
+            LedgerMetrics.registerMBean();
+            if (metricsInterval > 0) {
+                LedgerMetrics.startPeriodicDump(metricsInterval, System.err);
+                Runtime.getRuntime().addShutdownHook(new Thread(
+                    () -> System.err.println(LedgerMetrics.getInstance().getSummary())));
+            }
+            
+            if (batchScript != null) {
+                System.exit(runBatch(fileName, batchScript, flushInterval, verbose, shared, replicaDirectory) ? 0 : 1);
+            }
+            
+            if (exportTarget != null) {
+                ItemExporter.Format format = exportFormat != null
+                    ? ItemExporter.Format.fromName(exportFormat)
+                    : ItemExporter.Format.fromFileName(exportTarget);
+                if (format == null && exportFormat == null && "-".equals(exportTarget)) {
+                    format = ItemExporter.Format.NDJSON;
+                }
+                if (format == null) {
+                    System.err.println("내보내기 형식을 알 수 없습니다. --format csv, json 또는 ndjson을 지정하세요.");
+                    System.exit(1);
+                }
+                Predicate<LedgerItem> filter = ItemExporter.filter(
+                    exportFrom != null ? DateCodec.parse(exportFrom) : null,
+                    exportTo != null ? DateCodec.parse(exportTo) : null,
+                    exportCategory);
+                runExport(fileName, exportTarget, format, filter, exportSorted, verbose, offHeap, offHeapMapFile);
+                return;
+            }
             
             // 사용자 지정 파일명이 제공되었는지 확인
-            if (args.length > 0) {
-                String fileName = args[0];
+            if (fileName != null) {
                 System.out.println("사용자 지정 데이터 파일: " + fileName + "을(를) 사용합니다.");
-                cli = new CliInterface(fileName);
+            }
+            
+            if (serverMode) {
+                startServer(fileName, port, serverFlushMillis, verbose, shared, replicaDirectory, offHeap, offHeapMapFile);
+                return;
+            }
+            
+            CliInterface cli;
+            if (shared || replicaDirectory != null || historyVersions > 0) {
+                LedgerService ledgerService = openLedger(fileName, shared, replicaDirectory);
+                if (historyVersions > 0) {
+                    // 기록은 실행 중 메모리에만 있으므로 기간이 아니라 버전 수로 보존
+                    ledgerService.enableVersionHistory(VersionedItemStore.RetentionPolicy.keepVersions(historyVersions));
+                }
+                cli = new CliInterface(ledgerService);
             } else {
-                cli = new CliInterface();
+                cli = fileName != null ? new CliInterface(fileName) : new CliInterface();
             }
             
             // 애플리케이션 시작
@@ -35,4 +238,204 @@ public class AccountBookApp {
             System.exit(1);
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * 가계부 서비스를 만듭니다. shared이면 다른 프로세스와 파일 잠금으로 조정하는 공유 모드를 켜고,
+     * replicaDirectory가 있으면 그 디렉터리로 복제를 시작합니다 (종료 시 남은 변경을 보내고 멈춤).
+     */
+    private static LedgerService openLedger(String fileName, boolean shared, String replicaDirectory) throws IOException {
+        LedgerService ledgerService = fileName != null ? new LedgerService(fileName) : new LedgerService();
+        if (shared) {
+            ledgerService.enableSharedMode();
+        }
+        if (replicaDirectory != null) {
+            ledgerService.enableReplication(replicaDirectory);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> ledgerService.closeReplication(REPLICA_CLOSE_TIMEOUT_MILLIS)));
+        }
+        return ledgerService;
+    }
+    
+    /**
+     * 복제본 디렉터리의 상태를 출력하거나(--replica-status) 복제본을 기본 가계부로 승격합니다(--promote-replica).
+     * @return 성공하면 true
+     */
+    private static boolean runReplicaCommand(String command, String directory, String fileName) {
+        try (ReplicaDirectory replica = new ReplicaDirectory(directory, fileName != null ? fileName : "ledger.csv")) {
+            if ("--replica-status".equals(command)) {
+                System.out.println(replica.getSnapshotFileName() + ": " + replica.status(-1, 0, null).describe());
+                return true;
+            }
+            int count = replica.promote();
+            System.out.printf("%s을(를) %d개 항목의 기본 가계부로 승격했습니다. 이제 이 파일로 실행하세요.%n",
+                replica.getSnapshotFileName(), count);
+            return true;
+        } catch (IOException e) {
+            System.err.println("복제본 작업 실패: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * 시험용 가계부 파일을 만듭니다. 형식은 --format 또는 대상 파일 확장자로 정하고,
+     * 비중에 지정한 커스텀 카테고리는 대상 파일 옆의 카테고리 파일(이름.categories.csv)에 등록해
+     * 만든 파일을 그대로 가계부로 열 수 있게 합니다.
+     * @return 성공하면 true
+     */
+    private static boolean runGenerate(String target, String formatName, String categoryMix, LedgerGenerator.Spec spec) {
+        ItemExporter.Format format = formatName != null
+            ? ItemExporter.Format.fromName(formatName)
+            : ItemExporter.Format.fromFileName(target);
+        if (format == null) {
+            System.err.println("생성 형식을 알 수 없습니다. --format csv, json 또는 ndjson을 지정하세요.");
+            return false;
+        }
+        if (spec.rows <= 0) {
+            System.err.println("--rows로 만들 항목 수를 지정하세요.");
+            return false;
+        }
+        
+        String baseName = target.contains(".") ? target.substring(0, target.lastIndexOf('.')) : target;
+        CategoryManager categories = new CategoryManager(baseName + ".categories.csv");
+        if (categoryMix != null) {
+            spec.categoryWeights = LedgerGenerator.parseCategoryMix(categoryMix);
+            for (String category : spec.categoryWeights.keySet()) {
+                if (!categories.isValidCategory(category)) {
+                    CategoryManager.AddResult added = categories.addCustomCategory(category);
+                    if (!added.success) {
+                        System.err.println("카테고리 " + category + " 등록 실패: " + added.message);
+                        return false;
+                    }
+                }
+            }
+        }
+        
+        try {
+            LedgerGenerator generator = new LedgerGenerator(spec, categories);
+            long start = System.nanoTime();
+            long count;
+            try (ItemExporter exporter = ItemExporter.toFile(target, format)) {
+                count = generator.writeTo(exporter);
+            }
+            double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+            System.out.printf("%s에 %,d개 항목을 %s 형식으로 만들었습니다 (시드 %d, %.1f초, 초당 %,.0f행).%n",
+                target, count, format.getName(), spec.seed, seconds, count / seconds);
+            return true;
+        } catch (IllegalArgumentException e) {
+            System.err.println("생성 설정 오류: " + e.getMessage());
+            return false;
+        } catch (IOException e) {
+            System.err.println("파일 쓰기 오류: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * 일괄 명령 모드로 실행합니다. 표준 출력에는 명령별 결과(JSON 한 줄씩)만 쓰고,
+     * 평소 화면에 출력되는 안내 메시지는 --verbose일 때만 표준 오류로 보냅니다.
+     * @return 모든 명령이 성공하면 true
+     */
+    private static boolean runBatch(String fileName, String script, int flushInterval, boolean verbose,
+                                    boolean shared, String replicaDirectory) throws Exception {
+        PrintStream results = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16),
+            false, StandardCharsets.UTF_8);
+        System.setOut(verbose ? System.err : new PrintStream(OutputStream.nullOutputStream()));
+        
+        LedgerService ledgerService = openLedger(fileName, shared, replicaDirectory);
+        if (!ledgerService.getRecurringRules().isEmpty()) {
+            ledgerService.materializeRecurringItems(LocalDate.now());
+        }
+        
+        InputStream input = "-".equals(script) ? System.in : new FileInputStream(script);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            boolean succeeded = new BatchCommandRunner(ledgerService, results, flushInterval).run(reader);
+            ledgerService.refreshSnapshotIfStale();
+            return succeeded;
+        }
+    }
+    
+    /**
+     * 가계부 파일을 불러와 조건에 맞는 항목을 대상 파일(또는 "-"이면 표준 출력)로 내보냅니다.
+     * 가계부 파일은 읽기만 하며 반복 거래도 생성하지 않습니다.
+     * 표준 출력으로 내보낼 때는 안내 메시지를 --verbose일 때만 표준 오류로 보냅니다.
+     * offHeap이면 항목을 힙 밖 저장소에 올린 읽기 전용 가계부에서 내보내며, mapFile이 있으면 그 파일을 매핑해 저장소로 씁니다.
+     */
+    private static void runExport(String fileName, String target, ItemExporter.Format format,
+                                  Predicate<LedgerItem> filter, boolean sorted, boolean verbose,
+                                  boolean offHeap, String mapFile) throws Exception {
+        boolean toStdout = "-".equals(target);
+        PrintStream console = System.out;
+        if (toStdout || !verbose) {
+            System.setOut(verbose ? System.err : new PrintStream(OutputStream.nullOutputStream()));
+        }
+        
+        LedgerService ledgerService = offHeap ? openOffHeap(fileName, mapFile) : null;
+        if (ledgerService == null) {
+            // 한 번 읽고 끝나므로 스냅숏을 새로 쓰지 않음
+            ledgerService = new LedgerService(fileName != null ? fileName : "ledger.csv", false);
+        }
+        long count;
+        try (ItemExporter exporter = toStdout
+                ? ItemExporter.toStream(new FileOutputStream(FileDescriptor.out), format)
+                : ItemExporter.toFile(target, format)) {
+            count = ledgerService.exportItems(filter, sorted, exporter);
+        } catch (IOException e) {
+            if (!toStdout) {
+                throw e;
+            }
+            // 읽는 쪽이 먼저 끝난 경우(예: | head)는 오류로 보지 않음
+            return;
+        } finally {
+            ledgerService.closeOffHeapStorage();
+        }
+        if (!toStdout) {
+            console.printf("%s에 %d개의 항목을 %s 형식으로 내보냈습니다.%n", target, count, format.getName());
+        } else if (verbose) {
+            System.err.printf("%d개의 항목을 %s 형식으로 내보냈습니다.%n", count, format.getName());
+        }
+    }
+    
+    /**
+     * 항목을 힙 밖 저장소에 올린 읽기 전용 가계부를 엽니다. 이 런타임에서 쓸 수 없으면 안내를 출력하고 null을 반환합니다.
+     */
+    private static LedgerService openOffHeap(String fileName, String mapFile) throws IOException {
+        if (!OffHeapItemStore.isAvailable()) {
+            System.err.println("힙 밖 저장소를 쓸 수 없어 힙에 불러옵니다 (JDK 21 이상에서 src/foreign/java를 함께 컴파일해야 함).");
+            return null;
+        }
+        return LedgerService.openOffHeap(fileName != null ? fileName : "ledger.csv",
+            mapFile != null ? Paths.get(mapFile) : null);
+    }
+    
+    /**
+     * HTTP 서버 모드로 시작합니다. 종료(Ctrl+C) 시 진행 중인 요청을 마치고 밀린 변경을 저장한 뒤 서버를 멈춥니다.
+     * 변경은 flushMillis마다 모아 저장하고(0이면 요청마다 저장), LedgerService의 안내 메시지는 요청 스레드가
+     * 콘솔 출력을 두고 다투지 않도록 버리거나 verbose일 때만 표준 오류로 보냅니다 (시작/종료 안내만 표준 출력).
+     * offHeap이면 힙 밖 저장소에 올린 읽기 전용 가계부로 조회 API만 제공합니다 (공유 모드와 복제는 쓰지 않음).
+     */
+    private static void startServer(String fileName, int port, long flushMillis, boolean verbose, boolean shared,
+                                    String replicaDirectory, boolean offHeap, String mapFile) throws Exception {
+        PrintStream console = System.out;
+        System.setOut(verbose ? System.err : new PrintStream(OutputStream.nullOutputStream()));
+        
+        LedgerService offHeapLedger = offHeap ? openOffHeap(fileName, mapFile) : null;
+        LedgerService ledgerService = offHeapLedger != null ? offHeapLedger : openLedger(fileName, shared, replicaDirectory);
+        if (!ledgerService.isOffHeap() && !ledgerService.getRecurringRules().isEmpty()) {
+            ledgerService.materializeRecurringItems(LocalDate.now());
+        }
+        
+        HttpApiServer server = new HttpApiServer(ledgerService, port, flushMillis);
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            console.println("서버를 종료합니다.");
+            server.stop(1);
+            ledgerService.refreshSnapshotIfStale();
+            try {
+                ledgerService.closeOffHeapStorage();
+            } catch (IOException e) {
+                System.err.println("힙 밖 저장소를 닫지 못했습니다: " + e.getMessage());
+            }
+        }));
+        console.printf("가계부 API 서버가 http://localhost:%d/api/ 에서 실행 중입니다. (데이터 파일: %s, 실행기: %s)%n",
+            server.getPort(), ledgerService.getFileName(), server.getExecutorDescription());
+    }
+}
@@ -48,6 +48,18 @@ public class LedgerItem {
         this.description = description;
     }
     
+    // 다른 항목의 모든 필드를 복사하는 생성자 (변경 전 상태 보관용)
+    public LedgerItem(LedgerItem other) {
+        this(other.id, other.type, other.date, other.amount, other.category, other.description);
+    }
+    
+    /**
+     * 지출 항목인지 확인합니다. 유형 문자열에 "지출"이 포함되거나 금액이 음수이면 지출입니다.
+     */
+    public boolean isExpense() {
+        return (type != null && type.contains("지출")) || amount < 0;
+    }
+    
     // Getter와 Setter
     public int getId() {
         return id;
@@ -102,4 +114,4 @@ public class LedgerItem {
         return String.format("%d | %s | %s | %s | %d | %s",
             id, type, date, category, amount, description != null ? description : "");
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
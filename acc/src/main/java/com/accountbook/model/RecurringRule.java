@@ -0,0 +1,205 @@
+package com.accountbook.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * 월세, 구독료, 급여처럼 주기적으로 발생하는 거래의 반복 규칙을 나타냅니다.
+ * 마지막으로 생성한 날짜(lastGeneratedDate)를 기억하므로 같은 날짜까지 여러 번 실행해도
+ * 항목이 중복 생성되지 않습니다.
+ */
+public class RecurringRule {
+
+    /**
+     * 반복 주기
+     */
+    public enum Frequency {
+        MONTHLY("매월"),
+        WEEKLY("매주");
+
+        private final String description;
+
+        Frequency(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    // 규칙 고유 식별자
+    private int id;
+    // 생성될 항목의 유형 ("수입 (+)" 또는 " 지출 (-)")
+    private String type;
+    // 생성될 항목의 금액 (지출은 음수)
+    private int amount;
+    private String category;
+    private String description;
+    private Frequency frequency;
+    // MONTHLY: 1~31일 (해당 월에 없는 날짜는 말일로 조정), WEEKLY: 1(월)~7(일)
+    private int day;
+    // 첫 발생 가능 날짜
+    private LocalDate startDate;
+    // 마지막 발생 가능 날짜 (null이면 종료 없음)
+    private LocalDate endDate;
+    // 마지막으로 항목을 생성한 날짜 (null이면 아직 생성하지 않음)
+    private LocalDate lastGeneratedDate;
+
+    public RecurringRule() {}
+
+    public RecurringRule(int id, String type, int amount, String category, String description,
+                         Frequency frequency, int day, LocalDate startDate, LocalDate endDate,
+                         LocalDate lastGeneratedDate) {
+        this.id = id;
+        this.type = type;
+        this.amount = amount;
+        this.category = category;
+        this.description = description;
+        this.frequency = frequency;
+        this.day = day;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.lastGeneratedDate = lastGeneratedDate;
+    }
+
+    /**
+     * 주어진 날짜 이후(해당 날짜 제외) 첫 발생 날짜를 계산합니다.
+     */
+    public LocalDate nextOccurrenceAfter(LocalDate after) {
+        LocalDate candidate;
+        if (frequency == Frequency.WEEKLY) {
+            candidate = after.with(TemporalAdjusters.next(DayOfWeek.of(day)));
+        } else {
+            candidate = dayInMonth(after.withDayOfMonth(1));
+            if (!candidate.isAfter(after)) {
+                candidate = dayInMonth(after.withDayOfMonth(1).plusMonths(1));
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * 다음에 생성해야 할 발생 날짜를 계산합니다. 종료일을 지났으면 null을 반환합니다.
+     */
+    public LocalDate nextDueDate() {
+        LocalDate cursor = lastGeneratedDate != null ? lastGeneratedDate : startDate.minusDays(1);
+        LocalDate next = nextOccurrenceAfter(cursor);
+        if (endDate != null && next.isAfter(endDate)) {
+            return null;
+        }
+        return next;
+    }
+
+    // 해당 월의 지정일 (말일 초과 시 말일)
+    private LocalDate dayInMonth(LocalDate firstOfMonth) {
+        return firstOfMonth.withDayOfMonth(Math.min(day, firstOfMonth.lengthOfMonth()));
+    }
+
+    /**
+     * 주어진 날짜에 발생하는 가계부 항목을 만듭니다. ID는 저장 시 부여됩니다.
+     */
+    public LedgerItem toLedgerItem(LocalDate date) {
+        return new LedgerItem(type, date, amount, category, description);
+    }
+
+    // Getter와 Setter
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    public void setAmount(int amount) {
+        this.amount = amount;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(Frequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public int getDay() {
+        return day;
+    }
+
+    public void setDay(int day) {
+        this.day = day;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public LocalDate getLastGeneratedDate() {
+        return lastGeneratedDate;
+    }
+
+    public void setLastGeneratedDate(LocalDate lastGeneratedDate) {
+        this.lastGeneratedDate = lastGeneratedDate;
+    }
+
+    /**
+     * 화면 표시용 주기 설명 (예: "매월 25일", "매주 월요일")
+     */
+    public String getScheduleDescription() {
+        if (frequency == Frequency.WEEKLY) {
+            String[] names = {"월", "화", "수", "목", "금", "토", "일"};
+            return frequency.getDescription() + " " + names[day - 1] + "요일";
+        }
+        return frequency.getDescription() + " " + day + "일";
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d | %s | %s | %s | %d | %s ~ %s | %s",
+            id, getScheduleDescription(), type, category, amount, startDate,
+            endDate != null ? endDate : "", description != null ? description : "");
+    }
+}
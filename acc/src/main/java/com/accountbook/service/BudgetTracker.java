@@ -0,0 +1,185 @@
+package com.accountbook.service;
+
+import com.accountbook.model.LedgerItem;
+import com.accountbook.util.CategoryManager;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 카테고리별 월 예산과 (월, 카테고리)별 지출 누계를 관리합니다.
+ * 지출 누계는 항목 추가/삭제/수정 시 변경분만 반영하므로(O(1)) 대량 입력 중에도
+ * 전체 항목을 다시 집계하지 않습니다.
+ */
+public class BudgetTracker implements LedgerChangeListener {
+
+    // 카테고리 이름 -> 코드 변환에 쓰는 가계부의 카테고리 관리자
+    private final CategoryManager categories;
+
+    // 카테고리 -> 월 예산 한도 (입력 순서 유지)
+    private final Map<String, Integer> budgets = new LinkedHashMap<>();
+
+    // 월 -> 카테고리 코드로 인덱싱한 지출 합계 배열 (이름이 바뀌어도 코드는 유지됨)
+    private final Map<YearMonth, long[]> spending = new HashMap<>();
+
+    public BudgetTracker(CategoryManager categories) {
+        this.categories = categories;
+    }
+
+    // ====== 예산 정의 ======
+
+    public void setBudget(String category, int monthlyLimit) {
+        if (monthlyLimit <= 0) {
+            throw new IllegalArgumentException("예산은 양수여야 합니다: " + monthlyLimit);
+        }
+        budgets.put(category, monthlyLimit);
+    }
+
+    public boolean removeBudget(String category) {
+        return budgets.remove(category) != null;
+    }
+
+    /**
+     * 카테고리의 월 예산을 가져옵니다. 설정되지 않았으면 null을 반환합니다.
+     */
+    public Integer getBudget(String category) {
+        return budgets.get(category);
+    }
+
+    public Map<String, Integer> getBudgets() {
+        return Collections.unmodifiableMap(budgets);
+    }
+
+    /**
+     * 카테고리 이름이 바뀌었을 때 예산 정의를 새 이름으로 옮깁니다.
+     */
+    public void renameBudget(String oldName, String newName) {
+        Integer limit = budgets.remove(oldName);
+        if (limit != null) {
+            budgets.put(newName, limit);
+        }
+    }
+
+    // ====== 지출 누계 ======
+
+    /**
+     * 해당 월, 카테고리의 지출 합계를 가져옵니다.
+     */
+    public long getSpent(YearMonth month, String category) {
+        long[] byCode = spending.get(month);
+        int code = categories.codeOf(category);
+        if (byCode == null || code < 0 || code >= byCode.length) {
+            return 0L;
+        }
+        return byCode[code];
+    }
+
+    /**
+     * 항목이 속한 달의 카테고리 지출이 예산을 넘었는지 확인합니다.
+     * @return 초과 시 경고 메시지, 그렇지 않으면 null
+     */
+    public String checkOverBudget(LedgerItem item) {
+        if (!item.isExpense()) {
+            return null;
+        }
+        Integer limit = budgets.get(item.getCategory());
+        if (limit == null) {
+            return null;
+        }
+        YearMonth month = YearMonth.from(item.getDate());
+        long spent = getSpent(month, item.getCategory());
+        if (spent <= limit) {
+            return null;
+        }
+        return String.format("경고: %s %s 예산을 초과했습니다. (사용 %,d원 / 한도 %,d원, 초과 %,d원)",
+            month, item.getCategory(), spent, limit, spent - limit);
+    }
+
+    /**
+     * 지정한 월의 예산 사용 현황을 예산 정의 순서대로 가져옵니다.
+     */
+    public List<BudgetStatus> getStatus(YearMonth month) {
+        List<BudgetStatus> result = new ArrayList<>(budgets.size());
+        for (Map.Entry<String, Integer> entry : budgets.entrySet()) {
+            result.add(new BudgetStatus(entry.getKey(), entry.getValue(), getSpent(month, entry.getKey())));
+        }
+        return result;
+    }
+
+    private void apply(LedgerItem item, int sign) {
+        if (item == null || item.getDate() == null || item.getCategory() == null || !item.isExpense()) {
+            return;
+        }
+        int code = categories.codeOfAny(item.getCategory());
+        if (code < 0) {
+            return;
+        }
+        long delta = sign * (long) Math.abs(item.getAmount());
+        YearMonth month = YearMonth.from(item.getDate());
+        long[] byCode = spending.get(month);
+        if (byCode == null || code >= byCode.length) {
+            int length = Math.max(code + 1, categories.getCodeCount());
+            byCode = byCode == null ? new long[length] : Arrays.copyOf(byCode, length);
+            spending.put(month, byCode);
+        }
+        byCode[code] += delta;
+    }
+
+    // ====== LedgerChangeListener ======
+
+    @Override
+    public void itemAdded(LedgerItem item) {
+        apply(item, 1);
+    }
+
+    @Override
+    public void itemRemoved(LedgerItem item) {
+        apply(item, -1);
+    }
+
+    @Override
+    public void itemUpdated(LedgerItem before, LedgerItem after) {
+        apply(before, -1);
+        apply(after, 1);
+    }
+
+    @Override
+    public void itemsReloaded(List<LedgerItem> items) {
+        spending.clear();
+        for (LedgerItem item : items) {
+            apply(item, 1);
+        }
+    }
+
+    /**
+     * 한 카테고리의 예산 사용 현황
+     */
+    public static class BudgetStatus {
+        public final String category;
+        public final int limit;
+        public final long spent;
+
+        private BudgetStatus(String category, int limit, long spent) {
+            this.category = category;
+            this.limit = limit;
+            this.spent = spent;
+        }
+
+        public long getRemaining() {
+            return limit - spent;
+        }
+
+        public double getUtilization() {
+            return (double) spent / limit;
+        }
+
+        public boolean isOverBudget() {
+            return spent > limit;
+        }
+    }
+}
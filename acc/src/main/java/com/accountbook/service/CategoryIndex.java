@@ -0,0 +1,94 @@
+package com.accountbook.service;
+
+import com.accountbook.model.LedgerItem;
+import com.accountbook.util.CategoryManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 카테고리 코드 -> 해당 카테고리 항목 집합 색인입니다.
+ * 변경 통지만으로 유지되므로 카테고리 이름 변경/병합 시의 일괄 재분류와 카테고리별 건수 확인에 전체 항목을 훑지 않습니다.
+ * 집합은 순서가 없으므로 ID 순서가 필요한 카테고리별 조회에는 쓰지 않습니다.
+ * 코드는 이름이 바뀌거나 삭제된 카테고리의 이전 이름으로도 조회되므로({@link CategoryManager#codeOfAny})
+ * 재분류 도중 이전 이름을 가진 항목도 같은 집합에서 찾을 수 있습니다.
+ */
+public class CategoryIndex implements LedgerChangeListener {
+
+    // 카테고리 이름 -> 코드 변환에 쓰는 가계부의 카테고리 관리자
+    private final CategoryManager categories;
+    // 등록부에 없는 카테고리(-1) 항목도 한 집합으로 보관
+    private final Map<Integer, Set<LedgerItem>> itemsByCode = new HashMap<>();
+
+    public CategoryIndex(CategoryManager categories) {
+        this.categories = categories;
+    }
+
+    /**
+     * 카테고리(코드 기준)에 속한 항목을 가져옵니다. 반환 목록은 색인과 독립된 복사본이며 순서는 정해져 있지 않습니다.
+     */
+    public List<LedgerItem> itemsOf(String category) {
+        Set<LedgerItem> set = itemsByCode.get(categories.codeOfAny(category));
+        return set != null ? new ArrayList<>(set) : new ArrayList<>();
+    }
+
+    /**
+     * 카테고리에 속한 항목 수
+     */
+    public int countOf(String category) {
+        Set<LedgerItem> set = itemsByCode.get(categories.codeOfAny(category));
+        return set != null ? set.size() : 0;
+    }
+
+    private void add(LedgerItem item) {
+        itemsByCode.computeIfAbsent(codeOf(item), code -> Collections.newSetFromMap(new IdentityHashMap<>()))
+            .add(item);
+    }
+
+    private void remove(LedgerItem item, int code) {
+        Set<LedgerItem> set = itemsByCode.get(code);
+        if (set != null) {
+            set.remove(item);
+            if (set.isEmpty()) {
+                itemsByCode.remove(code);
+            }
+        }
+    }
+
+    private int codeOf(LedgerItem item) {
+        return item.getCategory() != null ? categories.codeOfAny(item.getCategory()) : -1;
+    }
+
+    // ====== LedgerChangeListener ======
+
+    @Override
+    public void itemAdded(LedgerItem item) {
+        add(item);
+    }
+
+    @Override
+    public void itemRemoved(LedgerItem item) {
+        remove(item, codeOf(item));
+    }
+
+    @Override
+    public void itemUpdated(LedgerItem before, LedgerItem after) {
+        int oldCode = codeOf(before);
+        if (oldCode != codeOf(after)) {
+            remove(after, oldCode);
+            add(after);
+        }
+    }
+
+    @Override
+    public void itemsReloaded(List<LedgerItem> items) {
+        itemsByCode.clear();
+        for (LedgerItem item : items) {
+            add(item);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.accountbook.service;
+
+import com.accountbook.model.LedgerItem;
+import java.util.List;
+
+/**
+ * LedgerService의 데이터 변경을 통지받는 리스너입니다.
+ * 예산 집계처럼 전체 항목을 다시 훑지 않고 변경분만으로 상태를 갱신해야 하는 기능이 구현합니다.
+ */
+public interface LedgerChangeListener {
+
+    /**
+     * 항목이 추가된 후 호출됩니다.
+     */
+    void itemAdded(LedgerItem item);
+
+    /**
+     * 항목이 삭제된 후 호출됩니다.
+     */
+    void itemRemoved(LedgerItem item);
+
+    /**
+     * 항목이 수정된 후 호출됩니다.
+     * @param before 수정 전 필드 값을 담은 복사본
+     * @param after 수정이 반영된 실제 항목
+     */
+    void itemUpdated(LedgerItem before, LedgerItem after);
+
+    /**
+     * 파일에서 전체 데이터를 다시 불러온 후 호출됩니다.
+     */
+    void itemsReloaded(List<LedgerItem> items);
+}
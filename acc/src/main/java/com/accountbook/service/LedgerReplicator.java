@@ -0,0 +1,290 @@
+package com.accountbook.service;
+
+import com.accountbook.model.LedgerItem;
+import com.accountbook.util.CategoryRegistry;
+import com.accountbook.util.ChangeRecord;
+import com.accountbook.util.ReplicaDirectory;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 저장이 끝난 변경(커밋)을 복제본 디렉터리로 보내는 기본 쪽 복제기입니다 (로그 전송 방식).
+ *
+ * 저장 경로에서는 변경 통지로 모아 둔 기록 줄을 큐에 넣기만 하고, 파일 쓰기는 백그라운드 스레드가 맡습니다.
+ * 스레드는 큐의 커밋을 복제본의 변경 기록에 덧붙이고(디스크까지 기록), 최대 APPLY_INTERVAL_MILLIS마다
+ * 도착한 커밋을 복제본 가계부에 반영합니다. 가계부 전체를 보내는 것은 처음 시작할 때(또는 복제본이 이어갈 수 없는
+ * 상태일 때)와 파일을 다시 불러왔을 때뿐입니다.
+ * 카테고리 등록부는 전체 복사와 함께, 그리고 등록부가 바뀐 뒤의 첫 커밋(종료 시 카테고리만 바뀌었으면 빈 커밋)에
+ * 담아 보내므로 복제본의 항목은 항상 복제본의 카테고리 파일로 검증할 수 있습니다.
+ * 예산과 반복 거래 규칙은 복제하지 않습니다.
+ */
+final class LedgerReplicator implements LedgerChangeListener {
+
+    private static final long APPLY_INTERVAL_MILLIS = 1000;
+    private static final long RETRY_MILLIS = 5000;
+
+    /**
+     * 저장을 마친 커밋 하나
+     */
+    private static class Commit {
+        final long seq;
+        final List<String> records;
+        final long primaryStamp;
+        final long millis;
+
+        Commit(long seq, List<String> records, long primaryStamp, long millis) {
+            this.seq = seq;
+            this.records = records;
+            this.primaryStamp = primaryStamp;
+            this.millis = millis;
+        }
+    }
+
+    private final LedgerService ledgerService;
+    private final ReplicaDirectory replica;
+    private final Thread thread;
+
+    // 아래 필드는 this로 보호
+    // 마지막 저장 이후의 변경 기록 줄 (번호 없이)
+    private List<String> pending = new ArrayList<>();
+    private final ArrayDeque<Commit> queue = new ArrayDeque<>();
+    // 전체를 다시 보내야 할 때의 항목 복사본
+    private List<LedgerItem> seedItems;
+    private CategoryRegistry seedCategories;
+    private long seedSeq;
+    private long seedStamp;
+    private long seedMillis;
+    private long committedSeq;
+    // 마지막으로 커밋이나 전체 복사에 담은 카테고리 등록부 (바뀌면 다음 커밋에 담음)
+    private CategoryRegistry committedCategories;
+    private boolean closed;
+    private String lastError;
+
+    LedgerReplicator(LedgerService ledgerService, String replicaDirectory) throws IOException {
+        this.ledgerService = ledgerService;
+        this.replica = new ReplicaDirectory(replicaDirectory, ledgerService.getFileName());
+        this.thread = new Thread(this::run, "ledger-replicator");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * 복제를 시작합니다. LedgerService의 쓰기 잠금 안에서 현재 항목으로 호출합니다.
+     * 복제본의 마지막 커밋이 지금의 기본 파일과 같으면(이전 실행에서 이어짐) 그대로 이어서 보내고,
+     * 아니면 현재 항목 전체로 복제본을 새로 만듭니다.
+     */
+    void start(List<LedgerItem> items) throws IOException {
+        if (!replica.tryLock()) {
+            throw new IOException("다른 프로세스가 이미 이 디렉터리로 복제 중입니다: " + replica.getSnapshotFileName());
+        }
+        long stamp = primaryStamp();
+        synchronized (this) {
+            committedSeq = replica.getShippedSeq();
+            if (!replica.hasCommitMarker() || replica.getShippedStamp() != stamp) {
+                requestSeed(items, stamp);
+            }
+            // 이어서 보내는 경우에도 복제하지 않는 동안 카테고리만 바뀌었을 수 있으므로
+            // committedCategories를 비워 두어 첫 커밋(또는 종료 시)에 등록부를 담음
+        }
+        thread.start();
+    }
+
+    /**
+     * 가계부 파일을 저장한 직후(쓰기 잠금 안에서) 호출합니다. 모아 둔 변경을 새 커밋으로 큐에 넣습니다.
+     */
+    synchronized void commit() {
+        List<String> records = pending;
+        pending = new ArrayList<>();
+        CategoryRegistry current = categories();
+        if (current != committedCategories) {
+            ChangeRecord.appendCategories(records, current);
+            committedCategories = current;
+        }
+        queue.add(new Commit(++committedSeq, records, primaryStamp(), System.currentTimeMillis()));
+        notifyAll();
+    }
+
+    /**
+     * 큐에 남은 커밋을 보내고 반영한 뒤 멈춥니다 (최대 timeoutMillis 대기).
+     * 마지막 커밋 뒤에 카테고리만 바뀌었으면 그 등록부만 담은 커밋을 먼저 큐에 넣습니다.
+     */
+    void close(long timeoutMillis) {
+        synchronized (this) {
+            if (seedItems == null && categories() != committedCategories) {
+                // 저장되지 않은 항목 변경(pending)은 담지 않음
+                List<String> records = new ArrayList<>();
+                committedCategories = categories();
+                ChangeRecord.appendCategories(records, committedCategories);
+                queue.add(new Commit(++committedSeq, records, primaryStamp(), System.currentTimeMillis()));
+            }
+            closed = true;
+            notifyAll();
+        }
+        try {
+            thread.join(timeoutMillis);
+            replica.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("복제본 잠금을 풀지 못했습니다: " + e.getMessage());
+        }
+    }
+
+    ReplicaDirectory.Status getStatus() {
+        long committed;
+        long oldestUnshipped;
+        String error;
+        synchronized (this) {
+            committed = committedSeq;
+            Commit oldest = queue.peekFirst();
+            oldestUnshipped = seedItems != null ? seedMillis : oldest != null ? oldest.millis : 0;
+            error = lastError;
+        }
+        return replica.status(committed, oldestUnshipped, error);
+    }
+
+    // ====== 백그라운드 스레드 ======
+
+    private void run() {
+        // 이전 실행에서 보내기만 하고 반영하지 못한 커밋이 있을 수 있음
+        boolean applyPending = true;
+        long lastApply = 0;
+        while (true) {
+            List<LedgerItem> seed;
+            CategoryRegistry seedRegistry;
+            long seq;
+            long stamp;
+            List<Commit> batch;
+            boolean stopping;
+            synchronized (this) {
+                long untilApply = applyPending ? APPLY_INTERVAL_MILLIS - (System.currentTimeMillis() - lastApply) : 0;
+                if (queue.isEmpty() && seedItems == null && !closed && (!applyPending || untilApply > 0)) {
+                    try {
+                        wait(lastError != null ? RETRY_MILLIS : applyPending ? untilApply : APPLY_INTERVAL_MILLIS);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    continue;
+                }
+                seed = seedItems;
+                seedRegistry = seedCategories;
+                seq = seedSeq;
+                stamp = seedStamp;
+                seedItems = null;
+                batch = new ArrayList<>(queue);
+                queue.clear();
+                stopping = closed;
+            }
+            try {
+                if (seed != null) {
+                    replica.seed(seed, seedRegistry, seq, stamp);
+                    seed = null;
+                }
+                if (!batch.isEmpty()) {
+                    ship(batch);
+                    batch.clear();
+                    applyPending = true;
+                }
+                long now = System.currentTimeMillis();
+                if (applyPending && (stopping || now - lastApply >= APPLY_INTERVAL_MILLIS)) {
+                    replica.apply();
+                    replica.compactIfLarge();
+                    lastApply = now;
+                    applyPending = false;
+                }
+                synchronized (this) {
+                    lastError = null;
+                    if (stopping && queue.isEmpty() && seedItems == null) {
+                        return;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                synchronized (this) {
+                    if (lastError == null) {
+                        System.err.println("복제 오류: " + e.getMessage());
+                    }
+                    lastError = e.getMessage();
+                    // 보내지 못한 것은 다시 시도 (그사이 전체 복사가 새로 요청되었으면 더 오래된 것은 필요 없음)
+                    if (seedItems == null) {
+                        if (seed != null) {
+                            seedItems = seed;
+                            seedCategories = seedRegistry;
+                            seedSeq = seq;
+                            seedStamp = stamp;
+                        }
+                        for (int i = batch.size() - 1; i >= 0; i--) {
+                            queue.addFirst(batch.get(i));
+                        }
+                    }
+                    if (stopping) {
+                        return;
+                    }
+                    try {
+                        wait(RETRY_MILLIS);
+                    } catch (InterruptedException ie) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void ship(List<Commit> batch) throws IOException {
+        StringBuilder sb = new StringBuilder(256);
+        for (Commit commit : batch) {
+            ReplicaDirectory.appendCommit(sb, commit.seq, commit.records, commit.primaryStamp, commit.millis);
+        }
+        Commit last = batch.get(batch.size() - 1);
+        replica.ship(sb, last.seq, last.primaryStamp, batch.get(0).millis, last.millis);
+    }
+
+    // 호출한 쪽이 this를 잡고 있어야 함. 이전 커밋은 복사본에 이미 들어 있으므로 버림
+    private void requestSeed(List<LedgerItem> items, long stamp) {
+        List<LedgerItem> copy = new ArrayList<>(items.size());
+        for (LedgerItem item : items) {
+            copy.add(new LedgerItem(item));
+        }
+        queue.clear();
+        pending = new ArrayList<>();
+        seedItems = copy;
+        seedCategories = categories();
+        committedCategories = seedCategories;
+        seedSeq = ++committedSeq;
+        seedStamp = stamp;
+        seedMillis = System.currentTimeMillis();
+        notifyAll();
+    }
+
+    private CategoryRegistry categories() {
+        return ledgerService.getCategoryManager().getRegistry();
+    }
+
+    private long primaryStamp() {
+        return SharedLedgerCoordinator.stampOf(new File(ledgerService.getFileName()));
+    }
+
+    // ====== 변경 통지 ======
+
+    @Override
+    public synchronized void itemAdded(LedgerItem item) {
+        pending.add(ChangeRecord.appendPut(new StringBuilder(64), item).toString());
+    }
+
+    @Override
+    public synchronized void itemRemoved(LedgerItem item) {
+        pending.add(ChangeRecord.appendDelete(new StringBuilder(16), item.getId()).toString());
+    }
+
+    @Override
+    public synchronized void itemUpdated(LedgerItem before, LedgerItem after) {
+        pending.add(ChangeRecord.appendPut(new StringBuilder(64), after).toString());
+    }
+
+    @Override
+    public synchronized void itemsReloaded(List<LedgerItem> items) {
+        // 파일에서 다시 불러온 내용이 곧 저장된 상태이므로 전체를 다시 보냄
+        requestSeed(items, primaryStamp());
+    }
+}
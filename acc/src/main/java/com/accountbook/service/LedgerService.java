@@ -1,19 +1,57 @@
 package com.accountbook.service;
 
 import com.accountbook.model.LedgerItem;
+import com.accountbook.model.RecurringRule;
+import com.accountbook.util.AmountColumns;
+import com.accountbook.util.BudgetFileHandler;
+import com.accountbook.util.CategoryManager;
 import com.accountbook.util.CsvFileHandler;
+import com.accountbook.util.DuplicateDetector;
 import com.accountbook.util.JsonFileHandler;
+import com.accountbook.util.LedgerEvents;
+import com.accountbook.util.LedgerMetrics;
+import com.accountbook.util.LedgerSnapshot;
+import com.accountbook.util.OffHeapItemStore;
+import com.accountbook.util.RecurringRuleFileHandler;
 import com.accountbook.util.FileFormat;
+import com.accountbook.util.ItemExporter;
+import com.accountbook.util.ItemSorter;
+import com.accountbook.util.ItemTableWriter;
+import com.accountbook.util.ReplicaDirectory;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * 가계부 작업(CRUD)을 관리하기 위한 서비스 클래스입니다.
+ * 공개 메서드는 읽기/쓰기 잠금으로 보호되어 여러 스레드에서 호출할 수 있습니다.
+ * 생성자가 파일을 불러오며 자기 메서드를 호출하므로 하위 클래스를 만들 수 없게 final로 둡니다.
  */
-public class LedgerService {
+public final class LedgerService {
+    
+    // 이 크기 이상인 가계부 파일은 파싱 결과를 스냅숏(<파일명>.snapshot)으로 남겨 다음 시작 때 파싱을 건너뜀
+    public static final long SNAPSHOT_MIN_BYTES = 1 << 20;
     
     private List<LedgerItem> items;
     private CsvFileHandler csvFileHandler;
@@ -21,23 +59,78 @@ public class LedgerService {
     private FileFormat currentFormat;
     private String baseFileName;
     private int nextId;
+    // 데이터가 변경될 때마다 증가하는 수정 버전 (조회 캐시 무효화에 사용)
+    private long modificationVersion;
+    private final QueryCache queryCache = new QueryCache();
+    // 이 가계부의 카테고리 등록부 (initializeFileHandlers에서 가계부 옆의 카테고리 파일을 불러옴)
+    private final CategoryManager categoryManager = new CategoryManager();
+    private final BudgetTracker budgetTracker = new BudgetTracker(categoryManager);
+    private BudgetFileHandler budgetFileHandler;
+    private final RecurringScheduler recurringScheduler = new RecurringScheduler();
+    private RecurringRuleFileHandler recurringRuleFileHandler;
+    // ID -> 항목 색인 (조회/삭제/수정 시 O(1) 탐색)
+    private final Map<Integer, LedgerItem> itemsById = new HashMap<>();
+    // 카테고리 -> 항목 색인 (카테고리별 조회와 일괄 재분류에 사용)
+    private final CategoryIndex categoryIndex = new CategoryIndex(categoryManager);
+    // 데이터 변경 통지를 받는 리스너 (예산 집계 등)
+    // 내장 색인/집계는 생성 중 공개 메서드(addChangeListener)를 거치지 않도록 필드 초기화에서 바로 등록
+    private final List<LedgerChangeListener> changeListeners = new ArrayList<>(List.of(categoryIndex, budgetTracker));
+    private final UndoManager undoManager = new UndoManager();
+    // 과거 시점 조회용 다중 버전 저장소 (활성화 전에는 null)
+    private VersionedItemStore versionStore;
+    // 여러 스레드(HTTP 서버 등)에서 사용할 때의 잠금: 변경 연산은 쓰기 잠금, 조회는 읽기 잠금
+    // (과거 시점 조회는 다중 버전 저장소에서 잠금 없이 수행)
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // false이면 항목 변경 시 파일에 바로 쓰지 않고 flush() 때 한 번에 저장 (일괄 명령 모드 등)
+    private boolean autoSave = true;
+    // 마지막 저장 이후 파일에 반영되지 않은 변경이 있는지
+    private boolean unsavedChanges;
+    // 여러 프로세스가 같은 파일을 쓸 때의 조정자 (공유 모드가 아니면 null)
+    private volatile SharedLedgerCoordinator sharedCoordinator;
+    // 마지막으로 불러오기 직전의 가계부 파일 지문 (공유 모드 시작 시 그 사이 변경 여부 확인)
+    private long loadedDataStamp;
+    // 저장된 변경을 복제본 디렉터리로 보내는 복제기 (복제를 켜지 않았으면 null)
+    private volatile LedgerReplicator replicator;
+    // 금액 합계용 열 배열과 만든 시점의 수정 버전 (처음 합계를 구할 때 만들고 변경 후 다음 합계 때 다시 만듦)
+    private AmountColumns amountColumns;
+    private long amountColumnsVersion = -1;
+    private final Object amountColumnsLock = new Object();
+    // false이면 스냅숏을 읽기만 하고 쓰지 않음 (한 번 읽고 끝나는 내보내기 등)
+    private boolean snapshotWrites = true;
+    // 이번 실행에서 저장한 뒤로 스냅숏이 원본과 맞지 않음 (종료 시 refreshSnapshotIfStale로 다시 씀)
+    private boolean snapshotStale;
+    // 힙 밖 저장소로 열었을 때의 항목 (openOffHeap, 그 밖에는 null이고 항목은 items에 있음)
+    private OffHeapItems offHeapItems;
     
     public LedgerService() {
         this.currentFormat = FileFormat.CSV; // 기본값은 CSV
         this.baseFileName = "ledger";
         initializeFileHandlers();
+        initializeBudgets();
+        initializeRecurringRules();
         this.items = new ArrayList<>();
         this.nextId = 1;
         loadData();
     }
     
     public LedgerService(String fileName) {
+        this(fileName, true);
+    }
+    
+    /**
+     * @param writeSnapshots false이면 큰 가계부의 스냅숏을 읽기만 하고 새로 쓰지 않습니다
+     *                       (가계부를 한 번 읽고 끝나는 내보내기처럼 다음 시작이 빨라질 필요가 없을 때)
+     */
+    public LedgerService(String fileName, boolean writeSnapshots) {
+        this.snapshotWrites = writeSnapshots;
         this.baseFileName = getBaseFileName(fileName);
         this.currentFormat = FileFormat.fromFileName(fileName);
         if (this.currentFormat == null) {
             this.currentFormat = FileFormat.CSV; // 기본값
         }
         initializeFileHandlers();
+        initializeBudgets();
+        initializeRecurringRules();
         this.items = new ArrayList<>();
         this.nextId = 1;
         loadData();
@@ -47,6 +140,8 @@ public class LedgerService {
         this.currentFormat = format;
         this.baseFileName = "ledger";
         initializeFileHandlers();
+        initializeBudgets();
+        initializeRecurringRules();
         this.items = new ArrayList<>();
         this.nextId = 1;
         loadData();
@@ -56,19 +151,97 @@ public class LedgerService {
         this.baseFileName = getBaseFileName(baseFileName);
         this.currentFormat = format;
         initializeFileHandlers();
+        initializeBudgets();
+        initializeRecurringRules();
         this.items = new ArrayList<>();
         this.nextId = 1;
         loadData();
     }
     
+    private LedgerService(String fileName, OffHeapItemStore store) {
+        // 스냅숏은 항목을 힙에 만들므로 쓰지도 읽지도 않음
+        this.snapshotWrites = false;
+        this.baseFileName = getBaseFileName(fileName);
+        this.currentFormat = FileFormat.fromFileName(fileName);
+        if (this.currentFormat == null) {
+            this.currentFormat = FileFormat.CSV; // 기본값
+        }
+        initializeFileHandlers();
+        initializeBudgets();
+        initializeRecurringRules();
+        this.items = new ArrayList<>();
+        this.nextId = 1;
+        loadOffHeap(store);
+    }
+    
+    /**
+     * 가계부 파일을 힙 밖 저장소(OffHeapItemStore)에 올려 엽니다. 항목이 힙에 객체로 남지 않으므로
+     * 큰 가계부도 힙 사용량과 GC 시간이 항목 수에 따라 늘지 않습니다.
+     * 조회(ID 조회, 전체/날짜 범위/카테고리 조회, 페이지, 개수, 합계, 내보내기)는 같은 의미로 동작하며 결과 항목만 힙에 만들고,
+     * 항목을 바꾸는 연산과 공유 모드, 복제, 버전 기록은 IllegalStateException을 던집니다 (읽기 전용).
+     * 다 쓰면 closeOffHeapStorage()로 메모리를 해제해야 합니다.
+     * @param mappedFile null이면 프로세스 메모리에, 아니면 이 작업 파일을 매핑해 담음 (닫을 때 삭제)
+     * @throws UnsupportedOperationException 이 런타임에서 힙 밖 저장소를 쓸 수 없을 때 (OffHeapItemStore.isAvailable)
+     */
+    public static LedgerService openOffHeap(String fileName, Path mappedFile) throws IOException {
+        OffHeapItemStore store = OffHeapItemStore.open(mappedFile);
+        try {
+            return new LedgerService(fileName, store);
+        } catch (RuntimeException e) {
+            store.close();
+            throw e;
+        }
+    }
+    
     /**
      * 파일 핸들러들을 초기화합니다.
      */
     private void initializeFileHandlers() {
         String csvFileName = baseFileName + ".csv";
         String jsonFileName = baseFileName + ".json";
-        this.csvFileHandler = new CsvFileHandler(csvFileName);
-        this.jsonFileHandler = new JsonFileHandler(jsonFileName);
+        this.csvFileHandler = new CsvFileHandler(csvFileName, categoryManager);
+        this.jsonFileHandler = new JsonFileHandler(jsonFileName, categoryManager);
+        // 항목 검증에 커스텀 카테고리가 필요하므로 항목보다 먼저 카테고리 등록부를 불러옴
+        categoryManager.load(baseFileName + ".categories.csv");
+    }
+    
+    /**
+     * 가계부 파일 옆의 예산 파일에서 예산 정의를 불러옵니다.
+     */
+    private void initializeBudgets() {
+        this.budgetFileHandler = new BudgetFileHandler(baseFileName + ".budget.csv");
+        for (Map.Entry<String, Integer> entry : budgetFileHandler.loadFromFile().entrySet()) {
+            budgetTracker.setBudget(entry.getKey(), entry.getValue());
+        }
+    }
+    
+    /**
+     * 가계부 파일 옆의 반복 규칙 파일에서 반복 거래 규칙을 불러옵니다.
+     */
+    private void initializeRecurringRules() {
+        this.recurringRuleFileHandler = new RecurringRuleFileHandler(baseFileName + ".recurring.csv");
+        recurringScheduler.setRules(recurringRuleFileHandler.loadFromFile());
+    }
+    
+    /**
+     * 데이터 변경 리스너를 등록합니다.
+     */
+    public void addChangeListener(LedgerChangeListener listener) {
+        lock.writeLock().lock();
+        try {
+            changeListeners.add(listener);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void removeChangeListener(LedgerChangeListener listener) {
+        lock.writeLock().lock();
+        try {
+            changeListeners.remove(listener);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
     
     /**
@@ -85,16 +258,8 @@ public class LedgerService {
      * 시작 시 파일에서 데이터를 불러옵니다.
      */
     private void loadData() {
-        switch (currentFormat) {
-            case CSV:
-                items = csvFileHandler.loadFromFile();
-                break;
-            case JSON:
-                items = jsonFileHandler.loadFromFile();
-                break;
-            default:
-                items = new ArrayList<>();
-        }
+        loadedDataStamp = SharedLedgerCoordinator.stampOf(new File(getFileName()));
+        items = readItems();
         
         // 기존 항목을 기반으로 다음 ID를 계산
         if (!items.isEmpty()) {
@@ -103,236 +268,1680 @@ public class LedgerService {
                 .max()
                 .orElse(0) + 1;
         }
+        rebuildIdIndex();
+        markModified();
+        for (LedgerChangeListener listener : changeListeners) {
+            listener.itemsReloaded(items);
+        }
+        publishVersion();
     }
     
     /**
-     * 가계부에 새 항목을 추가합니다.
+     * 가계부 파일의 항목을 힙 밖 저장소에 옮겨 담습니다. CSV는 검증한 묶음마다 옮기므로 항목 객체가 파일 전체만큼 쌓이지 않습니다.
      */
-    public boolean addItem(String type, LocalDate date, int amount, String category, String description) {
-        LedgerItem newItem = new LedgerItem(nextId, type, date, amount, category, description);
-        items.add(newItem);
-        nextId++;
-        
-        boolean saved = saveData();
-        if (saved) {
-            System.out.printf("항목이 ID: %d로 성공적으로 추가되었습니다.%n", newItem.getId());
+    private void loadOffHeap(OffHeapItemStore store) {
+        loadedDataStamp = SharedLedgerCoordinator.stampOf(new File(getFileName()));
+        if (currentFormat == FileFormat.JSON) {
+            for (LedgerItem item : jsonFileHandler.loadFromFile()) {
+                store.append(item);
+            }
+        } else {
+            csvFileHandler.loadFromFile(store::append);
         }
-        return saved;
+        offHeapItems = new OffHeapItems(store);
+        markModified();
     }
     
     /**
-     * ID로 항목을 삭제합니다.
+     * 힙 밖 저장소로 열었는지 (openOffHeap)
      */
-    public boolean deleteItem(int id) {
-        boolean removed = items.removeIf(item -> item.getId() == id);
+    public boolean isOffHeap() {
+        return offHeapItems != null;
+    }
+    
+    /**
+     * 힙 밖 저장소가 차지한 메모리(또는 매핑한 작업 파일) 바이트 수, 힙 밖 저장소로 열지 않았으면 0
+     */
+    public long getOffHeapReservedBytes() {
+        lock.readLock().lock();
+        try {
+            return offHeapItems != null ? offHeapItems.getStore().getReservedBytes() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 힙 밖 저장소를 닫아 메모리를 해제합니다 (매핑한 작업 파일은 삭제). 진행 중인 조회가 끝날 때까지 기다리며,
+     * 닫은 뒤의 조회는 IllegalStateException을 던집니다. 여러 번 불러도 되며, 힙 밖 저장소로 열지 않았으면 아무것도 하지 않습니다.
+     */
+    public void closeOffHeapStorage() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (offHeapItems != null) {
+                offHeapItems.close();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // 힙 밖 저장소로 연 가계부는 읽기 전용
+    private void requireHeapStorage() {
+        if (offHeapItems != null) {
+            throw new IllegalStateException("힙 밖 저장소로 연 가계부는 읽기 전용입니다.");
+        }
+    }
+    
+    /**
+     * 현재 형식의 가계부 파일에서 항목을 읽습니다.
+     * 큰 파일은 원본이 마지막 파싱/저장 이후 그대로이면 스냅숏에서 바로 만들고,
+     * 스냅숏이 없거나 원본과 맞지 않아 다시 파싱했으면 다음 시작을 위해 스냅숏을 새로 씁니다.
+     */
+    private List<LedgerItem> readItems() {
+        File file = new File(getFileName());
+        LedgerSnapshot snapshot = new LedgerSnapshot(file.getPath());
+        snapshotStale = false;
+        if (file.length() < SNAPSHOT_MIN_BYTES) {
+            if (snapshotWrites) {
+                snapshot.delete();
+            }
+            return parseItems();
+        }
         
-        if (!removed) {
-            System.out.printf("ID %d를 가진 항목이 존재하지 않습니다.%n", id);
-            return false;
+        long started = LedgerMetrics.start();
+        LedgerSnapshot.Loaded loaded = snapshot.load(categoryManager);
+        if (loaded != null) {
+            LedgerMetrics.record(LedgerMetrics.Operation.LOAD_SNAPSHOT, started);
+            System.out.printf("%s에서 %d개의 항목을 불러왔습니다 (스냅숏 사용).%n", file.getPath(), loaded.items.size());
+            if (loaded.rejected > 0) {
+                System.out.printf("경고: 원본에서 유효하지 않은 레코드 %d개를 건너뛰었습니다.%n", loaded.rejected);
+            }
+            return loaded.items;
         }
         
-        boolean saved = saveData();
-        if (saved) {
-            System.out.printf("ID %d를 가진 항목이 성공적으로 삭제되었습니다.%n", id);
+        // 파싱 전에 키를 계산해 두어야 파싱 도중 파일이 바뀌어도 새 내용을 옛 키로 기록하지 않음
+        LedgerSnapshot.SourceKey key;
+        try {
+            key = snapshot.currentSourceKey();
+        } catch (IOException e) {
+            key = null;
+        }
+        List<LedgerItem> parsed = parseItems();
+        if (snapshotWrites && key != null && key.size == file.length() && key.lastModified == file.lastModified()) {
+            int rejected = currentFormat == FileFormat.JSON
+                ? jsonFileHandler.getLastRejectedCount() : csvFileHandler.getLastRejectedCount();
+            writeSnapshot(snapshot, parsed, key, rejected);
+        }
+        return parsed;
+    }
+    
+    private List<LedgerItem> parseItems() {
+        switch (currentFormat) {
+            case CSV:
+                return csvFileHandler.loadFromFile();
+            case JSON:
+                return jsonFileHandler.loadFromFile();
+            default:
+                return new ArrayList<>();
         }
-        return saved;
     }
     
     /**
-     * 모든 항목을 ID별로 정렬(오름차순)하여 가져옵니다.
+     * 이번 실행에서 저장한 뒤로 스냅숏이 원본과 맞지 않으면 지금 파일에 맞춰 다시 씁니다 (작은 파일이면 남은 스냅숏을 지움).
+     * 스냅숏은 원본 전체를 읽어 CRC를 계산하므로 저장할 때마다 쓰지 않고 종료할 때 한 번 호출합니다.
+     * 저장되지 않은 변경이 있으면 메모리와 파일이 다르므로 쓰지 않습니다.
      */
-    public List<LedgerItem> getAllItems() {
-        return items.stream()
-            .sorted(Comparator.comparingInt(LedgerItem::getId))
-            .collect(Collectors.toList());
+    public void refreshSnapshotIfStale() {
+        if (!snapshotWrites) {
+            return;
+        }
+        beginWrite();
+        try {
+            if (snapshotStale && snapshotWrites && !unsavedChanges) {
+                refreshSnapshot();
+                snapshotStale = false;
+            }
+        } finally {
+            endWrite();
+        }
+    }
+    
+    private void refreshSnapshot() {
+        File file = new File(getFileName());
+        LedgerSnapshot snapshot = new LedgerSnapshot(file.getPath());
+        if (file.length() < SNAPSHOT_MIN_BYTES) {
+            snapshot.delete();
+            return;
+        }
+        try {
+            writeSnapshot(snapshot, items, snapshot.currentSourceKey(), 0);
+        } catch (IOException e) {
+            snapshot.delete();
+            System.err.printf("스냅숏 %s 쓰기 오류: %s%n", snapshot.getFileName(), e.getMessage());
+        }
+    }
+    
+    private static void writeSnapshot(LedgerSnapshot snapshot, List<LedgerItem> items, LedgerSnapshot.SourceKey key,
+                                      int rejected) {
+        if (key == null) {
+            return;
+        }
+        long started = LedgerMetrics.start();
+        try {
+            snapshot.save(items, key, rejected);
+        } catch (IOException e) {
+            // 스냅숏은 시작 시간을 줄이는 보조 파일이므로 실패해도 다음에 다시 파싱할 뿐임
+            snapshot.delete();
+            System.err.printf("스냅숏 %s 쓰기 오류: %s%n", snapshot.getFileName(), e.getMessage());
+        } finally {
+            LedgerMetrics.record(LedgerMetrics.Operation.SAVE_SNAPSHOT, started);
+        }
     }
     
     /**
-     * 날짜 범위 내의 항목을 가져옵니다.
+     * 데이터가 변경되었음을 기록합니다. 이전 버전으로 캐시된 조회 결과는 더 이상 사용되지 않습니다.
      */
-    public List<LedgerItem> getItemsByDateRange(LocalDate startDate, LocalDate endDate) {
-        return items.stream()
-            .filter(item -> {
-                LocalDate itemDate = item.getDate();
-                return !itemDate.isBefore(startDate) && !itemDate.isAfter(endDate);
-            })
-            .sorted(Comparator.comparingInt(LedgerItem::getId))
-            .collect(Collectors.toList());
+    private void markModified() {
+        modificationVersion++;
     }
     
+    // ====== 공유 모드 (여러 프로세스가 같은 파일 사용) ======
+    
     /**
-     * 카테고리별 항목을 가져옵니다.
+     * 같은 가계부 파일을 쓰는 다른 프로세스와 조정하는 공유 모드를 켭니다.
+     * 변경은 <파일명>.lock의 배타 잠금 안에서 다른 프로세스의 변경을 먼저 반영한 뒤 적용·저장되고,
+     * 조회는 잠금 파일의 세대 번호가 바뀌었을 때만 <파일명>.journal의 새 변경분을 반영합니다.
+     * 다른 프로세스의 변경이 반영되면 실행 취소 기록은 비워집니다.
+     * 예산, 반복 거래 규칙, 카테고리 파일은 조정 대상이 아닙니다.
      */
-    public List<LedgerItem> getItemsByCategory(String category) {
-        return items.stream()
-            .filter(item -> item.getCategory().equals(category))
-            .sorted(Comparator.comparingInt(LedgerItem::getId))
-            .collect(Collectors.toList());
+    public void enableSharedMode() throws IOException {
+        requireHeapStorage();
+        lock.writeLock().lock();
+        try {
+            if (sharedCoordinator != null) {
+                return;
+            }
+            if (replicator != null) {
+                throw new IllegalStateException("복제 중에는 공유 모드를 사용할 수 없습니다.");
+            }
+            SharedLedgerCoordinator coordinator = new SharedLedgerCoordinator(this,
+                baseFileName + ".lock", baseFileName + ".journal", getFileName());
+            coordinator.open(loadedDataStamp);
+            addChangeListener(coordinator);
+            sharedCoordinator = coordinator;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public boolean isSharedMode() {
+        return sharedCoordinator != null;
     }
     
     /**
-     * 주어진 ID를 가진 항목이 존재하는지 확인합니다.
+     * 공유 모드에서 다른 프로세스의 변경을 지금 반영합니다. 조회 메서드도 호출 시 자동으로 확인합니다.
+     * @return 반영된 변경이 있으면 true
      */
-    public boolean itemExists(int id) {
-        return items.stream().anyMatch(item -> item.getId() == id);
+    public boolean refresh() {
+        SharedLedgerCoordinator coordinator = sharedCoordinator;
+        if (coordinator == null) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            boolean changed = coordinator.refresh();
+            if (changed) {
+                undoManager.clear();
+            }
+            return changed;
+        } catch (IOException e) {
+            System.err.println("다른 프로세스의 변경을 불러오지 못했습니다: " + e.getMessage());
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
     
     /**
-     * 전체 항목 수를 가져옵니다.
+     * 공유 모드 상태 요약 (세대 번호, 변경 기록에서 반영한 줄 수, 전체 다시 불러오기 횟수)
      */
-    public int getItemCount() {
-        return items.size();
+    public String getSharedModeStatus() {
+        SharedLedgerCoordinator coordinator = sharedCoordinator;
+        if (coordinator == null) {
+            return "공유 모드 꺼짐";
+        }
+        return String.format("공유 모드: 세대 %d, 반영한 변경 %d건, 전체 다시 불러오기 %d회",
+            coordinator.getKnownGeneration(), coordinator.getReplayedRecords(), coordinator.getFullReloads());
     }
     
+    // ====== 복제 (로그 전송) ======
+    
     /**
-     * 데이터를 수동으로 파일에 저장합니다.
+     * 저장이 끝난 변경을 replicaDirectory의 복제본으로 보내는 복제를 켭니다.
+     * 저장할 때는 변경 기록을 큐에 넣기만 하고, 복제본 기록 쓰기와 반영은 백그라운드 스레드가 맡습니다.
+     * 복제본이 지금의 가계부 파일에서 이어질 수 없으면 처음 한 번은 전체를 보냅니다.
+     * 공유 모드와 함께 쓸 수 없으며, 예산/반복 거래 규칙/카테고리 파일은 복제하지 않습니다.
      */
-    public boolean saveData() {
-        switch (currentFormat) {
-            case CSV:
-                return csvFileHandler.saveToFile(items);
-            case JSON:
-                return jsonFileHandler.saveToFile(items);
-            default:
-                return false;
+    public void enableReplication(String replicaDirectory) throws IOException {
+        requireHeapStorage();
+        lock.writeLock().lock();
+        try {
+            if (replicator != null) {
+                return;
+            }
+            if (sharedCoordinator != null) {
+                throw new IllegalStateException("공유 모드에서는 복제를 사용할 수 없습니다.");
+            }
+            LedgerReplicator newReplicator = new LedgerReplicator(this, replicaDirectory);
+            newReplicator.start(items);
+            addChangeListener(newReplicator);
+            replicator = newReplicator;
+        } finally {
+            lock.writeLock().unlock();
         }
     }
     
+    public boolean isReplicating() {
+        return replicator != null;
+    }
+    
     /**
-     * 데이터를 수동으로 파일에서 불러옵니다.
+     * 복제 상태 (복제를 켜지 않았으면 null)
      */
-    public boolean loadData(boolean overwrite) {
-        if (!overwrite && !items.isEmpty()) {
-            System.out.println("이미 데이터가 불러와져 있습니다. 다시 불러오려면 overwrite=true를 사용하세요.");
-            return false;
+    public ReplicaDirectory.Status getReplicationStatus() {
+        LedgerReplicator current = replicator;
+        return current != null ? current.getStatus() : null;
+    }
+    
+    /**
+     * 보내지 않은 변경을 복제본에 보내고 반영한 뒤 복제를 멈춥니다 (최대 timeoutMillis 대기).
+     */
+    public void closeReplication(long timeoutMillis) {
+        LedgerReplicator current;
+        lock.writeLock().lock();
+        try {
+            current = replicator;
+            if (current == null) {
+                return;
+            }
+            changeListeners.remove(current);
+            replicator = null;
+        } finally {
+            lock.writeLock().unlock();
         }
-        
-        List<LedgerItem> loadedItems;
-        switch (currentFormat) {
-            case CSV:
-                loadedItems = csvFileHandler.loadFromFile();
-                break;
-            case JSON:
-                loadedItems = jsonFileHandler.loadFromFile();
-                break;
-            default:
-                loadedItems = null;
+        current.close(timeoutMillis);
+    }
+    
+    /**
+     * 변경 연산을 시작합니다: 쓰기 잠금을 잡고, 공유 모드이면 파일 배타 잠금을 잡은 뒤 다른 프로세스의 변경을 반영합니다.
+     */
+    private void beginWrite() {
+        requireHeapStorage();
+        lock.writeLock().lock();
+        SharedLedgerCoordinator coordinator = sharedCoordinator;
+        if (coordinator == null) {
+            return;
         }
-        
-        if (loadedItems != null) {
-            items = loadedItems;
-            
-            // 다음 ID 재계산
-            if (!items.isEmpty()) {
-                nextId = items.stream()
-                    .mapToInt(LedgerItem::getId)
-                    .max()
-                    .orElse(0) + 1;
-            } else {
-                nextId = 1;
+        try {
+            if (coordinator.beginWrite()) {
+                undoManager.clear();
             }
-            
-            return true;
+        } catch (IOException e) {
+            lock.writeLock().unlock();
+            throw new UncheckedIOException("가계부 잠금 파일을 사용할 수 없습니다: " + e.getMessage(), e);
         }
-        
-        return false;
     }
     
     /**
-     * 영속성에 사용되는 파일명을 가져옵니다.
+     * 변경 연산을 마칩니다. 저장을 미루는 중(자동 저장 꺼짐)이면 flush 때까지 파일 잠금을 유지합니다.
      */
-    public String getFileName() {
-        switch (currentFormat) {
-            case CSV:
-                return csvFileHandler.getFileName();
-            case JSON:
-                return jsonFileHandler.getFileName();
-            default:
-                return baseFileName + ".csv";
+    private void endWrite() {
+        try {
+            SharedLedgerCoordinator coordinator = sharedCoordinator;
+            if (coordinator != null) {
+                coordinator.endWrite(!autoSave && unsavedChanges);
+            }
+        } catch (IOException e) {
+            System.err.println("가계부 잠금을 풀지 못했습니다: " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // 저장 직후 변경분을 공유 기록에 덧붙임 (실패해도 다른 프로세스는 파일 지문으로 변경을 알아채 전체를 다시 불러옴)
+    private void commitShared() {
+        try {
+            sharedCoordinator.commit();
+        } catch (IOException e) {
+            System.err.println("공유 변경 기록에 쓰지 못했습니다: " + e.getMessage());
         }
     }
     
     /**
-     * 데이터 파일이 존재하는지 확인합니다.
+     * 조회 전에 다른 프로세스의 변경이 있으면 반영합니다. 잠금을 이미 가진 스레드에서는 건너뜁니다
+     * (읽기 잠금을 가진 채 쓰기 잠금을 기다리면 교착되므로).
      */
-    public boolean dataFileExists() {
-        switch (currentFormat) {
-            case CSV:
-                return csvFileHandler.fileExists();
-            case JSON:
-                return jsonFileHandler.fileExists();
-            default:
-                return false;
+    private void syncShared() {
+        SharedLedgerCoordinator coordinator = sharedCoordinator;
+        if (coordinator == null || lock.isWriteLockedByCurrentThread() || lock.getReadHoldCount() > 0) {
+            return;
+        }
+        try {
+            if (coordinator.hasExternalChanges()) {
+                refresh();
+            }
+        } catch (IOException e) {
+            System.err.println("다른 프로세스의 변경을 확인하지 못했습니다: " + e.getMessage());
         }
     }
     
     /**
-     * 현재 파일 형식을 가져옵니다.
+     * 현재 수정 버전으로 캐시된 결과가 있으면 반환하고, 없으면 계산하여 캐시에 저장합니다.
+     * 반환된 목록은 캐시와 공유되므로 수정할 수 없습니다.
      */
-    public FileFormat getCurrentFormat() {
-        return currentFormat;
+    private List<LedgerItem> cachedQuery(String query, Supplier<List<LedgerItem>> loader) {
+        LedgerEvents.Query event = new LedgerEvents.Query();
+        event.begin();
+        long version = modificationVersion;
+        List<LedgerItem> cached = queryCache.get(query, version);
+        if (cached != null) {
+            LedgerEvents.commitQuery(event, query, cached.size(), true);
+            return cached;
+        }
+        List<LedgerItem> result = Collections.unmodifiableList(loader.get());
+        queryCache.put(query, version, result);
+        LedgerEvents.commitQuery(event, query, result.size(), false);
+        return result;
     }
     
     /**
-     * 파일 형식을 변경합니다. 기존 데이터는 새 형식으로 저장됩니다.
+     * 가계부에 새 항목을 추가합니다.
      */
-    public boolean changeFormat(FileFormat newFormat) {
-        if (newFormat == currentFormat) {
-            System.out.println("이미 " + newFormat.getDescription() + "을(를) 사용하고 있습니다.");
-            return true;
+    public boolean addItem(String type, LocalDate date, int amount, String category, String description) {
+        long started = LedgerMetrics.start();
+        beginWrite();
+        try {
+            LedgerItem newItem = new LedgerItem(nextId, type, date, amount, category, description);
+            List<LedgerItem> added = Collections.singletonList(newItem);
+            applyInsert(added);
+            undoManager.record(new UndoManager.AddCommand(added));
+        
+            boolean saved = persist();
+            if (saved) {
+                System.out.printf("항목이 ID: %d로 성공적으로 추가되었습니다.%n", newItem.getId());
+                // 저장하지 못한 항목으로는 예산 초과를 알리지 않음
+                String budgetWarning = budgetTracker.checkOverBudget(newItem);
+                if (budgetWarning != null) {
+                    System.out.println(budgetWarning);
+                }
+            }
+            return saved;
+        } finally {
+            endWrite();
+            LedgerMetrics.record(LedgerMetrics.Operation.ADD, started);
         }
+    }
+    
+    /**
+     * 여러 항목을 한 번에 추가합니다. 연속된 ID 범위를 한 번에 부여하고 파일에는 한 번만 저장합니다.
+     * 전달된 항목의 ID는 덮어씁니다.
+     */
+    public boolean addItems(List<LedgerItem> newItems) {
+        long started = LedgerMetrics.start();
+        beginWrite();
+        try {
+            if (newItems.isEmpty()) {
+                return true;
+            }
         
-        FileFormat oldFormat = currentFormat;
-        currentFormat = newFormat;
+            int firstId = nextId;
+            int id = nextId;
+            for (LedgerItem item : newItems) {
+                item.setId(id++);
+            }
+            List<LedgerItem> added = new ArrayList<>(newItems);
+            applyInsert(added);
+            undoManager.record(new UndoManager.AddCommand(added));
         
-        // 새 형식으로 데이터 저장
-        boolean success = saveData();
-        if (success) {
-            System.out.printf("파일 형식이 %s에서 %s(으)로 변경되었습니다.%n", 
-                oldFormat.getDescription(), newFormat.getDescription());
-        } else {
-            // 실패 시 원래 형식으로 되돌리기
-            currentFormat = oldFormat;
-            System.err.println("파일 형식 변경에 실패했습니다.");
-        }
+            boolean saved = persist();
+            if (!saved) {
+                return false;
+            }
+            System.out.printf("%d개의 항목이 ID: %d~%d로 성공적으로 추가되었습니다.%n",
+                newItems.size(), firstId, nextId - 1);
         
-        return success;
+            // 같은 (월, 카테고리)는 같은 경고 문구가 되므로 한 번만 출력
+            LinkedHashSet<String> budgetWarnings = new LinkedHashSet<>();
+            for (LedgerItem item : newItems) {
+                String warning = budgetTracker.checkOverBudget(item);
+                if (warning != null) {
+                    budgetWarnings.add(warning);
+                }
+            }
+            budgetWarnings.forEach(System.out::println);
+            return true;
+        } finally {
+            endWrite();
+            LedgerMetrics.record(LedgerMetrics.Operation.ADD_BATCH, started);
+        }
     }
     
     /**
-     * 지원되는 모든 파일 형식을 가져옵니다.
+     * 저장에 실패한 일괄 추가 항목을 메모리와 실행 취소 기록에서 제거합니다 (파일은 다시 쓰지 않음).
      */
-    public static FileFormat[] getSupportedFormats() {
-        return FileFormat.values();
+    private void discardItems(List<LedgerItem> discarded) {
+        applyRemove(discarded);
+        undoManager.clear();
     }
     
     /**
-     * 항목 목록을 형식화된 표로 표시합니다.
+     * ID 하나로 지정한 수정/삭제의 결과
      */
-    public void displayItems(List<LedgerItem> itemsToDisplay) {
-        if (itemsToDisplay.isEmpty()) {
-            System.out.println("표시할 항목이 없습니다.");
-            return;
-        }
+    public enum ItemWriteStatus {
+        DONE, NOT_FOUND, SAVE_FAILED
+    }
+    
+    /**
+     * ID로 항목을 삭제합니다.
+     */
+    public boolean deleteItem(int id) {
+        return deleteItemWithStatus(id) == ItemWriteStatus.DONE;
+    }
+    
+    /**
+     * ID로 항목을 삭제하고, 항목이 없었는지와 저장에 실패했는지를 구분해 반환합니다.
+     * 존재 확인과 삭제를 같은 쓰기 잠금 안에서 하므로 다른 스레드의 변경과 섞이지 않습니다.
+     */
+    public ItemWriteStatus deleteItemWithStatus(int id) {
+        long started = LedgerMetrics.start();
+        beginWrite();
+        try {
+            LedgerItem removed = itemsById.get(id);
         
-        System.out.println("====================================================================================");
-        System.out.printf(" %-3s | %-4s | %-12s | %-10s | %-11s | %-20s%n", 
-            "ID", "유형", "날짜", "카테고리", "금액", "설명");
-        System.out.println("------------------------------------------------------------------------------------");
+            if (removed == null) {
+                System.out.printf("ID %d를 가진 항목이 존재하지 않습니다.%n", id);
+                return ItemWriteStatus.NOT_FOUND;
+            }
+            applyRemove(Collections.singletonList(removed));
+            undoManager.record(new UndoManager.DeleteCommand(removed));
         
-        for (LedgerItem item : itemsToDisplay) {
-            System.out.printf(" %-3d | %-4s | %-12s | %-10s | %-11d | %-20s%n",
-                item.getId(),
-                item.getType(),
-                item.getDate(),
-                item.getCategory(),
-                item.getAmount(),
-                item.getDescription() != null ? item.getDescription() : ""
-            );
+            if (!persist()) {
+                return ItemWriteStatus.SAVE_FAILED;
+            }
+            System.out.printf("ID %d를 가진 항목이 성공적으로 삭제되었습니다.%n", id);
+            return ItemWriteStatus.DONE;
+        } finally {
+            endWrite();
+            LedgerMetrics.record(LedgerMetrics.Operation.DELETE, started);
         }
+    }
+    
+    /**
+     * ID로 찾은 항목에 변경 내용을 적용하고 저장합니다.
+     * 항목 필드를 직접 바꾸면 캐시된 조회 결과가 갱신되지 않으므로 수정은 반드시 이 메서드를 거쳐야 합니다.
+     */
+    public boolean updateItem(int id, Consumer<LedgerItem> editor) {
+        return updateItemWithStatus(id, editor) == ItemWriteStatus.DONE;
+    }
+    
+    /**
+     * updateItem과 같지만 항목이 없었는지와 저장에 실패했는지를 구분해 반환합니다.
+     * 존재 확인과 수정을 같은 쓰기 잠금 안에서 합니다.
+     */
+    public ItemWriteStatus updateItemWithStatus(int id, Consumer<LedgerItem> editor) {
+        long started = LedgerMetrics.start();
+        beginWrite();
+        try {
+            LedgerItem item = itemsById.get(id);
+            if (item == null) {
+                System.out.printf("ID %d를 가진 항목이 존재하지 않습니다.%n", id);
+                return ItemWriteStatus.NOT_FOUND;
+            }
         
-        System.out.println("====================================================================================");
-        System.out.printf("총 항목 수: %d%n", itemsToDisplay.size());
+            // 편집은 복사본에 적용한 뒤 반영하여 수정 전후 값만 기록
+            LedgerItem before = new LedgerItem(item);
+            LedgerItem after = new LedgerItem(item);
+            editor.accept(after);
+            after.setId(id);
+            applyOverwrite(after);
+            undoManager.record(new UndoManager.UpdateCommand(before, after));
+            return persist() ? ItemWriteStatus.DONE : ItemWriteStatus.SAVE_FAILED;
+        } finally {
+            endWrite();
+            LedgerMetrics.record(LedgerMetrics.Operation.UPDATE, started);
+        }
+    }
+    
+    /**
+     * 가장 최근 변경 작업을 되돌리고 저장합니다.
+     * @return 되돌린 작업의 설명, 되돌릴 작업이 없으면 null
+     */
+    public String undo() {
+        long started = LedgerMetrics.start();
+        beginWrite();
+        try {
+            UndoManager.Command command = undoManager.undo(this);
+            if (command == null) {
+                return null;
+            }
+            persist();
+            return command.describe();
+        } finally {
+            endWrite();
+            LedgerMetrics.record(LedgerMetrics.Operation.UNDO, started);
+        }
+    }
+    
+    /**
+     * 가장 최근에 되돌린 작업을 다시 실행하고 저장합니다.
+     * @return 다시 실행한 작업의 설명, 다시 실행할 작업이 없으면 null
+     */
+    public String redo() {
+        long started = LedgerMetrics.start();
+        beginWrite();
+        try {
+            UndoManager.Command command = undoManager.redo(this);
+            if (command == null) {
+                return null;
+            }
+            persist();
+            return command.describe();
+        } finally {
+            endWrite();
+            LedgerMetrics.record(LedgerMetrics.Operation.REDO, started);
+        }
+    }
+    
+    public UndoManager getUndoManager() {
+        return undoManager;
+    }
+    
+    // ====== 내부 변경 연산 (파일 저장 및 실행 취소 기록 없음) ======
+    
+    /**
+     * ID로 항목을 찾습니다. 조회 지표에 세지 않고 잠금도 잡지 않으므로 잠금을 잡은 내부 연산(공유 모드의 변경 기록 반영 등)에서만 씁니다.
+     * @return 항목, 없으면 null
+     */
+    LedgerItem itemById(int id) {
+        return itemsById.get(id);
+    }
+    
+    /**
+     * 이미 ID가 부여된 항목들을 넣습니다. 실행 취소로 삭제된 항목을 되살릴 때도 사용됩니다.
+     */
+    void applyInsert(List<LedgerItem> added) {
+        for (LedgerItem item : added) {
+            items.add(item);
+            itemsById.put(item.getId(), item);
+            if (item.getId() >= nextId) {
+                nextId = item.getId() + 1;
+            }
+        }
+        markModified();
+        for (LedgerItem item : added) {
+            for (LedgerChangeListener listener : changeListeners) {
+                listener.itemAdded(item);
+            }
+        }
+        publishVersion();
+    }
+    
+    /**
+     * 항목들을 제거합니다. 목록은 한 번만 훑습니다.
+     */
+    void applyRemove(List<LedgerItem> removed) {
+        if (removed.size() == 1) {
+            items.remove(removed.get(0));
+        } else {
+            Set<LedgerItem> toRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+            toRemove.addAll(removed);
+            items.removeIf(toRemove::contains);
+        }
+        for (LedgerItem item : removed) {
+            itemsById.remove(item.getId());
+        }
+        markModified();
+        for (LedgerItem item : removed) {
+            for (LedgerChangeListener listener : changeListeners) {
+                listener.itemRemoved(item);
+            }
+        }
+        publishVersion();
+    }
+    
+    /**
+     * 같은 ID를 가진 항목의 필드를 주어진 값으로 덮어씁니다.
+     */
+    void applyOverwrite(LedgerItem values) {
+        LedgerItem item = itemsById.get(values.getId());
+        if (item == null) {
+            return;
+        }
+        LedgerItem before = new LedgerItem(item);
+        item.setType(values.getType());
+        item.setDate(values.getDate());
+        item.setAmount(values.getAmount());
+        item.setCategory(values.getCategory());
+        item.setDescription(values.getDescription());
+        markModified();
+        for (LedgerChangeListener listener : changeListeners) {
+            listener.itemUpdated(before, item);
+        }
+        publishVersion();
+    }
+    
+    /**
+     * 항목들의 카테고리를 한꺼번에 바꿉니다. 수정 버전은 한 번만 올라가고 한 버전으로 공개됩니다.
+     */
+    void applyRecategorize(List<LedgerItem> affected, String newCategory) {
+        markModified();
+        for (LedgerItem item : affected) {
+            LedgerItem before = new LedgerItem(item);
+            item.setCategory(newCategory);
+            for (LedgerChangeListener listener : changeListeners) {
+                listener.itemUpdated(before, item);
+            }
+        }
+        publishVersion();
+    }
+    
+    /**
+     * 변경 연산이 모두 반영된 현재 버전을 과거 시점 조회에 공개합니다.
+     */
+    private void publishVersion() {
+        if (versionStore != null) {
+            versionStore.publish(modificationVersion);
+        }
+    }
+    
+    /**
+     * ID 색인을 다시 만듭니다 (파일에서 불러온 직후).
+     */
+    private void rebuildIdIndex() {
+        itemsById.clear();
+        for (LedgerItem item : items) {
+            itemsById.put(item.getId(), item);
+        }
+    }
+    
+    /**
+     * ID로 항목을 찾습니다.
+     */
+    public Optional<LedgerItem> findItemById(int id) {
+        LedgerMetrics.count(LedgerMetrics.Operation.QUERY_ID);
+        syncShared();
+        lock.readLock().lock();
+        try {
+            if (offHeapItems != null) {
+                return Optional.ofNullable(offHeapItems.findById(id));
+            }
+            return Optional.ofNullable(itemsById.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 모든 항목을 ID별로 정렬(오름차순)하여 가져옵니다.
+     */
+    public List<LedgerItem> getAllItems() {
+        long started = LedgerMetrics.start();
+        syncShared();
+        lock.readLock().lock();
+        try {
+            // 힙 밖 저장소의 결과는 캐시하지 않음 (캐시하면 항목 객체가 힙에 남음)
+            if (offHeapItems != null) {
+                return offHeapItems.all();
+            }
+            return cachedQuery("all", () -> items.stream()
+                .sorted(Comparator.comparingInt(LedgerItem::getId))
+                .collect(Collectors.toList()));
+        } finally {
+            lock.readLock().unlock();
+            LedgerMetrics.record(LedgerMetrics.Operation.QUERY_ALL, started);
+        }
+    }
+    
+    /**
+     * 날짜 범위 내의 항목을 가져옵니다.
+     */
+    public List<LedgerItem> getItemsByDateRange(LocalDate startDate, LocalDate endDate) {
+        long started = LedgerMetrics.start();
+        syncShared();
+        lock.readLock().lock();
+        try {
+            if (offHeapItems != null) {
+                return offHeapItems.byDateRange(startDate, endDate);
+            }
+            return cachedQuery("dateRange:" + startDate + ":" + endDate, () -> items.stream()
+                .filter(item -> {
+                    LocalDate itemDate = item.getDate();
+                    return !itemDate.isBefore(startDate) && !itemDate.isAfter(endDate);
+                })
+                .sorted(Comparator.comparingInt(LedgerItem::getId))
+                .collect(Collectors.toList()));
+        } finally {
+            lock.readLock().unlock();
+            LedgerMetrics.record(LedgerMetrics.Operation.QUERY_DATE_RANGE, started);
+        }
+    }
+    
+    /**
+     * 카테고리별 항목을 가져옵니다.
+     * 카테고리 색인은 순서 없는 집합이라 복사 후 정렬하는 비용이 더 크므로, 날짜 범위 조회처럼 ID 순서에 가까운 목록을 한 번 훑습니다.
+     */
+    public List<LedgerItem> getItemsByCategory(String category) {
+        long started = LedgerMetrics.start();
+        syncShared();
+        lock.readLock().lock();
+        try {
+            if (offHeapItems != null) {
+                return offHeapItems.byCategory(category);
+            }
+            return cachedQuery("category:" + category, () -> items.stream()
+                .filter(item -> item.getCategory().equals(category))
+                .sorted(Comparator.comparingInt(LedgerItem::getId))
+                .collect(Collectors.toList()));
+        } finally {
+            lock.readLock().unlock();
+            LedgerMetrics.record(LedgerMetrics.Operation.QUERY_CATEGORY, started);
+        }
+    }
+    
+    /**
+     * 조건에 맞는 항목을 목록으로 모으지 않고 exporter에 바로 씁니다.
+     * ordered가 false이면 메모리에 있는 순서 그대로 한 번 훑고, true이면 ID 색인을 1부터 차례로 조회해
+     * 정렬 없이 ID 오름차순으로 씁니다. 어느 쪽이든 추가 메모리는 항목 수와 무관합니다
+     * (단, 삭제 등으로 ID가 항목 수보다 훨씬 듬성듬성하면 항목 참조 배열을 정렬해서 씀).
+     * 쓰는 동안 읽기 잠금을 유지하므로 내보내기가 끝날 때까지 변경 작업은 기다립니다.
+     * @param filter 내보낼 항목 조건 (null이면 전체)
+     * @return 내보낸 항목 수
+     */
+    public long exportItems(Predicate<LedgerItem> filter, boolean ordered, ItemExporter exporter) throws IOException {
+        long started = LedgerMetrics.start();
+        syncShared();
+        lock.readLock().lock();
+        LedgerEvents.Query event = new LedgerEvents.Query();
+        event.begin();
+        long before = exporter.getCount();
+        try {
+            if (offHeapItems != null) {
+                // 레코드마다 항목 객체 하나를 채워 재사용 (ordered이면 ID 순서, 아니면 파일 순서)
+                offHeapItems.export(filter, ordered, exporter);
+            } else if (ordered && nextId - 1L > 4L * items.size() + 1024) {
+                LedgerItem[] sorted = items.toArray(new LedgerItem[0]);
+                Arrays.sort(sorted, Comparator.comparingInt(LedgerItem::getId));
+                for (LedgerItem item : sorted) {
+                    if (filter == null || filter.test(item)) {
+                        exporter.write(item);
+                    }
+                }
+            } else if (ordered) {
+                for (int id = 1; id < nextId; id++) {
+                    LedgerItem item = itemsById.get(id);
+                    if (item != null && (filter == null || filter.test(item))) {
+                        exporter.write(item);
+                    }
+                }
+            } else {
+                for (LedgerItem item : items) {
+                    if (filter == null || filter.test(item)) {
+                        exporter.write(item);
+                    }
+                }
+            }
+            return exporter.getCount() - before;
+        } finally {
+            lock.readLock().unlock();
+            LedgerMetrics.record(LedgerMetrics.Operation.EXPORT, started);
+            event.end();
+            if (event.shouldCommit()) {
+                LedgerEvents.commitQuery(event, "export:" + exporter.getFormat().getName(), exporter.getCount() - before, false);
+            }
+        }
+    }
+    
+    /**
+     * 조회 결과를 열 순서대로 정렬한 새 목록을 반환합니다 (예: 날짜 오름차순, 같은 날은 금액 내림차순).
+     * 항목 객체를 비교하지 않고 열의 정수 키로 기수 정렬하며(ItemSorter), 모든 키가 같으면 조회 결과의 순서(ID 순)를 유지합니다.
+     * 정렬하는 동안 항목이 수정되지 않도록 읽기 잠금을 잡습니다.
+     */
+    public List<LedgerItem> sortItems(List<LedgerItem> queryResult, List<ItemSorter.SortKey> order) {
+        long started = LedgerMetrics.start();
+        lock.readLock().lock();
+        LedgerEvents.Query event = new LedgerEvents.Query();
+        event.begin();
+        try {
+            return Collections.unmodifiableList(ItemSorter.sort(queryResult, order));
+        } finally {
+            lock.readLock().unlock();
+            LedgerMetrics.record(LedgerMetrics.Operation.QUERY_SORT, started);
+            event.end();
+            if (event.shouldCommit()) {
+                LedgerEvents.commitQuery(event, "sort:" + ItemSorter.format(order), queryResult.size(), false);
+            }
+        }
+    }
+    
+    /**
+     * 한 번에 가져온 항목 페이지
+     */
+    public static class ItemPage {
+        // ID 오름차순
+        public final List<LedgerItem> items;
+        // 가져온 방향으로 조건에 맞는 항목이 더 있는지
+        public final boolean hasMore;
+        
+        public ItemPage(List<LedgerItem> items, boolean hasMore) {
+            this.items = items;
+            this.hasMore = hasMore;
+        }
+    }
+    
+    /**
+     * 조건에 맞는 항목 중 ID가 cursorId보다 큰(forward) 또는 작은 쪽에서 cursorId에 가까운 최대 limit개를
+     * ID 순서로 가져옵니다 (ID 커서 페이지 조회). 결과 목록 전체를 만들거나 정렬하지 않고 ID 색인을 커서부터 차례로
+     * 조회하므로 비용은 페이지 크기와 건너뛴 ID 수에 비례합니다 (ID가 항목 수보다 훨씬 듬성듬성하면 항목을 한 번 훑어
+     * limit개만 골라냄). 커서가 위치가 아니라 ID라서 페이지를 넘기는 사이 항목이 추가/삭제되어도 중복이나 누락이 없습니다.
+     * @param filter 조건 (null이면 전체)
+     * @param cursorId 다음 페이지는 현재 페이지 마지막 ID, 이전 페이지는 첫 ID (처음은 0, forward)
+     */
+    public ItemPage getItemPage(Predicate<LedgerItem> filter, int cursorId, boolean forward, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("페이지 크기는 1 이상이어야 합니다: " + limit);
+        }
+        long started = LedgerMetrics.start();
+        syncShared();
+        lock.readLock().lock();
+        LedgerEvents.Query event = new LedgerEvents.Query();
+        event.begin();
+        List<LedgerItem> page = new ArrayList<>(Math.min(limit, offHeapItems != null ? offHeapItems.size() : items.size()) + 1);
+        try {
+            if (offHeapItems != null) {
+                offHeapItems.page(filter, cursorId, forward, limit + 1, page);
+            } else if (nextId - 1L > 4L * items.size() + 1024) {
+                selectNearest(filter, cursorId, forward, limit + 1, page);
+            } else if (forward) {
+                for (int id = Math.max(cursorId, 0) + 1; id < nextId && page.size() <= limit; id++) {
+                    LedgerItem item = itemsById.get(id);
+                    if (item != null && (filter == null || filter.test(item))) {
+                        page.add(item);
+                    }
+                }
+            } else {
+                for (int id = Math.min(cursorId, nextId) - 1; id >= 1 && page.size() <= limit; id--) {
+                    LedgerItem item = itemsById.get(id);
+                    if (item != null && (filter == null || filter.test(item))) {
+                        page.add(item);
+                    }
+                }
+                Collections.reverse(page);
+            }
+            boolean hasMore = page.size() > limit;
+            if (hasMore) {
+                // 한 개 더 찾은 것은 다음이 있는지 확인용 (가져온 방향의 끝에서 제거)
+                page.remove(forward ? page.size() - 1 : 0);
+            }
+            return new ItemPage(Collections.unmodifiableList(page), hasMore);
+        } finally {
+            lock.readLock().unlock();
+            LedgerMetrics.record(LedgerMetrics.Operation.QUERY_PAGE, started);
+            event.end();
+            if (event.shouldCommit()) {
+                LedgerEvents.commitQuery(event, "page:" + cursorId + (forward ? ":next:" : ":prev:") + limit,
+                    page.size(), false);
+            }
+        }
+    }
+    
+    /**
+     * 항목을 한 번 훑으며 커서에 가장 가까운 count개를 크기 count의 힙으로 골라 ID 오름차순으로 담습니다.
+     */
+    private void selectNearest(Predicate<LedgerItem> filter, int cursorId, boolean forward, int count,
+                               List<LedgerItem> page) {
+        // 힙의 맨 위는 지금까지 고른 것 중 커서에서 가장 먼 항목
+        Comparator<LedgerItem> farthestFirst = forward
+            ? Comparator.comparingInt(LedgerItem::getId).reversed()
+            : Comparator.comparingInt(LedgerItem::getId);
+        PriorityQueue<LedgerItem> nearest = new PriorityQueue<>(count, farthestFirst);
+        for (LedgerItem item : items) {
+            int id = item.getId();
+            if ((forward ? id <= cursorId : id >= cursorId) || (filter != null && !filter.test(item))) {
+                continue;
+            }
+            if (nearest.size() < count) {
+                nearest.add(item);
+            } else if (farthestFirst.compare(item, nearest.peek()) > 0) {
+                nearest.poll();
+                nearest.add(item);
+            }
+        }
+        page.addAll(nearest);
+        page.sort(Comparator.comparingInt(LedgerItem::getId));
+    }
+    
+    /**
+     * 조건에 맞는 항목 수를 목록을 만들지 않고 셉니다.
+     * @param filter 조건 (null이면 전체)
+     */
+    public int countItems(Predicate<LedgerItem> filter) {
+        syncShared();
+        lock.readLock().lock();
+        try {
+            if (offHeapItems != null) {
+                return offHeapItems.count(filter);
+            }
+            if (filter == null) {
+                return items.size();
+            }
+            int count = 0;
+            for (LedgerItem item : items) {
+                if (filter.test(item)) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 날짜 범위와 카테고리 조건에 맞는 항목 수와 수입/지출 합계를 구합니다.
+     * 항목 목록을 만들지 않고 금액/날짜/카테고리 열 배열(AmountColumns)을 훑으며, 벡터 모듈이 있으면 SIMD로 계산합니다.
+     * 열 배열은 수정 버전이 바뀐 뒤 처음 합계를 구할 때 한 번 다시 만듭니다.
+     * @param from 시작일 (포함, null이면 제한 없음)
+     * @param to 종료일 (포함, null이면 제한 없음)
+     * @param category 카테고리 (null이면 전체)
+     */
+    public AmountColumns.Totals getAmountTotals(LocalDate from, LocalDate to, String category) {
+        long started = LedgerMetrics.start();
+        syncShared();
+        lock.readLock().lock();
+        LedgerEvents.Query event = new LedgerEvents.Query();
+        event.begin();
+        boolean reused = false;
+        AmountColumns.Totals totals = null;
+        try {
+            AmountColumns columns;
+            synchronized (amountColumnsLock) {
+                reused = amountColumns != null && amountColumnsVersion == modificationVersion;
+                if (!reused) {
+                    amountColumns = offHeapItems != null ? offHeapItems.amountColumns(categoryManager) : AmountColumns.of(items, categoryManager);
+                    amountColumnsVersion = modificationVersion;
+                }
+                columns = amountColumns;
+            }
+            totals = columns.sum(from, to, category);
+            return totals;
+        } finally {
+            lock.readLock().unlock();
+            LedgerMetrics.record(LedgerMetrics.Operation.QUERY_TOTALS, started);
+            event.end();
+            if (event.shouldCommit()) {
+                LedgerEvents.commitQuery(event, "totals:" + from + ":" + to + ":" + category,
+                    totals != null ? totals.count : 0, reused);
+            }
+        }
+    }
+    
+    // ====== 과거 시점 조회 ======
+    
+    /**
+     * 과거 시점 조회를 위한 버전 기록을 시작합니다. 현재 항목이 첫 버전으로 기록되며,
+     * 이후 모든 변경은 항목별 버전으로 남고 보존 정책에 따라 정리됩니다.
+     */
+    public void enableVersionHistory(VersionedItemStore.RetentionPolicy retentionPolicy) {
+        requireHeapStorage();
+        lock.writeLock().lock();
+        try {
+            if (versionStore != null) {
+                return;
+            }
+            VersionedItemStore store = new VersionedItemStore(() -> modificationVersion, retentionPolicy);
+            store.itemsReloaded(items);
+            store.publish(modificationVersion);
+            versionStore = store;
+            addChangeListener(store);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public boolean isVersionHistoryEnabled() {
+        return versionStore != null;
+    }
+    
+    /**
+     * 조회 가능한 가장 오래된 버전을 가져옵니다.
+     */
+    public long getOldestRetainedVersion() {
+        return requireVersionStore().getOldestRetainedVersion();
+    }
+    
+    /**
+     * 지정한 시각에 커밋되어 있던 버전을 찾습니다.
+     */
+    public long resolveVersion(Instant asOfTimestamp) {
+        return requireVersionStore().resolveVersion(asOfTimestamp);
+    }
+    
+    /**
+     * 지정한 버전 시점의 모든 항목을 ID 순서로 가져옵니다.
+     */
+    public List<LedgerItem> getAllItems(long asOfVersion) {
+        return snapshotQuery("asOf:" + asOfVersion + ":all", asOfVersion, item -> true);
+    }
+    
+    public List<LedgerItem> getAllItems(Instant asOfTimestamp) {
+        return getAllItems(resolveVersion(asOfTimestamp));
+    }
+    
+    /**
+     * 지정한 버전 시점에 날짜 범위 내에 있던 항목을 가져옵니다.
+     */
+    public List<LedgerItem> getItemsByDateRange(LocalDate startDate, LocalDate endDate, long asOfVersion) {
+        return snapshotQuery("asOf:" + asOfVersion + ":dateRange:" + startDate + ":" + endDate, asOfVersion, item -> {
+            LocalDate itemDate = item.getDate();
+            return !itemDate.isBefore(startDate) && !itemDate.isAfter(endDate);
+        });
+    }
+    
+    public List<LedgerItem> getItemsByDateRange(LocalDate startDate, LocalDate endDate, Instant asOfTimestamp) {
+        return getItemsByDateRange(startDate, endDate, resolveVersion(asOfTimestamp));
+    }
+    
+    /**
+     * 지정한 버전 시점에 해당 카테고리에 속했던 항목을 가져옵니다.
+     */
+    public List<LedgerItem> getItemsByCategory(String category, long asOfVersion) {
+        return snapshotQuery("asOf:" + asOfVersion + ":category:" + category, asOfVersion,
+            item -> item.getCategory().equals(category));
+    }
+    
+    public List<LedgerItem> getItemsByCategory(String category, Instant asOfTimestamp) {
+        return getItemsByCategory(category, resolveVersion(asOfTimestamp));
+    }
+    
+    private List<LedgerItem> snapshotQuery(String query, long asOfVersion, Predicate<LedgerItem> filter) {
+        LedgerEvents.Query event = new LedgerEvents.Query();
+        event.begin();
+        List<LedgerItem> result = Collections.unmodifiableList(requireVersionStore().snapshot(asOfVersion, filter));
+        LedgerEvents.commitQuery(event, query, result.size(), false);
+        return result;
+    }
+    
+    private VersionedItemStore requireVersionStore() {
+        if (versionStore == null) {
+            throw new IllegalStateException("버전 기록이 활성화되지 않았습니다. enableVersionHistory를 먼저 호출하세요.");
+        }
+        return versionStore;
+    }
+    
+    /**
+     * 주어진 ID를 가진 항목이 존재하는지 확인합니다.
+     */
+    public boolean itemExists(int id) {
+        LedgerMetrics.count(LedgerMetrics.Operation.QUERY_ID);
+        syncShared();
+        lock.readLock().lock();
+        try {
+            return offHeapItems != null ? offHeapItems.contains(id) : itemsById.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 읽기 잠금을 잡은 채로 작업을 실행합니다. 조회 결과의 항목 객체는 수정 연산과 공유되므로
+     * 다른 스레드에서 항목 필드를 읽을 때(응답 직렬화 등)는 이 안에서 읽어야 합니다.
+     */
+    public <T> T withReadLock(Supplier<T> action) {
+        syncShared();
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 전체 항목 수를 가져옵니다.
+     */
+    public int getItemCount() {
+        syncShared();
+        lock.readLock().lock();
+        try {
+            return offHeapItems != null ? offHeapItems.size() : items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 데이터를 수동으로 파일에 저장합니다.
+     */
+    public boolean saveData() {
+        beginWrite();
+        try {
+            boolean saved;
+            switch (currentFormat) {
+                case CSV:
+                    saved = csvFileHandler.saveToFile(items);
+                    break;
+                case JSON:
+                    saved = jsonFileHandler.saveToFile(items);
+                    break;
+                default:
+                    saved = false;
+            }
+            if (saved) {
+                unsavedChanges = false;
+                snapshotStale = true;
+                if (sharedCoordinator != null) {
+                    commitShared();
+                }
+                if (replicator != null) {
+                    replicator.commit();
+                }
+            }
+            return saved;
+        } finally {
+            endWrite();
+        }
+    }
+    
+    /**
+     * 항목 변경을 파일에 반영합니다. 자동 저장이 꺼져 있으면 저장을 미루고 true를 반환합니다.
+     */
+    private boolean persist() {
+        if (autoSave) {
+            return saveData();
+        }
+        unsavedChanges = true;
+        return true;
+    }
+    
+    /**
+     * 항목 추가/삭제/수정, 실행 취소/다시 실행 시 파일에 바로 저장할지 설정합니다.
+     * 끄면 변경은 메모리에만 반영되고 flush()를 호출할 때 한 번에 저장됩니다.
+     * 다시 켤 때 저장되지 않은 변경이 있으면 바로 저장합니다.
+     * @return 켤 때 밀린 변경의 저장에 실패하면 false
+     */
+    public boolean setAutoSave(boolean autoSave) {
+        beginWrite();
+        try {
+            this.autoSave = autoSave;
+            return !autoSave || flush();
+        } finally {
+            endWrite();
+        }
+    }
+    
+    public boolean isAutoSave() {
+        return autoSave;
+    }
+    
+    /**
+     * 저장되지 않은 변경이 있으면 파일에 저장합니다.
+     * @return 저장할 것이 없거나 저장에 성공하면 true
+     */
+    public boolean flush() {
+        beginWrite();
+        try {
+            return !unsavedChanges || saveData();
+        } finally {
+            endWrite();
+        }
+    }
+    
+    public boolean hasUnsavedChanges() {
+        return unsavedChanges;
+    }
+    
+    /**
+     * 데이터를 수동으로 파일에서 불러옵니다.
+     */
+    public boolean loadData(boolean overwrite) {
+        requireHeapStorage();
+        lock.writeLock().lock();
+        try {
+            if (!overwrite && !items.isEmpty()) {
+                System.out.println("이미 데이터가 불러와져 있습니다. 다시 불러오려면 overwrite=true를 사용하세요.");
+                return false;
+            }
+        
+            loadedDataStamp = SharedLedgerCoordinator.stampOf(new File(getFileName()));
+            List<LedgerItem> loadedItems = readItems();
+        
+            if (loadedItems != null) {
+                items = loadedItems;
+            
+                // 다음 ID 재계산
+                if (!items.isEmpty()) {
+                    nextId = items.stream()
+                        .mapToInt(LedgerItem::getId)
+                        .max()
+                        .orElse(0) + 1;
+                } else {
+                    nextId = 1;
+                }
+                rebuildIdIndex();
+                undoManager.clear();
+                unsavedChanges = false;
+                markModified();
+                for (LedgerChangeListener listener : changeListeners) {
+                    listener.itemsReloaded(items);
+                }
+                publishVersion();
+            
+                return true;
+            }
+        
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 현재 수정 버전을 가져옵니다. 항목이 추가/삭제/수정되거나 다시 불러올 때마다 증가합니다.
+     */
+    public long getModificationVersion() {
+        return modificationVersion;
+    }
+    
+    /**
+     * 조회 캐시를 가져옵니다 (적중/실패 통계 확인용).
+     */
+    public QueryCache getQueryCache() {
+        return queryCache;
+    }
+    
+    // ====== 예산 ======
+    
+    /**
+     * 카테고리의 월 예산을 설정하고 예산 파일에 저장합니다.
+     */
+    public boolean setBudget(String category, int monthlyLimit) {
+        lock.writeLock().lock();
+        try {
+            budgetTracker.setBudget(category, monthlyLimit);
+            return budgetFileHandler.saveToFile(budgetTracker.getBudgets());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 카테고리의 월 예산을 제거하고 예산 파일에 저장합니다.
+     */
+    public boolean removeBudget(String category) {
+        lock.writeLock().lock();
+        try {
+            if (!budgetTracker.removeBudget(category)) {
+                return false;
+            }
+            return budgetFileHandler.saveToFile(budgetTracker.getBudgets());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 지정한 월의 예산 사용 현황을 가져옵니다. 누계가 미리 계산되어 있어 즉시 반환됩니다.
+     */
+    public List<BudgetTracker.BudgetStatus> getBudgetStatus(YearMonth month) {
+        syncShared();
+        lock.readLock().lock();
+        try {
+            return budgetTracker.getStatus(month);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public BudgetTracker getBudgetTracker() {
+        return budgetTracker;
+    }
+    
+    /**
+     * 이 가계부의 카테고리 관리자 (카테고리 이름 변경/병합/삭제는 항목과 함께 바꾸는 renameCategory 등을 사용)
+     */
+    public CategoryManager getCategoryManager() {
+        return categoryManager;
+    }
+    
+    // ====== 반복 거래 ======
+    
+    public List<RecurringRule> getRecurringRules() {
+        return recurringScheduler.getRules();
+    }
+    
+    /**
+     * 반복 규칙을 등록하고 반복 규칙 파일에 저장합니다.
+     */
+    public boolean addRecurringRule(RecurringRule rule) {
+        lock.writeLock().lock();
+        try {
+            recurringScheduler.addRule(rule);
+            return recurringRuleFileHandler.saveToFile(recurringScheduler.getRules());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 반복 규칙을 삭제하고 반복 규칙 파일에 저장합니다. 이미 생성된 항목은 유지됩니다.
+     */
+    public boolean removeRecurringRule(int ruleId) {
+        lock.writeLock().lock();
+        try {
+            if (!recurringScheduler.removeRule(ruleId)) {
+                return false;
+            }
+            return recurringRuleFileHandler.saveToFile(recurringScheduler.getRules());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * today(포함)까지 도래한 모든 반복 거래를 한 번에 생성합니다.
+     * 항목들은 하나의 ID 범위로 추가되고 가계부 파일은 한 번만 저장됩니다.
+     * 이미 생성된 발생분은 다시 만들지 않으므로 여러 번 실행해도 안전합니다.
+     * @return 생성된 항목 수, 저장 실패 시 -1
+     */
+    public int materializeRecurringItems(LocalDate today) {
+        beginWrite();
+        try {
+            RecurringScheduler.Materialization run = recurringScheduler.materializeDue(today);
+            if (run.isEmpty()) {
+                return 0;
+            }
+        
+            if (!addItems(run.items)) {
+                // 메모리에만 남은 항목을 버리고 규칙을 되돌려 다음 실행에서 다시 생성되도록 함
+                discardItems(run.items);
+                run.rollback();
+                return -1;
+            }
+            if (!recurringRuleFileHandler.saveToFile(recurringScheduler.getRules())) {
+                System.err.println("반복 규칙 파일 저장에 실패했습니다. 다음 실행 시 항목이 중복 생성될 수 있습니다.");
+            }
+            return run.items.size();
+        } finally {
+            endWrite();
+        }
+    }
+    
+    // ====== 카테고리 재분류 ======
+    
+    /**
+     * 커스텀 카테고리의 이름을 바꾸고, 해당 카테고리의 항목·예산·반복 규칙을 새 이름으로 옮깁니다.
+     * 항목은 카테고리 색인으로 찾아 한 번의 일괄 변경으로 반영하며 가계부 파일은 한 번만 저장합니다.
+     * 카테고리 구조가 바뀌므로 이전 실행 취소 기록은 지워집니다.
+     * @return 재분류된 항목 수, 실패 시 -1
+     */
+    public int renameCategory(String oldName, String newName) {
+        beginWrite();
+        try {
+            CategoryManager.RenameResult result = categoryManager.renameCustomCategory(oldName, newName);
+            if (!result.success) {
+                System.out.println(result.message);
+                return -1;
+            }
+            if (budgetTracker.getBudget(result.oldName) != null) {
+                budgetTracker.renameBudget(result.oldName, result.newName);
+                budgetFileHandler.saveToFile(budgetTracker.getBudgets());
+            }
+            return reassignItems(result.oldName, result.newName);
+        } finally {
+            endWrite();
+        }
+    }
+    
+    /**
+     * 커스텀 카테고리를 삭제하고 그 항목·반복 규칙을 다른 카테고리로 옮깁니다 (병합).
+     * 삭제되는 카테고리의 예산은 함께 제거됩니다.
+     * @return 재분류된 항목 수, 실패 시 -1
+     */
+    public int mergeCategory(String source, String target) {
+        beginWrite();
+        try {
+            if (source == null || target == null || source.trim().equals(target.trim())) {
+                System.out.println("병합할 대상은 다른 카테고리여야 합니다.");
+                return -1;
+            }
+            if (!categoryManager.isValidCategory(target)) {
+                System.out.println("존재하지 않는 카테고리입니다: " + target);
+                return -1;
+            }
+            return deleteCategory(source, target.trim());
+        } finally {
+            endWrite();
+        }
+    }
+    
+    /**
+     * 커스텀 카테고리를 삭제합니다. 사용 중인 항목이 있으면 reassignTo로 옮기며,
+     * reassignTo가 null인데 항목이 있으면 삭제하지 않습니다.
+     * @return 재분류된 항목 수, 실패 시 -1
+     */
+    public int deleteCategory(String name, String reassignTo) {
+        beginWrite();
+        try {
+            String trimmed = name != null ? name.trim() : null;
+            if (reassignTo == null && trimmed != null && getCategoryUsage(trimmed) > 0) {
+                System.out.printf("%s 카테고리를 사용하는 항목이 %d건 있습니다. 옮길 카테고리를 지정해주세요.%n",
+                    trimmed, getCategoryUsage(trimmed));
+                return -1;
+            }
+            CategoryManager.DeleteResult result = categoryManager.deleteCustomCategory(name);
+            if (!result.success) {
+                System.out.println(result.message);
+                return -1;
+            }
+            if (budgetTracker.removeBudget(result.deletedName)) {
+                budgetFileHandler.saveToFile(budgetTracker.getBudgets());
+            }
+            return reassignTo != null ? reassignItems(result.deletedName, reassignTo) : 0;
+        } finally {
+            endWrite();
+        }
+    }
+    
+    /**
+     * 카테고리를 사용하는 항목 수 (색인 조회, 반복 규칙은 제외)
+     */
+    public int getCategoryUsage(String category) {
+        syncShared();
+        lock.readLock().lock();
+        try {
+            if (offHeapItems != null) {
+                return offHeapItems.countInCategory(category);
+            }
+            return categoryIndex.countOf(category);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // 이전 카테고리 이름의 항목과 반복 규칙을 새 이름으로 옮기고 한 번씩 저장
+    private int reassignItems(String from, String to) {
+        long started = LedgerMetrics.start();
+        try {
+            List<LedgerItem> affected = new ArrayList<>();
+            for (LedgerItem item : categoryIndex.itemsOf(from)) {
+                if (from.equals(item.getCategory())) {
+                    affected.add(item);
+                }
+            }
+            
+            boolean rulesChanged = false;
+            for (RecurringRule rule : recurringScheduler.getRules()) {
+                if (from.equals(rule.getCategory())) {
+                    rule.setCategory(to);
+                    rulesChanged = true;
+                }
+            }
+            if (rulesChanged) {
+                recurringRuleFileHandler.saveToFile(recurringScheduler.getRules());
+            }
+            
+            if (affected.isEmpty()) {
+                return 0;
+            }
+            applyRecategorize(affected, to);
+            // 기록된 작업에는 이전 카테고리 이름이 남아 있으므로 되돌리면 유효하지 않은 항목이 생길 수 있음
+            undoManager.clear();
+            if (!saveData()) {
+                return -1;
+            }
+            return affected.size();
+        } finally {
+            LedgerMetrics.record(LedgerMetrics.Operation.RECATEGORIZE, started);
+        }
+    }
+    
+    // ====== 가져오기 ======
+    
+    /**
+     * 다른 CSV/JSON 파일의 항목을 현재 가계부로 가져옵니다.
+     * 기존 항목의 지문 집합에 대해 한 번만 훑어 중복을 검사하고, 정책에 따라 중복 의심 항목을
+     * 건너뛰거나 함께 추가합니다. 추가되는 항목은 새 ID 범위를 받으며 파일은 한 번만 저장됩니다.
+     * @return 판정 결과, 파일 형식을 알 수 없거나 저장에 실패하면 null (저장에 실패하면 가져온 항목은 메모리에도 남기지 않음)
+     */
+    public DuplicateDetector.Result importFromFile(String fileName, DuplicateDetector.Policy policy) {
+        beginWrite();
+        try {
+            FileFormat format = FileFormat.fromFileName(fileName);
+            if (format == null) {
+                System.out.println("지원하지 않는 파일 형식입니다: " + fileName);
+                return null;
+            }
+        
+            List<LedgerItem> incoming;
+            switch (format) {
+                case CSV:
+                    incoming = new CsvFileHandler(fileName, categoryManager).loadFromFile();
+                    break;
+                case JSON:
+                    incoming = new JsonFileHandler(fileName, categoryManager).loadFromFile();
+                    break;
+                default:
+                    return null;
+            }
+        
+            DuplicateDetector.Result result = new DuplicateDetector(items).scan(incoming, policy);
+            List<LedgerItem> accepted = new ArrayList<>(result.accepted);
+            if (!addItems(accepted)) {
+                // 실패로 알린 가져오기가 다음 저장에서 파일에 쓰이지 않도록 메모리에서도 버림
+                discardItems(accepted);
+                return null;
+            }
+            return result;
+        } finally {
+            endWrite();
+        }
+    }
+    
+    /**
+     * 영속성에 사용되는 파일명을 가져옵니다.
+     */
+    public String getFileName() {
+        switch (currentFormat) {
+            case CSV:
+                return csvFileHandler.getFileName();
+            case JSON:
+                return jsonFileHandler.getFileName();
+            default:
+                return baseFileName + ".csv";
+        }
+    }
+    
+    /**
+     * 데이터 파일이 존재하는지 확인합니다.
+     */
+    public boolean dataFileExists() {
+        switch (currentFormat) {
+            case CSV:
+                return csvFileHandler.fileExists();
+            case JSON:
+                return jsonFileHandler.fileExists();
+            default:
+                return false;
+        }
+    }
+    
+    /**
+     * 현재 파일 형식을 가져옵니다.
+     */
+    public FileFormat getCurrentFormat() {
+        return currentFormat;
+    }
+    
+    /**
+     * 파일 형식을 변경합니다. 기존 데이터는 새 형식으로 저장됩니다.
+     */
+    public boolean changeFormat(FileFormat newFormat) {
+        LedgerEvents.FormatChange event = new LedgerEvents.FormatChange();
+        event.begin();
+        beginWrite();
+        boolean success = false;
+        FileFormat oldFormat = currentFormat;
+        try {
+            if (newFormat == currentFormat) {
+                System.out.println("이미 " + newFormat.getDescription() + "을(를) 사용하고 있습니다.");
+                success = true;
+                return true;
+            }
+        
+            currentFormat = newFormat;
+        
+            // 새 형식으로 데이터 저장
+            success = saveData();
+            if (success) {
+                // 이전 형식 파일은 더 이상 쓰지 않으므로 그 스냅숏도 지움 (새 형식 파일의 스냅숏은 종료 시 씀)
+                new LedgerSnapshot(oldFormat == FileFormat.JSON
+                    ? jsonFileHandler.getFileName() : csvFileHandler.getFileName()).delete();
+                System.out.printf("파일 형식이 %s에서 %s(으)로 변경되었습니다.%n", 
+                    oldFormat.getDescription(), newFormat.getDescription());
+            } else {
+                // 실패 시 원래 형식으로 되돌리기
+                currentFormat = oldFormat;
+                System.err.println("파일 형식 변경에 실패했습니다.");
+            }
+        
+            return success;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.fileName = getFileName();
+                event.fromFormat = oldFormat.getExtension();
+                event.toFormat = newFormat.getExtension();
+                event.rows = items.size();
+                event.success = success;
+                event.commit();
+            }
+            endWrite();
+        }
+    }
+    
+    /**
+     * 지원되는 모든 파일 형식을 가져옵니다.
+     */
+    public static FileFormat[] getSupportedFormats() {
+        return FileFormat.values();
+    }
+    
+    /**
+     * 항목 목록을 형식화된 표로 표시합니다.
+     */
+    public void displayItems(List<LedgerItem> itemsToDisplay) {
+        new ItemTableWriter(System.out).writeAll(itemsToDisplay);
     }
 
-}
\ No newline at end of file
+}
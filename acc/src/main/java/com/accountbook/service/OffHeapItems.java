@@ -0,0 +1,229 @@
+package com.accountbook.service;
+
+import com.accountbook.model.LedgerItem;
+import com.accountbook.util.AmountColumns;
+import com.accountbook.util.CategoryManager;
+import com.accountbook.util.ItemExporter;
+import com.accountbook.util.OffHeapItemStore;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 힙 밖 저장소(OffHeapItemStore)에 올린 항목에 대한 LedgerService의 조회 구현입니다.
+ * 결과의 의미(ID 오름차순, ID 커서 페이지 등)는 힙 항목 조회와 같고, 항목 객체는 결과로 돌려줄 항목에만 만들며
+ * 날짜/카테고리 조건은 레코드의 정수 값으로 비교합니다.
+ * 잠금은 잡지 않으므로 LedgerService가 읽기 잠금(조회)과 쓰기 잠금(닫기) 안에서 호출합니다.
+ */
+final class OffHeapItems {
+
+    private final OffHeapItemStore store;
+    // ID 순서 -> 레코드 위치 (파일의 항목이 이미 ID 오름차순이면 null이고 위치가 곧 순서)
+    private final int[] idOrder;
+
+    OffHeapItems(OffHeapItemStore store) {
+        this.store = store;
+        this.idOrder = store.isIdAscending() ? null : sortedById(store);
+    }
+
+    OffHeapItemStore getStore() {
+        return store;
+    }
+
+    int size() {
+        return store.size();
+    }
+
+    LedgerItem findById(int id) {
+        int index = indexOfId(id);
+        return index < 0 ? null : store.view().moveTo(index).toItem();
+    }
+
+    boolean contains(int id) {
+        return indexOfId(id) >= 0;
+    }
+
+    List<LedgerItem> all() {
+        List<LedgerItem> result = new ArrayList<>(store.size());
+        OffHeapItemStore.ItemView view = store.view();
+        for (int position = 0; position < store.size(); position++) {
+            result.add(view.moveTo(indexAt(position)).toItem());
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    List<LedgerItem> byDateRange(LocalDate startDate, LocalDate endDate) {
+        long first = startDate.toEpochDay();
+        long last = endDate.toEpochDay();
+        List<LedgerItem> result = new ArrayList<>();
+        OffHeapItemStore.ItemView view = store.view();
+        for (int position = 0; position < store.size(); position++) {
+            int epochDay = view.moveTo(indexAt(position)).getEpochDay();
+            if (epochDay >= first && epochDay <= last) {
+                result.add(view.toItem());
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    List<LedgerItem> byCategory(String category) {
+        int code = store.categoryCodeOf(category);
+        if (code < 0) {
+            return Collections.emptyList();
+        }
+        List<LedgerItem> result = new ArrayList<>();
+        OffHeapItemStore.ItemView view = store.view();
+        for (int position = 0; position < store.size(); position++) {
+            if (view.moveTo(indexAt(position)).getCategoryCode() == code) {
+                result.add(view.toItem());
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    int countInCategory(String category) {
+        int code = store.categoryCodeOf(category);
+        if (code < 0) {
+            return 0;
+        }
+        int count = 0;
+        for (int index = 0; index < store.size(); index++) {
+            if (store.categoryCodeAt(index) == code) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 커서 위치를 ID 순서에서 이진 탐색한 뒤 가져온 방향으로 조건에 맞는 항목을 count개까지 ID 오름차순으로 담습니다.
+     * filter에는 재사용하는 항목 객체가 넘어가므로 filter가 그 객체를 보관하면 안 됩니다.
+     */
+    void page(Predicate<LedgerItem> filter, int cursorId, boolean forward, int count, List<LedgerItem> page) {
+        OffHeapItemStore.ItemView view = store.view();
+        LedgerItem scratch = new LedgerItem();
+        // cursorId보다 큰 ID가 처음 나오는 순서
+        int low = 0;
+        int high = store.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (store.idAt(indexAt(mid)) <= cursorId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (forward) {
+            for (int position = low; position < store.size() && page.size() < count; position++) {
+                addIfMatches(view.moveTo(indexAt(position)), filter, scratch, page);
+            }
+        } else {
+            int end = low > 0 && store.idAt(indexAt(low - 1)) == cursorId ? low - 1 : low;
+            for (int position = end - 1; position >= 0 && page.size() < count; position--) {
+                addIfMatches(view.moveTo(indexAt(position)), filter, scratch, page);
+            }
+            Collections.reverse(page);
+        }
+    }
+
+    int count(Predicate<LedgerItem> filter) {
+        if (filter == null) {
+            return store.size();
+        }
+        int count = 0;
+        OffHeapItemStore.ItemView view = store.view();
+        LedgerItem scratch = new LedgerItem();
+        for (int index = 0; index < store.size(); index++) {
+            if (filter.test(view.moveTo(index).copyTo(scratch))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 레코드마다 같은 항목 객체 하나를 채워 exporter에 넘기므로 항목 수와 무관하게 객체를 만들지 않습니다.
+     * ordered이면 ID 오름차순, 아니면 파일에 있던 순서입니다.
+     */
+    void export(Predicate<LedgerItem> filter, boolean ordered, ItemExporter exporter) throws IOException {
+        OffHeapItemStore.ItemView view = store.view();
+        LedgerItem scratch = new LedgerItem();
+        for (int position = 0; position < store.size(); position++) {
+            view.moveTo(ordered ? indexAt(position) : position).copyTo(scratch);
+            if (filter == null || filter.test(scratch)) {
+                exporter.write(scratch);
+            }
+        }
+    }
+
+    /**
+     * 금액 합계용 열 배열을 레코드에서 바로 만듭니다 (항목 객체 하나를 재사용).
+     */
+    AmountColumns amountColumns(CategoryManager categories) {
+        AmountColumns.Builder builder = new AmountColumns.Builder(store.size(), categories);
+        OffHeapItemStore.ItemView view = store.view();
+        LedgerItem scratch = new LedgerItem();
+        for (int index = 0; index < store.size(); index++) {
+            builder.add(view.moveTo(index).copyTo(scratch));
+        }
+        return builder.build();
+    }
+
+    void close() throws IOException {
+        store.close();
+    }
+
+    private static void addIfMatches(OffHeapItemStore.ItemView view, Predicate<LedgerItem> filter, LedgerItem scratch,
+                                     List<LedgerItem> page) {
+        if (filter == null) {
+            page.add(view.toItem());
+        } else if (filter.test(view.copyTo(scratch))) {
+            page.add(new LedgerItem(scratch));
+        }
+    }
+
+    // ID 순서의 레코드 위치
+    private int indexAt(int position) {
+        return idOrder != null ? idOrder[position] : position;
+    }
+
+    private int indexOfId(int id) {
+        if (idOrder == null) {
+            return store.indexOfId(id);
+        }
+        int low = 0;
+        int high = idOrder.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = store.idAt(idOrder[mid]);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return idOrder[mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 레코드 위치를 ID 오름차순으로 정렬합니다 ((ID, 위치)를 long 하나로 묶어 기본형 배열 정렬).
+     */
+    private static int[] sortedById(OffHeapItemStore store) {
+        long[] keyed = new long[store.size()];
+        for (int index = 0; index < keyed.length; index++) {
+            keyed[index] = ((long) store.idAt(index) << 32) | index;
+        }
+        Arrays.sort(keyed);
+        int[] order = new int[keyed.length];
+        for (int i = 0; i < keyed.length; i++) {
+            order[i] = (int) keyed[i];
+        }
+        return order;
+    }
+}
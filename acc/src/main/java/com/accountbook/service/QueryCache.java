@@ -0,0 +1,152 @@
+package com.accountbook.service;
+
+import com.accountbook.model.LedgerItem;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 조회 결과를 (쿼리, 수정 버전) 키로 보관하는 크기 제한 캐시입니다.
+ * 가계부가 변경되어 버전이 올라가면 이전 버전의 결과는 다시 조회되지 않으므로
+ * 오래된 결과가 반환될 수 없습니다. 가장 오래 사용되지 않은 항목부터 제거됩니다(LRU).
+ */
+public class QueryCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 64;
+
+    private final int maxEntries;
+    private final LinkedHashMap<Key, List<LedgerItem>> entries;
+    private long currentVersion;
+
+    // 통계 카운터
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public QueryCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public QueryCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("캐시 크기는 1 이상이어야 합니다: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<LedgerItem>> eldest) {
+                if (size() > QueryCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 주어진 버전에서 캐시된 결과를 가져옵니다. 없으면 null을 반환합니다.
+     */
+    public synchronized List<LedgerItem> get(String query, long version) {
+        List<LedgerItem> result = entries.get(new Key(query, version));
+        if (result == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return result;
+    }
+
+    /**
+     * 조회 결과를 캐시에 저장합니다. 더 새로운 버전이 들어오면 이전 버전의 항목은 모두 버립니다.
+     */
+    public synchronized void put(String query, long version, List<LedgerItem> result) {
+        if (version < currentVersion) {
+            return; // 이미 지난 버전의 결과는 저장하지 않음
+        }
+        if (version > currentVersion) {
+            evictStale(version);
+            currentVersion = version;
+        }
+        entries.put(new Key(query, version), result);
+    }
+
+    /**
+     * 캐시된 모든 결과를 제거합니다. 통계는 유지됩니다.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private void evictStale(long version) {
+        Iterator<Key> it = entries.keySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().version < version) {
+                it.remove();
+                evictions++;
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * 적중률(0.0 ~ 1.0)을 계산합니다. 조회가 없었다면 0을 반환합니다.
+     */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("캐시 항목 %d/%d, 적중 %d, 실패 %d, 제거 %d (적중률 %.1f%%)",
+            entries.size(), maxEntries, hits, misses, evictions, getHitRate() * 100);
+    }
+
+    /**
+     * (쿼리, 버전) 복합 키
+     */
+    private static final class Key {
+        private final String query;
+        private final long version;
+
+        private Key(String query, long version) {
+            this.query = query;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return version == other.version && query.equals(other.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(query, version);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.accountbook.service;
+
+import com.accountbook.model.LedgerItem;
+import com.accountbook.model.RecurringRule;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 반복 거래 규칙을 보관하고, 지정한 날짜까지 도래한 모든 발생분을 한 번에 항목으로 만들어 냅니다.
+ * 생성된 항목의 저장(ID 부여, 파일 쓰기)은 LedgerService가 일괄로 처리합니다.
+ */
+public class RecurringScheduler {
+
+    private final List<RecurringRule> rules = new ArrayList<>();
+    private int nextRuleId = 1;
+
+    /**
+     * 기존 규칙을 모두 교체합니다 (파일에서 불러올 때 사용).
+     */
+    public void setRules(List<RecurringRule> loadedRules) {
+        rules.clear();
+        rules.addAll(loadedRules);
+        nextRuleId = rules.stream().mapToInt(RecurringRule::getId).max().orElse(0) + 1;
+    }
+
+    public List<RecurringRule> getRules() {
+        return Collections.unmodifiableList(rules);
+    }
+
+    /**
+     * 새 규칙을 등록하고 ID를 부여합니다.
+     */
+    public RecurringRule addRule(RecurringRule rule) {
+        rule.setId(nextRuleId++);
+        rules.add(rule);
+        return rule;
+    }
+
+    public boolean removeRule(int ruleId) {
+        return rules.removeIf(rule -> rule.getId() == ruleId);
+    }
+
+    /**
+     * 모든 규칙에 대해 today(포함)까지 도래했지만 아직 생성되지 않은 발생분을 항목으로 만듭니다.
+     * 각 규칙의 마지막 생성 날짜가 앞으로 이동하므로 같은 날짜로 다시 실행하면 빈 목록이 반환됩니다.
+     * 저장에 실패하면 {@link Materialization#rollback()}으로 마지막 생성 날짜를 되돌려야 합니다.
+     */
+    public Materialization materializeDue(LocalDate today) {
+        List<LedgerItem> generated = new ArrayList<>();
+        Map<RecurringRule, LocalDate> previous = new HashMap<>();
+
+        for (RecurringRule rule : rules) {
+            LocalDate due = rule.nextDueDate();
+            if (due == null || due.isAfter(today)) {
+                continue;
+            }
+
+            previous.put(rule, rule.getLastGeneratedDate());
+            while (due != null && !due.isAfter(today)) {
+                generated.add(rule.toLedgerItem(due));
+                rule.setLastGeneratedDate(due);
+                due = rule.nextDueDate();
+            }
+        }
+
+        return new Materialization(generated, previous);
+    }
+
+    /**
+     * 한 번의 실행으로 생성된 항목과, 실패 시 되돌리기 위한 이전 상태
+     */
+    public static class Materialization {
+        public final List<LedgerItem> items;
+        private final Map<RecurringRule, LocalDate> previousLastGenerated;
+
+        private Materialization(List<LedgerItem> items, Map<RecurringRule, LocalDate> previousLastGenerated) {
+            this.items = items;
+            this.previousLastGenerated = previousLastGenerated;
+        }
+
+        public boolean isEmpty() {
+            return items.isEmpty();
+        }
+
+        /**
+         * 규칙들의 마지막 생성 날짜를 실행 이전 값으로 되돌립니다.
+         */
+        public void rollback() {
+            for (Map.Entry<RecurringRule, LocalDate> entry : previousLastGenerated.entrySet()) {
+                entry.getKey().setLastGeneratedDate(entry.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.accountbook.service;
+
+import com.accountbook.model.LedgerItem;
+import com.accountbook.util.ChangeRecord;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 같은 가계부 파일을 여러 프로세스(CLI, 일괄 명령, 서버)가 함께 쓸 때의 조정자입니다 (공유 모드).
+ *
+ * 가계부 파일 옆의 잠금 파일(<이름>.lock)에 FileChannel 잠금을 걸고, 그 앞 16바이트에
+ * 세대 번호(커밋마다 1 증가)와 변경 기록의 시작 세대를 둡니다.
+ * - 쓰기: 배타 잠금 → 다른 프로세스의 변경 반영 → 변경 적용 → 파일 저장 + 변경 기록(<이름>.journal) 추가
+ *   → 세대 번호 증가 → 잠금 해제. 잠금은 한 번의 커밋 동안만 유지됩니다.
+ * - 읽기: 세대 번호 8바이트만 읽어 바뀌었을 때만 공유 잠금을 잡고, 변경 기록에서 처음 보는 줄만 반영합니다.
+ *   기록이 비워져(압축) 뒤처진 줄을 찾을 수 없거나 공유 모드가 아닌 프로세스가 파일을 바꾼 경우에는 전체를 다시 불러옵니다.
+ * 변경 기록의 줄은 ChangeRecord 형식(번호는 세대)이며, 같은 줄을 두 번 반영해도 결과가 같습니다.
+ */
+final class SharedLedgerCoordinator implements LedgerChangeListener {
+
+    private static final int HEADER_SIZE = 16;
+    // 변경 기록이 이보다 커지면 커밋할 때 비움
+    private static final long JOURNAL_COMPACT_BYTES = 4L << 20;
+
+    private final LedgerService ledgerService;
+    private final Path dataPath;
+    private final Path journalPath;
+    private final FileChannel lockChannel;
+    private final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+    // 잠금 없이 확인하는 hasExternalChanges에서도 읽으므로 volatile
+    private volatile FileLock heldLock;
+    private int writeDepth;
+    // 이 프로세스가 반영한 마지막 세대, 변경 기록의 시작 세대, 다음에 읽을 기록 위치
+    private volatile long knownGeneration;
+    private long knownBase;
+    private long journalOffset;
+    // 마지막으로 확인한 가계부 파일의 (크기, 수정 시각)
+    private volatile long dataStamp;
+    // 아직 변경 기록에 쓰지 않은 이 프로세스의 변경 (세대 번호 없이)
+    private final List<String> pending = new ArrayList<>();
+    // 다른 프로세스의 변경을 반영하는 중에는 변경 통지를 기록하지 않음
+    private boolean replaying;
+    private long replayedRecords;
+    private long fullReloads;
+
+    SharedLedgerCoordinator(LedgerService ledgerService, String lockFileName, String journalFileName,
+                            String dataFileName) throws IOException {
+        this.ledgerService = ledgerService;
+        this.dataPath = Paths.get(dataFileName);
+        this.journalPath = Paths.get(journalFileName);
+        this.lockChannel = FileChannel.open(Paths.get(lockFileName),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * 잠금 파일을 준비하고 현재 세대를 기준점으로 삼습니다.
+     * 이미 불러온 내용이 그 뒤로 바뀌었으면(loadedStamp와 다르면) 잠금을 잡은 채로 다시 불러옵니다.
+     */
+    void open(long loadedStamp) throws IOException {
+        FileLock lock = lockChannel.lock();
+        try {
+            if (lockChannel.size() < HEADER_SIZE) {
+                writeHeader(0, 0);
+            }
+            readHeader();
+            if (stampOf(dataPath.toFile()) != loadedStamp) {
+                ledgerService.loadData(true);
+                fullReloads++;
+            }
+            knownGeneration = header.getLong(0);
+            knownBase = header.getLong(8);
+            journalOffset = journalSize();
+            dataStamp = stampOf(dataPath.toFile());
+        } finally {
+            lock.release();
+        }
+    }
+
+    /**
+     * 가계부 파일의 (크기, 수정 시각) 지문. 공유 모드가 아닌 프로세스의 저장을 알아채는 데 씁니다.
+     */
+    static long stampOf(File file) {
+        return file.length() * 31 + file.lastModified();
+    }
+
+    // ====== 쓰기 ======
+
+    /**
+     * 변경을 시작합니다. 바깥쪽 호출에서만 배타 잠금을 잡고 다른 프로세스의 변경을 먼저 반영합니다.
+     * @return 다른 프로세스의 변경이 반영되었으면 true
+     */
+    boolean beginWrite() throws IOException {
+        if (writeDepth++ > 0 || heldLock != null) {
+            return false;
+        }
+        try {
+            heldLock = lockChannel.lock();
+            return refreshLocked();
+        } catch (IOException | RuntimeException e) {
+            writeDepth--;
+            if (heldLock != null) {
+                heldLock.release();
+                heldLock = null;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 변경을 마칩니다. 가장 바깥쪽 호출이 끝나면 잠금을 풉니다.
+     * keepLock이면(저장을 미루는 중) flush 때까지 잠금을 유지해 그 사이 다른 프로세스가 끼어들지 못하게 합니다.
+     */
+    void endWrite(boolean keepLock) throws IOException {
+        if (--writeDepth > 0 || keepLock || heldLock == null) {
+            return;
+        }
+        heldLock.release();
+        heldLock = null;
+    }
+
+    /**
+     * 가계부 파일을 저장한 직후(배타 잠금 안에서) 호출합니다. 쌓인 변경을 새 세대로 기록에 덧붙이고 세대 번호를 올립니다.
+     */
+    void commit() throws IOException {
+        long generation = knownGeneration + 1;
+        long base = knownBase;
+        if (!pending.isEmpty()) {
+            StringBuilder sb = new StringBuilder(pending.size() * 64);
+            for (String record : pending) {
+                sb.append(generation).append(',').append(record).append('\n');
+            }
+            try (FileChannel journal = FileChannel.open(journalPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer bytes = StandardCharsets.UTF_8.encode(sb.toString());
+                while (bytes.hasRemaining()) {
+                    journal.write(bytes);
+                }
+                journalOffset = journal.size();
+                if (journalOffset > JOURNAL_COMPACT_BYTES) {
+                    // 가계부 파일에 이미 모두 반영되어 있으므로 기록을 비우고, 이보다 뒤처진 프로세스는 전체를 다시 불러옴
+                    journal.truncate(0);
+                    journalOffset = 0;
+                    base = generation;
+                }
+            }
+            pending.clear();
+        }
+        writeHeader(generation, base);
+        knownGeneration = generation;
+        knownBase = base;
+        dataStamp = stampOf(dataPath.toFile());
+    }
+
+    // ====== 읽기 ======
+
+    /**
+     * 잠금 없이 세대 번호와 파일 지문만 확인해 다른 프로세스의 변경이 있는지 봅니다 (빠른 확인, 확정은 refresh에서).
+     */
+    boolean hasExternalChanges() throws IOException {
+        if (heldLock != null) {
+            return false; // 배타 잠금을 가진 동안에는 아무도 쓰지 못함
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        lockChannel.read(buffer, 0);
+        long generation = buffer.position() == 8 ? buffer.getLong(0) : 0;
+        return generation != knownGeneration || stampOf(dataPath.toFile()) != dataStamp;
+    }
+
+    /**
+     * 공유 잠금을 잡고 다른 프로세스의 변경을 반영합니다.
+     * @return 반영된 변경이 있으면 true
+     */
+    boolean refresh() throws IOException {
+        if (heldLock != null) {
+            return false;
+        }
+        FileLock lock = lockChannel.lock(0, Long.MAX_VALUE, true);
+        try {
+            return refreshLocked();
+        } finally {
+            lock.release();
+        }
+    }
+
+    private boolean refreshLocked() throws IOException {
+        readHeader();
+        long generation = header.getLong(0);
+        long base = header.getLong(8);
+        long stamp = stampOf(dataPath.toFile());
+        if (generation == knownGeneration && stamp == dataStamp) {
+            return false;
+        }
+
+        boolean journalUsable = generation != knownGeneration && knownGeneration >= base;
+        if (journalUsable && base != knownBase) {
+            journalOffset = 0; // 압축 후 새로 시작된 기록
+        }
+        if (!journalUsable || journalSize() < journalOffset || !replayJournal()) {
+            replaying = true;
+            try {
+                ledgerService.loadData(true);
+            } finally {
+                replaying = false;
+            }
+            fullReloads++;
+            journalOffset = journalSize();
+        }
+        knownGeneration = generation;
+        knownBase = base;
+        dataStamp = stamp;
+        return true;
+    }
+
+    // 기록에서 처음 보는 세대의 줄을 반영. 읽을 수 없는 줄이 있으면 false (호출한 쪽에서 전체를 다시 불러옴)
+    private boolean replayJournal() throws IOException {
+        replaying = true;
+        try (FileChannel journal = FileChannel.open(journalPath, StandardOpenOption.READ)) {
+            journal.position(journalOffset);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(
+                Channels.newInputStream(journal), StandardCharsets.UTF_8), 1 << 16);
+            long consumed = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                consumed += line.getBytes(StandardCharsets.UTF_8).length + 1;
+                if (!line.isEmpty() && !applyRecord(line)) {
+                    return false;
+                }
+            }
+            journalOffset += consumed;
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        } finally {
+            replaying = false;
+        }
+    }
+
+    private boolean applyRecord(String line) {
+        String[] parts = ChangeRecord.split(line);
+        long generation = Long.parseLong(parts[0]);
+        if (generation <= knownGeneration) {
+            return true;
+        }
+        if (ChangeRecord.isDelete(parts)) {
+            int id = Integer.parseInt(parts[2]);
+            LedgerItem removed = ledgerService.itemById(id);
+            if (removed != null) {
+                ledgerService.applyRemove(Collections.singletonList(removed));
+            }
+        } else if (ChangeRecord.isPut(parts)) {
+            LedgerItem values = ChangeRecord.parsePut(parts);
+            if (ledgerService.itemById(values.getId()) != null) {
+                ledgerService.applyOverwrite(values);
+            } else {
+                ledgerService.applyInsert(Collections.singletonList(values));
+            }
+        } else {
+            return false;
+        }
+        replayedRecords++;
+        return true;
+    }
+
+    long getReplayedRecords() {
+        return replayedRecords;
+    }
+
+    long getFullReloads() {
+        return fullReloads;
+    }
+
+    long getKnownGeneration() {
+        return knownGeneration;
+    }
+
+    // ====== 변경 통지 (이 프로세스의 변경을 기록할 준비) ======
+
+    @Override
+    public void itemAdded(LedgerItem item) {
+        if (!replaying) {
+            pending.add(ChangeRecord.appendPut(new StringBuilder(64), item).toString());
+        }
+    }
+
+    @Override
+    public void itemRemoved(LedgerItem item) {
+        if (!replaying) {
+            pending.add(ChangeRecord.appendDelete(new StringBuilder(16), item.getId()).toString());
+        }
+    }
+
+    @Override
+    public void itemUpdated(LedgerItem before, LedgerItem after) {
+        if (!replaying) {
+            pending.add(ChangeRecord.appendPut(new StringBuilder(64), after).toString());
+        }
+    }
+
+    @Override
+    public void itemsReloaded(List<LedgerItem> items) {
+        // 파일에서 다시 불러오면 아직 기록하지 않은 변경은 버려진 것
+        pending.clear();
+    }
+
+    // ====== 잠금 파일 머리말 ======
+
+    private void readHeader() throws IOException {
+        header.clear();
+        while (header.hasRemaining() && lockChannel.read(header, header.position()) > 0) {
+            // 16바이트를 모두 읽을 때까지
+        }
+        if (header.position() < HEADER_SIZE) {
+            header.putLong(0, 0).putLong(8, 0);
+        }
+    }
+
+    private void writeHeader(long generation, long base) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+        buffer.putLong(0, generation).putLong(8, base);
+        while (buffer.hasRemaining()) {
+            lockChannel.write(buffer, buffer.position());
+        }
+    }
+
+    private long journalSize() {
+        File file = journalPath.toFile();
+        return file.exists() ? file.length() : 0;
+    }
+}
@@ -0,0 +1,200 @@
+package com.accountbook.service;
+
+import com.accountbook.model.LedgerItem;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 가계부 변경 작업의 실행 취소/다시 실행 기록을 관리합니다.
+ * 전체 목록을 복사하지 않고, 작업마다 되돌리는 데 필요한 최소 정보(추가/삭제된 항목 참조,
+ * 수정 전후 필드 값)만 명령으로 보관합니다. 기록은 최대 개수를 넘으면 가장 오래된 것부터 버립니다.
+ */
+public class UndoManager {
+
+    private static final int DEFAULT_CAPACITY = 50;
+
+    private final int capacity;
+    private final Deque<Command> undoStack = new ArrayDeque<>();
+    private final Deque<Command> redoStack = new ArrayDeque<>();
+
+    public UndoManager() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public UndoManager(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("기록 크기는 1 이상이어야 합니다: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * 새로 실행된 작업을 기록합니다. 다시 실행 기록은 비워집니다.
+     */
+    void record(Command command) {
+        undoStack.push(command);
+        if (undoStack.size() > capacity) {
+            undoStack.removeLast();
+        }
+        redoStack.clear();
+    }
+
+    /**
+     * 가장 최근 작업을 되돌립니다. 되돌릴 작업이 없으면 null을 반환합니다.
+     */
+    Command undo(LedgerService service) {
+        Command command = undoStack.poll();
+        if (command == null) {
+            return null;
+        }
+        command.undo(service);
+        redoStack.push(command);
+        return command;
+    }
+
+    /**
+     * 가장 최근에 되돌린 작업을 다시 실행합니다. 다시 실행할 작업이 없으면 null을 반환합니다.
+     */
+    Command redo(LedgerService service) {
+        Command command = redoStack.poll();
+        if (command == null) {
+            return null;
+        }
+        command.redo(service);
+        undoStack.push(command);
+        return command;
+    }
+
+    /**
+     * 모든 기록을 지웁니다 (파일을 다시 불러와 항목이 교체된 경우 등).
+     */
+    public void clear() {
+        undoStack.clear();
+        redoStack.clear();
+    }
+
+    public boolean canUndo() {
+        return !undoStack.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return !redoStack.isEmpty();
+    }
+
+    /**
+     * 다음에 되돌릴 작업의 설명을 가져옵니다. 없으면 null을 반환합니다.
+     */
+    public String peekUndoDescription() {
+        Command command = undoStack.peek();
+        return command != null ? command.describe() : null;
+    }
+
+    /**
+     * 다음에 다시 실행할 작업의 설명을 가져옵니다. 없으면 null을 반환합니다.
+     */
+    public String peekRedoDescription() {
+        Command command = redoStack.peek();
+        return command != null ? command.describe() : null;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // ====== 명령 ======
+
+    /**
+     * 되돌릴 수 있는 가계부 변경 작업
+     */
+    abstract static class Command {
+        abstract void undo(LedgerService service);
+        abstract void redo(LedgerService service);
+        abstract String describe();
+    }
+
+    /**
+     * 항목 추가 (한 건 또는 일괄). 되돌리면 추가된 항목을 제거합니다.
+     */
+    static final class AddCommand extends Command {
+        private final List<LedgerItem> added;
+
+        AddCommand(List<LedgerItem> added) {
+            this.added = added;
+        }
+
+        @Override
+        void undo(LedgerService service) {
+            service.applyRemove(added);
+        }
+
+        @Override
+        void redo(LedgerService service) {
+            service.applyInsert(added);
+        }
+
+        @Override
+        String describe() {
+            if (added.size() == 1) {
+                return String.format("ID %d 항목 추가", added.get(0).getId());
+            }
+            return String.format("항목 %d건 추가 (ID %d~%d)", added.size(),
+                added.get(0).getId(), added.get(added.size() - 1).getId());
+        }
+    }
+
+    /**
+     * 항목 삭제. 되돌리면 같은 ID로 항목을 다시 넣습니다.
+     */
+    static final class DeleteCommand extends Command {
+        private final LedgerItem removed;
+
+        DeleteCommand(LedgerItem removed) {
+            this.removed = removed;
+        }
+
+        @Override
+        void undo(LedgerService service) {
+            service.applyInsert(Collections.singletonList(removed));
+        }
+
+        @Override
+        void redo(LedgerService service) {
+            service.applyRemove(Collections.singletonList(removed));
+        }
+
+        @Override
+        String describe() {
+            return String.format("ID %d 항목 삭제", removed.getId());
+        }
+    }
+
+    /**
+     * 항목 수정. 수정 전후의 필드 값만 보관하며, 되돌리면 이전 값으로 복원합니다.
+     */
+    static final class UpdateCommand extends Command {
+        private final LedgerItem before;
+        private final LedgerItem after;
+
+        UpdateCommand(LedgerItem before, LedgerItem after) {
+            this.before = before;
+            this.after = after;
+        }
+
+        @Override
+        void undo(LedgerService service) {
+            service.applyOverwrite(before);
+        }
+
+        @Override
+        void redo(LedgerService service) {
+            service.applyOverwrite(after);
+        }
+
+        @Override
+        String describe() {
+            return String.format("ID %d 항목 수정", before.getId());
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.accountbook.service;
+
+import com.accountbook.model.LedgerItem;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * 항목별 버전 체인을 보관하여 과거 시점의 가계부를 조회할 수 있게 하는 다중 버전(MVCC) 저장소입니다.
+ * 각 버전은 자신을 만든 수정 버전과 삭제(또는 대체)한 수정 버전을 기록하며,
+ * 스냅샷 조회는 잠금 없이 체인을 읽기만 하므로 현재 쓰기 작업을 막지 않습니다.
+ * 오래된 버전은 보존 정책에 따라 정리됩니다.
+ * 기록은 실행 중 메모리에만 있으며 파일에 저장하지 않으므로, 프로세스가 끝나면 사라집니다
+ * (감사용 영구 기록이 아니라 실행 중 변경을 되짚어 보는 용도).
+ */
+public class VersionedItemStore implements LedgerChangeListener {
+
+    private static final long LIVE = Long.MAX_VALUE;
+    // 이 횟수만큼 버전이 발행될 때마다 보존 정책을 적용
+    private static final int PRUNE_INTERVAL = 256;
+
+    private final LongSupplier currentVersion;
+    private final RetentionPolicy retentionPolicy;
+
+    // 항목 ID -> 가장 최근 버전 (이전 버전은 previous로 연결)
+    private final ConcurrentHashMap<Integer, ItemVersion> chains = new ConcurrentHashMap<>();
+    // 커밋 시각(ms) -> 해당 시각까지 마지막으로 커밋된 버전
+    private final ConcurrentSkipListMap<Long, Long> versionsByTime = new ConcurrentSkipListMap<>();
+    // 완전히 반영되어 조회 가능한 가장 최근 버전
+    private volatile long publishedVersion;
+    // 이 버전보다 오래된 시점은 정리되어 조회할 수 없음
+    private volatile long oldestRetainedVersion;
+    private int publishesSincePrune;
+
+    public VersionedItemStore(LongSupplier currentVersion, RetentionPolicy retentionPolicy) {
+        this.currentVersion = currentVersion;
+        this.retentionPolicy = retentionPolicy;
+    }
+
+    // ====== 쓰기 (LedgerService의 변경 연산에서만 호출) ======
+
+    @Override
+    public void itemAdded(LedgerItem item) {
+        long version = currentVersion.getAsLong();
+        chains.compute(item.getId(), (id, head) -> new ItemVersion(new LedgerItem(item), version, head));
+    }
+
+    @Override
+    public void itemRemoved(LedgerItem item) {
+        ItemVersion head = chains.get(item.getId());
+        if (head != null && head.deletedVersion == LIVE) {
+            head.deletedVersion = currentVersion.getAsLong();
+        }
+    }
+
+    @Override
+    public void itemUpdated(LedgerItem before, LedgerItem after) {
+        long version = currentVersion.getAsLong();
+        chains.compute(after.getId(), (id, head) -> {
+            if (head != null && head.deletedVersion == LIVE) {
+                head.deletedVersion = version;
+            }
+            return new ItemVersion(new LedgerItem(after), version, head);
+        });
+    }
+
+    @Override
+    public void itemsReloaded(List<LedgerItem> items) {
+        // 파일에서 다시 불러오면 기존 항목은 모두 삭제되고 불러온 항목이 새로 생성된 것으로 기록
+        long version = currentVersion.getAsLong();
+        for (ItemVersion head : chains.values()) {
+            if (head.deletedVersion == LIVE) {
+                head.deletedVersion = version;
+            }
+        }
+        for (LedgerItem item : items) {
+            itemAdded(item);
+        }
+    }
+
+    /**
+     * 변경 연산 하나가 끝났음을 알립니다. 이 시점부터 해당 버전이 조회 가능합니다.
+     */
+    public void publish(long version) {
+        publishedVersion = version;
+        versionsByTime.put(System.currentTimeMillis(), version);
+        if (++publishesSincePrune >= PRUNE_INTERVAL) {
+            prune();
+        }
+    }
+
+    // ====== 조회 (잠금 없음) ======
+
+    /**
+     * 지정한 버전 시점에 존재하던 항목 중 조건에 맞는 것을 ID 순서로 가져옵니다.
+     * 반환된 항목은 저장소의 스냅샷이므로 수정해서는 안 됩니다.
+     * @throws IllegalArgumentException 아직 없거나 정리된 버전인 경우 (읽는 도중 정리된 경우 포함)
+     */
+    public List<LedgerItem> snapshot(long asOfVersion, Predicate<LedgerItem> filter) {
+        checkRetained(asOfVersion);
+        List<LedgerItem> result = new ArrayList<>();
+        for (ItemVersion head : chains.values()) {
+            ItemVersion visible = head.visibleAt(asOfVersion);
+            if (visible != null && filter.test(visible.item)) {
+                result.add(visible.item);
+            }
+        }
+        // 정리는 경계를 먼저 올린 뒤 경계 이전 버전만 끊으므로, 읽은 뒤에도 경계 안이면 끊긴 체인을 지나지 않았음
+        checkRetained(asOfVersion);
+        result.sort(Comparator.comparingInt(LedgerItem::getId));
+        return result;
+    }
+
+    /**
+     * 지정한 시각에 마지막으로 커밋되어 있던 버전을 찾습니다.
+     * @throws IllegalArgumentException 기록이 시작되기 전 시각인 경우
+     */
+    public long resolveVersion(Instant asOf) {
+        Map.Entry<Long, Long> entry = versionsByTime.floorEntry(asOf.toEpochMilli());
+        if (entry == null) {
+            throw new IllegalArgumentException("해당 시각(" + asOf + ")의 버전 기록이 없습니다.");
+        }
+        return entry.getValue();
+    }
+
+    private void checkRetained(long asOfVersion) {
+        if (asOfVersion > publishedVersion) {
+            throw new IllegalArgumentException(
+                String.format("아직 존재하지 않는 버전입니다: %d (현재 %d)", asOfVersion, publishedVersion));
+        }
+        if (asOfVersion < oldestRetainedVersion) {
+            throw new IllegalArgumentException(
+                String.format("보존 기간이 지나 정리된 버전입니다: %d (가장 오래된 버전 %d)", asOfVersion, oldestRetainedVersion));
+        }
+    }
+
+    public long getPublishedVersion() {
+        return publishedVersion;
+    }
+
+    public long getOldestRetainedVersion() {
+        return oldestRetainedVersion;
+    }
+
+    // ====== 정리 ======
+
+    /**
+     * 보존 정책 밖의 오래된 버전을 정리합니다.
+     * 보존 경계 시점에 보이는 버전은 남기고 그보다 오래된 버전만 체인에서 끊어냅니다.
+     */
+    public synchronized void prune() {
+        publishesSincePrune = 0;
+        long horizon = retentionPolicy.horizon(publishedVersion);
+        if (horizon <= oldestRetainedVersion) {
+            return;
+        }
+        // 조회 검사를 먼저 올려 정리 중인 버전을 새로 읽지 못하게 함
+        oldestRetainedVersion = horizon;
+
+        Iterator<Map.Entry<Integer, ItemVersion>> it = chains.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, ItemVersion> entry = it.next();
+            ItemVersion head = entry.getValue();
+            if (head.deletedVersion <= horizon) {
+                // 경계 이전에 삭제된 항목은 체인 전체가 필요 없음
+                chains.remove(entry.getKey(), head);
+                continue;
+            }
+            for (ItemVersion v = head; v != null; v = v.previous) {
+                if (v.createdVersion <= horizon) {
+                    v.previous = null;
+                    break;
+                }
+            }
+        }
+        // 경계 버전을 가리키는 시각 항목은 남겨 경계 시점 조회가 가능하도록 함
+        versionsByTime.headMap(timeOfVersion(horizon)).clear();
+    }
+
+    // 경계 버전이 커밋된 시각 (시간 색인 정리용)
+    private long timeOfVersion(long version) {
+        long time = Long.MIN_VALUE;
+        for (Map.Entry<Long, Long> entry : versionsByTime.entrySet()) {
+            if (entry.getValue() > version) {
+                break;
+            }
+            time = entry.getKey();
+        }
+        return time;
+    }
+
+    /**
+     * 보관 중인 버전 레코드 수 (현재 + 과거)
+     */
+    public int getVersionCount() {
+        int count = 0;
+        for (ItemVersion head : chains.values()) {
+            for (ItemVersion v = head; v != null; v = v.previous) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 항목 하나의 특정 버전. item 스냅샷은 생성 후 변경되지 않습니다.
+     */
+    private static final class ItemVersion {
+        final LedgerItem item;
+        final long createdVersion;
+        volatile long deletedVersion = LIVE;
+        volatile ItemVersion previous;
+
+        ItemVersion(LedgerItem item, long createdVersion, ItemVersion previous) {
+            this.item = item;
+            this.createdVersion = createdVersion;
+            this.previous = previous;
+        }
+
+        // 주어진 버전에서 보이는 버전 (없으면 null)
+        ItemVersion visibleAt(long version) {
+            for (ItemVersion v = this; v != null; v = v.previous) {
+                if (v.createdVersion <= version) {
+                    return version < v.deletedVersion ? v : null;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 과거 버전 보존 정책. 최근 N개 버전을 보존합니다.
+     */
+    public static class RetentionPolicy {
+        private final long maxVersions;
+
+        private RetentionPolicy(long maxVersions) {
+            this.maxVersions = maxVersions;
+        }
+
+        /** 최근 maxVersions개 버전만 보존 */
+        public static RetentionPolicy keepVersions(long maxVersions) {
+            return new RetentionPolicy(maxVersions);
+        }
+
+        // 이 버전 미만은 정리해도 되는 경계 버전
+        long horizon(long latestVersion) {
+            return Math.max(0L, maxVersions > 0 ? latestVersion - maxVersions + 1 : latestVersion);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("최근 %d개 버전", maxVersions);
+        }
+    }
+}
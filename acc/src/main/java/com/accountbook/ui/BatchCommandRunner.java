@@ -0,0 +1,411 @@
+package com.accountbook.ui;
+
+import com.accountbook.model.LedgerItem;
+import com.accountbook.service.LedgerService;
+import com.accountbook.util.DateCodec;
+import com.accountbook.util.ItemExporter;
+import com.accountbook.util.ItemSorter;
+import com.accountbook.util.JsonText;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 줄에 명령 하나씩 적힌 스크립트(또는 표준 입력)를 메뉴 없이 실행하는 일괄 명령 모드입니다.
+ * 명령은 LedgerService를 통해 실행되지만 파일 저장은 미뤄 두었다가 끝에서 한 번
+ * (또는 변경 명령 N개마다) 저장하며, 결과는 명령마다 JSON 한 줄로 출력합니다.
+ *
+ * 명령 (값에 공백이 있으면 큰따옴표로 묶음, #으로 시작하는 줄과 빈 줄은 무시):
+ * - add 수입|지출 YYYY-MM-DD 금액 카테고리 [내용...]
+ * - delete ID
+ * - edit ID 필드=값 ...        (필드: type, date, amount, category, description)
+ * - query [all | id ID | range 시작일 종료일 | category 이름] [sort=열,-열...]
+ *                              (열: id, date, amount, type, category, description, '-'는 내림차순)
+ * - export 파일명 [csv|json|ndjson] [from=시작일] [to=종료일] [category=이름] [sorted]
+ *                              (형식을 생략하면 확장자로 판단, sorted가 없으면 저장된 순서.
+ *                               표준 출력은 명령 결과용이므로 --export와 달리 '-'는 쓸 수 없음)
+ * - flush                      (밀린 변경을 지금 저장)
+ *
+ * 출력 예: {"line":3,"command":"add","ok":true,"id":12}
+ *         {"line":4,"command":"delete","ok":false,"error":"ID 99를 가진 항목이 존재하지 않습니다."}
+ * 마지막 줄은 전체 요약({"command":"summary",...})입니다.
+ */
+public class BatchCommandRunner {
+
+    private final LedgerService ledgerService;
+    private final PrintStream out;
+    // 변경 명령 몇 개마다 저장할지 (0이면 끝에서 한 번만 저장)
+    private final int flushInterval;
+
+    private int commands;
+    private int failed;
+    private int flushes;
+    private int pendingChanges;
+
+    public BatchCommandRunner(LedgerService ledgerService, PrintStream out, int flushInterval) {
+        if (flushInterval < 0) {
+            throw new IllegalArgumentException("저장 간격은 0 이상이어야 합니다: " + flushInterval);
+        }
+        this.ledgerService = ledgerService;
+        this.out = out;
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * 입력이 끝날 때까지 명령을 실행하고 요약을 출력합니다.
+     * 실행 중에는 자동 저장을 끄고, 끝나면 밀린 변경을 저장한 뒤 원래 설정으로 되돌립니다.
+     * @return 실패한 명령(저장 실패 포함)이 없으면 true
+     */
+    public boolean run(BufferedReader reader) throws IOException {
+        long startNanos = System.nanoTime();
+        boolean previousAutoSave = ledgerService.isAutoSave();
+        ledgerService.setAutoSave(false);
+        try {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                execute(lineNumber, trimmed);
+            }
+            flush(-1);
+        } finally {
+            ledgerService.setAutoSave(previousAutoSave);
+        }
+
+        StringBuilder sb = new StringBuilder("{\"command\":\"summary\",\"ok\":").append(failed == 0)
+            .append(",\"commands\":").append(commands)
+            .append(",\"failed\":").append(failed)
+            .append(",\"flushes\":").append(flushes)
+            .append(",\"items\":").append(ledgerService.getItemCount())
+            .append(",\"elapsedMs\":").append((System.nanoTime() - startNanos) / 1_000_000)
+            .append('}');
+        out.println(sb);
+        out.flush();
+        return failed == 0;
+    }
+
+    private void execute(int lineNumber, String line) {
+        commands++;
+        String command = "?";
+        StringBuilder result = new StringBuilder();
+        try {
+            List<String> tokens = tokenize(line);
+            command = tokens.get(0).toLowerCase();
+            boolean modified;
+            switch (command) {
+                case "add":
+                    modified = add(tokens, result);
+                    break;
+                case "delete":
+                    modified = delete(tokens, result);
+                    break;
+                case "edit":
+                    modified = edit(tokens, result);
+                    break;
+                case "query":
+                    query(tokens, result);
+                    modified = false;
+                    break;
+                case "export":
+                    export(tokens, result);
+                    modified = false;
+                    break;
+                case "flush":
+                    expectArguments(tokens, 0, 0, "flush");
+                    modified = false;
+                    break;
+                default:
+                    throw new IllegalArgumentException("알 수 없는 명령입니다: " + tokens.get(0));
+            }
+            printResult(lineNumber, command, result);
+
+            if (command.equals("flush")) {
+                flush(lineNumber);
+            } else if (modified && flushInterval > 0 && ++pendingChanges >= flushInterval) {
+                flush(lineNumber);
+            }
+        } catch (IllegalArgumentException e) {
+            printError(lineNumber, command, e.getMessage());
+        }
+    }
+
+    // ====== 명령 ======
+
+    private boolean add(List<String> tokens, StringBuilder result) {
+        if (tokens.size() < 5) {
+            throw new IllegalArgumentException("사용법: add 수입|지출 YYYY-MM-DD 금액 카테고리 [내용...]");
+        }
+        Map<String, String> fields = new HashMap<>();
+        fields.put("type", tokens.get(1));
+        fields.put("date", tokens.get(2));
+        fields.put("amount", tokens.get(3));
+        fields.put("category", tokens.get(4));
+        if (tokens.size() > 5) {
+            fields.put("description", String.join(" ", tokens.subList(5, tokens.size())));
+        }
+        LedgerItem item = ItemFields.newItem(fields, ledgerService.getCategoryManager());
+        if (!ledgerService.addItems(Collections.singletonList(item))) {
+            throw new IllegalArgumentException("항목을 추가하지 못했습니다.");
+        }
+        result.append(",\"id\":").append(item.getId());
+        String warning = ledgerService.getBudgetTracker().checkOverBudget(item);
+        if (warning != null) {
+            result.append(",\"warning\":");
+            JsonText.appendString(result, warning.trim());
+        }
+        return true;
+    }
+
+    private boolean delete(List<String> tokens, StringBuilder result) {
+        expectArguments(tokens, 1, 1, "delete ID");
+        int id = parseId(tokens.get(1));
+        requireItem(id);
+        if (!ledgerService.deleteItem(id)) {
+            throw new IllegalArgumentException("ID " + id + "를 가진 항목을 삭제하지 못했습니다.");
+        }
+        result.append(",\"id\":").append(id);
+        return true;
+    }
+
+    private boolean edit(List<String> tokens, StringBuilder result) {
+        if (tokens.size() < 3) {
+            throw new IllegalArgumentException("사용법: edit ID 필드=값 ...");
+        }
+        int id = parseId(tokens.get(1));
+        Map<String, String> fields = new HashMap<>();
+        for (String token : tokens.subList(2, tokens.size())) {
+            int eq = token.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("필드=값 형식이어야 합니다: " + token);
+            }
+            if (!ItemFields.isEditable(token.substring(0, eq))) {
+                throw new IllegalArgumentException("수정할 수 없는 필드입니다 (type, date, amount, category, description): "
+                    + token.substring(0, eq));
+            }
+            fields.put(token.substring(0, eq), token.substring(eq + 1));
+        }
+        ItemFields.Changes changes = ItemFields.changes(fields, ledgerService.getCategoryManager());
+        requireItem(id);
+        if (!ledgerService.updateItem(id, changes::applyTo)) {
+            throw new IllegalArgumentException("ID " + id + "를 가진 항목을 수정하지 못했습니다.");
+        }
+        result.append(",\"item\":");
+        ledgerService.findItemById(id).ifPresent(item -> JsonText.appendItem(result, item));
+        return true;
+    }
+
+    private void query(List<String> tokens, StringBuilder result) {
+        List<ItemSorter.SortKey> order = null;
+        if (tokens.size() > 1 && tokens.get(tokens.size() - 1).toLowerCase().startsWith("sort=")) {
+            order = ItemSorter.parse(tokens.get(tokens.size() - 1).substring("sort=".length()));
+            tokens = tokens.subList(0, tokens.size() - 1);
+        }
+        String mode = tokens.size() > 1 ? tokens.get(1).toLowerCase() : "all";
+        List<LedgerItem> items;
+        switch (mode) {
+            case "all":
+                expectArguments(tokens, 0, 1, "query all");
+                items = ledgerService.getAllItems();
+                break;
+            case "id":
+                expectArguments(tokens, 2, 2, "query id ID");
+                int id = parseId(tokens.get(2));
+                items = ledgerService.findItemById(id)
+                    .map(Collections::singletonList)
+                    .orElseThrow(() -> new IllegalArgumentException("ID " + id + "를 가진 항목이 존재하지 않습니다."));
+                break;
+            case "range":
+                expectArguments(tokens, 3, 3, "query range 시작일 종료일");
+                LocalDate from = parseDate(tokens.get(2));
+                LocalDate to = parseDate(tokens.get(3));
+                if (from.isAfter(to)) {
+                    throw new IllegalArgumentException("시작일이 종료일보다 늦습니다.");
+                }
+                items = ledgerService.getItemsByDateRange(from, to);
+                break;
+            case "category":
+                expectArguments(tokens, 2, 2, "query category 이름");
+                items = ledgerService.getItemsByCategory(tokens.get(2));
+                break;
+            default:
+                throw new IllegalArgumentException(
+                    "사용법: query [all | id ID | range 시작일 종료일 | category 이름] [sort=열,-열...]");
+        }
+        if (order != null) {
+            items = ledgerService.sortItems(items, order);
+        }
+
+        result.append(",\"count\":").append(items.size()).append(",\"items\":[");
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) result.append(',');
+            JsonText.appendItem(result, items.get(i));
+        }
+        result.append(']');
+    }
+
+    private void export(List<String> tokens, StringBuilder result) {
+        if (tokens.size() < 2) {
+            throw new IllegalArgumentException("사용법: export 파일명 [csv|json|ndjson] [from=시작일] [to=종료일] [category=이름] [sorted]");
+        }
+        String fileName = tokens.get(1);
+        if ("-".equals(fileName)) {
+            // 표준 출력에 항목을 쓰면 명령별 JSON 결과와 섞임
+            throw new IllegalArgumentException("일괄 명령 모드에서는 표준 출력(-)으로 내보낼 수 없습니다. 파일명을 지정하세요.");
+        }
+        ItemExporter.Format format = ItemExporter.Format.fromFileName(fileName);
+        LocalDate from = null;
+        LocalDate to = null;
+        String category = null;
+        boolean sorted = false;
+        for (String token : tokens.subList(2, tokens.size())) {
+            if (token.startsWith("from=")) {
+                from = parseDate(token.substring(5));
+            } else if (token.startsWith("to=")) {
+                to = parseDate(token.substring(3));
+            } else if (token.startsWith("category=")) {
+                category = token.substring(9);
+            } else if (token.equalsIgnoreCase("sorted")) {
+                sorted = true;
+            } else if (ItemExporter.Format.fromName(token) != null) {
+                format = ItemExporter.Format.fromName(token);
+            } else {
+                throw new IllegalArgumentException("알 수 없는 내보내기 옵션입니다: " + token);
+            }
+        }
+        if (format == null) {
+            throw new IllegalArgumentException("파일 형식을 알 수 없습니다 (csv, json 또는 ndjson): " + fileName);
+        }
+
+        long count;
+        try (ItemExporter exporter = ItemExporter.toFile(fileName, format)) {
+            count = ledgerService.exportItems(ItemExporter.filter(from, to, category), sorted, exporter);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("파일 " + fileName + "에 쓰지 못했습니다: " + e.getMessage());
+        }
+        result.append(",\"file\":");
+        JsonText.appendString(result, fileName);
+        result.append(",\"format\":\"").append(format.getName()).append("\",\"count\":").append(count);
+    }
+
+    // 밀린 변경을 저장하고 결과를 출력 (lineNumber가 -1이면 입력을 모두 읽은 뒤의 마지막 저장)
+    private void flush(int lineNumber) {
+        pendingChanges = 0;
+        if (!ledgerService.hasUnsavedChanges()) {
+            return;
+        }
+        if (ledgerService.flush()) {
+            flushes++;
+            return;
+        }
+        failed++;
+        StringBuilder sb = new StringBuilder("{\"line\":").append(lineNumber)
+            .append(",\"command\":\"flush\",\"ok\":false,\"error\":");
+        JsonText.appendString(sb, "파일 " + ledgerService.getFileName() + "에 저장하지 못했습니다.");
+        out.println(sb.append('}'));
+    }
+
+    // ====== 출력 ======
+
+    private void printResult(int lineNumber, String command, StringBuilder fields) {
+        StringBuilder sb = new StringBuilder(fields.length() + 48);
+        sb.append("{\"line\":").append(lineNumber).append(",\"command\":\"").append(command).append("\",\"ok\":true")
+            .append(fields).append('}');
+        out.println(sb);
+    }
+
+    private void printError(int lineNumber, String command, String message) {
+        failed++;
+        StringBuilder sb = new StringBuilder("{\"line\":").append(lineNumber).append(",\"command\":");
+        JsonText.appendString(sb, command);
+        sb.append(",\"ok\":false,\"error\":");
+        JsonText.appendString(sb, message);
+        out.println(sb.append('}'));
+    }
+
+    // ====== 입력 해석 ======
+
+    /**
+     * 공백으로 단어를 나눕니다. 큰따옴표 안의 공백은 단어에 포함되며 (\" 로 따옴표 자체를 씀),
+     * 따옴표는 단어 중간에도 올 수 있습니다 (예: description="점심 식사").
+     */
+    static List<String> tokenize(String line) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inQuotes = false;
+        boolean hasToken = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inQuotes) {
+                if (c == '\\' && i + 1 < line.length() && (line.charAt(i + 1) == '"' || line.charAt(i + 1) == '\\')) {
+                    current.append(line.charAt(++i));
+                } else if (c == '"') {
+                    inQuotes = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+                hasToken = true;
+            } else if (Character.isWhitespace(c)) {
+                if (hasToken) {
+                    tokens.add(current.toString());
+                    current.setLength(0);
+                    hasToken = false;
+                }
+            } else {
+                current.append(c);
+                hasToken = true;
+            }
+        }
+        if (inQuotes) {
+            throw new IllegalArgumentException("닫히지 않은 큰따옴표가 있습니다.");
+        }
+        if (hasToken) {
+            tokens.add(current.toString());
+        }
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("빈 명령입니다.");
+        }
+        return tokens;
+    }
+
+    private static void expectArguments(List<String> tokens, int min, int max, String usage) {
+        int count = tokens.size() - 1;
+        if (count < min || count > max) {
+            throw new IllegalArgumentException("사용법: " + usage);
+        }
+    }
+
+    private static int parseId(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("ID는 숫자여야 합니다: " + value);
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return DateCodec.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("날짜는 YYYY-MM-DD 형식이어야 합니다: " + value);
+        }
+    }
+
+    private void requireItem(int id) {
+        if (!ledgerService.itemExists(id)) {
+            throw new IllegalArgumentException("ID " + id + "를 가진 항목이 존재하지 않습니다.");
+        }
+    }
+}
@@ -1,23 +1,38 @@
 package com.accountbook.ui;
 
 import com.accountbook.model.LedgerItem;
+import com.accountbook.model.RecurringRule;
+import com.accountbook.service.BudgetTracker;
 import com.accountbook.service.LedgerService;
 import com.accountbook.util.CategoryManager;
+import com.accountbook.util.DuplicateDetector;
 import com.accountbook.util.FileFormat;
 import com.accountbook.util.ValidationUtil;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
+import java.util.function.Predicate;
 
 // 개인 가계부 애플리케이션을 위한 명령줄 인터페이스입니다.
 public class CliInterface {
 
     // LedgerService 인스턴스는 유지합니다.
     private final LedgerService ledgerService;
+    // 목록 보기 (페이지 크기는 실행 중 유지)
+    private final ItemPager pager = new ItemPager(System.out);
     private boolean running;
 
+    // --history에 개수를 주지 않았을 때 과거 시점 보기용으로 보존하는 최근 버전 수
+    public static final int DEFAULT_HISTORY_VERSIONS = 1000;
+    private static final DateTimeFormatter DATE_TIME_INPUT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm[:ss]");
+
     public CliInterface() {
         this.ledgerService = new LedgerService();
         this.running = true;
@@ -28,12 +43,31 @@ public class CliInterface {
         this.running = true;
     }
 
+    /**
+     * 미리 설정한 서비스(예: 공유 모드, 버전 기록)로 CLI를 만듭니다.
+     */
+    public CliInterface(LedgerService ledgerService) {
+        this.ledgerService = ledgerService;
+        this.running = true;
+    }
+
     // CLI 애플리케이션을 시작합니다.
     public void start() {
         System.out.println("개인 가계부에 오신 것을 환영합니다!");
         System.out.printf("데이터 파일: %s%n", ledgerService.getFileName());
         System.out.printf("기존 항목 %d개를 불러왔습니다.%n%n", ledgerService.getItemCount());
 
+        // 오늘까지 도래한 반복 거래를 한 번에 생성
+        if (!ledgerService.getRecurringRules().isEmpty()) {
+            int generated = ledgerService.materializeRecurringItems(LocalDate.now());
+            if (generated > 0) {
+                System.out.printf("반복 거래 %d건을 자동으로 추가했습니다.%n%n", generated);
+            } else if (generated < 0) {
+                System.out.println("오류: 반복 거래를 저장하지 못했습니다.");
+                System.out.println();
+            }
+        }
+
         // Scanner 객체는 try-with-resources를 사용하여 자동으로 자원 해제되도록 합니다.
         try (Scanner localScanner = new Scanner(System.in, StandardCharsets.UTF_8.name())) {
             while (running) {
@@ -42,6 +76,9 @@ public class CliInterface {
             }
         } 
 
+        // 이번 실행에서 저장한 큰 가계부는 다음 시작을 위해 스냅숏을 한 번만 새로 씀
+        ledgerService.refreshSnapshotIfStale();
+
         System.out.println("개인 가계부를 이용해 주셔서 감사합니다!");
     }
 
@@ -53,13 +90,19 @@ public class CliInterface {
         System.out.println(" 1.1 내역 추가");
         System.out.println(" 1.2 내역 삭제");
         System.out.println(" 1.3 내역 수정");
+        System.out.println(" 1.4 실행 취소");
+        System.out.println(" 1.5 다시 실행");
         System.out.println("2. 내역 조회");
         System.out.println(" 2.1 전체 보기");
         System.out.println(" 2.2 날짜 범위별 보기");
         System.out.println(" 2.3 카테고리별 보기");
+        System.out.println(" 2.4 과거 시점 보기");
         System.out.println("3. 파일 불러오기");
         System.out.println("4. 파일 형식 변경");
-        System.out.println("5. 프로그램 종료");
+        System.out.println("5. 예산 관리");
+        System.out.println("6. 반복 거래 관리");
+        System.out.println("7. 카테고리 관리");
+        System.out.println("8. 프로그램 종료");
         System.out.println();
         System.out.print("옵션 선택: ");
     }
@@ -67,7 +110,7 @@ public class CliInterface {
     // 메인 메뉴 선택을 처리합니다.
     private void handleMainMenuChoice(Scanner localScanner) {
         String input = localScanner.nextLine();
-        ValidationUtil.ValidationResult result = ValidationUtil.validateMenuOption(input, 1, 5);
+        ValidationUtil.ValidationResult result = ValidationUtil.validateMenuOption(input, 1, 8);
 
         if (!result.isValid()) {
             System.out.println("오류: " + result.getErrorMessage());
@@ -84,7 +127,10 @@ public class CliInterface {
             case 2 -> handleViewItemsMenu(localScanner);
             case 3 -> loadFromFile(localScanner);
             case 4 -> changeFileFormat(localScanner);
-            case 5 -> running = false;
+            case 5 -> handleBudgetMenu(localScanner);
+            case 6 -> handleRecurringMenu(localScanner);
+            case 7 -> handleCategoryMenu(localScanner);
+            case 8 -> running = false;
         }
     }
 
@@ -94,10 +140,12 @@ public class CliInterface {
         System.out.println("1. 내역 추가");
         System.out.println("2. 내역 삭제");
         System.out.println("3. 내역 수정");
+        System.out.println("4. 실행 취소" + describeOrEmpty(ledgerService.getUndoManager().peekUndoDescription()));
+        System.out.println("5. 다시 실행" + describeOrEmpty(ledgerService.getUndoManager().peekRedoDescription()));
         System.out.print("옵션 선택: ");
 
         String input = localScanner.nextLine();
-        ValidationUtil.ValidationResult result = ValidationUtil.validateMenuOption(input, 1, 3);
+        ValidationUtil.ValidationResult result = ValidationUtil.validateMenuOption(input, 1, 5);
 
         if (!result.isValid()) {
             System.out.println("오류: " + result.getErrorMessage());
@@ -113,19 +161,49 @@ public class CliInterface {
             case 1 -> addItem(localScanner);
             case 2 -> deleteItem(localScanner);
             case 3 -> editItem(localScanner);
+            case 4 -> undoLastChange();
+            case 5 -> redoLastChange();
         }
     }
 
+    // 메뉴 옆에 표시할 작업 설명 (예: " (ID 3 항목 삭제)")
+    private String describeOrEmpty(String description) {
+        return description != null ? " (" + description + ")" : "";
+    }
+
+    // 실행 취소
+    private void undoLastChange() {
+        String undone = ledgerService.undo();
+        if (undone == null) {
+            System.out.println("되돌릴 작업이 없습니다.");
+        } else {
+            System.out.printf("'%s' 작업을 되돌렸습니다.%n", undone);
+        }
+        System.out.println();
+    }
+
+    // 다시 실행
+    private void redoLastChange() {
+        String redone = ledgerService.redo();
+        if (redone == null) {
+            System.out.println("다시 실행할 작업이 없습니다.");
+        } else {
+            System.out.printf("'%s' 작업을 다시 실행했습니다.%n", redone);
+        }
+        System.out.println();
+    }
+
     // 내역 조회 서브메뉴
     private void handleViewItemsMenu(Scanner localScanner) {
         System.out.println("=== 내역 조회 ===");
         System.out.println("1. 전체 보기");
         System.out.println("2. 날짜 범위별 보기");
         System.out.println("3. 카테고리별 보기");
+        System.out.println("4. 과거 시점 보기");
         System.out.print("옵션 선택: ");
 
         String input = localScanner.nextLine();
-        ValidationUtil.ValidationResult result = ValidationUtil.validateMenuOption(input, 1, 3);
+        ValidationUtil.ValidationResult result = ValidationUtil.validateMenuOption(input, 1, 4);
 
         if (!result.isValid()) {
             System.out.println("오류: " + result.getErrorMessage());
@@ -138,9 +216,10 @@ public class CliInterface {
 
         // Rule Switch 적용
         switch (choice) {
-            case 1 -> viewAllItems();
+            case 1 -> viewAllItems(localScanner);
             case 2 -> viewItemsByDateRange(localScanner);
             case 3 -> viewItemsByCategory(localScanner);
+            case 4 -> viewItemsAsOf(localScanner);
         }
     }
 
@@ -217,7 +296,7 @@ public class CliInterface {
         }
 
         System.out.println("현재 항목:");
-        ledgerService.displayItems(ledgerService.getAllItems());
+        pager.browse(localScanner, ItemPager.of(ledgerService, null), ledgerService.getItemCount());
         System.out.println();
 
         System.out.print("삭제할 항목의 ID 입력: ");
@@ -254,7 +333,7 @@ public class CliInterface {
         }
 
         System.out.println("현재 항목:");
-        ledgerService.displayItems(ledgerService.getAllItems());
+        pager.browse(localScanner, ItemPager.of(ledgerService, null), ledgerService.getItemCount());
         System.out.println();
 
         System.out.print("수정할 항목의 ID 입력: ");
@@ -268,9 +347,7 @@ public class CliInterface {
         try {
             int id = Integer.parseInt(idInput.trim());
 
-            Optional<LedgerItem> itemOpt = ledgerService.getAllItems().stream()
-                    .filter(item -> item.getId() == id)
-                    .findFirst();
+            Optional<LedgerItem> itemOpt = ledgerService.findItemById(id);
 
             if (itemOpt.isEmpty()) {
                 System.out.println("오류: 해당 ID의 항목이 존재하지 않습니다.");
@@ -340,9 +417,9 @@ public class CliInterface {
                 return;
             }
 
-            updateItemToEdit(itemToEdit, fieldChoice, newValue);
-
-            boolean success = ledgerService.saveData();
+            final Object editedValue = newValue;
+            boolean success = ledgerService.updateItem(id,
+                    item -> updateItemToEdit(item, fieldChoice, editedValue));
 
             if (success) {
                 System.out.println("항목이 성공적으로 수정되었습니다.");
@@ -403,10 +480,9 @@ public class CliInterface {
     }
 
     // 전체 보기
-    private void viewAllItems() {
+    private void viewAllItems(Scanner localScanner) {
         System.out.println("=== 전체 내역 ===");
-        List<LedgerItem> items = ledgerService.getAllItems();
-        ledgerService.displayItems(items);
+        pager.browse(localScanner, ItemPager.of(ledgerService, null), ledgerService.getItemCount());
         System.out.println();
     }
 
@@ -428,9 +504,10 @@ public class CliInterface {
             return;
         }
 
-        List<LedgerItem> items = ledgerService.getItemsByDateRange(startDate, endDate);
+        Predicate<LedgerItem> inRange = item ->
+            !item.getDate().isBefore(startDate) && !item.getDate().isAfter(endDate);
         System.out.printf("%s부터 %s까지의 항목:%n", startDate, endDate);
-        ledgerService.displayItems(items);
+        pager.browse(localScanner, ItemPager.of(ledgerService, inRange), ledgerService.countItems(inRange));
         System.out.println();
     }
 
@@ -442,15 +519,77 @@ public class CliInterface {
         if (category == null) return;
         
 
-        List<LedgerItem> items = ledgerService.getItemsByCategory(category);
+        Predicate<LedgerItem> inCategory = item -> category.equals(item.getCategory());
         System.out.printf("'%s' 카테고리의 항목:%n", category);
-        ledgerService.displayItems(items);
+        pager.browse(localScanner, ItemPager.of(ledgerService, inCategory), ledgerService.countItems(inCategory));
         System.out.println();
     }
 
+    // 과거 시점 보기: 버전 번호 또는 날짜/시각 기준으로 당시의 전체 내역 표시
+    private void viewItemsAsOf(Scanner localScanner) {
+        System.out.println("=== 과거 시점 보기 ===");
+        if (!ledgerService.isVersionHistoryEnabled()) {
+            // 버전 기록은 메모리에만 남으므로 실행할 때 켠 경우에만 조회 가능
+            System.out.println("과거 시점 보기는 --history [보존할 버전 수] 옵션으로 실행했을 때만 사용할 수 있습니다.");
+            System.out.println();
+            return;
+        }
+        System.out.printf("조회 가능한 버전: %d ~ %d%n",
+            ledgerService.getOldestRetainedVersion(), ledgerService.getModificationVersion());
+
+        while (true) {
+            System.out.print("버전 번호 또는 시각 입력 (YYYY-MM-DD HH:MM[:SS]) (취소: 'cancel' 입력): ");
+            String input = localScanner.nextLine().trim();
+
+            if ("cancel".equalsIgnoreCase(input)) {
+                if (confirmCancel(localScanner))
+                    return;
+                continue;
+            }
+
+            try {
+                long version;
+                if (input.matches("\\d+")) {
+                    version = Long.parseLong(input);
+                } else {
+                    LocalDateTime dateTime = LocalDateTime.parse(input, DATE_TIME_INPUT);
+                    version = ledgerService.resolveVersion(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+                }
+                List<LedgerItem> items = ledgerService.getAllItems(version);
+                System.out.printf("버전 %d 시점의 항목:%n", version);
+                pager.browse(localScanner, ItemPager.of(items), items.size());
+                System.out.println();
+                return;
+            } catch (DateTimeParseException | NumberFormatException e) {
+                System.out.println("오류: 버전 번호 또는 YYYY-MM-DD HH:MM 형식의 시각을 입력해주세요.");
+            } catch (IllegalArgumentException e) {
+                System.out.println("오류: " + e.getMessage());
+            }
+        }
+    }
+
     // 파일 불러오기
     private void loadFromFile(Scanner localScanner) {
         System.out.println("=== 파일 불러오기 ===");
+        System.out.println("1. 현재 파일 다시 불러오기");
+        System.out.println("2. 다른 파일에서 가져오기 (중복 검사)");
+        System.out.print("옵션 선택: ");
+
+        String input = localScanner.nextLine();
+        ValidationUtil.ValidationResult result = ValidationUtil.validateMenuOption(input, 1, 2);
+
+        if (!result.isValid()) {
+            System.out.println("오류: " + result.getErrorMessage());
+            System.out.println();
+            return;
+        }
+        System.out.println();
+
+        if (result.getValue(Integer.class) == 2) {
+            importFromFile(localScanner);
+            return;
+        }
+
         System.out.print("현재 데이터가 덮어씌워집니다. 계속하시겠습니까? (Y/N): ");
         String confirm = localScanner.nextLine().trim().toLowerCase();
 
@@ -465,6 +604,49 @@ public class CliInterface {
         System.out.println();
     }
 
+    // 다른 파일의 항목을 중복 검사 후 현재 가계부에 추가
+    private void importFromFile(Scanner localScanner) {
+        System.out.print("가져올 파일명 입력 (.csv 또는 .json) (취소: 'cancel' 입력): ");
+        String fileName = localScanner.nextLine().trim();
+        if ("cancel".equalsIgnoreCase(fileName) || fileName.isEmpty()) {
+            System.out.println("가져오기가 취소되었습니다.");
+            System.out.println();
+            return;
+        }
+
+        DuplicateDetector.Policy[] policies = DuplicateDetector.Policy.values();
+        for (int i = 0; i < policies.length; i++) {
+            System.out.printf("%d. %s%n", i + 1, policies[i].getDescription());
+        }
+        System.out.print("중복 처리 방식 선택: ");
+        ValidationUtil.ValidationResult choice = ValidationUtil.validateMenuOption(localScanner.nextLine(), 1, policies.length);
+        if (!choice.isValid()) {
+            System.out.println("오류: " + choice.getErrorMessage());
+            System.out.println();
+            return;
+        }
+        DuplicateDetector.Policy policy = policies[choice.getValue(Integer.class) - 1];
+
+        DuplicateDetector.Result result = ledgerService.importFromFile(fileName, policy);
+        if (result == null) {
+            System.out.println("오류: 파일을 가져오지 못했습니다.");
+            System.out.println();
+            return;
+        }
+
+        System.out.printf("가져온 항목 %d건, 중복 의심 %d건%s%n", result.accepted.size(), result.duplicates.size(),
+            policy == DuplicateDetector.Policy.SKIP ? " (건너뜀)" : " (추가됨)");
+        if (!result.duplicates.isEmpty()) {
+            int shown = Math.min(20, result.duplicates.size());
+            System.out.println("중복 의심 항목:");
+            ledgerService.displayItems(result.duplicates.subList(0, shown));
+            if (shown < result.duplicates.size()) {
+                System.out.printf("... 외 %d건%n", result.duplicates.size() - shown);
+            }
+        }
+        System.out.println();
+    }
+
     // 파일 형식 변경
     private void changeFileFormat(Scanner localScanner) {
         System.out.println("=== 파일 형식 변경 ===");
@@ -510,6 +692,365 @@ public class CliInterface {
         System.out.println();
     }
 
+    // 예산 관리: 월별 사용 현황 표시 후 설정/삭제
+    private void handleBudgetMenu(Scanner localScanner) {
+        System.out.println("=== 예산 관리 ===");
+        YearMonth month = YearMonth.now();
+        displayBudgetStatus(month);
+
+        System.out.println("1. 예산 설정");
+        System.out.println("2. 예산 삭제");
+        System.out.println("3. 다른 월 현황 보기");
+        System.out.println("4. 메인 메뉴로 돌아가기");
+        System.out.print("옵션 선택: ");
+
+        String input = localScanner.nextLine();
+        ValidationUtil.ValidationResult result = ValidationUtil.validateMenuOption(input, 1, 4);
+
+        if (!result.isValid()) {
+            System.out.println("오류: " + result.getErrorMessage());
+            System.out.println();
+            return;
+        }
+
+        int choice = result.getValue(Integer.class);
+        System.out.println();
+
+        switch (choice) {
+            case 1 -> {
+                String category = promptCategorySelection(localScanner);
+                if (category == null) return;
+                Integer limit = getValidAmount("월 예산 입력: ", localScanner);
+                if (limit == null) return;
+                if (ledgerService.setBudget(category, limit)) {
+                    System.out.printf("'%s' 카테고리의 월 예산을 %,d원으로 설정했습니다.%n", category, limit);
+                } else {
+                    System.out.println("오류: 예산 파일을 저장하지 못했습니다.");
+                }
+            }
+            case 2 -> {
+                String category = promptCategorySelection(localScanner);
+                if (category == null) return;
+                if (ledgerService.removeBudget(category)) {
+                    System.out.printf("'%s' 카테고리의 예산을 삭제했습니다.%n", category);
+                } else {
+                    System.out.println("오류: 해당 카테고리에 설정된 예산이 없습니다.");
+                }
+            }
+            case 3 -> {
+                YearMonth other = inputMonthWithValidation("조회할 월 입력 (YYYY-MM): ", localScanner);
+                if (other == null) return;
+                displayBudgetStatus(other);
+            }
+            case 4 -> { }
+        }
+        System.out.println();
+    }
+
+    // 월별 예산 사용 현황 표
+    private void displayBudgetStatus(YearMonth month) {
+        List<BudgetTracker.BudgetStatus> statuses = ledgerService.getBudgetStatus(month);
+        System.out.printf("[%s 예산 현황]%n", month);
+        if (statuses.isEmpty()) {
+            System.out.println("설정된 예산이 없습니다.");
+            System.out.println();
+            return;
+        }
+
+        System.out.println("====================================================================");
+        System.out.printf(" %-10s | %-13s | %-13s | %-13s | %-7s%n", "카테고리", "한도", "사용", "잔액", "사용률");
+        System.out.println("--------------------------------------------------------------------");
+        for (BudgetTracker.BudgetStatus status : statuses) {
+            System.out.printf(" %-10s | %,13d | %,13d | %,13d | %6.1f%%%s%n",
+                status.category,
+                status.limit,
+                status.spent,
+                status.getRemaining(),
+                status.getUtilization() * 100,
+                status.isOverBudget() ? " (초과)" : "");
+        }
+        System.out.println("====================================================================");
+        System.out.println();
+    }
+
+    // 월 입력 (YYYY-MM)
+    private YearMonth inputMonthWithValidation(String prompt, Scanner localScanner) {
+        while (true) {
+            System.out.print(prompt + "(취소: 'cancel' 입력): ");
+            String input = localScanner.nextLine().trim();
+
+            if ("cancel".equalsIgnoreCase(input)) {
+                if (confirmCancel(localScanner))
+                    return null;
+                continue;
+            }
+
+            try {
+                return YearMonth.parse(input);
+            } catch (DateTimeParseException e) {
+                System.out.println("오류: YYYY-MM 형식으로 입력해주세요.");
+            }
+        }
+    }
+
+    // 반복 거래 관리: 규칙 목록 표시 후 추가/삭제/즉시 실행
+    private void handleRecurringMenu(Scanner localScanner) {
+        System.out.println("=== 반복 거래 관리 ===");
+        displayRecurringRules();
+
+        System.out.println("1. 반복 거래 추가");
+        System.out.println("2. 반복 거래 삭제");
+        System.out.println("3. 오늘까지 도래한 거래 생성");
+        System.out.println("4. 메인 메뉴로 돌아가기");
+        System.out.print("옵션 선택: ");
+
+        String input = localScanner.nextLine();
+        ValidationUtil.ValidationResult result = ValidationUtil.validateMenuOption(input, 1, 4);
+
+        if (!result.isValid()) {
+            System.out.println("오류: " + result.getErrorMessage());
+            System.out.println();
+            return;
+        }
+
+        int choice = result.getValue(Integer.class);
+        System.out.println();
+
+        switch (choice) {
+            case 1 -> addRecurringRule(localScanner);
+            case 2 -> {
+                if (ledgerService.getRecurringRules().isEmpty()) {
+                    System.out.println("삭제할 반복 거래가 없습니다.");
+                    break;
+                }
+                System.out.print("삭제할 반복 거래의 ID 입력: ");
+                String idInput = localScanner.nextLine().trim();
+                if ("cancel".equalsIgnoreCase(idInput)) {
+                    if (confirmCancel(localScanner)) return;
+                }
+                try {
+                    int ruleId = Integer.parseInt(idInput);
+                    if (ledgerService.removeRecurringRule(ruleId)) {
+                        System.out.printf("반복 거래 ID %d를 삭제했습니다. (이미 생성된 내역은 유지됩니다)%n", ruleId);
+                    } else {
+                        System.out.println("오류: 해당 ID의 반복 거래가 존재하지 않습니다.");
+                    }
+                } catch (NumberFormatException e) {
+                    System.out.println("오류: 유효한 ID 번호를 입력해주세요.");
+                }
+            }
+            case 3 -> {
+                int generated = ledgerService.materializeRecurringItems(LocalDate.now());
+                if (generated < 0) {
+                    System.out.println("오류: 반복 거래를 저장하지 못했습니다.");
+                } else {
+                    System.out.printf("반복 거래 %d건을 생성했습니다.%n", generated);
+                }
+            }
+            case 4 -> { }
+        }
+        System.out.println();
+    }
+
+    // 카테고리 관리: 커스텀 카테고리 목록 표시 후 이름 변경/병합
+    private void handleCategoryMenu(Scanner localScanner) {
+        System.out.println("=== 카테고리 관리 ===");
+        List<String> customCategories = ledgerService.getCategoryManager().getCustomCategories();
+        if (customCategories.isEmpty()) {
+            System.out.println("추가된 커스텀 카테고리가 없습니다.");
+        } else {
+            for (String name : customCategories) {
+                System.out.printf(" - %s (%d건)%n", name, ledgerService.getCategoryUsage(name));
+            }
+        }
+        System.out.println();
+
+        System.out.println("1. 카테고리 이름 변경");
+        System.out.println("2. 카테고리 병합 (다른 카테고리로 옮기고 삭제)");
+        System.out.println("3. 메인 메뉴로 돌아가기");
+        System.out.print("옵션 선택: ");
+
+        String input = localScanner.nextLine();
+        ValidationUtil.ValidationResult result = ValidationUtil.validateMenuOption(input, 1, 3);
+
+        if (!result.isValid()) {
+            System.out.println("오류: " + result.getErrorMessage());
+            System.out.println();
+            return;
+        }
+
+        int choice = result.getValue(Integer.class);
+        System.out.println();
+
+        switch (choice) {
+            case 1 -> {
+                System.out.print("이름을 바꿀 카테고리 명을 입력해주세요: ");
+                String oldName = localScanner.nextLine().trim();
+                if ("cancel".equalsIgnoreCase(oldName) && confirmCancel(localScanner)) return;
+                System.out.print("새 카테고리 명을 입력해주세요: ");
+                String newName = localScanner.nextLine().trim();
+                if ("cancel".equalsIgnoreCase(newName) && confirmCancel(localScanner)) return;
+                int moved = ledgerService.renameCategory(oldName, newName);
+                if (moved >= 0) {
+                    System.out.printf("카테고리 이름을 '%s'(으)로 변경했습니다. (내역 %d건 반영)%n", newName, moved);
+                }
+            }
+            case 2 -> {
+                System.out.print("병합(삭제)할 카테고리 명을 입력해주세요: ");
+                String source = localScanner.nextLine().trim();
+                if ("cancel".equalsIgnoreCase(source) && confirmCancel(localScanner)) return;
+                deleteCategoryWithReassign(source, true, localScanner);
+            }
+            case 3 -> { }
+        }
+        System.out.println();
+    }
+
+    // 커스텀 카테고리 삭제. 사용 중인 내역이 있거나 병합을 요청하면 옮길 카테고리를 입력받습니다.
+    private void deleteCategoryWithReassign(String name, boolean alwaysReassign, Scanner localScanner) {
+        if (!ledgerService.getCategoryManager().isCustomCategory(name.trim())) {
+            // 고정 카테고리/없는 카테고리 안내는 삭제 결과 메시지로 출력
+            ledgerService.deleteCategory(name, null);
+            return;
+        }
+        int usage = ledgerService.getCategoryUsage(name.trim());
+        int moved;
+        if (usage > 0 || alwaysReassign) {
+            System.out.printf("'%s' 카테고리의 내역 %d건을 옮길 카테고리를 선택해주세요.%n", name.trim(), usage);
+            String target = promptCategorySelection(localScanner);
+            if (target == null) return;
+            moved = ledgerService.mergeCategory(name, target);
+        } else {
+            moved = ledgerService.deleteCategory(name, null);
+        }
+        if (moved >= 0) {
+            System.out.printf("해당 카테고리 항목을 삭제하였습니다. (내역 %d건 이동)%n", moved);
+        }
+    }
+
+    // 반복 거래 규칙 목록
+    private void displayRecurringRules() {
+        List<RecurringRule> rules = ledgerService.getRecurringRules();
+        if (rules.isEmpty()) {
+            System.out.println("등록된 반복 거래가 없습니다.");
+            System.out.println();
+            return;
+        }
+
+        System.out.println("====================================================================================");
+        System.out.printf(" %-3s | %-10s | %-8s | %-10s | %-11s | %-23s | %-12s%n",
+            "ID", "주기", "유형", "카테고리", "금액", "기간", "마지막 생성");
+        System.out.println("------------------------------------------------------------------------------------");
+        for (RecurringRule rule : rules) {
+            System.out.printf(" %-3d | %-10s | %-8s | %-10s | %-11d | %-23s | %-12s%n",
+                rule.getId(),
+                rule.getScheduleDescription(),
+                rule.getType(),
+                rule.getCategory(),
+                rule.getAmount(),
+                rule.getStartDate() + " ~ " + (rule.getEndDate() != null ? rule.getEndDate() : ""),
+                rule.getLastGeneratedDate() != null ? rule.getLastGeneratedDate() : "-");
+        }
+        System.out.println("====================================================================================");
+        System.out.println();
+    }
+
+    // 반복 거래 규칙 추가
+    private void addRecurringRule(Scanner localScanner) {
+        System.out.println("=== 반복 거래 추가 ===");
+
+        String type = getValidType("유형 입력 [1: 수입 (+), 2: 지출 (-)]: ", localScanner);
+        if (type == null) return;
+
+        Integer amount = getValidAmount("금액 입력: ", localScanner);
+        if (amount == null) return;
+
+        String typeSymbol;
+        if (type.equals("지출")) {
+            amount = -Math.abs(amount);
+            typeSymbol = " 지출 (-)";
+        } else {
+            amount = Math.abs(amount);
+            typeSymbol = "수입 (+)";
+        }
+
+        String category = promptCategorySelection(localScanner);
+        if (category == null) return;
+
+        String description = getValidDescription("설명 입력 (선택 사항, 최대 50자 이내): ", localScanner);
+        if (description == null) return;
+
+        RecurringRule.Frequency frequency;
+        int day;
+        while (true) {
+            System.out.print("주기 입력 [1: 매월, 2: 매주] (취소: 'cancel' 입력): ");
+            String input = localScanner.nextLine();
+            if ("cancel".equalsIgnoreCase(input.trim())) {
+                if (confirmCancel(localScanner)) return;
+                continue;
+            }
+            ValidationUtil.ValidationResult result = ValidationUtil.validateMenuOption(input, 1, 2);
+            if (result.isValid()) {
+                frequency = result.getValue(Integer.class) == 1 ? RecurringRule.Frequency.MONTHLY : RecurringRule.Frequency.WEEKLY;
+                break;
+            }
+            System.out.println("오류: " + result.getErrorMessage());
+        }
+
+        String dayPrompt = frequency == RecurringRule.Frequency.MONTHLY
+            ? "매월 발생일 입력 (1-31, 말일보다 크면 말일) (취소: 'cancel' 입력): "
+            : "요일 입력 [1: 월 ~ 7: 일] (취소: 'cancel' 입력): ";
+        int maxDay = frequency == RecurringRule.Frequency.MONTHLY ? 31 : 7;
+        while (true) {
+            System.out.print(dayPrompt);
+            String input = localScanner.nextLine();
+            if ("cancel".equalsIgnoreCase(input.trim())) {
+                if (confirmCancel(localScanner)) return;
+                continue;
+            }
+            ValidationUtil.ValidationResult result = ValidationUtil.validateMenuOption(input, 1, maxDay);
+            if (result.isValid()) {
+                day = result.getValue(Integer.class);
+                break;
+            }
+            System.out.println("오류: " + result.getErrorMessage());
+        }
+
+        LocalDate startDate = inputDateWithValidation("시작 날짜 입력 (YYYY-MM-DD): ", localScanner);
+        if (startDate == null) return;
+
+        LocalDate endDate = null;
+        while (true) {
+            System.out.print("종료 날짜 입력 (YYYY-MM-DD, 없으면 Enter) (취소: 'cancel' 입력): ");
+            String input = localScanner.nextLine().trim();
+            if ("cancel".equalsIgnoreCase(input)) {
+                if (confirmCancel(localScanner)) return;
+                continue;
+            }
+            if (input.isEmpty()) break;
+            ValidationUtil.ValidationResult result = ValidationUtil.validateDate(input);
+            if (!result.isValid()) {
+                System.out.println("오류: " + result.getErrorMessage());
+                continue;
+            }
+            endDate = result.getValue(LocalDate.class);
+            if (endDate.isBefore(startDate)) {
+                System.out.println("오류: 종료 날짜가 시작 날짜보다 앞설 수 없습니다.");
+                endDate = null;
+                continue;
+            }
+            break;
+        }
+
+        RecurringRule rule = new RecurringRule(0, typeSymbol, amount, category,
+            description.isEmpty() ? null : description, frequency, day, startDate, endDate, null);
+        if (ledgerService.addRecurringRule(rule)) {
+            System.out.printf("반복 거래가 ID: %d로 추가되었습니다. (%s)%n", rule.getId(), rule.getScheduleDescription());
+        } else {
+            System.out.println("오류: 반복 규칙 파일을 저장하지 못했습니다.");
+        }
+    }
+
     // 취소 확인
     private boolean confirmCancel(Scanner localScanner) {
         System.out.print("# 확인: 현재 작업을 취소하고 메인 화면으로 이동하시겠습니까? (Y/N) > ");
@@ -600,7 +1141,7 @@ public class CliInterface {
 
     // 카테고리 전체 목록을 번호와 함께 출력합니다.
     private void printCategoryList() {
-        List<String> categories = CategoryManager.getAllCategories();
+        List<String> categories = ledgerService.getCategoryManager().getAllCategories();
         StringBuilder sb = new StringBuilder("[");
         for (int i = 0; i < categories.size(); i++) {
             if (i > 0) sb.append(' ');
@@ -626,10 +1167,11 @@ public class CliInterface {
             }
 
             // 번호 선택
-            ValidationUtil.ValidationResult num = ValidationUtil.validateMenuOption(input, 1, CategoryManager.getAllCategories().size());
+            List<String> categories = ledgerService.getCategoryManager().getAllCategories();
+            ValidationUtil.ValidationResult num = ValidationUtil.validateMenuOption(input, 1, categories.size());
             if (num.isValid()) {
                 int idx = num.getValue(Integer.class) - 1;
-                return CategoryManager.getAllCategories().get(idx);
+                return categories.get(idx);
             }
 
             // 추가
@@ -640,7 +1182,7 @@ public class CliInterface {
                     if (confirmCancel(localScanner)) return null;
                     continue;
                 }
-                CategoryManager.AddResult res = CategoryManager.addCustomCategory(name);
+                CategoryManager.AddResult res = ledgerService.getCategoryManager().addCustomCategory(name);
                 if (!res.success) {
                     System.out.println(res.message);
                 } else {
@@ -658,12 +1200,7 @@ public class CliInterface {
                     if (confirmCancel(localScanner)) return null;
                     continue;
                 }
-                CategoryManager.DeleteResult res = CategoryManager.deleteCustomCategory(name);
-                if (!res.success) {
-                    System.out.println(res.message);
-                } else {
-                    System.out.println("해당 카테고리 항목을 삭제하였습니다.");
-                }
+                deleteCategoryWithReassign(name, false, localScanner);
                 // 자동 리넘버링은 리스트에서 자연스럽게 반영됨. 다시 프롬프트로 복귀
                 continue;
             }
@@ -682,10 +1219,11 @@ public class CliInterface {
                 if (confirmCancel(localScanner)) return null;
                 continue;
             }
-            ValidationUtil.ValidationResult num = ValidationUtil.validateMenuOption(input, 1, CategoryManager.getAllCategories().size());
+            List<String> categories = ledgerService.getCategoryManager().getAllCategories();
+            ValidationUtil.ValidationResult num = ValidationUtil.validateMenuOption(input, 1, categories.size());
             if (num.isValid()) {
                 int idx = num.getValue(Integer.class) - 1;
-                return CategoryManager.getAllCategories().get(idx);
+                return categories.get(idx);
             }
             System.out.println("오류: 유효한 번호를 입력해주세요.");
         }
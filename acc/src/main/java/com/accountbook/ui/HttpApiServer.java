@@ -0,0 +1,531 @@
+package com.accountbook.ui;
+
+import com.accountbook.model.LedgerItem;
+import com.accountbook.service.BudgetTracker;
+import com.accountbook.service.LedgerService;
+import com.accountbook.util.AmountColumns;
+import com.accountbook.util.CategoryManager;
+import com.accountbook.util.DateCodec;
+import com.accountbook.util.ItemSorter;
+import com.accountbook.util.JsonText;
+import com.accountbook.util.ReplicaDirectory;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * LedgerService를 JSON HTTP API로 제공하는 내장 서버입니다 (JDK의 com.sun.net.httpserver 사용).
+ * 요청마다 가상 스레드 하나를 사용하며, 가상 스레드가 없는 JDK(17 등)에서는 고정 크기 스레드 풀로 대신합니다.
+ *
+ * 엔드포인트:
+ * - GET    /api/items[?from=YYYY-MM-DD][&to=YYYY-MM-DD][&category=이름][&sort=date,-amount]  내역 목록
+ * - GET    /api/items/{id}                                            내역 한 건
+ * - POST   /api/items            {"type","date","amount","category","description"}  내역 추가
+ * - PUT    /api/items/{id}       바꿀 필드만 포함                          내역 수정
+ * - DELETE /api/items/{id}                                            내역 삭제
+ * - GET    /api/summary?month=YYYY-MM                                 월별 수입/지출/카테고리별 합계와 예산 현황
+ * - GET    /api/totals[?from=YYYY-MM-DD][&to=YYYY-MM-DD][&category=이름]  조건에 맞는 항목 수와 수입/지출 합계
+ * - GET    /api/categories                                            카테고리 목록
+ * - GET    /api/replication                                           복제 상태 (커밋/전송/반영 번호와 지연)
+ * 유형은 "수입"/"지출", 금액은 양수로 주고받습니다 (저장 시 지출은 음수로 기록).
+ *
+ * 요청마다 파일 전체를 다시 쓰지 않도록 실행 중에는 자동 저장을 끄고, 밀린 변경을 flushIntervalMillis마다
+ * 별도 스레드에서 한 번에 저장합니다 (일괄 명령 모드의 --flush-every와 같은 방식). 따라서 쓰기 요청의 응답은
+ * 메모리 반영을 뜻하며, 최대 한 주기 뒤에 파일에 기록됩니다. 서버를 멈출 때 남은 변경을 저장합니다.
+ * 간격을 0으로 주면 예전처럼 요청마다 저장합니다.
+ */
+public class HttpApiServer {
+
+    public static final int DEFAULT_PORT = 8080;
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+    private static final int BACKLOG = 1024;
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+
+    private final LedgerService ledgerService;
+    private final int port;
+    private final long flushIntervalMillis;
+    private HttpServer server;
+    private ExecutorService executor;
+    private ScheduledExecutorService flusher;
+    private boolean previousAutoSave;
+
+    public HttpApiServer(LedgerService ledgerService, int port) {
+        this(ledgerService, port, DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    /**
+     * @param flushIntervalMillis 밀린 변경을 저장하는 간격 (0이면 요청마다 저장)
+     */
+    public HttpApiServer(LedgerService ledgerService, int port, long flushIntervalMillis) {
+        if (flushIntervalMillis < 0) {
+            throw new IllegalArgumentException("저장 간격은 0 이상이어야 합니다: " + flushIntervalMillis);
+        }
+        this.ledgerService = ledgerService;
+        this.port = port;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    /**
+     * 서버를 시작합니다. 요청 처리는 별도 스레드에서 이루어지므로 바로 반환합니다.
+     */
+    public void start() throws IOException {
+        // 헤더와 본문을 따로 쓰는 작은 응답이 Nagle 알고리즘 + 지연 ACK로 수십 ms씩 묶이지 않도록 함
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        server.createContext("/api/items", this::handleItems);
+        server.createContext("/api/summary", this::handleSummary);
+        server.createContext("/api/totals", this::handleTotals);
+        server.createContext("/api/categories", this::handleCategories);
+        server.createContext("/api/replication", this::handleReplication);
+        executor = createExecutor();
+        server.setExecutor(executor);
+        if (flushIntervalMillis > 0 && !ledgerService.isOffHeap()) {
+            previousAutoSave = ledgerService.isAutoSave();
+            ledgerService.setAutoSave(false);
+            flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "ledger-http-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushPending, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        server.start();
+    }
+
+    /**
+     * 진행 중인 요청을 최대 delaySeconds초 기다린 뒤 서버를 멈추고, 밀린 변경을 저장합니다.
+     */
+    public void stop(int delaySeconds) {
+        if (server != null) {
+            server.stop(delaySeconds);
+            executor.shutdown();
+        }
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            flusher = null;
+            // 자동 저장을 되돌리면 남은 변경이 바로 저장됨
+            if (!ledgerService.setAutoSave(previousAutoSave)) {
+                System.err.println("서버 종료 중 밀린 변경을 저장하지 못했습니다.");
+            }
+        }
+    }
+
+    // 저장 실패는 다음 주기에 다시 시도 (변경은 메모리에 남아 있음)
+    private void flushPending() {
+        try {
+            if (ledgerService.hasUnsavedChanges() && !ledgerService.flush()) {
+                System.err.println("밀린 변경을 저장하지 못했습니다. 다음 주기에 다시 시도합니다.");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("밀린 변경을 저장하지 못했습니다: " + e.getMessage());
+        }
+    }
+
+    public int getPort() {
+        return server != null ? server.getAddress().getPort() : port;
+    }
+
+    /**
+     * 요청당 가상 스레드 실행기를 만듭니다. JDK 21 미만에서는 해당 API가 없으므로
+     * 컴파일 대상 JDK 17에서도 빌드되도록 리플렉션으로 찾고, 없으면 스레드 풀을 사용합니다.
+     */
+    static ExecutorService createExecutor() {
+        try {
+            Object virtual = Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            return (ExecutorService) virtual;
+        } catch (ReflectiveOperationException e) {
+            int threads = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newFixedThreadPool(threads, task -> {
+                Thread thread = new Thread(task, "ledger-http-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * 사용 중인 실행기 종류 (시작 메시지용)
+     */
+    public String getExecutorDescription() {
+        return executor != null && executor.getClass().getName().contains("ThreadPerTask")
+            ? "가상 스레드(요청당 1개)" : "스레드 풀";
+    }
+
+    // ====== /api/items ======
+
+    private void handleItems(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            String rest = path.length() > "/api/items".length() ? path.substring("/api/items".length()) : "";
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && ledgerService.isOffHeap()) {
+                // 힙 밖 저장소로 연 가계부는 조회만 가능
+                sendError(exchange, 405, "읽기 전용 가계부입니다: " + method);
+                return;
+            }
+
+            if (rest.isEmpty() || rest.equals("/")) {
+                switch (method) {
+                    case "GET":
+                        listItems(exchange);
+                        break;
+                    case "POST":
+                        createItem(exchange);
+                        break;
+                    default:
+                        sendError(exchange, 405, "지원하지 않는 메서드입니다: " + method);
+                        break;
+                }
+                return;
+            }
+
+            int id;
+            try {
+                id = Integer.parseInt(rest.substring(1));
+            } catch (NumberFormatException e) {
+                sendError(exchange, 404, "유효한 ID가 아닙니다: " + rest.substring(1));
+                return;
+            }
+            switch (method) {
+                case "GET":
+                    getItem(exchange, id);
+                    break;
+                case "PUT":
+                    updateItem(exchange, id);
+                    break;
+                case "DELETE":
+                    deleteItem(exchange, id);
+                    break;
+                default:
+                    sendError(exchange, 405, "지원하지 않는 메서드입니다: " + method);
+                    break;
+            }
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            sendError(exchange, 500, "서버 오류: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void listItems(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseQuery(exchange);
+        List<LedgerItem> found;
+        boolean dateRange = query.containsKey("from") || query.containsKey("to");
+        LocalDate from = parseDateParam(query, "from", LocalDate.MIN);
+        LocalDate to = parseDateParam(query, "to", LocalDate.MAX);
+        if (query.containsKey("category")) {
+            found = ledgerService.getItemsByCategory(query.get("category"));
+            if (dateRange) {
+                // 카테고리로 먼저 좁힌 뒤 기간 조건을 함께 적용
+                found = found.stream()
+                    .filter(item -> !item.getDate().isBefore(from) && !item.getDate().isAfter(to))
+                    .collect(Collectors.toList());
+            }
+        } else if (dateRange) {
+            found = ledgerService.getItemsByDateRange(from, to);
+        } else {
+            found = ledgerService.getAllItems();
+        }
+        List<LedgerItem> items = query.containsKey("sort")
+            ? ledgerService.sortItems(found, ItemSorter.parse(query.get("sort"))) : found;
+
+        // 항목 객체는 수정 연산과 공유되므로 읽기 잠금 안에서 직렬화
+        String body = ledgerService.withReadLock(() -> {
+            StringBuilder sb = new StringBuilder(items.size() * 128 + 32);
+            sb.append("{\"count\":").append(items.size()).append(",\"items\":[");
+            for (int i = 0; i < items.size(); i++) {
+                if (i > 0) sb.append(',');
+                JsonText.appendItem(sb, items.get(i));
+            }
+            return sb.append("]}").toString();
+        });
+        send(exchange, 200, body);
+    }
+
+    private void getItem(HttpExchange exchange, int id) throws IOException {
+        Optional<String> body = ledgerService.withReadLock(() ->
+            ledgerService.findItemById(id).map(item -> JsonText.appendItem(new StringBuilder(), item).toString()));
+        if (body.isPresent()) {
+            send(exchange, 200, body.get());
+        } else {
+            sendError(exchange, 404, "ID " + id + "를 가진 항목이 존재하지 않습니다.");
+        }
+    }
+
+    private void createItem(HttpExchange exchange) throws IOException {
+        LedgerItem item = ItemFields.newItem(JsonText.parseFlatObject(readBody(exchange)), ledgerService.getCategoryManager());
+        // addItems는 넘겨받은 항목에 ID를 부여하므로 동시에 추가되는 요청과 섞이지 않고 새 ID를 알 수 있음
+        if (!ledgerService.addItems(Collections.singletonList(item))) {
+            sendError(exchange, 500, "파일에 항목을 저장하지 못했습니다.");
+            return;
+        }
+        String body = ledgerService.withReadLock(() -> JsonText.appendItem(new StringBuilder(), item).toString());
+        send(exchange, 201, body);
+    }
+
+    private void updateItem(HttpExchange exchange, int id) throws IOException {
+        // 요청 값은 잠금 밖에서 먼저 검증
+        ItemFields.Changes changes = ItemFields.changes(JsonText.parseFlatObject(readBody(exchange)), ledgerService.getCategoryManager());
+
+        LedgerService.ItemWriteStatus status = ledgerService.updateItemWithStatus(id, changes::applyTo);
+        if (status != LedgerService.ItemWriteStatus.DONE) {
+            sendWriteError(exchange, id, status);
+            return;
+        }
+        getItem(exchange, id);
+    }
+
+    private void deleteItem(HttpExchange exchange, int id) throws IOException {
+        LedgerService.ItemWriteStatus status = ledgerService.deleteItemWithStatus(id);
+        if (status != LedgerService.ItemWriteStatus.DONE) {
+            sendWriteError(exchange, id, status);
+            return;
+        }
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    // 수정/삭제 실패: 항목이 없으면 404, 저장 실패면 500
+    private void sendWriteError(HttpExchange exchange, int id, LedgerService.ItemWriteStatus status) throws IOException {
+        if (status == LedgerService.ItemWriteStatus.NOT_FOUND) {
+            sendError(exchange, 404, "ID " + id + "를 가진 항목이 존재하지 않습니다.");
+        } else {
+            sendError(exchange, 500, "파일에 항목을 저장하지 못했습니다.");
+        }
+    }
+
+    // ====== /api/summary, /api/totals, /api/categories, /api/replication ======
+
+    private void handleSummary(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "지원하지 않는 메서드입니다: " + exchange.getRequestMethod());
+                return;
+            }
+            Map<String, String> query = parseQuery(exchange);
+            YearMonth month;
+            try {
+                month = query.containsKey("month") ? YearMonth.parse(query.get("month")) : YearMonth.now();
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("month는 YYYY-MM 형식이어야 합니다.");
+            }
+
+            List<LedgerItem> items = ledgerService.getItemsByDateRange(month.atDay(1), month.atEndOfMonth());
+            List<BudgetTracker.BudgetStatus> budgets = ledgerService.getBudgetStatus(month);
+            String body = ledgerService.withReadLock(() -> {
+                long income = 0;
+                long expense = 0;
+                Map<String, Long> expenseByCategory = new LinkedHashMap<>();
+                for (LedgerItem item : items) {
+                    long absolute = Math.abs((long) item.getAmount());
+                    if (item.isExpense()) {
+                        expense += absolute;
+                        expenseByCategory.merge(item.getCategory(), absolute, Long::sum);
+                    } else {
+                        income += absolute;
+                    }
+                }
+
+                StringBuilder sb = new StringBuilder(256);
+                sb.append("{\"month\":\"").append(month).append('"')
+                    .append(",\"count\":").append(items.size())
+                    .append(",\"income\":").append(income)
+                    .append(",\"expense\":").append(expense)
+                    .append(",\"balance\":").append(income - expense)
+                    .append(",\"expenseByCategory\":{");
+                boolean first = true;
+                for (Map.Entry<String, Long> entry : expenseByCategory.entrySet()) {
+                    if (!first) sb.append(',');
+                    first = false;
+                    JsonText.appendString(sb, entry.getKey()).append(':').append(entry.getValue());
+                }
+                sb.append("},\"budgets\":[");
+                for (int i = 0; i < budgets.size(); i++) {
+                    BudgetTracker.BudgetStatus status = budgets.get(i);
+                    if (i > 0) sb.append(',');
+                    sb.append("{\"category\":");
+                    JsonText.appendString(sb, status.category)
+                        .append(",\"limit\":").append(status.limit)
+                        .append(",\"spent\":").append(status.spent)
+                        .append(",\"remaining\":").append(status.getRemaining())
+                        .append(",\"overBudget\":").append(status.isOverBudget())
+                        .append('}');
+                }
+                return sb.append("]}").toString();
+            });
+            send(exchange, 200, body);
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            sendError(exchange, 500, "서버 오류: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleTotals(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "지원하지 않는 메서드입니다: " + exchange.getRequestMethod());
+                return;
+            }
+            Map<String, String> query = parseQuery(exchange);
+            LocalDate from = parseDateParam(query, "from", null);
+            LocalDate to = parseDateParam(query, "to", null);
+            AmountColumns.Totals totals = ledgerService.getAmountTotals(from, to, query.get("category"));
+            StringBuilder sb = new StringBuilder(128);
+            sb.append("{\"count\":").append(totals.count)
+                .append(",\"income\":").append(totals.income)
+                .append(",\"expense\":").append(totals.expense)
+                .append(",\"balance\":").append(totals.getBalance())
+                .append('}');
+            send(exchange, 200, sb.toString());
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            sendError(exchange, 500, "서버 오류: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleCategories(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "지원하지 않는 메서드입니다: " + exchange.getRequestMethod());
+                return;
+            }
+            StringBuilder sb = new StringBuilder("{\"fixed\":[");
+            appendStrings(sb, CategoryManager.getFixedCategories());
+            sb.append("],\"custom\":[");
+            appendStrings(sb, ledgerService.getCategoryManager().getCustomCategories());
+            send(exchange, 200, sb.append("]}").toString());
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            sendError(exchange, 500, "서버 오류: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleReplication(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "지원하지 않는 메서드입니다: " + exchange.getRequestMethod());
+                return;
+            }
+            ReplicaDirectory.Status status = ledgerService.getReplicationStatus();
+            if (status == null) {
+                send(exchange, 200, "{\"enabled\":false}");
+                return;
+            }
+            StringBuilder sb = new StringBuilder(160);
+            sb.append("{\"enabled\":true")
+                .append(",\"committed\":").append(status.getCommittedSeq())
+                .append(",\"shipped\":").append(status.getShippedSeq())
+                .append(",\"applied\":").append(status.getAppliedSeq())
+                .append(",\"lagCommits\":").append(status.getLagCommits())
+                .append(",\"lagMillis\":").append(status.getLagMillis())
+                .append(",\"error\":");
+            if (status.getError() != null) {
+                JsonText.appendString(sb, status.getError());
+            } else {
+                sb.append("null");
+            }
+            send(exchange, 200, sb.append('}').toString());
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            sendError(exchange, 500, "서버 오류: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static LocalDate parseDateParam(Map<String, String> query, String name, LocalDate defaultValue) {
+        String value = query.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return DateCodec.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + "는 YYYY-MM-DD 형식이어야 합니다.");
+        }
+    }
+
+    // ====== 입출력 ======
+
+    private static void appendStrings(StringBuilder sb, List<String> values) {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) sb.append(',');
+            JsonText.appendString(sb, values.get(i));
+        }
+    }
+
+    private static Map<String, String> parseQuery(HttpExchange exchange) {
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null || raw.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> query = new HashMap<>();
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq >= 0 ? pair.substring(0, eq) : pair, StandardCharsets.UTF_8);
+            String value = eq >= 0 ? URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8) : "";
+            query.put(key, value);
+        }
+        return query;
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringBuilder sb = new StringBuilder("{\"error\":");
+        JsonText.appendString(sb, message).append('}');
+        send(exchange, status, sb.toString());
+    }
+}
@@ -0,0 +1,117 @@
+package com.accountbook.ui;
+
+import com.accountbook.model.LedgerItem;
+import com.accountbook.util.CategoryManager;
+import com.accountbook.util.ValidationUtil;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * 필드 이름 -> 문자열 값으로 들어온 항목 입력(HTTP 요청 본문, 일괄 명령)을 CLI와 같은 규칙으로 검증합니다.
+ * 유형은 "수입"/"지출", 금액은 양수로 받으며 저장 시 지출은 음수로 기록합니다.
+ * 검증에 실패하면 사용자에게 보여줄 메시지와 함께 IllegalArgumentException을 던집니다.
+ */
+final class ItemFields {
+    private ItemFields() {}
+
+    /**
+     * type, date, amount, category(필수)와 description(선택)으로 새 항목을 만듭니다. ID는 0입니다.
+     * 카테고리는 항목을 넣을 가계부의 카테고리 관리자(categories)로 검증합니다.
+     */
+    static LedgerItem newItem(Map<String, String> fields, CategoryManager categories) {
+        boolean expense = parseType(require(fields, "type"));
+        LocalDate date = parseDate(require(fields, "date"));
+        int amount = parseAmount(require(fields, "amount"));
+        String category = parseCategory(require(fields, "category"), categories);
+        String description = parseDescription(fields.get("description"));
+        return new LedgerItem(0, storedType(expense), date, expense ? -amount : amount, category, description);
+    }
+
+    /**
+     * 들어온 필드만 바꾸는 수정 내용을 만듭니다. 값 검증은 여기서 모두 끝나며, 그 밖의 필드(id 등)는 무시합니다.
+     */
+    static Changes changes(Map<String, String> fields, CategoryManager categories) {
+        Changes changes = new Changes();
+        changes.expense = fields.containsKey("type") ? parseType(fields.get("type")) : null;
+        changes.date = fields.containsKey("date") ? parseDate(fields.get("date")) : null;
+        changes.amount = fields.containsKey("amount") ? parseAmount(fields.get("amount")) : null;
+        changes.category = fields.containsKey("category") ? parseCategory(fields.get("category"), categories) : null;
+        changes.descriptionChanged = fields.containsKey("description");
+        changes.description = changes.descriptionChanged ? parseDescription(fields.get("description")) : null;
+        return changes;
+    }
+
+    /**
+     * 검증을 마친 부분 수정 내용 (null인 필드는 그대로 둠)
+     */
+    static final class Changes {
+        private Boolean expense;
+        private LocalDate date;
+        private Integer amount;
+        private String category;
+        private boolean descriptionChanged;
+        private String description;
+
+        void applyTo(LedgerItem item) {
+            boolean isExpense = expense != null ? expense : item.isExpense();
+            int absolute = amount != null ? amount : Math.abs(item.getAmount());
+            item.setType(storedType(isExpense));
+            item.setAmount(isExpense ? -absolute : absolute);
+            if (date != null) item.setDate(date);
+            if (category != null) item.setCategory(category);
+            if (descriptionChanged) item.setDescription(description);
+        }
+    }
+
+    static boolean isEditable(String name) {
+        return name.equals("type") || name.equals("date") || name.equals("amount")
+            || name.equals("category") || name.equals("description");
+    }
+
+    static String require(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("필수 필드가 누락되었습니다: " + name);
+        }
+        return value;
+    }
+
+    // 지출이면 true
+    static boolean parseType(String type) {
+        if ("수입".equals(type)) return false;
+        if ("지출".equals(type)) return true;
+        throw new IllegalArgumentException("type은 \"수입\" 또는 \"지출\"이어야 합니다: " + type);
+    }
+
+    // CLI가 파일에 기록하는 유형 문자열
+    static String storedType(boolean expense) {
+        return expense ? " 지출 (-)" : "수입 (+)";
+    }
+
+    static LocalDate parseDate(String value) {
+        return validated(ValidationUtil.validateDate(value), LocalDate.class);
+    }
+
+    static int parseAmount(String value) {
+        return validated(ValidationUtil.validateAmount(value), Integer.class);
+    }
+
+    static String parseCategory(String value, CategoryManager categories) {
+        if (!categories.isValidCategory(value)) {
+            throw new IllegalArgumentException("유효하지 않은 카테고리: " + value);
+        }
+        return value.trim();
+    }
+
+    static String parseDescription(String value) {
+        String description = validated(ValidationUtil.validateDescription(value), String.class);
+        return description.isEmpty() ? null : description;
+    }
+
+    private static <T> T validated(ValidationUtil.ValidationResult result, Class<T> type) {
+        if (!result.isValid()) {
+            throw new IllegalArgumentException(result.getErrorMessage().trim());
+        }
+        return result.getValue(type);
+    }
+}
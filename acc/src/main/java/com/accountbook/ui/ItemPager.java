@@ -0,0 +1,177 @@
+package com.accountbook.ui;
+
+import com.accountbook.model.LedgerItem;
+import com.accountbook.service.LedgerService;
+import com.accountbook.util.ItemTableWriter;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Scanner;
+import java.util.function.Predicate;
+
+/**
+ * 항목 표를 한 페이지씩 보여주는 CLI 페이지 보기입니다.
+ * 보이는 페이지의 항목만 ID 커서로 가져오므로(LedgerService.getItemPage) 큰 가계부도 목록 전체를 만들지 않습니다.
+ * 한 페이지에 다 들어가면 묻지 않고 표만 출력합니다. 페이지 크기는 이 객체가 기억해 다음 보기에도 적용됩니다.
+ */
+public class ItemPager {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * 페이지를 가져오는 곳 (LedgerService.getItemPage와 같은 의미)
+     */
+    public interface PageSource {
+        LedgerService.ItemPage fetch(int cursorId, boolean forward, int limit);
+    }
+
+    private final PrintStream out;
+    private final ItemTableWriter table;
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    public ItemPager(PrintStream out) {
+        this.out = out;
+        this.table = new ItemTableWriter(out);
+    }
+
+    /**
+     * 서비스에서 조건에 맞는 항목을 페이지 단위로 가져옵니다.
+     * @param filter 조건 (null이면 전체)
+     */
+    public static PageSource of(LedgerService service, Predicate<LedgerItem> filter) {
+        return (cursorId, forward, limit) -> service.getItemPage(filter, cursorId, forward, limit);
+    }
+
+    /**
+     * 이미 만들어진 ID 오름차순 목록(과거 시점 조회 결과 등)을 페이지 단위로 나눕니다.
+     */
+    public static PageSource of(List<LedgerItem> sortedById) {
+        return (cursorId, forward, limit) -> {
+            // cursorId보다 큰 첫 항목의 위치
+            int low = 0;
+            int high = sortedById.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sortedById.get(mid).getId() <= cursorId) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (forward) {
+                int end = Math.min(sortedById.size(), low + limit);
+                return new LedgerService.ItemPage(sortedById.subList(low, end), end < sortedById.size());
+            }
+            int end = low > 0 && sortedById.get(low - 1).getId() == cursorId ? low - 1 : low;
+            int start = Math.max(0, end - limit);
+            return new LedgerService.ItemPage(sortedById.subList(start, end), start > 0);
+        };
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("페이지 크기는 1 이상 " + MAX_PAGE_SIZE + " 이하여야 합니다: " + pageSize);
+        }
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * 첫 페이지를 보여주고, 페이지가 더 있으면 n(다음)/p(이전)/s 크기(페이지 크기)/q(닫기) 입력을 받습니다.
+     * @param total 조건에 맞는 전체 항목 수 (위치 안내용)
+     */
+    public void browse(Scanner scanner, PageSource source, int total) {
+        LedgerService.ItemPage page = source.fetch(0, true, pageSize);
+        if (page.items.isEmpty()) {
+            out.println("표시할 항목이 없습니다.");
+            return;
+        }
+        // 현재 페이지 앞에 있는 항목 수
+        int offset = 0;
+        boolean hasNext = page.hasMore;
+        boolean hasPrevious = false;
+        if (!hasNext) {
+            table.writeAll(page.items);
+            return;
+        }
+
+        while (true) {
+            render(page.items, offset, total);
+            out.print("[Enter/n] 다음  [p] 이전  [s 크기] 페이지 크기  [q] 닫기: ");
+            String input = scanner.nextLine().trim();
+
+            if (input.isEmpty() || "n".equalsIgnoreCase(input)) {
+                if (!hasNext) {
+                    if (input.isEmpty()) {
+                        return;
+                    }
+                    out.println("마지막 페이지입니다.");
+                    continue;
+                }
+                LedgerService.ItemPage next = source.fetch(lastId(page), true, pageSize);
+                if (next.items.isEmpty()) {
+                    hasNext = false;
+                    out.println("마지막 페이지입니다.");
+                    continue;
+                }
+                offset += page.items.size();
+                page = next;
+                hasNext = next.hasMore;
+                hasPrevious = true;
+            } else if ("p".equalsIgnoreCase(input)) {
+                if (!hasPrevious) {
+                    out.println("첫 페이지입니다.");
+                    continue;
+                }
+                LedgerService.ItemPage previous = source.fetch(page.items.get(0).getId(), false, pageSize);
+                if (previous.items.isEmpty()) {
+                    hasPrevious = false;
+                    offset = 0;
+                    out.println("첫 페이지입니다.");
+                    continue;
+                }
+                page = previous;
+                hasPrevious = previous.hasMore;
+                offset = hasPrevious ? Math.max(0, offset - previous.items.size()) : 0;
+                hasNext = true;
+            } else if (input.toLowerCase().startsWith("s")) {
+                try {
+                    setPageSize(Integer.parseInt(input.substring(1).trim()));
+                } catch (NumberFormatException e) {
+                    out.printf("오류: 페이지 크기는 1 이상 %d 이하의 숫자로 입력해주세요 (예: s 50).%n", MAX_PAGE_SIZE);
+                    continue;
+                } catch (IllegalArgumentException e) {
+                    out.println("오류: " + e.getMessage());
+                    continue;
+                }
+                // 현재 페이지 첫 항목부터 새 크기로 다시 가져옴
+                LedgerService.ItemPage resized = source.fetch(page.items.get(0).getId() - 1, true, pageSize);
+                if (!resized.items.isEmpty()) {
+                    page = resized;
+                    hasNext = resized.hasMore;
+                }
+            } else if ("q".equalsIgnoreCase(input)) {
+                return;
+            } else {
+                out.println("오류: n, p, s 크기, q 중 하나를 입력해주세요.");
+            }
+        }
+    }
+
+    private void render(List<LedgerItem> items, int offset, int total) {
+        table.writeHeader();
+        for (LedgerItem item : items) {
+            table.writeRow(item);
+        }
+        table.writeFooter(String.format("%d-%d / 총 %d건 (페이지 크기 %d)",
+            offset + 1, offset + items.size(), Math.max(total, offset + items.size()), pageSize));
+        table.flush();
+    }
+
+    private static int lastId(LedgerService.ItemPage page) {
+        return page.items.get(page.items.size() - 1).getId();
+    }
+}
@@ -0,0 +1,278 @@
+package com.accountbook.util;
+
+import com.accountbook.model.LedgerItem;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 금액 합계용 열 배열입니다. 항목의 금액, 에포크 일, 카테고리 코드, 지출 여부를 각각 int 배열로 복사해 두고
+ * 날짜 범위/카테고리 조건에 맞는 항목 수와 수입/지출 합계(절댓값 합)를 배열을 한 번 훑어 계산합니다.
+ *
+ * jdk.incubator.vector 모듈이 있으면(java --add-modules jdk.incubator.vector, src/vector/java를 함께 컴파일)
+ * SIMD로 한 번에 여러 항목을 비교·합산하는 VectorAmountKernel을 쓰고, 없으면 같은 계산을 하는 스칼라 반복문을 씁니다.
+ * 합계는 정수 덧셈이라 순서와 무관하게 정확하므로 두 경로의 결과는 항상 같습니다.
+ * 만든 뒤에는 바뀌지 않으므로 여러 스레드가 함께 써도 됩니다.
+ */
+public class AmountColumns {
+
+    private static final AmountKernel SCALAR_KERNEL = new ScalarKernel();
+    // 벡터 모듈이 없거나 벡터 구현을 불러오지 못하면 null
+    private static final AmountKernel VECTOR_KERNEL = loadVectorKernel();
+
+    // 카테고리 조건 없음
+    public static final int ANY_CATEGORY = -1;
+    // 등록부에 없는 카테고리 (어떤 카테고리 조건과도 맞지 않음)
+    private static final int UNKNOWN_CATEGORY = -2;
+
+    final int size;
+    final int[] amounts;
+    final int[] epochDays;
+    final int[] categories;
+    // 지출이면 1, 수입이면 0
+    final int[] expense;
+    // 금액 절댓값의 최댓값 (벡터 경로가 int 누계를 long으로 옮기는 주기 계산용, Integer.MIN_VALUE가 있으면 2^31)
+    final long maxAbsAmount;
+    // 카테고리 이름 -> 코드 변환에 쓰는 가계부의 카테고리 관리자 (합계 조건의 카테고리도 같은 코드로 바꿈)
+    private final CategoryManager categoryManager;
+
+    private AmountColumns(Builder builder) {
+        this.size = builder.size;
+        this.amounts = Arrays.copyOf(builder.amounts, size);
+        this.epochDays = Arrays.copyOf(builder.epochDays, size);
+        this.categories = Arrays.copyOf(builder.categories, size);
+        this.expense = Arrays.copyOf(builder.expense, size);
+        this.maxAbsAmount = builder.maxAbsAmount;
+        this.categoryManager = builder.categoryManager;
+    }
+
+    /**
+     * 항목들의 열 배열을 만듭니다. 카테고리는 예산 집계와 같이 categories의 코드(이전 이름 포함)로 바꿉니다.
+     */
+    public static AmountColumns of(Collection<LedgerItem> items, CategoryManager categories) {
+        Builder builder = new Builder(items.size(), categories);
+        for (LedgerItem item : items) {
+            builder.add(item);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 항목을 하나씩 받아 열 배열을 만듭니다 (넘긴 항목 객체는 보관하지 않음).
+     */
+    public static class Builder {
+        private int size;
+        private int[] amounts;
+        private int[] epochDays;
+        private int[] categories;
+        private int[] expense;
+        private long maxAbsAmount;
+        private final CategoryManager categoryManager;
+
+        public Builder(int expectedSize, CategoryManager categoryManager) {
+            this.categoryManager = categoryManager;
+            int capacity = Math.max(16, expectedSize);
+            amounts = new int[capacity];
+            epochDays = new int[capacity];
+            categories = new int[capacity];
+            expense = new int[capacity];
+        }
+
+        public Builder add(LedgerItem item) {
+            if (size == amounts.length) {
+                int capacity = size + (size >> 1);
+                amounts = Arrays.copyOf(amounts, capacity);
+                epochDays = Arrays.copyOf(epochDays, capacity);
+                categories = Arrays.copyOf(categories, capacity);
+                expense = Arrays.copyOf(expense, capacity);
+            }
+            int code = item.getCategory() != null ? categoryManager.codeOfAny(item.getCategory()) : -1;
+            amounts[size] = item.getAmount();
+            epochDays[size] = (int) item.getDate().toEpochDay();
+            categories[size] = code >= 0 ? code : UNKNOWN_CATEGORY;
+            expense[size] = item.isExpense() ? 1 : 0;
+            maxAbsAmount = Math.max(maxAbsAmount, Math.abs((long) item.getAmount()));
+            size++;
+            return this;
+        }
+
+        public AmountColumns build() {
+            return new AmountColumns(this);
+        }
+    }
+
+    /**
+     * 조건에 맞는 항목 수와 수입/지출 합계 (금액은 절댓값으로 더함)
+     */
+    public static class Totals {
+        public final long count;
+        public final long income;
+        public final long expense;
+
+        Totals(long count, long income, long expense) {
+            this.count = count;
+            this.income = income;
+            this.expense = expense;
+        }
+
+        public long getBalance() {
+            return income - expense;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Totals)) {
+                return false;
+            }
+            Totals totals = (Totals) other;
+            return count == totals.count && income == totals.income && expense == totals.expense;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(count) * 31 * 31 + Long.hashCode(income) * 31 + Long.hashCode(expense);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d건 수입 %d 지출 %d", count, income, expense);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 날짜 범위와 카테고리 조건에 맞는 항목의 합계입니다. 벡터 구현이 있으면 그것을 씁니다.
+     * @param from 시작일 (포함, null이면 제한 없음)
+     * @param to 종료일 (포함, null이면 제한 없음)
+     * @param category 카테고리 이름 (null이면 전체)
+     */
+    public Totals sum(LocalDate from, LocalDate to, String category) {
+        return sum(VECTOR_KERNEL != null ? VECTOR_KERNEL : SCALAR_KERNEL, from, to, category);
+    }
+
+    /**
+     * sum과 같은 계산을 항상 스칼라 반복문으로 합니다 (결과 비교, 벤치마크용).
+     */
+    public Totals sumScalar(LocalDate from, LocalDate to, String category) {
+        return sum(SCALAR_KERNEL, from, to, category);
+    }
+
+    /**
+     * sum과 같은 계산을 항상 벡터 구현으로 합니다.
+     * @throws UnsupportedOperationException 벡터 모듈을 쓸 수 없을 때
+     */
+    public Totals sumVector(LocalDate from, LocalDate to, String category) {
+        if (VECTOR_KERNEL == null) {
+            throw new UnsupportedOperationException("jdk.incubator.vector 모듈을 쓸 수 없습니다.");
+        }
+        return sum(VECTOR_KERNEL, from, to, category);
+    }
+
+    /**
+     * sum이 벡터 구현을 쓰는지
+     */
+    public static boolean isVectorized() {
+        return VECTOR_KERNEL != null;
+    }
+
+    /**
+     * sum이 쓰는 구현의 설명 (예: "vector(256비트, int 8개)", "scalar")
+     */
+    public static String getKernelName() {
+        return (VECTOR_KERNEL != null ? VECTOR_KERNEL : SCALAR_KERNEL).getName();
+    }
+
+    private Totals sum(AmountKernel kernel, LocalDate from, LocalDate to, String category) {
+        int categoryCode = ANY_CATEGORY;
+        if (category != null) {
+            categoryCode = categoryManager.codeOfAny(category);
+            if (categoryCode < 0) {
+                return new Totals(0, 0, 0);
+            }
+        }
+        int fromDay = from != null ? clampToInt(from.toEpochDay()) : Integer.MIN_VALUE;
+        int toDay = to != null ? clampToInt(to.toEpochDay()) : Integer.MAX_VALUE;
+        if (fromDay > toDay) {
+            return new Totals(0, 0, 0);
+        }
+        long[] result = new long[3];
+        kernel.sum(this, fromDay, toDay, categoryCode, result);
+        return new Totals(result[0], result[1], result[2]);
+    }
+
+    private static int clampToInt(long value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+    }
+
+    /**
+     * 벡터 모듈이 부트 계층에 있을 때만 벡터 구현을 리플렉션으로 불러옵니다.
+     * (이 클래스는 모듈 없이 컴파일되어야 하므로 벡터 구현을 직접 참조하지 않음)
+     */
+    private static AmountKernel loadVectorKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (AmountKernel) Class.forName("com.accountbook.util.VectorAmountKernel")
+                .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * 조건에 맞는 항목 수와 합계를 result[0..2](개수, 수입, 지출)에 씁니다.
+     * categoryCode가 ANY_CATEGORY이면 카테고리를 보지 않습니다.
+     */
+    interface AmountKernel {
+        void sum(AmountColumns columns, int fromDay, int toDay, int categoryCode, long[] result);
+
+        String getName();
+    }
+
+    /**
+     * 기준 구현: 항목마다 조건을 확인하고 long으로 더합니다. 벡터 구현의 남은 꼬리 처리에도 씁니다.
+     */
+    static final class ScalarKernel implements AmountKernel {
+
+        @Override
+        public void sum(AmountColumns columns, int fromDay, int toDay, int categoryCode, long[] result) {
+            sumRange(columns, 0, columns.size, fromDay, toDay, categoryCode, result);
+        }
+
+        static void sumRange(AmountColumns columns, int start, int end, int fromDay, int toDay, int categoryCode,
+                             long[] result) {
+            int[] amounts = columns.amounts;
+            int[] epochDays = columns.epochDays;
+            int[] categories = columns.categories;
+            int[] expense = columns.expense;
+            long count = 0;
+            long income = 0;
+            long spent = 0;
+            for (int i = start; i < end; i++) {
+                int day = epochDays[i];
+                if (day < fromDay || day > toDay || (categoryCode != ANY_CATEGORY && categories[i] != categoryCode)) {
+                    continue;
+                }
+                long absolute = Math.abs((long) amounts[i]);
+                count++;
+                if (expense[i] != 0) {
+                    spent += absolute;
+                } else {
+                    income += absolute;
+                }
+            }
+            result[0] += count;
+            result[1] += income;
+            result[2] += spent;
+        }
+
+        @Override
+        public String getName() {
+            return "scalar";
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.accountbook.util;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 파일을 같은 디렉터리의 임시 파일에 끝까지 쓴 뒤 이름을 바꿔 한 번에 교체합니다.
+ * 쓰는 도중 프로그램이 중단되거나 다른 프로세스(백업 복사 등)가 읽더라도 이전 내용과 새 내용 중 하나만 보입니다.
+ */
+public final class AtomicFileWriter {
+    private AtomicFileWriter() {}
+
+    /**
+     * 임시 파일에 내용을 쓰는 작업
+     */
+    public interface Body {
+        void writeTo(PrintWriter writer) throws IOException;
+    }
+
+    /**
+     * 임시 파일에 이진 내용을 쓰는 작업
+     */
+    public interface BinaryBody {
+        void writeTo(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * body가 쓴 내용으로 fileName을 교체합니다. 실패하면 원래 파일은 그대로 두고 임시 파일은 지웁니다.
+     */
+    public static void write(String fileName, Body body) throws IOException {
+        replace(fileName, temp -> {
+            try (PrintWriter writer = new PrintWriter(new BufferedWriter(
+                    new OutputStreamWriter(Files.newOutputStream(temp), StandardCharsets.UTF_8), 1 << 16))) {
+                body.writeTo(writer);
+                writer.flush();
+                // PrintWriter는 쓰기 오류를 삼키므로 직접 확인 (잘린 내용으로 원래 파일을 덮지 않도록)
+                if (writer.checkError()) {
+                    throw new IOException("임시 파일에 쓰지 못했습니다: " + temp);
+                }
+            }
+        });
+    }
+
+    /**
+     * body가 쓴 이진 내용으로 fileName을 교체합니다. 실패하면 원래 파일은 그대로 두고 임시 파일은 지웁니다.
+     */
+    public static void writeBinary(String fileName, BinaryBody body) throws IOException {
+        replace(fileName, temp -> {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                body.writeTo(out);
+            }
+        });
+    }
+
+    private interface TempWriter {
+        void writeTo(Path temp) throws IOException;
+    }
+
+    private static void replace(String fileName, TempWriter tempWriter) throws IOException {
+        Path target = Paths.get(fileName).toAbsolutePath();
+        // 여러 프로세스가 같은 파일을 저장해도 임시 파일이 겹치지 않도록 프로세스 ID를 붙임
+        Path temp = target.resolveSibling(target.getFileName() + "." + ProcessHandle.current().pid() + ".tmp");
+        try {
+            tempWriter.writeTo(temp);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+}
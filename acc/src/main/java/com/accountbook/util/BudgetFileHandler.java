@@ -0,0 +1,93 @@
+package com.accountbook.util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 카테고리별 월 예산 정의를 가계부 파일 옆의 CSV 파일(예: ledger.budget.csv)에 저장하고 불러옵니다.
+ */
+public class BudgetFileHandler {
+
+    private static final String DEFAULT_FILE_NAME = "ledger.budget.csv";
+    private static final String CSV_HEADER = "category,monthlyLimit";
+
+    private final String fileName;
+
+    public BudgetFileHandler() {
+        this.fileName = DEFAULT_FILE_NAME;
+    }
+
+    public BudgetFileHandler(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * 예산 정의를 불러옵니다. 파일이 없으면 빈 맵을 반환합니다.
+     */
+    public Map<String, Integer> loadFromFile() {
+        Map<String, Integer> budgets = new LinkedHashMap<>();
+        File file = new File(fileName);
+
+        if (!file.exists()) {
+            return budgets;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+
+            if (line == null || !line.equals(CSV_HEADER)) {
+                System.out.println("경고: 유효하지 않은 예산 파일 헤더입니다. 예산 없이 시작합니다.");
+                return budgets;
+            }
+
+            int lineNumber = 2;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    try {
+                        String[] parts = line.split(",", -1);
+                        if (parts.length != 2) {
+                            throw new IllegalArgumentException("2개의 필드가 필요합니다.");
+                        }
+                        String category = parts[0].trim();
+                        int limit = Integer.parseInt(parts[1].trim());
+                        if (category.isEmpty() || limit <= 0) {
+                            throw new IllegalArgumentException("카테고리 또는 한도가 올바르지 않습니다.");
+                        }
+                        budgets.put(category, limit);
+                    } catch (Exception e) {
+                        System.out.printf("경고: 예산 파일 %d번 줄을 건너뜁니다: %s%n", lineNumber, e.getMessage());
+                    }
+                }
+                lineNumber++;
+            }
+        } catch (IOException e) {
+            System.err.printf("파일 %s 읽기 오류: %s%n", fileName, e.getMessage());
+        }
+
+        return budgets;
+    }
+
+    /**
+     * 예산 정의를 파일에 저장합니다. 임시 파일에 쓴 뒤 교체하므로 실패해도 이전 파일이 그대로 남습니다.
+     */
+    public boolean saveToFile(Map<String, Integer> budgets) {
+        try {
+            AtomicFileWriter.write(fileName, writer -> {
+                writer.println(CSV_HEADER);
+                for (Map.Entry<String, Integer> entry : budgets.entrySet()) {
+                    writer.println(entry.getKey() + "," + entry.getValue());
+                }
+            });
+            return true;
+        } catch (IOException e) {
+            System.err.printf("파일 %s 쓰기 오류: %s%n", fileName, e.getMessage());
+            return false;
+        }
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+}
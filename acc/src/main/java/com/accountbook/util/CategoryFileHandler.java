@@ -0,0 +1,100 @@
+package com.accountbook.util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 카테고리 등록부(코드, 이름, 상태)를 가계부 파일 옆의 CSV 파일(예: ledger.categories.csv)에 저장하고 불러옵니다.
+ */
+public class CategoryFileHandler {
+
+    private static final String DEFAULT_FILE_NAME = "ledger.categories.csv";
+    private static final String CSV_HEADER = "code,name,kind";
+
+    private final String fileName;
+
+    public CategoryFileHandler() {
+        this.fileName = DEFAULT_FILE_NAME;
+    }
+
+    public CategoryFileHandler(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * 등록부를 불러옵니다. 고정 카테고리는 파일 내용과 관계없이 항상 포함됩니다.
+     * 파일이 없으면 고정 카테고리만 있는 등록부를 반환합니다.
+     */
+    public CategoryRegistry loadFromFile(List<String> fixedCategories) {
+        CategoryRegistry registry = CategoryRegistry.withFixedCategories(fixedCategories);
+        File file = new File(fileName);
+
+        if (!file.exists()) {
+            return registry;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+
+            if (line == null || !line.equals(CSV_HEADER)) {
+                System.out.println("경고: 유효하지 않은 카테고리 파일 헤더입니다. 기본 카테고리로 시작합니다.");
+                return registry;
+            }
+
+            int lineNumber = 2;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    try {
+                        String[] parts = line.split(",", -1);
+                        if (parts.length != 3) {
+                            throw new IllegalArgumentException("3개의 필드가 필요합니다.");
+                        }
+                        int code = Integer.parseInt(parts[0].trim());
+                        String name = parts[1].trim();
+                        CategoryRegistry.Kind kind = CategoryRegistry.Kind.valueOf(parts[2].trim());
+                        if (name.isEmpty()) {
+                            throw new IllegalArgumentException("카테고리 이름이 비어 있습니다.");
+                        }
+                        if (kind != CategoryRegistry.Kind.FIXED) {
+                            registry = registry.withDefinition(code, name, kind);
+                        }
+                    } catch (Exception e) {
+                        System.out.printf("경고: 카테고리 파일 %d번 줄을 건너뜁니다: %s%n", lineNumber, e.getMessage());
+                    }
+                }
+                lineNumber++;
+            }
+        } catch (IOException e) {
+            System.err.printf("파일 %s 읽기 오류: %s%n", fileName, e.getMessage());
+        }
+
+        return registry;
+    }
+
+    /**
+     * 등록부의 모든 코드(삭제된 코드 포함)를 파일에 저장합니다. 임시 파일에 쓴 뒤 한 번에 교체하므로
+     * 저장 도중 중단되어도 이전 등록부가 그대로 남습니다.
+     */
+    public boolean saveToFile(CategoryRegistry registry) {
+        try {
+            AtomicFileWriter.write(fileName, writer -> {
+                writer.println(CSV_HEADER);
+                for (int code = 0; code < registry.getCodeCount(); code++) {
+                    String name = registry.nameOf(code);
+                    if (name != null) {
+                        writer.println(code + "," + name + "," + registry.kindOf(code).name());
+                    }
+                }
+            });
+            return true;
+        } catch (IOException e) {
+            System.err.printf("파일 %s 쓰기 오류: %s%n", fileName, e.getMessage());
+            return false;
+        }
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+}
@@ -1,71 +1,134 @@
 package com.accountbook.util;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 /**
- * 카테고리 관리를 위한 전역 매니저.
- * 기본 고정 6개 + 커스텀 최대 4개(총 10개) 지원.
+ * 가계부 하나의 카테고리 관리자.
+ * 기본 고정 6개 + 커스텀 최대 20개 지원.
  * 번호는 화면에서 1부터 순서대로 표시하며, 커스텀 삭제 시 자동으로 재정렬됩니다
  * (리스트 순서에 따라 번호가 자연스럽게 변경됨).
+ * 내부적으로는 {@link CategoryRegistry}가 이름마다 변하지 않는 정수 코드를 부여하며,
+ * {@link #load(String)}로 파일에 연결하면 커스텀 카테고리가 재시작 후에도 유지됩니다.
+ * 등록부는 가계부마다 따로 두므로(LedgerService가 하나씩 소유) 한 프로세스에서 여러 가계부를 열어도 서로 덮어쓰지 않습니다.
  */
 public final class CategoryManager {
-    private CategoryManager() {}
 
-    // 고정 카테고리 (변경 불가)
+    // 고정 카테고리 (변경 불가, 코드 0~5)
     private static final List<String> FIXED = Arrays.asList(
         "Food", "Transport", "Living", "Shopping", "Transfer", "Hobby"
     );
 
-    // 커스텀 카테고리 (변경 가능, 최대 4개)
-    private static final List<String> CUSTOM = new ArrayList<>();
+    // 커스텀 카테고리 최대 개수
+    public static final int MAX_CUSTOM_CATEGORIES = 20;
+
+    // 변경할 때마다 새 등록부로 교체 (읽는 쪽은 잠금 없이 이 필드를 한 번 읽어 씀)
+    private volatile CategoryRegistry registry = CategoryRegistry.withFixedCategories(FIXED);
+    // 등록부를 저장할 파일 (연결 전에는 null, 메모리에만 유지)
+    private CategoryFileHandler fileHandler;
+
+    /**
+     * 고정 카테고리만 있고 파일에 연결하지 않은 관리자를 만듭니다.
+     */
+    public CategoryManager() {
+    }
+
+    /**
+     * 카테고리 파일에서 등록부를 불러온 관리자를 만듭니다. 이후 변경 사항은 이 파일에 저장됩니다.
+     */
+    public CategoryManager(String fileName) {
+        load(fileName);
+    }
+
+    /**
+     * 카테고리 파일에서 등록부를 불러오고, 이후 변경 사항을 이 파일에 저장합니다.
+     */
+    public synchronized void load(String fileName) {
+        fileHandler = new CategoryFileHandler(fileName);
+        registry = fileHandler.loadFromFile(FIXED);
+    }
+
+    /**
+     * 현재 등록부. 변경할 때마다 새 객체로 바뀌므로 참조를 비교해 변경 여부를 알 수 있습니다 (복제용).
+     */
+    public CategoryRegistry getRegistry() {
+        return registry;
+    }
 
     public static List<String> getFixedCategories() {
         return Collections.unmodifiableList(FIXED);
     }
 
-    public static List<String> getCustomCategories() {
-        return Collections.unmodifiableList(CUSTOM);
+    public List<String> getCustomCategories() {
+        return registry.getNames(CategoryRegistry.Kind.CUSTOM);
     }
 
-    /** 모든 카테고리(고정 + 커스텀)를 순서대로 반환 */
-    public static List<String> getAllCategories() {
-        List<String> all = new ArrayList<>(FIXED.size() + CUSTOM.size());
-        all.addAll(FIXED);
-        all.addAll(CUSTOM);
-        return all;
+    /** 모든 카테고리(고정 + 커스텀)를 순서대로 반환 (읽기 전용) */
+    public List<String> getAllCategories() {
+        return registry.getActiveNames();
     }
 
-    /** 카테고리 이름이 현재 목록에 존재하는지 */
-    public static boolean isValidCategory(String name) {
+    /** 카테고리 이름이 현재 목록에 존재하는지 (해시 조회 한 번) */
+    public boolean isValidCategory(String name) {
         if (name == null) return false;
-        String trimmed = name.trim();
-        return !trimmed.isEmpty() && getAllCategories().stream().anyMatch(c -> c.equals(trimmed));
+        CategoryRegistry current = registry;
+        return current.isActive(name) || current.isActive(name.trim());
+    }
+
+    /** 카테고리 이름의 코드, 활성 카테고리가 아니면 -1 */
+    public int codeOf(String name) {
+        return registry.codeOf(name);
+    }
+
+    /** 활성 이름 또는 삭제/변경 전 이름의 코드, 둘 다 아니면 -1 */
+    public int codeOfAny(String name) {
+        return registry.codeOfAny(name);
+    }
+
+    /** 커스텀 카테고리 여부 */
+    public boolean isCustomCategory(String name) {
+        CategoryRegistry current = registry;
+        int code = current.codeOf(name);
+        return code >= 0 && current.kindOf(code) == CategoryRegistry.Kind.CUSTOM;
+    }
+
+    /** 코드의 카테고리 이름, 부여된 적 없는 코드면 null */
+    public String nameOf(int code) {
+        return registry.nameOf(code);
+    }
+
+    /** 부여된 코드 개수 (코드로 인덱싱하는 배열 크기) */
+    public int getCodeCount() {
+        return registry.getCodeCount();
     }
 
-    /** 커스텀 카테고리 추가 (최대 4개, 중복 불가) */
-    public static AddResult addCustomCategory(String name) {
+    /** 커스텀 카테고리 추가 (최대 20개, 중복 불가) */
+    public synchronized AddResult addCustomCategory(String name) {
         if (name == null || name.trim().isEmpty()) {
             return AddResult.error("카테고리 이름을 입력해주세요.");
         }
         String trimmed = name.trim();
 
-        if (getAllCategories().contains(trimmed)) {
+        if (trimmed.contains(",")) {
+            return AddResult.error("카테고리 이름에는 쉼표(,)를 사용할 수 없습니다.");
+        }
+
+        if (registry.isActive(trimmed)) {
             return AddResult.error("이미 존재하는 카테고리입니다.");
         }
 
-        if (CUSTOM.size() >= 4) {
-            return AddResult.error("카테고리는 최대 4개까지만 추가가 가능합니다.");
+        if (getCustomCategories().size() >= MAX_CUSTOM_CATEGORIES) {
+            return AddResult.error("카테고리는 최대 " + MAX_CUSTOM_CATEGORIES + "개까지만 추가가 가능합니다.");
         }
 
-        CUSTOM.add(trimmed);
+        registry = registry.withCustom(trimmed);
+        save();
         return AddResult.ok(trimmed);
     }
 
     /** 커스텀 카테고리 삭제 (고정 카테고리는 삭제 불가) */
-    public static DeleteResult deleteCustomCategory(String name) {
+    public synchronized DeleteResult deleteCustomCategory(String name) {
         if (name == null || name.trim().isEmpty()) {
             return DeleteResult.error("카테고리 이름을 입력해주세요.");
         }
@@ -75,14 +138,49 @@ public final class CategoryManager {
             return DeleteResult.error("고정 카테고리는 삭제할 수 없습니다.");
         }
 
-        boolean removed = CUSTOM.remove(trimmed);
-        if (!removed) {
+        CategoryRegistry next = registry.withoutCustom(trimmed);
+        if (next == null) {
             return DeleteResult.error("해당 카테고리 항목이 없습니다.");
         }
+        registry = next;
+        save();
         // 리스트에서 제거되면 자동으로 재정렬 (번호는 화면에서 1부터 다시 매겨짐)
         return DeleteResult.ok(trimmed);
     }
 
+    /** 커스텀 카테고리 이름 변경 (코드 유지, 고정 카테고리는 변경 불가) */
+    public synchronized RenameResult renameCustomCategory(String oldName, String newName) {
+        if (oldName == null || oldName.trim().isEmpty() || newName == null || newName.trim().isEmpty()) {
+            return RenameResult.error("카테고리 이름을 입력해주세요.");
+        }
+        String from = oldName.trim();
+        String to = newName.trim();
+
+        if (FIXED.contains(from)) {
+            return RenameResult.error("고정 카테고리는 이름을 바꿀 수 없습니다.");
+        }
+        if (to.contains(",")) {
+            return RenameResult.error("카테고리 이름에는 쉼표(,)를 사용할 수 없습니다.");
+        }
+        if (registry.isActive(to)) {
+            return RenameResult.error("이미 존재하는 카테고리입니다.");
+        }
+        CategoryRegistry next = registry.withRenamed(from, to);
+        if (next == null) {
+            return RenameResult.error("해당 카테고리 항목이 없습니다.");
+        }
+        registry = next;
+        save();
+        return RenameResult.ok(from, to);
+    }
+
+    // 파일에 연결되어 있으면 등록부를 저장
+    private void save() {
+        if (fileHandler != null) {
+            fileHandler.saveToFile(registry);
+        }
+    }
+
     // 결과 타입들
     public static class AddResult {
         public final boolean success;
@@ -95,6 +193,18 @@ public final class CategoryManager {
         public static AddResult error(String msg) { return new AddResult(false, msg, null); }
     }
 
+    public static class RenameResult {
+        public final boolean success;
+        public final String message;
+        public final String oldName;
+        public final String newName;
+        private RenameResult(boolean success, String message, String oldName, String newName) {
+            this.success = success; this.message = message; this.oldName = oldName; this.newName = newName;
+        }
+        public static RenameResult ok(String oldName, String newName) { return new RenameResult(true, null, oldName, newName); }
+        public static RenameResult error(String msg) { return new RenameResult(false, msg, null, null); }
+    }
+
     public static class DeleteResult {
         public final boolean success;
         public final String message;
@@ -105,4 +215,4 @@ public final class CategoryManager {
         public static DeleteResult ok(String name) { return new DeleteResult(true, null, name); }
         public static DeleteResult error(String msg) { return new DeleteResult(false, msg, null); }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,222 @@
+package com.accountbook.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 카테고리 이름과 작은 정수 코드를 양방향으로 매핑하는 등록부입니다.
+ * 코드는 한 번 부여되면 바뀌지 않으며, 삭제된 카테고리의 코드는 재사용하지 않고 보존합니다
+ * (같은 이름을 다시 추가하면 원래 코드로 되살아남).
+ * 이름 검증은 해시 조회 한 번(O(1))이며, 코드 -> 이름은 배열 조회입니다.
+ *
+ * 만든 뒤에는 바뀌지 않습니다. 추가/삭제/이름 변경은 바뀐 내용을 담은 새 등록부를 반환하므로(쓸 때 복사)
+ * 새 등록부를 volatile 필드로 공개하면 여러 스레드가 잠금 없이 읽어도 됩니다.
+ */
+public final class CategoryRegistry {
+
+    /**
+     * 코드별 카테고리 상태
+     */
+    public enum Kind {
+        FIXED, CUSTOM, DELETED
+    }
+
+    // 코드로 인덱싱 (길이 = 부여된 코드의 개수)
+    private final String[] names;
+    private final Kind[] kinds;
+    // 활성(고정 + 커스텀) 카테고리 이름 -> 코드
+    private final Map<String, Integer> activeCodes;
+    // 삭제되었거나 이름이 바뀐 카테고리의 이전 이름 -> 코드
+    // (재추가 시 같은 코드 사용, 일괄 재분류 중 이전 이름으로 된 항목의 코드 확인에 사용)
+    private final Map<String, Integer> deletedCodes;
+    // 화면 표시 순서(고정 → 커스텀)의 활성 이름 목록
+    private final List<String> activeNames;
+
+    // 넘긴 배열과 맵은 새 등록부가 소유함 (호출한 쪽에서 더 이상 바꾸지 않음)
+    private CategoryRegistry(String[] names, Kind[] kinds, Map<String, Integer> activeCodes,
+                             Map<String, Integer> deletedCodes) {
+        this.names = names;
+        this.kinds = kinds;
+        this.activeCodes = activeCodes;
+        this.deletedCodes = deletedCodes;
+        this.activeNames = buildActiveNames(names, kinds);
+    }
+
+    /**
+     * 고정 카테고리만 들어 있는 등록부를 만듭니다. 고정 카테고리는 0부터 순서대로 코드를 받습니다.
+     */
+    public static CategoryRegistry withFixedCategories(List<String> fixed) {
+        String[] names = fixed.toArray(new String[0]);
+        Kind[] kinds = new Kind[names.length];
+        Map<String, Integer> activeCodes = new HashMap<>();
+        for (int code = 0; code < names.length; code++) {
+            kinds[code] = Kind.FIXED;
+            activeCodes.put(names[code], code);
+        }
+        return new CategoryRegistry(names, kinds, activeCodes, new HashMap<>());
+    }
+
+    /**
+     * 지정한 코드로 카테고리를 등록한 새 등록부를 반환합니다 (파일에서 불러올 때 사용).
+     */
+    public CategoryRegistry withDefinition(int code, String name, Kind kind) {
+        if (code < 0) {
+            throw new IllegalArgumentException("유효하지 않은 카테고리 코드: " + code);
+        }
+        if (code < names.length && names[code] != null && !names[code].equals(name)) {
+            throw new IllegalArgumentException("이미 사용 중인 카테고리 코드: " + code);
+        }
+        String[] nextNames = Arrays.copyOf(names, Math.max(names.length, code + 1));
+        Kind[] nextKinds = Arrays.copyOf(kinds, nextNames.length);
+        Map<String, Integer> nextActive = new HashMap<>(activeCodes);
+        Map<String, Integer> nextDeleted = new HashMap<>(deletedCodes);
+        if (code < names.length && names[code] != null) {
+            nextActive.remove(names[code]);
+            nextDeleted.remove(names[code]);
+        }
+        nextNames[code] = name;
+        nextKinds[code] = kind;
+        if (kind == Kind.DELETED) {
+            nextDeleted.put(name, code);
+        } else {
+            nextActive.put(name, code);
+        }
+        return new CategoryRegistry(nextNames, nextKinds, nextActive, nextDeleted);
+    }
+
+    /**
+     * 이름의 코드를 가져옵니다. 활성 카테고리가 아니면 -1을 반환합니다.
+     */
+    public int codeOf(String name) {
+        Integer code = activeCodes.get(name);
+        return code != null ? code : -1;
+    }
+
+    /**
+     * 활성 이름이면 그 코드를, 아니면 삭제되었거나 이름이 바뀐 이전 이름의 코드를 가져옵니다.
+     * 어느 쪽도 아니면 -1을 반환합니다.
+     */
+    public int codeOfAny(String name) {
+        Integer code = activeCodes.get(name);
+        if (code == null) {
+            code = deletedCodes.get(name);
+        }
+        return code != null ? code : -1;
+    }
+
+    /**
+     * 코드의 이름을 가져옵니다. 삭제된 코드도 이름을 반환하며, 부여된 적 없는 코드는 null입니다.
+     */
+    public String nameOf(int code) {
+        return code >= 0 && code < names.length ? names[code] : null;
+    }
+
+    public Kind kindOf(int code) {
+        return code >= 0 && code < names.length ? kinds[code] : null;
+    }
+
+    public boolean isActive(String name) {
+        return activeCodes.containsKey(name);
+    }
+
+    public boolean isFixed(String name) {
+        int code = codeOf(name);
+        return code >= 0 && kinds[code] == Kind.FIXED;
+    }
+
+    /**
+     * 커스텀 카테고리를 추가한 새 등록부를 반환합니다. 삭제된 적 있는 이름이면 원래 코드를 되살립니다.
+     */
+    public CategoryRegistry withCustom(String name) {
+        Map<String, Integer> nextDeleted = new HashMap<>(deletedCodes);
+        Integer previous = nextDeleted.remove(name);
+        // 이름이 바뀐 코드의 이전 이름이면 코드가 이미 다른 이름에 쓰이고 있으므로 새 코드 부여
+        boolean revive = previous != null && name.equals(names[previous]) && kinds[previous] == Kind.DELETED;
+        int code = revive ? previous : names.length;
+        String[] nextNames = Arrays.copyOf(names, Math.max(names.length, code + 1));
+        Kind[] nextKinds = Arrays.copyOf(kinds, nextNames.length);
+        nextNames[code] = name;
+        nextKinds[code] = Kind.CUSTOM;
+        Map<String, Integer> nextActive = new HashMap<>(activeCodes);
+        nextActive.put(name, code);
+        return new CategoryRegistry(nextNames, nextKinds, nextActive, nextDeleted);
+    }
+
+    /**
+     * 커스텀 카테고리를 삭제 상태로 바꾼 새 등록부를 반환합니다. 코드는 예약된 채로 남습니다.
+     * 커스텀 카테고리가 아니면 null을 반환합니다.
+     */
+    public CategoryRegistry withoutCustom(String name) {
+        int code = codeOf(name);
+        if (code < 0 || kinds[code] != Kind.CUSTOM) {
+            return null;
+        }
+        Kind[] nextKinds = kinds.clone();
+        nextKinds[code] = Kind.DELETED;
+        Map<String, Integer> nextActive = new HashMap<>(activeCodes);
+        nextActive.remove(name);
+        Map<String, Integer> nextDeleted = new HashMap<>(deletedCodes);
+        nextDeleted.put(name, code);
+        return new CategoryRegistry(names.clone(), nextKinds, nextActive, nextDeleted);
+    }
+
+    /**
+     * 커스텀 카테고리의 이름을 바꾼 새 등록부를 반환합니다. 코드는 그대로 유지되며 이전 이름도 같은 코드로 조회됩니다.
+     * 바꿀 수 없으면(커스텀 카테고리가 아니거나 새 이름이 이미 있음) null을 반환합니다.
+     */
+    public CategoryRegistry withRenamed(String oldName, String newName) {
+        int code = codeOf(oldName);
+        if (code < 0 || kinds[code] != Kind.CUSTOM || activeCodes.containsKey(newName)) {
+            return null;
+        }
+        String[] nextNames = names.clone();
+        nextNames[code] = newName;
+        Map<String, Integer> nextActive = new HashMap<>(activeCodes);
+        nextActive.remove(oldName);
+        nextActive.put(newName, code);
+        Map<String, Integer> nextDeleted = new HashMap<>(deletedCodes);
+        nextDeleted.remove(newName);
+        nextDeleted.put(oldName, code);
+        return new CategoryRegistry(nextNames, kinds.clone(), nextActive, nextDeleted);
+    }
+
+    /**
+     * 고정 → 커스텀 순서의 활성 카테고리 이름 (읽기 전용)
+     */
+    public List<String> getActiveNames() {
+        return activeNames;
+    }
+
+    public List<String> getNames(Kind kind) {
+        List<String> result = new ArrayList<>();
+        for (int code = 0; code < names.length; code++) {
+            if (kinds[code] == kind) {
+                result.add(names[code]);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * 부여된 코드의 개수 (코드 범위는 0 ~ getCodeCount()-1). 코드로 인덱싱하는 배열의 크기로 사용합니다.
+     */
+    public int getCodeCount() {
+        return names.length;
+    }
+
+    private static List<String> buildActiveNames(String[] names, Kind[] kinds) {
+        List<String> result = new ArrayList<>(names.length);
+        for (Kind kind : new Kind[] {Kind.FIXED, Kind.CUSTOM}) {
+            for (int code = 0; code < names.length; code++) {
+                if (kinds[code] == kind) {
+                    result.add(names[code]);
+                }
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
@@ -0,0 +1,82 @@
+package com.accountbook.util;
+
+import com.accountbook.model.LedgerItem;
+import java.util.List;
+
+/**
+ * 변경 기록(공유 모드의 journal, 복제 로그)의 한 줄 형식입니다.
+ * 줄은 "번호,P,항목 CSV"(추가/수정) 또는 "번호,D,ID"(삭제)이며, 번호는 그 변경을 저장한 커밋의 일련번호입니다.
+ * 추가/수정은 항목 전체를 담으므로 같은 줄을 두 번 반영해도 결과가 같습니다.
+ * 복제 로그에는 카테고리 등록부가 바뀐 커밋에 "번호,K,코드,이름,종류" 줄들이 더 붙으며, 이 줄들이 곧 새 등록부 전체입니다.
+ */
+public final class ChangeRecord {
+    public static final String PUT = "P";
+    public static final String DELETE = "D";
+    public static final String CATEGORY = "K";
+    // 번호, 종류, 항목 CSV 6개 필드 (설명은 마지막 필드라 쉼표를 포함해도 됨)
+    private static final int PUT_FIELDS = 8;
+
+    private ChangeRecord() {}
+
+    /**
+     * 추가/수정 기록(번호 제외)을 덧붙입니다.
+     */
+    public static StringBuilder appendPut(StringBuilder sb, LedgerItem item) {
+        sb.append(PUT).append(',');
+        return CsvFileHandler.appendCsvLine(sb, item);
+    }
+
+    /**
+     * 삭제 기록(번호 제외)을 덧붙입니다.
+     */
+    public static StringBuilder appendDelete(StringBuilder sb, int id) {
+        return sb.append(DELETE).append(',').append(id);
+    }
+
+    /**
+     * 등록부의 커스텀 카테고리 정의(삭제된 코드 포함)를 번호 없는 기록 줄로 records에 덧붙입니다.
+     * 고정 카테고리는 항상 같으므로 담지 않습니다.
+     */
+    public static void appendCategories(List<String> records, CategoryRegistry registry) {
+        for (int code = 0; code < registry.getCodeCount(); code++) {
+            String name = registry.nameOf(code);
+            if (name != null && registry.kindOf(code) != CategoryRegistry.Kind.FIXED) {
+                records.add(CATEGORY + ',' + code + ',' + name + ',' + registry.kindOf(code).name());
+            }
+        }
+    }
+
+    /**
+     * 기록 한 줄을 필드로 나눕니다. [0]은 번호, [1]은 종류입니다.
+     */
+    public static String[] split(String line) {
+        return line.split(",", PUT_FIELDS);
+    }
+
+    public static boolean isPut(String[] parts) {
+        return PUT.equals(parts[1]) && parts.length == PUT_FIELDS;
+    }
+
+    public static boolean isDelete(String[] parts) {
+        return DELETE.equals(parts[1]) && parts.length == 3;
+    }
+
+    public static boolean isCategory(String[] parts) {
+        return CATEGORY.equals(parts[1]) && parts.length == 5;
+    }
+
+    /**
+     * 카테고리 기록의 정의를 registry에 더한 등록부를 반환합니다.
+     */
+    public static CategoryRegistry applyCategory(CategoryRegistry registry, String[] parts) {
+        return registry.withDefinition(Integer.parseInt(parts[2]), parts[3], CategoryRegistry.Kind.valueOf(parts[4]));
+    }
+
+    /**
+     * 추가/수정 기록의 항목을 만듭니다.
+     */
+    public static LedgerItem parsePut(String[] parts) {
+        return new LedgerItem(Integer.parseInt(parts[2]), parts[3], DateCodec.parse(parts[4]),
+            Integer.parseInt(parts[6]), parts[5], parts[7].isEmpty() ? null : parts[7]);
+    }
+}
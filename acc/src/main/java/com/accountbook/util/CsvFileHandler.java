@@ -4,73 +4,137 @@ import com.accountbook.model.LedgerItem;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.ResolverStyle;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class CsvFileHandler {
     
     private static final String DEFAULT_FILE_NAME = "ledger.csv";
-    private static final String CSV_HEADER = "id,type,date,category,amount,description";
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("uuuu-MM-dd").withResolverStyle(ResolverStyle.STRICT);
+    static final String CSV_HEADER = "id,type,date,category,amount,description";
+    // 한 번에 읽어 검증하는 줄 수 (큰 파일도 전체 줄을 메모리에 올리지 않음)
+    private static final int BATCH_SIZE = 65_536;
     
     private final String fileName;
+    // 불러온 항목의 카테고리를 검증할 가계부의 카테고리 관리자
+    private final CategoryManager categories;
+    // 마지막 불러오기에서 거부된 레코드 수
+    private int lastRejectedCount;
     
     public CsvFileHandler() {
-        this.fileName = DEFAULT_FILE_NAME;
+        this(DEFAULT_FILE_NAME);
     }
     
+    /**
+     * 고정 카테고리만 유효한 것으로 보고 불러옵니다 (커스텀 카테고리가 있는 가계부는 카테고리 관리자를 함께 넘겨야 함).
+     */
     public CsvFileHandler(String fileName) {
+        this(fileName, new CategoryManager());
+    }
+    
+    public CsvFileHandler(String fileName, CategoryManager categories) {
         this.fileName = fileName;
+        this.categories = categories;
     }
     
     public List<LedgerItem> loadFromFile() {
         List<LedgerItem> items = new ArrayList<>();
+        loadFromFile(items::add);
+        return items;
+    }
+    
+    /**
+     * 항목을 목록에 모아 두지 않고, 검증을 마친 묶음(최대 BATCH_SIZE줄)마다 파일 순서대로 sink에 넘깁니다.
+     * 힙 밖 저장소처럼 항목을 다른 곳에 옮겨 담을 때 파일 전체의 항목 객체가 한꺼번에 힙에 쌓이지 않습니다.
+     * @return 불러온 항목 수
+     */
+    public int loadFromFile(Consumer<LedgerItem> sink) {
         File file = new File(fileName);
         
         if (!file.exists()) {
             System.out.println("기존 데이터 파일이 없습니다. 빈 가계부로 시작합니다.");
-            return items;
+            return 0;
         }
         
+        LedgerEvents.FileLoad event = new LedgerEvents.FileLoad();
+        event.begin();
+        long started = LedgerMetrics.start();
+        long rejected = 0;
+        int loaded = 0;
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
             String line = reader.readLine();
             
             if (line == null || !line.equals(CSV_HEADER)) {
                 System.out.println("경고: 유효하지 않거나 누락된 CSV 헤더입니다. 빈 가계부로 시작합니다.");
-                return items;
+                return 0;
             }
             
-            int lineNumber = 2;
+            RecordValidator validator = new RecordValidator("%d번 줄", fileName);
+            List<String> batch = new ArrayList<>();
+            List<LedgerItem> batchItems = new ArrayList<>();
+            int firstLineNumber = 2;
             while ((line = reader.readLine()) != null) {
-                try {
-                    LedgerItem item = parseCsvLine(line);
-                    if (item != null) {
-                        items.add(item);
-                    }
-                } catch (Exception e) {
-                    System.out.printf("경고: %d번 줄의 유효하지 않은 항목을 건너킵니다: %s%n", lineNumber, e.getMessage());
+                batch.add(line);
+                if (batch.size() == BATCH_SIZE) {
+                    validator.validateBatch(batch, firstLineNumber, this::parseCsvLine, batchItems);
+                    loaded += drain(batchItems, sink);
+                    firstLineNumber += batch.size();
+                    batch.clear();
                 }
-                lineNumber++;
             }
+            validator.validateBatch(batch, firstLineNumber, this::parseCsvLine, batchItems);
+            loaded += drain(batchItems, sink);
+            RecordValidator.Report report = validator.getReport();
+            report.print(System.out);
+            LedgerMetrics.add(LedgerMetrics.Counter.ROWS_PARSED, report.accepted + report.rejected);
+            LedgerMetrics.add(LedgerMetrics.Counter.ROWS_REJECTED, report.rejected);
+            rejected = report.rejected;
+            lastRejectedCount = report.rejected;
             
-            System.out.printf("%s에서 %d개의 항목을 불러왔습니다.%n", fileName, items.size());
+            System.out.printf("%s에서 %d개의 항목을 불러왔습니다.%n", fileName, loaded);
             
         } catch (IOException e) {
             System.err.printf("파일 %s 읽기 오류: %s%n", fileName, e.getMessage());
+        } finally {
+            LedgerMetrics.record(LedgerMetrics.Operation.LOAD, started);
+            LedgerEvents.commitLoad(event, fileName, "csv", loaded, rejected);
         }
         
-        return items;
+        return loaded;
+    }
+    
+    private static int drain(List<LedgerItem> batchItems, Consumer<LedgerItem> sink) {
+        int count = batchItems.size();
+        for (LedgerItem item : batchItems) {
+            sink.accept(item);
+        }
+        batchItems.clear();
+        return count;
+    }
+    
+    public int getLastRejectedCount() {
+        return lastRejectedCount;
     }
     
+    /**
+     * 항목들을 CSV 파일에 저장합니다. 임시 파일에 쓴 뒤 한 번에 교체하므로 저장 도중에도 파일이 잘려 보이지 않습니다.
+     */
     public boolean saveToFile(List<LedgerItem> items) {
-        try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(fileName), StandardCharsets.UTF_8))) {
-            writer.println(CSV_HEADER);
-            
-            for (LedgerItem item : items) {
-                writer.println(formatCsvLine(item));
-            }
+        LedgerEvents.FileSave event = new LedgerEvents.FileSave();
+        event.begin();
+        long started = LedgerMetrics.start();
+        boolean saved = false;
+        try {
+            AtomicFileWriter.write(fileName, writer -> {
+                writer.println(CSV_HEADER);
+                StringBuilder line = new StringBuilder(128);
+                for (LedgerItem item : items) {
+                    line.setLength(0);
+                    writer.println(appendCsvLine(line, item));
+                }
+            });
+            LedgerMetrics.add(LedgerMetrics.Counter.BYTES_WRITTEN, new File(fileName).length());
+            saved = true;
             
             System.out.printf("%s에 %d개의 항목을 저장했습니다.%n", fileName, items.size());
             return true;
@@ -78,6 +142,9 @@ public class CsvFileHandler {
         } catch (IOException e) {
             System.err.printf("파일 %s 쓰기 오류: %s%n", fileName, e.getMessage());
             return false;
+        } finally {
+            LedgerMetrics.record(LedgerMetrics.Operation.SAVE, started);
+            LedgerEvents.commitSave(event, fileName, "csv", items.size(), saved);
         }
     }
     
@@ -107,38 +174,19 @@ public class CsvFileHandler {
                  throw new IllegalArgumentException("유효하지 않은 유형: " + rawType);
             }
             
-            LocalDate date = LocalDate.parse(parts[2].trim(), DATE_FORMATTER);
+            int epochDay = DateCodec.parseEpochDay(parts[2].trim());
             String category = parts[3].trim();
             
             String amountString = parts[4].trim();
-            amountString = amountString.replaceAll(",", "");
+            amountString = amountString.replace(",", "");
             int amount = Integer.parseInt(amountString);
             
             String descriptionRaw = parts[5].trim();
             String description = descriptionRaw.isEmpty() ? null : descriptionRaw;
             
-            // 엄격 유효성 검사 (순수한 type 사용)
-            if (!("수입".equals(pureType) || "지출".equals(pureType))) { 
-                 throw new IllegalArgumentException("유효하지 않은 유형: " + pureType); 
-            }
-            if (!date.isAfter(LocalDate.of(2025, 10, 1))) {
-                throw new IllegalArgumentException("날짜는 2025-10-01 이후여야 합니다.");
-            }
-            int absoluteAmount = Math.abs(amount); 
-            if (absoluteAmount <= 0 || absoluteAmount > 100_000_000) {
-                throw new IllegalArgumentException("유효하지 않은 금액: " + amount);
-            }
-            if (!CategoryManager.isValidCategory(category)) {
-                throw new IllegalArgumentException("유효하지 않은 카테고리: " + category);
-            }
-            if (description != null) {
-                if (description.length() > 50) {
-                    throw new IllegalArgumentException("설명이 50자를 초과합니다.");
-                }
-                if (!description.isEmpty() && description.matches("^[^a-zA-Z0-9\\s가-힣]+$")) {
-                    throw new IllegalArgumentException("설명은 특수문자로만 구성될 수 없습니다.");
-                }
-            }
+            // 엄격 유효성 검사 (순수한 type, 부호를 뺀 금액 사용)
+            RecordValidator.validate(pureType, epochDay, Math.abs(amount), category, description, categories);
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
             
             // LedgerItem 생성 시, LedgerService에서 요구하는 형식으로 Type을 다시 맞춥니다.
             String finalType = pureType.equals("수입") ? "수입 (+)" : " 지출 (-)";
@@ -146,19 +194,19 @@ public class CsvFileHandler {
             return new LedgerItem(id, finalType, date, amount, category, description); 
             
         } catch (Exception e) {
-            throw new IllegalArgumentException("CSV 줄 파싱 오류: " + e.getMessage());
+            throw new RecordValidator.Violation(RecordValidator.ruleOf(e), "CSV 줄 파싱 오류: " + e.getMessage());
         }
     }
     
-    private String formatCsvLine(LedgerItem item) {
-        return String.format("%d,%s,%s,%s,%d,%s",
-            item.getId(),
-            item.getType(),
-            item.getDate().format(DATE_FORMATTER),
-            item.getCategory(),
-            item.getAmount(),
-            item.getDescription() != null ? item.getDescription() : ""
-        );
+    /**
+     * 항목을 가계부 CSV 한 줄(줄바꿈 제외)로 sb에 덧붙입니다. 저장과 내보내기가 같은 형식을 씁니다.
+     */
+    static StringBuilder appendCsvLine(StringBuilder sb, LedgerItem item) {
+        sb.append(item.getId()).append(',').append(item.getType()).append(',');
+        return DateCodec.append(sb, item.getDate()).append(',')
+            .append(item.getCategory()).append(',')
+            .append(item.getAmount()).append(',')
+            .append(item.getDescription() != null ? item.getDescription() : "");
     }
     
     public boolean fileExists() {
@@ -168,4 +216,4 @@ public class CsvFileHandler {
     public String getFileName() {
         return fileName;
     }
-}
\ No newline at end of file
+}
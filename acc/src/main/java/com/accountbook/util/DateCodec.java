@@ -0,0 +1,122 @@
+package com.accountbook.util;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 가계부 파일과 입력에서 쓰는 uuuu-MM-dd 날짜 전용 파서입니다.
+ * DateTimeFormatter(STRICT)와 같은 날짜만 받아들이지만, 문자를 직접 읽고 달력 유효성(월별 일수, 윤년)을
+ * 산술로 검사하여 중간 객체 없이 에포크 일(1970-01-01부터의 일수)을 int로 돌려줍니다.
+ * 연도는 4자리(0000~9999)만 지원합니다.
+ */
+public final class DateCodec {
+    private DateCodec() {}
+
+    private static final int DATE_LENGTH = 10;
+    // 0000-03-01 기준 400년 주기 계산에서 1970-01-01까지의 일수
+    private static final int DAYS_0000_TO_1970 = 719_468;
+
+    /**
+     * 날짜 문자열 전체를 파싱합니다.
+     * @throws DateTimeParseException 형식이 다르거나 달력에 존재하지 않는 날짜인 경우
+     */
+    public static int parseEpochDay(CharSequence text) {
+        return parseEpochDay(text, 0, text.length());
+    }
+
+    /**
+     * text[start, end) 구간을 파싱합니다 (부분 문자열을 만들지 않고 줄 버퍼에서 바로 읽을 때 사용).
+     * @throws DateTimeParseException 형식이 다르거나 달력에 존재하지 않는 날짜인 경우
+     */
+    public static int parseEpochDay(CharSequence text, int start, int end) {
+        if (end - start != DATE_LENGTH || text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-') {
+            throw error(text, start, end, 0);
+        }
+        int year = digits(text, start, 4, start, end);
+        int month = digits(text, start + 5, 2, start, end);
+        int day = digits(text, start + 8, 2, start, end);
+
+        if (month < 1 || month > 12) {
+            throw error(text, start, end, 5);
+        }
+        if (day < 1 || day > lengthOfMonth(year, month)) {
+            throw error(text, start, end, 8);
+        }
+        return toEpochDay(year, month, day);
+    }
+
+    /**
+     * 날짜 문자열을 LocalDate로 파싱합니다.
+     * @throws DateTimeParseException 형식이 다르거나 달력에 존재하지 않는 날짜인 경우
+     */
+    public static LocalDate parse(CharSequence text) {
+        return LocalDate.ofEpochDay(parseEpochDay(text));
+    }
+
+    /**
+     * 연-월-일을 에포크 일로 바꿉니다 (달력 유효성은 검사하지 않음).
+     */
+    public static int toEpochDay(int year, int month, int day) {
+        // 3월을 한 해의 시작으로 보면 윤일이 연말에 오므로 월별 일수를 식 하나로 계산할 수 있음
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int shiftedMonth = month > 2 ? month - 3 : month + 9;
+        int dayOfYear = (153 * shiftedMonth + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    public static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    public static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * 날짜를 uuuu-MM-dd 형식으로 sb에 덧붙입니다. 0~9999년은 LocalDate.toString()과 같은 결과이며
+     * 중간 문자열을 만들지 않습니다 (그 밖의 연도는 toString()을 그대로 사용).
+     */
+    public static StringBuilder append(StringBuilder sb, LocalDate date) {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            return sb.append(date);
+        }
+        int month = date.getMonthValue();
+        int day = date.getDayOfMonth();
+        return sb.append((char) ('0' + year / 1000)).append((char) ('0' + year / 100 % 10))
+            .append((char) ('0' + year / 10 % 10)).append((char) ('0' + year % 10)).append('-')
+            .append((char) ('0' + month / 10)).append((char) ('0' + month % 10)).append('-')
+            .append((char) ('0' + day / 10)).append((char) ('0' + day % 10));
+    }
+
+    // 지정 위치의 숫자 count자리를 정수로 읽음
+    private static int digits(CharSequence text, int offset, int count, int start, int end) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw error(text, start, end, i - start);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static DateTimeParseException error(CharSequence text, int start, int end, int errorIndex) {
+        String value = text.subSequence(start, end).toString();
+        return new DateTimeParseException("uuuu-MM-dd 형식의 유효한 날짜가 아닙니다: " + value, value, errorIndex);
+    }
+}
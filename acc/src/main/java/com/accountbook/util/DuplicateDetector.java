@@ -0,0 +1,196 @@
+package com.accountbook.util;
+
+import com.accountbook.model.LedgerItem;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 가져오기(import) 시 기존 가계부와 중복되는 거래를 찾아냅니다.
+ * 각 항목을 (날짜, 유형, 금액, 카테고리, 정규화된 설명)의 64비트 해시(지문)로 바꾸어
+ * 기존 항목의 지문 개수를 메모리에 두고, 가져올 항목을 한 번씩만 훑어(O(n)) 판정합니다.
+ * 같은 날 같은 금액의 거래가 실제로 여러 번 있을 수 있으므로 지문은 개수 단위로 소모됩니다
+ * (기존에 2건이 있으면 가져오는 파일의 처음 2건만 중복으로 봅니다).
+ */
+public class DuplicateDetector {
+
+    /**
+     * 중복 의심 항목 처리 방식
+     */
+    public enum Policy {
+        SKIP("중복 의심 항목 건너뛰기"),
+        REPORT("모두 가져오고 중복 의심 항목 보고");
+
+        private final String description;
+
+        Policy(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    private final FingerprintCounts existing;
+
+    /**
+     * 기존 가계부 항목으로 지문 집합을 만듭니다.
+     */
+    public DuplicateDetector(List<LedgerItem> existingItems) {
+        this.existing = new FingerprintCounts(existingItems.size());
+        for (LedgerItem item : existingItems) {
+            existing.increment(fingerprint(item));
+        }
+    }
+
+    /**
+     * 가져올 항목들을 한 번 훑어 새 항목과 중복 의심 항목으로 나눕니다.
+     * 이 메서드는 지문을 소모하므로 같은 검출기로 두 번 호출하면 결과가 달라집니다.
+     */
+    public Result scan(List<LedgerItem> incoming, Policy policy) {
+        List<LedgerItem> accepted = new ArrayList<>(incoming.size());
+        List<LedgerItem> duplicates = new ArrayList<>();
+
+        for (LedgerItem item : incoming) {
+            boolean duplicate = existing.decrementIfPresent(fingerprint(item));
+            if (duplicate) {
+                duplicates.add(item);
+                if (policy == Policy.SKIP) {
+                    continue;
+                }
+            }
+            accepted.add(item);
+        }
+        return new Result(policy, accepted, duplicates);
+    }
+
+    /**
+     * 항목의 지문을 계산합니다. 유형은 수입/지출로, 금액은 부호를 유형에 맞춰,
+     * 설명은 앞뒤 공백 제거·소문자화·연속 공백 축소로 정규화합니다.
+     */
+    public static long fingerprint(LedgerItem item) {
+        boolean expense = item.isExpense();
+        long signedAmount = expense ? -Math.abs((long) item.getAmount()) : Math.abs((long) item.getAmount());
+
+        long h = 0xcbf29ce484222325L; // FNV-1a 64비트 오프셋
+        h = mix(h, item.getDate() != null ? item.getDate().toEpochDay() : Long.MIN_VALUE);
+        h = mix(h, expense ? 1 : 0);
+        h = mix(h, signedAmount);
+        h = mixString(h, item.getCategory() != null ? item.getCategory().trim() : "");
+        h = mixString(h, normalizeDescription(item.getDescription()));
+        return h;
+    }
+
+    static String normalizeDescription(String description) {
+        if (description == null) {
+            return "";
+        }
+        return description.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static long mix(long h, long value) {
+        for (int i = 0; i < 8; i++) {
+            h ^= (value >>> (i * 8)) & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static long mixString(long h, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            h ^= c & 0xff;
+            h *= 0x100000001b3L;
+            h ^= c >>> 8;
+            h *= 0x100000001b3L;
+        }
+        // 필드 경계 구분자 (예: "ab"+"c"와 "a"+"bc" 구분)
+        h ^= 0x1f;
+        h *= 0x100000001b3L;
+        return h;
+    }
+
+    /**
+     * 가져오기 판정 결과
+     */
+    public static class Result {
+        public final Policy policy;
+        // 가계부에 추가할 항목
+        public final List<LedgerItem> accepted;
+        // 중복으로 의심되는 항목 (SKIP이면 추가되지 않음)
+        public final List<LedgerItem> duplicates;
+
+        private Result(Policy policy, List<LedgerItem> accepted, List<LedgerItem> duplicates) {
+            this.policy = policy;
+            this.accepted = Collections.unmodifiableList(accepted);
+            this.duplicates = Collections.unmodifiableList(duplicates);
+        }
+    }
+
+    /**
+     * long 지문 -> 개수 맵 (박싱 없는 개방 주소법 해시 테이블)
+     */
+    private static final class FingerprintCounts {
+        private long[] keys;
+        private int[] counts; // 0이면 빈 칸
+        private int size;
+
+        FingerprintCounts(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+            keys = new long[capacity];
+            counts = new int[capacity];
+        }
+
+        void increment(long key) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            int slot = find(key);
+            if (counts[slot] == 0) {
+                keys[slot] = key;
+                size++;
+            }
+            counts[slot]++;
+        }
+
+        // 개수가 남아 있으면 하나 줄이고 true를 반환 (0이 되어도 칸은 비우지 않아 탐색 체인이 유지됨)
+        boolean decrementIfPresent(long key) {
+            int slot = find(key);
+            if (counts[slot] > 0 && keys[slot] == key) {
+                if (counts[slot] == 1) {
+                    counts[slot] = -1; // 소진 표시
+                } else {
+                    counts[slot]--;
+                }
+                return true;
+            }
+            return false;
+        }
+
+        // 키가 있는 칸 또는 넣을 빈 칸의 위치
+        private int find(long key) {
+            int mask = keys.length - 1;
+            int slot = (int) (key ^ (key >>> 32)) & mask;
+            while (counts[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldCounts = counts;
+            keys = new long[oldKeys.length * 2];
+            counts = new int[oldCounts.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldCounts[i] != 0) {
+                    int slot = find(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.accountbook.util;
+
+import com.accountbook.model.LedgerItem;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.function.Predicate;
+
+/**
+ * 항목을 한 건씩 받아 파일이나 표준 출력에 바로 쓰는 내보내기 도구입니다.
+ * 줄 버퍼 하나만 재사용하므로 내보내는 항목 수와 관계없이 메모리 사용량이 일정합니다.
+ * CSV와 JSON은 가계부 파일과 같은 형식(다시 가져오기 가능), NDJSON은 HTTP API와 같은 항목 JSON을 한 줄에 하나씩 씁니다.
+ */
+public class ItemExporter implements Closeable {
+
+    /**
+     * 내보내기 형식
+     */
+    public enum Format {
+        CSV("csv"),
+        JSON("json"),
+        NDJSON("ndjson");
+
+        private final String name;
+
+        Format(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * 형식 이름(csv, json, ndjson 또는 jsonl)으로 찾습니다. 없으면 null을 반환합니다.
+         */
+        public static Format fromName(String name) {
+            if (name == null) {
+                return null;
+            }
+            switch (name.toLowerCase()) {
+                case "csv":
+                    return CSV;
+                case "json":
+                    return JSON;
+                case "ndjson":
+                case "jsonl":
+                    return NDJSON;
+                default:
+                    return null;
+            }
+        }
+
+        /**
+         * 파일 확장자로 형식을 추론합니다. 알 수 없으면 null을 반환합니다.
+         */
+        public static Format fromFileName(String fileName) {
+            if (fileName == null || !fileName.contains(".")) {
+                return null;
+            }
+            return fromName(fileName.substring(fileName.lastIndexOf('.') + 1));
+        }
+
+        /**
+         * 가계부 파일 형식과 같은 내보내기 형식입니다.
+         */
+        public static Format of(FileFormat fileFormat) {
+            return switch (fileFormat) {
+                case CSV -> CSV;
+                case JSON -> JSON;
+            };
+        }
+    }
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Writer writer;
+    private final Format format;
+    // 표준 출력처럼 빌려 쓴 스트림은 닫지 않고 비우기만 함
+    private final boolean ownsStream;
+    private final StringBuilder line = new StringBuilder(128);
+    // Writer.append(CharSequence)는 줄마다 String을 만들므로 문자 배열로 옮겨 씀
+    private char[] chars = new char[128];
+    private long count;
+
+    private ItemExporter(OutputStream out, Format format, boolean ownsStream) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.format = format;
+        this.ownsStream = ownsStream;
+        if (format == Format.CSV) {
+            writer.write(CsvFileHandler.CSV_HEADER);
+            writer.write('\n');
+        } else if (format == Format.JSON) {
+            writer.write(JsonFileHandler.DOCUMENT_HEADER);
+        }
+    }
+
+    /**
+     * 파일에 쓰는 내보내기 도구를 만듭니다. 파일이 이미 있으면 덮어씁니다.
+     */
+    public static ItemExporter toFile(String fileName, Format format) throws IOException {
+        return new ItemExporter(new FileOutputStream(fileName), format, true);
+    }
+
+    /**
+     * 주어진 스트림(예: 표준 출력)에 쓰는 내보내기 도구를 만듭니다. close()해도 스트림은 닫지 않습니다.
+     */
+    public static ItemExporter toStream(OutputStream out, Format format) throws IOException {
+        return new ItemExporter(out, format, false);
+    }
+
+    /**
+     * 날짜 범위와 카테고리 조건을 만듭니다. null인 조건은 검사하지 않습니다.
+     */
+    public static Predicate<LedgerItem> filter(LocalDate from, LocalDate to, String category) {
+        return item -> (from == null || !item.getDate().isBefore(from))
+            && (to == null || !item.getDate().isAfter(to))
+            && (category == null || category.equals(item.getCategory()));
+    }
+
+    public void write(LedgerItem item) throws IOException {
+        line.setLength(0);
+        if (format == Format.CSV) {
+            CsvFileHandler.appendCsvLine(line, item).append('\n');
+        } else if (format == Format.JSON) {
+            // 항목 구분 쉼표는 다음 항목 앞에 씀 (문서 끝은 close()에서)
+            if (count > 0) {
+                line.append(",\n");
+            }
+            JsonFileHandler.appendJsonItem(line, item);
+        } else {
+            JsonText.appendItem(line, item).append('\n');
+        }
+        int length = line.length();
+        if (length > chars.length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        line.getChars(0, length, chars, 0);
+        writer.write(chars, 0, length);
+        count++;
+    }
+
+    /**
+     * 지금까지 쓴 항목 수 (CSV 헤더 제외)
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (format == Format.JSON) {
+            writer.write(count > 0 ? "\n" + JsonFileHandler.DOCUMENT_FOOTER : JsonFileHandler.DOCUMENT_FOOTER);
+        }
+        if (ownsStream) {
+            writer.close();
+        } else {
+            writer.flush();
+        }
+    }
+}
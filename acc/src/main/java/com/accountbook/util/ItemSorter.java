@@ -0,0 +1,392 @@
+package com.accountbook.util;
+
+import com.accountbook.model.LedgerItem;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * 항목 목록을 여러 열 기준으로 정렬하는 기수 정렬입니다.
+ * 항목 객체끼리 Comparator로 비교하지 않고, 열마다 정수 키(ID, 에포크 일, 금액, 문자열 열은 사전순 순위)를
+ * int 배열로 뽑아 위치 배열과 함께 11비트씩 안정 계수 정렬합니다(LSD). 마지막 열부터 첫 열까지 차례로 정렬하므로
+ * 여러 열 정렬도 안정적이며, 모든 키가 같은 항목은 입력 순서를 유지합니다(조회 결과는 ID 순서이므로 ID 순).
+ * 키가 이미 정렬되어 있거나 한 자릿수 구간에 몰린 경우(예: 1년치 날짜의 상위 자리) 그 정렬 단계는 건너뜁니다.
+ * 큰 입력은 키 추출과 자릿수 집계/분배를 공용 ForkJoinPool에서 나눠 처리할 수 있습니다(sortParallel).
+ */
+public final class ItemSorter {
+
+    // 이 크기 이상이고 사용할 수 있는 CPU가 둘 이상이면 sort()가 병렬로 정렬
+    public static final int PARALLEL_THRESHOLD = 1 << 18;
+    private static final int DIGIT_BITS = 11;
+    private static final int RADIX = 1 << DIGIT_BITS;
+    private static final int MASK = RADIX - 1;
+    // 병렬 정렬에서 한 조각의 최소 항목 수
+    private static final int MIN_CHUNK = 1 << 16;
+
+    private ItemSorter() {}
+
+    /**
+     * 정렬할 열
+     */
+    public enum Column {
+        ID("id"),
+        DATE("date"),
+        AMOUNT("amount"),
+        // 수입이 지출보다 앞
+        TYPE("type"),
+        // 카테고리 이름의 사전순
+        CATEGORY("category"),
+        // 설명의 사전순 (설명 없음이 가장 앞)
+        DESCRIPTION("description");
+
+        private final String name;
+
+        Column(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * 열 이름으로 찾습니다. 없으면 null을 반환합니다.
+         */
+        public static Column fromName(String name) {
+            for (Column column : values()) {
+                if (column.name.equalsIgnoreCase(name)) {
+                    return column;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 정렬 기준 하나 (열과 방향)
+     */
+    public static class SortKey {
+        public final Column column;
+        public final boolean descending;
+
+        public SortKey(Column column, boolean descending) {
+            this.column = column;
+            this.descending = descending;
+        }
+
+        @Override
+        public String toString() {
+            return (descending ? "-" : "") + column.getName();
+        }
+    }
+
+    /**
+     * "date,-amount"처럼 쉼표로 구분한 정렬 기준을 읽습니다. 열 이름 앞의 '-'는 내림차순, '+'나 생략은 오름차순입니다.
+     * @throws IllegalArgumentException 알 수 없는 열 이름이 있는 경우
+     */
+    public static List<SortKey> parse(String spec) {
+        List<SortKey> keys = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String trimmed = part.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            boolean descending = trimmed.startsWith("-");
+            String name = descending || trimmed.startsWith("+") ? trimmed.substring(1).trim() : trimmed;
+            Column column = Column.fromName(name);
+            if (column == null) {
+                throw new IllegalArgumentException("정렬할 수 없는 열입니다: " + name
+                    + " (id, date, amount, type, category, description 중 하나)");
+            }
+            keys.add(new SortKey(column, descending));
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("정렬 기준을 하나 이상 지정해주세요.");
+        }
+        return keys;
+    }
+
+    /**
+     * 정렬 기준 목록을 다시 "date,-amount" 형식으로 만듭니다.
+     */
+    public static String format(List<SortKey> keys) {
+        StringBuilder sb = new StringBuilder();
+        for (SortKey key : keys) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(key);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * items를 keys 순서(앞의 열이 우선)로 안정 정렬한 새 목록을 반환합니다. 입력 목록은 바꾸지 않습니다.
+     * 항목이 PARALLEL_THRESHOLD개 이상이고 공용 풀에 스레드가 둘 이상이면 병렬로 정렬합니다.
+     */
+    public static List<LedgerItem> sort(List<LedgerItem> items, List<SortKey> keys) {
+        boolean parallel = items.size() >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+        return sort(items, keys, parallel);
+    }
+
+    /**
+     * sort()와 같지만 크기와 관계없이 공용 ForkJoinPool에서 나눠 정렬합니다.
+     */
+    public static List<LedgerItem> sortParallel(List<LedgerItem> items, List<SortKey> keys) {
+        return sort(items, keys, true);
+    }
+
+    /**
+     * 같은 순서를 만드는 Comparator (기수 정렬 결과 검증과 작은 목록용)
+     */
+    public static Comparator<LedgerItem> comparator(List<SortKey> keys) {
+        Comparator<LedgerItem> result = null;
+        for (SortKey key : keys) {
+            Comparator<LedgerItem> next = columnComparator(key.column);
+            if (key.descending) {
+                next = next.reversed();
+            }
+            result = result == null ? next : result.thenComparing(next);
+        }
+        return result;
+    }
+
+    private static Comparator<LedgerItem> columnComparator(Column column) {
+        switch (column) {
+            case ID:
+                return Comparator.comparingInt(LedgerItem::getId);
+            case DATE:
+                return Comparator.comparing(LedgerItem::getDate);
+            case AMOUNT:
+                return Comparator.comparingInt(LedgerItem::getAmount);
+            case TYPE:
+                return Comparator.comparing(LedgerItem::isExpense);
+            case CATEGORY:
+                return Comparator.comparing(LedgerItem::getCategory, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case DESCRIPTION:
+                return Comparator.comparing(LedgerItem::getDescription,
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            default:
+                throw new IllegalArgumentException("알 수 없는 열: " + column);
+        }
+    }
+
+    private static List<LedgerItem> sort(List<LedgerItem> items, List<SortKey> keys, boolean parallel) {
+        LedgerItem[] source = items.toArray(new LedgerItem[0]);
+        int n = source.length;
+        if (n < 2 || keys.isEmpty()) {
+            return new ArrayList<>(Arrays.asList(source));
+        }
+        int chunks = parallel ? Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, n / MIN_CHUNK)) : 1;
+        int[] order = new int[n];
+        int[] spareOrder = new int[n];
+        int[] keyValues = new int[n];
+        int[] spareKeys = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+
+        // 가장 덜 중요한 열부터 안정 정렬
+        for (int k = keys.size() - 1; k >= 0; k--) {
+            SortKey key = keys.get(k);
+            int[] columnKeys = extractKeys(source, key.column, chunks);
+            int flip = key.descending ? -1 : 0;
+            int[] currentOrder = order;
+            int[] currentKeys = keyValues;
+            forEachChunk(chunks, n, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    // 부호 비트를 뒤집어 부호 없는 순서로, 내림차순이면 모든 비트를 뒤집음
+                    currentKeys[i] = (columnKeys[currentOrder[i]] ^ Integer.MIN_VALUE) ^ flip;
+                }
+            });
+            if (isNonDecreasing(keyValues)) {
+                continue;
+            }
+            for (int shift = 0; shift < 32; shift += DIGIT_BITS) {
+                boolean moved = chunks > 1
+                    ? scatterParallel(keyValues, order, spareKeys, spareOrder, shift, chunks)
+                    : scatter(keyValues, order, spareKeys, spareOrder, shift);
+                if (moved) {
+                    int[] swap = keyValues;
+                    keyValues = spareKeys;
+                    spareKeys = swap;
+                    swap = order;
+                    order = spareOrder;
+                    spareOrder = swap;
+                }
+            }
+        }
+
+        List<LedgerItem> result = new ArrayList<>(n);
+        for (int index : order) {
+            result.add(source[index]);
+        }
+        return result;
+    }
+
+    /**
+     * 열의 정수 키를 원래 위치 순서로 뽑습니다. 문자열 열은 서로 다른 값만 사전순으로 정렬해 순위를 키로 씁니다.
+     */
+    private static int[] extractKeys(LedgerItem[] source, Column column, int chunks) {
+        int[] result = new int[source.length];
+        switch (column) {
+            case ID:
+                forEachChunk(chunks, source.length, (from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        result[i] = source[i].getId();
+                    }
+                });
+                break;
+            case DATE:
+                forEachChunk(chunks, source.length, (from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        result[i] = (int) source[i].getDate().toEpochDay();
+                    }
+                });
+                break;
+            case AMOUNT:
+                forEachChunk(chunks, source.length, (from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        result[i] = source[i].getAmount();
+                    }
+                });
+                break;
+            case TYPE:
+                forEachChunk(chunks, source.length, (from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        result[i] = source[i].isExpense() ? 1 : 0;
+                    }
+                });
+                break;
+            case CATEGORY:
+            case DESCRIPTION:
+                rankStrings(source, column == Column.CATEGORY, result);
+                break;
+            default:
+                throw new IllegalArgumentException("알 수 없는 열: " + column);
+        }
+        return result;
+    }
+
+    private static void rankStrings(LedgerItem[] source, boolean category, int[] result) {
+        // 같은 문자열은 대개 같은 객체이므로 먼저 서로 다른 값만 모음 (없음은 순위 -1)
+        Map<String, Integer> ranks = new HashMap<>();
+        for (LedgerItem item : source) {
+            String value = category ? item.getCategory() : item.getDescription();
+            if (value != null) {
+                ranks.putIfAbsent(value, 0);
+            }
+        }
+        List<String> distinct = new ArrayList<>(ranks.keySet());
+        Collections.sort(distinct);
+        for (int i = 0; i < distinct.size(); i++) {
+            ranks.put(distinct.get(i), i);
+        }
+        for (int i = 0; i < source.length; i++) {
+            String value = category ? source[i].getCategory() : source[i].getDescription();
+            result[i] = value == null ? -1 : ranks.get(value);
+        }
+    }
+
+    private static boolean isNonDecreasing(int[] keys) {
+        for (int i = 1; i < keys.length; i++) {
+            if (Integer.compareUnsigned(keys[i - 1], keys[i]) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * shift 위치의 자릿수로 한 번 안정 분배합니다. 모든 키의 자릿수가 같으면 분배하지 않고 false를 반환합니다.
+     */
+    private static boolean scatter(int[] keys, int[] order, int[] targetKeys, int[] targetOrder, int shift) {
+        int[] counts = new int[RADIX];
+        for (int key : keys) {
+            counts[(key >>> shift) & MASK]++;
+        }
+        if (counts[(keys[0] >>> shift) & MASK] == keys.length) {
+            return false;
+        }
+        int offset = 0;
+        for (int digit = 0; digit < RADIX; digit++) {
+            int count = counts[digit];
+            counts[digit] = offset;
+            offset += count;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            int position = counts[(keys[i] >>> shift) & MASK]++;
+            targetKeys[position] = keys[i];
+            targetOrder[position] = order[i];
+        }
+        return true;
+    }
+
+    /**
+     * scatter()의 병렬판. 조각마다 자릿수 개수를 세고, (자릿수, 조각) 순서로 시작 위치를 정해 조각별로 분배하므로
+     * 같은 자릿수 안에서 앞 조각의 키가 항상 앞에 놓여 안정성이 유지됩니다.
+     */
+    private static boolean scatterParallel(int[] keys, int[] order, int[] targetKeys, int[] targetOrder, int shift,
+                                           int chunks) {
+        int n = keys.length;
+        int[][] counts = new int[chunks][RADIX];
+        forEachChunk(chunks, n, (from, to, chunk) -> {
+            int[] chunkCounts = counts[chunk];
+            for (int i = from; i < to; i++) {
+                chunkCounts[(keys[i] >>> shift) & MASK]++;
+            }
+        });
+        int firstDigit = (keys[0] >>> shift) & MASK;
+        int total = 0;
+        for (int[] chunkCounts : counts) {
+            total += chunkCounts[firstDigit];
+        }
+        if (total == n) {
+            return false;
+        }
+        int offset = 0;
+        for (int digit = 0; digit < RADIX; digit++) {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int count = counts[chunk][digit];
+                counts[chunk][digit] = offset;
+                offset += count;
+            }
+        }
+        forEachChunk(chunks, n, (from, to, chunk) -> {
+            int[] positions = counts[chunk];
+            for (int i = from; i < to; i++) {
+                int position = positions[(keys[i] >>> shift) & MASK]++;
+                targetKeys[position] = keys[i];
+                targetOrder[position] = order[i];
+            }
+        });
+        return true;
+    }
+
+    private interface RangeTask {
+        void run(int from, int to);
+    }
+
+    private interface ChunkTask {
+        void run(int from, int to, int chunk);
+    }
+
+    private static void forEachChunk(int chunks, int n, RangeTask task) {
+        forEachChunk(chunks, n, (from, to, chunk) -> task.run(from, to));
+    }
+
+    private static void forEachChunk(int chunks, int n, ChunkTask task) {
+        if (chunks == 1) {
+            task.run(0, n, 0);
+            return;
+        }
+        IntStream.range(0, chunks).parallel().forEach(chunk ->
+            task.run((int) ((long) n * chunk / chunks), (int) ((long) n * (chunk + 1) / chunks), chunk));
+    }
+}
@@ -0,0 +1,207 @@
+package com.accountbook.util;
+
+import com.accountbook.model.LedgerItem;
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * 항목을 콘솔 표로 출력하는 도구입니다.
+ * 줄마다 printf로 쓰지 않고 재사용하는 버퍼에 직접 서식을 채운 뒤 큰 덩어리로 한 번에 씁니다.
+ * 열 너비는 글자 수가 아니라 터미널 칸 수로 맞추므로 한글 등 전각 문자가 섞여도 열이 어긋나지 않고,
+ * 열보다 긴 값은 잘라서 ".."을 붙입니다 (설명은 마지막 열이라 자르지 않음).
+ */
+public class ItemTableWriter {
+
+    private static final int ID_WIDTH = 7;
+    private static final int TYPE_WIDTH = 8;
+    private static final int DATE_WIDTH = 10;
+    private static final int CATEGORY_WIDTH = 12;
+    private static final int AMOUNT_WIDTH = 11;
+    private static final int DESCRIPTION_WIDTH = 20;
+    private static final String COLUMN_SEPARATOR = " | ";
+    private static final int TABLE_WIDTH = 1 + ID_WIDTH + TYPE_WIDTH + DATE_WIDTH + CATEGORY_WIDTH + AMOUNT_WIDTH
+        + DESCRIPTION_WIDTH + 5 * COLUMN_SEPARATOR.length();
+    private static final String DOUBLE_RULE = "=".repeat(TABLE_WIDTH);
+    private static final String SINGLE_RULE = "-".repeat(TABLE_WIDTH);
+    // 버퍼가 이 길이를 넘으면 출력으로 내보냄
+    private static final int FLUSH_THRESHOLD = 32 * 1024;
+
+    private final PrintStream out;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+
+    public ItemTableWriter(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * 항목 목록 전체를 머리글, 행, 총 항목 수와 함께 출력합니다.
+     */
+    public void writeAll(List<LedgerItem> items) {
+        if (items.isEmpty()) {
+            out.println("표시할 항목이 없습니다.");
+            return;
+        }
+        writeHeader();
+        for (LedgerItem item : items) {
+            writeRow(item);
+        }
+        writeFooter("총 항목 수: " + items.size());
+        flush();
+    }
+
+    public void writeHeader() {
+        buffer.append(DOUBLE_RULE).append('\n').append(' ');
+        appendPadded("ID", ID_WIDTH).append(COLUMN_SEPARATOR);
+        appendPadded("유형", TYPE_WIDTH).append(COLUMN_SEPARATOR);
+        appendPadded("날짜", DATE_WIDTH).append(COLUMN_SEPARATOR);
+        appendPadded("카테고리", CATEGORY_WIDTH).append(COLUMN_SEPARATOR);
+        for (int i = displayWidth("금액"); i < AMOUNT_WIDTH; i++) {
+            buffer.append(' ');
+        }
+        buffer.append("금액").append(COLUMN_SEPARATOR);
+        buffer.append("설명").append('\n').append(SINGLE_RULE).append('\n');
+    }
+
+    public void writeRow(LedgerItem item) {
+        buffer.append(' ');
+        appendNumber(item.getId(), ID_WIDTH, false).append(COLUMN_SEPARATOR);
+        appendPadded(item.getType() != null ? item.getType().trim() : "", TYPE_WIDTH).append(COLUMN_SEPARATOR);
+        if (item.getDate() != null) {
+            DateCodec.append(buffer, item.getDate());
+        } else {
+            appendPadded("", DATE_WIDTH);
+        }
+        buffer.append(COLUMN_SEPARATOR);
+        appendPadded(item.getCategory() != null ? item.getCategory() : "", CATEGORY_WIDTH).append(COLUMN_SEPARATOR);
+        appendNumber(item.getAmount(), AMOUNT_WIDTH, true).append(COLUMN_SEPARATOR);
+        if (item.getDescription() != null) {
+            buffer.append(item.getDescription());
+        }
+        buffer.append('\n');
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    /**
+     * 닫는 줄과 안내 문구(예: 총 항목 수, 페이지 위치)를 씁니다.
+     */
+    public void writeFooter(String summary) {
+        buffer.append(DOUBLE_RULE).append('\n').append(summary).append('\n');
+    }
+
+    /**
+     * 버퍼에 모인 내용을 출력합니다.
+     */
+    public void flush() {
+        if (buffer.length() > 0) {
+            out.append(buffer);
+            buffer.setLength(0);
+        }
+        out.flush();
+    }
+
+    /**
+     * 문자열이 터미널에서 차지하는 칸 수입니다. 한글, 한자, 가나, 전각 기호와 보조 평면 문자(이모지 등)는 2칸,
+     * 결합 문자와 제어 문자는 0칸, 나머지는 1칸으로 셉니다.
+     */
+    public static int displayWidth(CharSequence text) {
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            width += charWidth(text, i);
+            if (Character.isHighSurrogate(text.charAt(i)) && i + 1 < text.length()) {
+                i++;
+            }
+        }
+        return width;
+    }
+
+    private static int charWidth(CharSequence text, int index) {
+        char c = text.charAt(index);
+        if (c < 0x7F) {
+            return c < ' ' ? 0 : 1;
+        }
+        if (Character.isHighSurrogate(c)) {
+            return 2;
+        }
+        int type = Character.getType(c);
+        if (type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK || type == Character.CONTROL
+            || type == Character.FORMAT || (c >= 0x1160 && c <= 0x11FF)) {
+            // 결합용 한글 자모(중성/종성)는 앞 글자에 붙음
+            return 0;
+        }
+        return isWide(c) ? 2 : 1;
+    }
+
+    private static boolean isWide(char c) {
+        return (c >= 0x1100 && c <= 0x115F)      // 한글 자모 초성
+            || (c >= 0x2E80 && c <= 0x303E)      // CJK 부수, 기호와 구두점
+            || (c >= 0x3041 && c <= 0x33FF)      // 가나, 호환용 한글 자모, CJK 호환 문자
+            || (c >= 0x3400 && c <= 0x4DBF)      // CJK 확장 A
+            || (c >= 0x4E00 && c <= 0x9FFF)      // CJK 통합 한자
+            || (c >= 0xA960 && c <= 0xA97F)      // 한글 자모 확장 A
+            || (c >= 0xAC00 && c <= 0xD7A3)      // 한글 음절
+            || (c >= 0xF900 && c <= 0xFAFF)      // CJK 호환 한자
+            || (c >= 0xFE30 && c <= 0xFE4F)      // CJK 호환 형태
+            || (c >= 0xFF00 && c <= 0xFF60)      // 전각 문자
+            || (c >= 0xFFE0 && c <= 0xFFE6);
+    }
+
+    /**
+     * text를 width칸에 맞춰 씁니다. 짧으면 공백으로 채우고, 길면 잘라서 ".."을 붙입니다.
+     */
+    private StringBuilder appendPadded(String text, int width) {
+        int used = displayWidth(text);
+        if (used <= width) {
+            buffer.append(text);
+        } else {
+            int end = fitLength(text, width - 2);
+            buffer.append(text, 0, end).append("..");
+            used = displayWidth(text.subSequence(0, end)) + 2;
+        }
+        for (; used < width; used++) {
+            buffer.append(' ');
+        }
+        return buffer;
+    }
+
+    // width칸 안에 들어가는 가장 긴 앞부분의 길이 (서로게이트 쌍은 나누지 않음)
+    private static int fitLength(String text, int width) {
+        int used = 0;
+        int end = 0;
+        while (end < text.length()) {
+            int charWidth = charWidth(text, end);
+            if (used + charWidth > width) {
+                break;
+            }
+            used += charWidth;
+            end += Character.isHighSurrogate(text.charAt(end)) && end + 1 < text.length() ? 2 : 1;
+        }
+        return end;
+    }
+
+    private StringBuilder appendNumber(int value, int width, boolean alignRight) {
+        int length = value < 0 ? 1 + digitCount(-(long) value) : digitCount(value);
+        if (alignRight) {
+            for (int i = length; i < width; i++) {
+                buffer.append(' ');
+            }
+        }
+        buffer.append(value);
+        if (!alignRight) {
+            for (int i = length; i < width; i++) {
+                buffer.append(' ');
+            }
+        }
+        return buffer;
+    }
+
+    private static int digitCount(long value) {
+        int count = 1;
+        while (value >= 10) {
+            value /= 10;
+            count++;
+        }
+        return count;
+    }
+}
@@ -3,8 +3,6 @@ package com.accountbook.util;
 import com.accountbook.model.LedgerItem;
 import java.io.*;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.ResolverStyle;
 import java.util.ArrayList;
 import java.util.List;
 import java.nio.charset.StandardCharsets;
@@ -15,16 +13,30 @@ import java.nio.charset.StandardCharsets;
 public class JsonFileHandler {
     
     private static final String DEFAULT_FILE_NAME = "ledger.json";
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("uuuu-MM-dd").withResolverStyle(ResolverStyle.STRICT);
+    // 문서 앞뒤 (항목은 ",\n"으로 구분하고 마지막 항목 뒤에는 줄바꿈만 씀)
+    static final String DOCUMENT_HEADER = "{\n  \"items\": [\n";
+    static final String DOCUMENT_FOOTER = "  ]\n}";
     
     private final String fileName;
+    // 불러온 항목의 카테고리를 검증할 가계부의 카테고리 관리자
+    private final CategoryManager categories;
+    // 마지막 불러오기에서 거부된 레코드 수
+    private int lastRejectedCount;
     
     public JsonFileHandler() {
-        this.fileName = DEFAULT_FILE_NAME;
+        this(DEFAULT_FILE_NAME);
     }
     
+    /**
+     * 고정 카테고리만 유효한 것으로 보고 불러옵니다 (커스텀 카테고리가 있는 가계부는 카테고리 관리자를 함께 넘겨야 함).
+     */
     public JsonFileHandler(String fileName) {
+        this(fileName, new CategoryManager());
+    }
+    
+    public JsonFileHandler(String fileName, CategoryManager categories) {
         this.fileName = fileName;
+        this.categories = categories;
     }
     
     /**
@@ -40,6 +52,10 @@ public class JsonFileHandler {
             return items;
         }
         
+        LedgerEvents.FileLoad event = new LedgerEvents.FileLoad();
+        event.begin();
+        long started = LedgerMetrics.start();
+        RecordValidator validator = new RecordValidator("%d번째 JSON 객체", fileName);
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
             StringBuilder jsonContent = new StringBuilder();
             String line;
@@ -54,25 +70,39 @@ public class JsonFileHandler {
                 return items;
             }
             
-            items = parseJsonContent(content);
+            items = parseJsonContent(content, validator);
             System.out.printf("%s에서 %d개의 항목을 불러왔습니다.%n", fileName, items.size());
             
         } catch (IOException e) {
             System.err.printf("파일 %s 읽기 오류: %s%n", fileName, e.getMessage());
         } catch (Exception e) {
             System.err.printf("JSON 파싱 오류: %s. 빈 가계부로 시작합니다.%n", e.getMessage());
+        } finally {
+            LedgerMetrics.record(LedgerMetrics.Operation.LOAD, started);
+            lastRejectedCount = validator.getRejectedCount();
+            LedgerEvents.commitLoad(event, fileName, "json", items.size(), lastRejectedCount);
         }
         
         return items;
     }
     
+    public int getLastRejectedCount() {
+        return lastRejectedCount;
+    }
+    
     /**
-     * 가계부 항목 목록을 JSON 파일에 저장합니다.
+     * 가계부 항목 목록을 JSON 파일에 저장합니다. 임시 파일에 쓴 뒤 한 번에 교체합니다.
      */
     public boolean saveToFile(List<LedgerItem> items) {
-        try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(fileName), StandardCharsets.UTF_8))) {
+        LedgerEvents.FileSave event = new LedgerEvents.FileSave();
+        event.begin();
+        long started = LedgerMetrics.start();
+        boolean saved = false;
+        try {
             String jsonContent = formatJsonContent(items);
-            writer.print(jsonContent);
+            AtomicFileWriter.write(fileName, writer -> writer.print(jsonContent));
+            LedgerMetrics.add(LedgerMetrics.Counter.BYTES_WRITTEN, new File(fileName).length());
+            saved = true;
             
             System.out.printf("%s에 %d개의 항목을 저장했습니다.%n", fileName, items.size());
             return true;
@@ -80,13 +110,16 @@ public class JsonFileHandler {
         } catch (IOException e) {
             System.err.printf("파일 %s 쓰기 오류: %s%n", fileName, e.getMessage());
             return false;
+        } finally {
+            LedgerMetrics.record(LedgerMetrics.Operation.SAVE, started);
+            LedgerEvents.commitSave(event, fileName, "json", items.size(), saved);
         }
     }
     
     /**
      * JSON 내용을 파싱하여 LedgerItem 목록으로 변환합니다.
      */
-    private List<LedgerItem> parseJsonContent(String content) {
+    private List<LedgerItem> parseJsonContent(String content, RecordValidator validator) {
         List<LedgerItem> items = new ArrayList<>();
         
         // 간단한 JSON 파싱 (외부 라이브러리 없이)
@@ -116,16 +149,11 @@ public class JsonFileHandler {
         
         // 각 객체 파싱
         List<String> objectStrings = splitJsonObjects(arrayContent);
-        for (int i = 0; i < objectStrings.size(); i++) {
-            try {
-                LedgerItem item = parseJsonObject(objectStrings.get(i));
-                if (item != null) {
-                    items.add(item);
-                }
-            } catch (Exception e) {
-                System.out.printf("경고: %d번째 JSON 객체의 유효하지 않은 항목을 건너뜁니다: %s%n", i + 1, e.getMessage());
-            }
-        }
+        validator.validateBatch(objectStrings, 1, this::parseJsonObject, items);
+        RecordValidator.Report report = validator.getReport();
+        report.print(System.out);
+        LedgerMetrics.add(LedgerMetrics.Counter.ROWS_PARSED, report.accepted + report.rejected);
+        LedgerMetrics.add(LedgerMetrics.Counter.ROWS_REJECTED, report.rejected);
         
         return items;
     }
@@ -175,7 +203,7 @@ public class JsonFileHandler {
         // 필드 파싱
         Integer id = null;
         String type = null;
-        LocalDate date = null;
+        Integer epochDay = null;
         String category = null;
         Integer amount = null;
         String description = null;
@@ -185,7 +213,7 @@ public class JsonFileHandler {
             String[] keyValue = pair.split(":", 2);
             if (keyValue.length != 2) continue;
             
-            String key = keyValue[0].trim().replaceAll("\"", "");
+            String key = keyValue[0].trim().replace("\"", "");
             String value = keyValue[1].trim();
             
             // 문자열 값에서 따옴표 제거
@@ -201,7 +229,7 @@ public class JsonFileHandler {
                     type = value;
                     break;
                 case "date":
-                    date = LocalDate.parse(value, DATE_FORMATTER);
+                    epochDay = DateCodec.parseEpochDay(value);
                     break;
                 case "category":
                     category = value;
@@ -216,33 +244,26 @@ public class JsonFileHandler {
         }
         
         // 필수 필드 검증
-        if (id == null || type == null || date == null || category == null || amount == null) {
+        if (id == null || type == null || epochDay == null || category == null || amount == null) {
             throw new IllegalArgumentException("필수 필드가 누락되었습니다.");
         }
         
-        // 기본 유효성 검사
-        if (!("수입".equals(type) || "지출".equals(type))) {
+        // 저장된 '수입 (+)'/' 지출 (-)' 형식에서 순수한 유형 추출 (CSV와 동일)
+        String pureType;
+        if (type.contains("수입")) {
+            pureType = "수입";
+        } else if (type.contains("지출")) {
+            pureType = "지출";
+        } else {
             throw new IllegalArgumentException("유효하지 않은 유형: " + type);
         }
-        if (!date.isAfter(LocalDate.of(2025, 10, 1))) {
-            throw new IllegalArgumentException("날짜는 2025-10-01 이후여야 합니다.");
-        }
-        if (!CategoryManager.isValidCategory(category)) {
-            throw new IllegalArgumentException("유효하지 않은 카테고리: " + category);
-        }
-        if (amount <= 0 || amount > 100_000_000) {
-            throw new IllegalArgumentException("유효하지 않은 금액: " + amount);
-        }
-        if (description != null) {
-            if (description.length() > 50) {
-                throw new IllegalArgumentException("설명이 50자를 초과합니다.");
-            }
-            if (!description.isEmpty() && description.matches("^[^a-zA-Z0-9\\s가-힣]+$")) {
-                throw new IllegalArgumentException("설명은 특수문자로만 구성될 수 없습니다.");
-            }
-        }
         
-        return new LedgerItem(id, type, date, amount, category, description);
+        // 기본 유효성 검사 (순수한 type, 부호를 뺀 금액 사용)
+        RecordValidator.validate(pureType, epochDay, Math.abs(amount), category, description, categories);
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        
+        String finalType = pureType.equals("수입") ? "수입 (+)" : " 지출 (-)";
+        return new LedgerItem(id, finalType, date, amount, category, description);
     }
     
     /**
@@ -275,18 +296,10 @@ public class JsonFileHandler {
      */
     private String formatJsonContent(List<LedgerItem> items) {
         StringBuilder json = new StringBuilder();
-        json.append("{\n  \"items\": [\n");
+        json.append(DOCUMENT_HEADER);
         
         for (int i = 0; i < items.size(); i++) {
-            LedgerItem item = items.get(i);
-            json.append("    {\n");
-            json.append(String.format("      \"id\": %d,\n", item.getId()));
-            json.append(String.format("      \"type\": \"%s\",\n", item.getType()));
-            json.append(String.format("      \"date\": \"%s\",\n", item.getDate().format(DATE_FORMATTER)));
-            json.append(String.format("      \"category\": \"%s\",\n", item.getCategory()));
-            json.append(String.format("      \"amount\": %d,\n", item.getAmount()));
-            json.append(String.format("      \"description\": \"%s\"\n", item.getDescription() != null ? item.getDescription() : ""));
-            json.append("    }");
+            appendJsonItem(json, items.get(i));
             
             if (i < items.size() - 1) {
                 json.append(",");
@@ -294,10 +307,24 @@ public class JsonFileHandler {
             json.append("\n");
         }
         
-        json.append("  ]\n}");
+        json.append(DOCUMENT_FOOTER);
         return json.toString();
     }
     
+    /**
+     * 항목 하나의 JSON 객체를 문서 안 들여쓰기 그대로 덧붙입니다 (뒤의 쉼표와 줄바꿈 제외).
+     */
+    static StringBuilder appendJsonItem(StringBuilder sb, LedgerItem item) {
+        sb.append("    {\n");
+        sb.append("      \"id\": ").append(item.getId()).append(",\n");
+        sb.append("      \"type\": \"").append(item.getType()).append("\",\n");
+        DateCodec.append(sb.append("      \"date\": \""), item.getDate()).append("\",\n");
+        sb.append("      \"category\": \"").append(item.getCategory()).append("\",\n");
+        sb.append("      \"amount\": ").append(item.getAmount()).append(",\n");
+        sb.append("      \"description\": \"").append(item.getDescription() != null ? item.getDescription() : "").append("\"\n");
+        return sb.append("    }");
+    }
+    
     /**
      * 데이터 파일이 존재하는지 확인합니다.
      */
@@ -311,4 +338,4 @@ public class JsonFileHandler {
     public String getFileName() {
         return fileName;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,185 @@
+package com.accountbook.util;
+
+import com.accountbook.model.LedgerItem;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 외부 라이브러리 없이 JSON 문자열을 만들고 읽기 위한 최소한의 도우미입니다.
+ * 읽기는 HTTP 요청 본문처럼 중첩 없는 단일 객체({"키": 값, ...})만 지원합니다.
+ */
+public final class JsonText {
+    private JsonText() {}
+
+    /**
+     * 항목을 JSON 객체 한 줄로 sb에 덧붙입니다. 유형은 "수입"/"지출", 금액은 양수로 씁니다.
+     */
+    public static StringBuilder appendItem(StringBuilder sb, LedgerItem item) {
+        sb.append("{\"id\":").append(item.getId()).append(",\"type\":\"").append(item.isExpense() ? "지출" : "수입")
+            .append("\",\"date\":\"");
+        DateCodec.append(sb, item.getDate()).append("\",\"category\":");
+        appendString(sb, item.getCategory());
+        sb.append(",\"amount\":").append(Math.abs((long) item.getAmount())).append(",\"description\":");
+        appendString(sb, item.getDescription());
+        return sb.append('}');
+    }
+
+    /**
+     * 문자열을 JSON 문자열 리터럴(따옴표 포함)로 sb에 덧붙입니다. null이면 null을 씁니다.
+     */
+    public static StringBuilder appendString(StringBuilder sb, String value) {
+        if (value == null) {
+            return sb.append("null");
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"');
+    }
+
+    /**
+     * 중첩 없는 JSON 객체를 키 -> 값 문자열로 읽습니다. 문자열은 이스케이프를 풀고,
+     * 숫자/true/false는 원문 그대로, null은 null 값으로 담습니다.
+     * @throws IllegalArgumentException JSON 객체 형식이 아닌 경우
+     */
+    public static Map<String, String> parseFlatObject(String json) {
+        Parser parser = new Parser(json);
+        Map<String, String> result = new LinkedHashMap<>();
+        parser.skipWhitespace();
+        parser.expect('{');
+        parser.skipWhitespace();
+        if (parser.peek() == '}') {
+            parser.pos++;
+        } else {
+            while (true) {
+                parser.skipWhitespace();
+                String key = parser.readString();
+                parser.skipWhitespace();
+                parser.expect(':');
+                parser.skipWhitespace();
+                result.put(key, parser.readValue());
+                parser.skipWhitespace();
+                char c = parser.next();
+                if (c == '}') {
+                    break;
+                }
+                if (c != ',') {
+                    throw parser.error("',' 또는 '}'가 필요합니다");
+                }
+            }
+        }
+        parser.skipWhitespace();
+        if (parser.pos != json.length()) {
+            throw parser.error("객체 뒤에 불필요한 내용이 있습니다");
+        }
+        return result;
+    }
+
+    private static final class Parser {
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        char peek() {
+            if (pos >= text.length()) {
+                throw error("예상치 못한 끝");
+            }
+            return text.charAt(pos);
+        }
+
+        char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        void expect(char expected) {
+            if (next() != expected) {
+                throw error("'" + expected + "'가 필요합니다");
+            }
+        }
+
+        void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        String readValue() {
+            char c = peek();
+            if (c == '"') {
+                return readString();
+            }
+            if (c == '{' || c == '[') {
+                throw error("중첩된 객체/배열은 지원하지 않습니다");
+            }
+            int start = pos;
+            while (pos < text.length() && ",}".indexOf(text.charAt(pos)) < 0 && !Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+            String literal = text.substring(start, pos);
+            if (literal.isEmpty()) {
+                throw error("값이 필요합니다");
+            }
+            return "null".equals(literal) ? null : literal;
+        }
+
+        String readString() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char escaped = next();
+                switch (escaped) {
+                    case '"': case '\\': case '/': sb.append(escaped); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'u':
+                        if (pos + 4 > text.length()) {
+                            throw error("잘못된 유니코드 이스케이프");
+                        }
+                        try {
+                            sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("잘못된 유니코드 이스케이프");
+                        }
+                        pos += 4;
+                        break;
+                    default:
+                        throw error("잘못된 이스케이프 문자 '\\" + escaped + "'");
+                }
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(String.format("JSON 형식 오류 (위치 %d): %s", pos, message));
+        }
+    }
+}
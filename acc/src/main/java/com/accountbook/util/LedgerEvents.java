@@ -0,0 +1,176 @@
+package com.accountbook.util;
+
+import java.io.File;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder(JFR)에 기록하는 가계부 이벤트입니다.
+ * 모두 기본적으로 꺼져 있어(@Enabled(false)) 녹화 설정에서 켜야 기록되며, 꺼져 있으면 begin()/end()/shouldCommit()만
+ * 호출되고 필드 값은 계산하지 않습니다. 녹화 설정 예시는 jfr/accountbook.jfc에 있습니다.
+ * 이벤트 시간은 begin()부터 end()까지이며(임계 시간 설정이 적용되도록 shouldCommit() 전에 항상 end()를 호출),
+ * 조회 이벤트에는 읽기 잠금 대기 시간이 들어가지 않습니다.
+ */
+public final class LedgerEvents {
+    private LedgerEvents() {}
+
+    /**
+     * 녹화 중이면 불러오기 이벤트의 필드를 채워 기록합니다.
+     */
+    static void commitLoad(FileLoad event, String fileName, String format, int rows, long rejected) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.fileName = fileName;
+            event.format = format;
+            event.rows = rows;
+            event.rejected = rejected;
+            event.bytes = new File(fileName).length();
+            event.commit();
+        }
+    }
+
+    /**
+     * 녹화 중이면 저장 이벤트의 필드를 채워 기록합니다.
+     */
+    static void commitSave(FileSave event, String fileName, String format, int rows, boolean saved) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.fileName = fileName;
+            event.format = format;
+            event.rows = rows;
+            event.bytes = saved ? new File(fileName).length() : 0;
+            event.success = saved;
+            event.commit();
+        }
+    }
+
+    /**
+     * 녹화 중이면 조회 이벤트의 필드를 채워 기록합니다.
+     */
+    public static void commitQuery(Query event, String query, long rows, boolean cacheHit) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.query = query;
+            event.rows = rows;
+            event.cacheHit = cacheHit;
+            event.commit();
+        }
+    }
+
+    @Name("com.accountbook.FileLoad")
+    @Label("가계부 파일 불러오기")
+    @Category({"Account Book", "Persistence"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static class FileLoad extends Event {
+        @Label("파일")
+        public String fileName;
+
+        @Label("형식")
+        public String format;
+
+        @Label("불러온 항목 수")
+        public long rows;
+
+        @Label("거부된 레코드 수")
+        public long rejected;
+
+        @Label("파일 크기")
+        @DataAmount
+        public long bytes;
+    }
+
+    @Name("com.accountbook.ParseChunk")
+    @Label("레코드 묶음 파싱/검증")
+    @Description("불러오기 중 한 묶음(CSV는 최대 65,536줄, JSON은 전체 객체)의 파싱과 검증")
+    @Category({"Account Book", "Persistence"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static class ParseChunk extends Event {
+        @Label("파일")
+        public String fileName;
+
+        @Label("첫 레코드 위치")
+        public long firstRecord;
+
+        @Label("레코드 수")
+        public long records;
+
+        @Label("받아들인 항목 수")
+        public long accepted;
+
+        @Label("거부된 레코드 수")
+        public long rejected;
+
+        @Label("문자 수")
+        public long characters;
+    }
+
+    @Name("com.accountbook.FileSave")
+    @Label("가계부 파일 저장")
+    @Category({"Account Book", "Persistence"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static class FileSave extends Event {
+        @Label("파일")
+        public String fileName;
+
+        @Label("형식")
+        public String format;
+
+        @Label("항목 수")
+        public long rows;
+
+        @Label("쓴 크기")
+        @DataAmount
+        public long bytes;
+
+        @Label("성공")
+        public boolean success;
+    }
+
+    @Name("com.accountbook.FormatChange")
+    @Label("파일 형식 변경")
+    @Category({"Account Book", "Persistence"})
+    @Enabled(false)
+    public static class FormatChange extends Event {
+        @Label("파일")
+        public String fileName;
+
+        @Label("이전 형식")
+        public String fromFormat;
+
+        @Label("새 형식")
+        public String toFormat;
+
+        @Label("항목 수")
+        public long rows;
+
+        @Label("성공")
+        public boolean success;
+    }
+
+    @Name("com.accountbook.Query")
+    @Label("항목 조회")
+    @Description("전체/날짜 범위/카테고리/과거 시점 조회와 내보내기")
+    @Category({"Account Book", "Query"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static class Query extends Event {
+        @Label("조회")
+        @Description("조회 종류와 조건 (예: dateRange:2026-01-01:2026-01-31)")
+        public String query;
+
+        @Label("결과 항목 수")
+        public long rows;
+
+        @Label("캐시 적중")
+        public boolean cacheHit;
+    }
+}
@@ -0,0 +1,252 @@
+package com.accountbook.util;
+
+import com.accountbook.model.LedgerItem;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 부하/규모 시험용 가계부 항목을 만드는 결정적 생성기입니다.
+ * 같은 설정(시드 포함)이면 항상 같은 항목을 같은 순서로 만들고, 만든 항목은 모두 검증 규칙을 통과합니다.
+ * 항목 객체 하나를 재사용하며 내보내기 도구(ItemExporter)로 바로 쓰므로 행 수와 관계없이 메모리 사용량이 일정합니다.
+ *
+ * 날짜는 시작일부터 days일 사이에서 균등하게, 카테고리는 비중에 비례해, 설명은 설명 목록에서 Zipf 분포
+ * (앞쪽 설명일수록 자주 나옴)로 고릅니다. 금액은 지출 1천~30만 원, 수입 10만~500만 원 범위의 로그 균등 분포(10원 단위)입니다.
+ */
+public class LedgerGenerator {
+
+    public static final String DEFAULT_CATEGORY_MIX = "Food=35,Transport=15,Living=20,Shopping=12,Hobby=10,Transfer=8";
+    public static final List<String> DEFAULT_DESCRIPTIONS = List.of(
+        "점심 식사", "카페 아메리카노", "편의점 간식", "마트 장보기", "지하철 교통카드 충전", "택시 귀가",
+        "월세 이체", "전기 요금 납부", "가스 요금", "넷플릭스 구독료", "온라인 쇼핑 의류", "헬스장 월 회비",
+        "친구 생일 선물", "영화 관람", "책 구입", "병원 진료비", "주말 등산 간식", "동생에게 송금",
+        "급여", "중고거래 판매 대금");
+    // 날짜 풀의 최대 크기 (약 100년)
+    public static final int MAX_DAYS = 36_600;
+
+    private static final int MIN_EXPENSE = 1_000;
+    private static final int MAX_EXPENSE = 300_000;
+    private static final int MIN_INCOME = 100_000;
+    private static final int MAX_INCOME = 5_000_000;
+
+    /**
+     * 생성 설정. 기본값은 시드 42, 2025-10-02부터 365일, 기본 카테고리 비중과 설명 목록입니다.
+     */
+    public static class Spec {
+        public long seed = 42;
+        public long rows;
+        public LocalDate startDate = LocalDate.of(2025, 10, 2);
+        public int days = 365;
+        // 카테고리 이름 → 비중 (커스텀 카테고리는 미리 등록되어 있어야 함)
+        public Map<String, Integer> categoryWeights = parseCategoryMix(DEFAULT_CATEGORY_MIX);
+        public List<String> descriptions = DEFAULT_DESCRIPTIONS;
+        // 설명 선택의 Zipf 지수 (0이면 균등)
+        public double descriptionSkew = 1.0;
+        // 설명 없이 만드는 항목의 비율 (%)
+        public int blankDescriptionPercent = 10;
+        // 수입 항목의 비율 (%)
+        public int incomePercent = 15;
+
+        public Spec(long rows) {
+            this.rows = rows;
+        }
+    }
+
+    private final Spec spec;
+    private final SplittableRandom random;
+    private final LocalDate[] dates;
+    private final String[] categories;
+    private final double[] categoryCumulative;
+    private final String[] descriptions;
+    private final double[] descriptionCumulative;
+    private final LedgerItem item = new LedgerItem();
+    private long generated;
+
+    /**
+     * 고정 카테고리만 쓰는 생성기를 만듭니다.
+     * @throws IllegalArgumentException 설정이 검증 규칙에 맞지 않는 항목을 만들게 되는 경우
+     */
+    public LedgerGenerator(Spec spec) {
+        this(spec, new CategoryManager());
+    }
+
+    /**
+     * @param categoryManager 만들 가계부의 카테고리 관리자 (비중에 쓴 카테고리가 모두 등록되어 있어야 함)
+     * @throws IllegalArgumentException 설정이 검증 규칙에 맞지 않는 항목을 만들게 되는 경우
+     */
+    public LedgerGenerator(Spec spec, CategoryManager categoryManager) {
+        if (spec.rows < 0 || spec.rows > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("행 수는 0 이상 " + Integer.MAX_VALUE + " 이하여야 합니다: " + spec.rows);
+        }
+        if (spec.days < 1 || spec.days > MAX_DAYS) {
+            throw new IllegalArgumentException("날짜 범위는 1일 이상 " + MAX_DAYS + "일 이하여야 합니다: " + spec.days);
+        }
+        if (!RecordValidator.isAfterMinDate((int) spec.startDate.toEpochDay())) {
+            throw new IllegalArgumentException("시작일은 2025-10-01 이후여야 합니다: " + spec.startDate);
+        }
+        checkPercent("설명 없는 항목 비율", spec.blankDescriptionPercent);
+        checkPercent("수입 비율", spec.incomePercent);
+        if (spec.descriptionSkew < 0) {
+            throw new IllegalArgumentException("설명 분포 지수는 0 이상이어야 합니다: " + spec.descriptionSkew);
+        }
+        this.spec = spec;
+        this.random = new SplittableRandom(spec.seed);
+
+        this.dates = new LocalDate[spec.days];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = spec.startDate.plusDays(i);
+        }
+
+        if (spec.categoryWeights.isEmpty()) {
+            throw new IllegalArgumentException("카테고리를 하나 이상 지정해주세요.");
+        }
+        this.categories = new String[spec.categoryWeights.size()];
+        double[] weights = new double[categories.length];
+        int index = 0;
+        for (Map.Entry<String, Integer> entry : spec.categoryWeights.entrySet()) {
+            if (!categoryManager.isValidCategory(entry.getKey())) {
+                throw new IllegalArgumentException("등록되지 않은 카테고리입니다: " + entry.getKey());
+            }
+            if (entry.getValue() <= 0) {
+                throw new IllegalArgumentException("카테고리 비중은 양수여야 합니다: " + entry.getKey());
+            }
+            categories[index] = entry.getKey();
+            weights[index++] = entry.getValue();
+        }
+        this.categoryCumulative = cumulative(weights);
+
+        if (spec.descriptions.isEmpty() && spec.blankDescriptionPercent < 100) {
+            throw new IllegalArgumentException("설명 목록이 비어 있습니다.");
+        }
+        this.descriptions = new String[spec.descriptions.size()];
+        weights = new double[descriptions.length];
+        for (int i = 0; i < descriptions.length; i++) {
+            descriptions[i] = checkDescription(spec.descriptions.get(i));
+            weights[i] = 1.0 / Math.pow(i + 1, spec.descriptionSkew);
+        }
+        this.descriptionCumulative = cumulative(weights);
+    }
+
+    /**
+     * "이름=비중,이름=비중" 형식의 카테고리 비중을 읽습니다 (순서 유지).
+     */
+    public static Map<String, Integer> parseCategoryMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String trimmed = part.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int equals = trimmed.lastIndexOf('=');
+            String name = equals >= 0 ? trimmed.substring(0, equals).trim() : trimmed;
+            int weight;
+            try {
+                weight = equals >= 0 ? Integer.parseInt(trimmed.substring(equals + 1).trim()) : 1;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("카테고리 비중은 정수여야 합니다: " + trimmed);
+            }
+            weights.merge(name, weight, Integer::sum);
+        }
+        return weights;
+    }
+
+    /**
+     * 설명 목록 파일의 줄들에서 빈 줄과 '#'으로 시작하는 줄을 뺀 설명 목록을 만듭니다.
+     */
+    public static List<String> parseDescriptions(List<String> lines) {
+        List<String> result = new ArrayList<>();
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                result.add(trimmed);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 다음 항목을 만듭니다. 반환하는 객체는 다음 호출에서 재사용되므로 보관하려면 복사해야 합니다.
+     */
+    public LedgerItem next() {
+        boolean income = random.nextInt(100) < spec.incomePercent;
+        int amount = income ? logUniform(MIN_INCOME, MAX_INCOME) : logUniform(MIN_EXPENSE, MAX_EXPENSE);
+        item.setId((int) ++generated);
+        item.setType(income ? "수입 (+)" : " 지출 (-)");
+        item.setDate(dates[random.nextInt(dates.length)]);
+        item.setAmount(income ? amount : -amount);
+        item.setCategory(categories[pick(categoryCumulative)]);
+        item.setDescription(random.nextInt(100) < spec.blankDescriptionPercent
+            ? null : descriptions[pick(descriptionCumulative)]);
+        return item;
+    }
+
+    /**
+     * 남은 항목을 모두 만들어 내보내기 도구에 씁니다.
+     * @return 쓴 항목 수
+     */
+    public long writeTo(ItemExporter exporter) throws IOException {
+        long start = generated;
+        while (generated < spec.rows) {
+            exporter.write(next());
+        }
+        return generated - start;
+    }
+
+    public long getGenerated() {
+        return generated;
+    }
+
+    private int logUniform(int min, int max) {
+        double value = min * Math.exp(random.nextDouble() * Math.log((double) max / min));
+        return Math.max(min, (int) value / 10 * 10);
+    }
+
+    private int pick(double[] cumulative) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+        // 정확히 일치하면 그 경계값을 가진 칸 다음을, 아니면 삽입 위치를 고름
+        index = index >= 0 ? index + 1 : -index - 1;
+        return Math.min(index, cumulative.length - 1);
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] result = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            result[i] = sum;
+        }
+        return result;
+    }
+
+    private static void checkPercent(String name, int percent) {
+        if (percent < 0 || percent > 100) {
+            throw new IllegalArgumentException(name + "은(는) 0~100 사이여야 합니다: " + percent);
+        }
+    }
+
+    /**
+     * 설명이 검증 규칙을 통과하고, CSV/JSON 파일에 그대로 써도 되는지(쉼표, 따옴표, 역슬래시 없음) 확인합니다.
+     */
+    private static String checkDescription(String description) {
+        ValidationUtil.ValidationResult result = ValidationUtil.validateDescription(description);
+        if (!result.isValid()) {
+            throw new IllegalArgumentException(result.getErrorMessage() + " (" + description + ")");
+        }
+        String trimmed = description.trim();
+        if (trimmed.isEmpty()) {
+            throw new IllegalArgumentException("빈 설명은 목록에 넣을 수 없습니다 (설명 없는 항목 비율로 지정하세요).");
+        }
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c == ',' || c == '"' || c == '\\' || c < ' ') {
+                throw new IllegalArgumentException("설명에는 쉼표, 따옴표, 역슬래시, 제어 문자를 사용할 수 없습니다: " + trimmed);
+            }
+        }
+        return trimmed;
+    }
+}
@@ -0,0 +1,302 @@
+package com.accountbook.util;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * 가계부 불러오기/저장, 조회, 변경 작업의 횟수와 소요 시간 분포, 읽은/거부한 행 수와 쓴 바이트 수를 모으는 지표입니다.
+ * 프로세스 전체에서 하나이며(파일 핸들러와 서비스가 함께 기록), 플랫폼 MBean 서버에
+ * com.accountbook:type=LedgerMetrics로 등록하면 jconsole 등에서 볼 수 있습니다.
+ *
+ * 기록은 잠금 없이 LongAdder와 원자 배열만 갱신하므로 작업당 수십 나노초 수준입니다.
+ * 소요 시간은 2의 거듭제곱 나노초 구간별 횟수로 모으므로 백분위수는 구간 상한(최대 2배 오차, 최댓값 이하)으로 보고합니다.
+ */
+public final class LedgerMetrics implements LedgerMetricsMXBean {
+
+    public static final String OBJECT_NAME = "com.accountbook:type=LedgerMetrics";
+
+    /**
+     * 기록하는 작업. 변경 작업의 시간에는 자동 저장 시간도 포함됩니다.
+     * ID 조회(QUERY_ID)는 시각을 두 번 읽는 비용이 조회 자체보다 커서 횟수만 셉니다.
+     */
+    public enum Operation {
+        LOAD("load"),
+        LOAD_SNAPSHOT("load.snapshot"),
+        SAVE("save"),
+        SAVE_SNAPSHOT("save.snapshot"),
+        QUERY_ALL("query.all"),
+        QUERY_DATE_RANGE("query.dateRange"),
+        QUERY_CATEGORY("query.category"),
+        QUERY_ID("query.id"),
+        QUERY_PAGE("query.page"),
+        QUERY_SORT("query.sort"),
+        QUERY_TOTALS("query.totals"),
+        EXPORT("export"),
+        ADD("mutation.add"),
+        ADD_BATCH("mutation.addBatch"),
+        DELETE("mutation.delete"),
+        UPDATE("mutation.update"),
+        UNDO("mutation.undo"),
+        REDO("mutation.redo"),
+        RECATEGORIZE("mutation.recategorize");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * 누적 값
+     */
+    public enum Counter {
+        // 불러오기에서 읽은 레코드 수 (거부된 레코드 포함)
+        ROWS_PARSED,
+        ROWS_REJECTED,
+        // 가계부 파일 저장으로 쓴 바이트 수
+        BYTES_WRITTEN
+    }
+
+    // 구간 i는 [2^(i-1), 2^i) 나노초 (구간 0은 0)
+    private static final int BUCKETS = 64;
+    private static final LedgerMetrics INSTANCE = new LedgerMetrics();
+
+    private final Map<Operation, Timer> timers = new EnumMap<>(Operation.class);
+    private final Map<Counter, LongAdder> counters = new EnumMap<>(Counter.class);
+    private ScheduledExecutorService dumper;
+
+    private LedgerMetrics() {
+        for (Operation operation : Operation.values()) {
+            timers.put(operation, new Timer());
+        }
+        for (Counter counter : Counter.values()) {
+            counters.put(counter, new LongAdder());
+        }
+    }
+
+    public static LedgerMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 작업 시작 시각입니다. 작업이 끝나면 record(operation, 이 값)를 호출합니다.
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    public static void record(Operation operation, long startNanos) {
+        INSTANCE.timers.get(operation).record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 시간을 재지 않고 횟수만 셉니다.
+     */
+    public static void count(Operation operation) {
+        INSTANCE.timers.get(operation).untimed.increment();
+    }
+
+    public static void add(Counter counter, long delta) {
+        INSTANCE.counters.get(counter).add(delta);
+    }
+
+    /**
+     * 플랫폼 MBean 서버에 등록합니다. 이미 등록되어 있으면 아무것도 하지 않습니다.
+     */
+    public static synchronized void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // 이미 등록됨
+        } catch (JMException e) {
+            System.err.println("지표 MBean 등록 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * intervalSeconds마다 요약을 out에 출력하는 데몬 스레드를 시작합니다 (이미 실행 중이면 바꾸지 않음).
+     */
+    public static synchronized void startPeriodicDump(long intervalSeconds, PrintStream out) {
+        if (INSTANCE.dumper != null) {
+            return;
+        }
+        INSTANCE.dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ledger-metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        INSTANCE.dumper.scheduleAtFixedRate(() -> out.println(INSTANCE.getSummary()),
+            intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    // ====== MXBean ======
+
+    @Override
+    public List<OperationStats> getOperations() {
+        List<OperationStats> result = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            result.add(timers.get(operation).snapshot(operation.label));
+        }
+        return result;
+    }
+
+    @Override
+    public long getRowsParsed() {
+        return counters.get(Counter.ROWS_PARSED).sum();
+    }
+
+    @Override
+    public long getRowsRejected() {
+        return counters.get(Counter.ROWS_REJECTED).sum();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return counters.get(Counter.BYTES_WRITTEN).sum();
+    }
+
+    /**
+     * 한 번이라도 실행된 작업과 누적 값을 한 줄로 요약합니다.
+     */
+    @Override
+    public String getSummary() {
+        StringBuilder sb = new StringBuilder("[지표]");
+        for (OperationStats stats : getOperations()) {
+            if (stats.getCount() > 0) {
+                sb.append(String.format(" %s n=%d 평균=%.3fms p50≤%.3fms p99≤%.3fms 최대=%.3fms;", stats.getName(),
+                    stats.getCount(), stats.getMeanMillis(), stats.getP50Millis(), stats.getP99Millis(), stats.getMaxMillis()));
+            }
+        }
+        return sb.append(String.format(" 읽은 행=%d 거부 행=%d 쓴 바이트=%d",
+            getRowsParsed(), getRowsRejected(), getBytesWritten())).toString();
+    }
+
+    @Override
+    public void reset() {
+        timers.values().forEach(Timer::reset);
+        counters.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * 작업 하나의 구간별 횟수(합이 잰 횟수), 합계, 최댓값과 재지 않은 횟수
+     */
+    private static class Timer {
+        private final LongAdder untimed = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        void record(long nanos) {
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            buckets.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(nanos, 0))));
+        }
+
+        void reset() {
+            untimed.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets.set(i, 0);
+            }
+        }
+
+        OperationStats snapshot(String name) {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+                total += counts[i];
+            }
+            long max = maxNanos.get();
+            return new OperationStats(name, total + untimed.sum(), total, totalNanos.sum(), max,
+                Math.min(max, percentile(counts, total, 0.50)), Math.min(max, percentile(counts, total, 0.99)));
+        }
+
+        // 누적 횟수가 fraction을 넘는 첫 구간의 상한
+        private static long percentile(long[] counts, long total, double fraction) {
+            if (total == 0) {
+                return 0;
+            }
+            long threshold = (long) Math.ceil(total * fraction);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= threshold) {
+                    return i == 0 ? 0 : 1L << Math.min(i, 62);
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * 작업 하나의 지표 스냅숏 (MXBean에서는 CompositeData로 보임)
+     */
+    public static class OperationStats {
+        private final String name;
+        private final long count;
+        private final long timedCount;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long p50Nanos;
+        private final long p99Nanos;
+
+        OperationStats(String name, long count, long timedCount, long totalNanos, long maxNanos, long p50Nanos,
+                       long p99Nanos) {
+            this.name = name;
+            this.count = count;
+            this.timedCount = timedCount;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getTotalMillis() {
+            return totalNanos / 1e6;
+        }
+
+        public double getMeanMillis() {
+            return timedCount == 0 ? 0 : totalNanos / 1e6 / timedCount;
+        }
+
+        public double getP50Millis() {
+            return p50Nanos / 1e6;
+        }
+
+        public double getP99Millis() {
+            return p99Nanos / 1e6;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos / 1e6;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.accountbook.util;
+
+import java.util.List;
+
+/**
+ * JMX로 노출하는 가계부 지표 (com.accountbook:type=LedgerMetrics)
+ */
+public interface LedgerMetricsMXBean {
+
+    /**
+     * 작업별 횟수와 평균/p50/p99/최대 소요 시간(ms)
+     */
+    List<LedgerMetrics.OperationStats> getOperations();
+
+    long getRowsParsed();
+
+    long getRowsRejected();
+
+    long getBytesWritten();
+
+    /**
+     * 실행된 작업과 누적 값의 한 줄 요약
+     */
+    String getSummary();
+
+    /**
+     * 모든 지표를 0으로 되돌립니다.
+     */
+    void reset();
+}
@@ -0,0 +1,295 @@
+package com.accountbook.util;
+
+import com.accountbook.model.LedgerItem;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * 가계부 파일을 파싱·검증한 결과를 담은 이진 스냅숏(<파일명>.snapshot)입니다.
+ * 스냅숏에는 원본 파일의 크기, 수정 시각, CRC32C가 기록되어 있어, 원본이 그대로일 때만 파싱 없이 항목을 만듭니다.
+ * CRC는 크기와 수정 시각이 같을 때만 계산하므로 원본이 바뀐 경우에는 파일을 한 번만 읽습니다.
+ *
+ * 형식(빅 엔디안): 머리말, 카테고리 이름 표, 항목(고정 길이 레코드), 설명 사전.
+ * 항목 레코드는 ID, 에포크 일, 금액, 유형(0 수입, 1 지출), 카테고리 번호, 설명 번호(-1은 없음)이며
+ * 같은 설명은 사전에 한 번만 저장되고 불러올 때도 같은 String 객체를 공유합니다.
+ * 스냅숏의 카테고리가 지금 등록부에 없으면(삭제/이름 변경) 스냅숏을 쓰지 않고 다시 파싱해 검증합니다.
+ */
+public class LedgerSnapshot {
+
+    private static final int MAGIC = 0x4C534E50; // "LSNP"
+    private static final int VERSION = 1;
+    // MAGIC, VERSION, 원본 크기, 원본 수정 시각, 원본 CRC, 항목 수, 항목 위치, 설명 사전 위치, 설명 수, 거부 레코드 수,
+    // 가장 이른/늦은 에포크 일
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4 + 4 + 8 + 8 + 4 + 4 + 4 + 4;
+    // 날짜 객체를 배열로 공유할 최대 기간 (그보다 넓으면 항목마다 만듦)
+    private static final int MAX_SHARED_DAYS = 1 << 20;
+    private static final int RECORD_SIZE = 4 + 4 + 4 + 1 + 2 + 4;
+    // 한 번에 매핑하는 항목 레코드 수 (2GB 매핑 한도와 무관하게 큰 스냅숏도 읽음)
+    private static final int RECORDS_PER_WINDOW = 1 << 20;
+    private static final int CHECKSUM_WINDOW = 64 << 20;
+    private static final String INCOME_TYPE = "수입 (+)";
+    private static final String EXPENSE_TYPE = " 지출 (-)";
+
+    private final String sourceFileName;
+    private final String fileName;
+
+    public LedgerSnapshot(String sourceFileName) {
+        this.sourceFileName = sourceFileName;
+        this.fileName = sourceFileName + ".snapshot";
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * 원본 파일의 (크기, 수정 시각, CRC32C)
+     */
+    public static class SourceKey {
+        public final long size;
+        public final long lastModified;
+        public final int checksum;
+
+        SourceKey(long size, long lastModified, int checksum) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.checksum = checksum;
+        }
+    }
+
+    /**
+     * 지금 원본 파일의 키를 계산합니다 (파일 전체를 읽어 CRC 계산). 파일이 없으면 null을 반환합니다.
+     */
+    public SourceKey currentSourceKey() throws IOException {
+        File source = new File(sourceFileName);
+        if (!source.isFile()) {
+            return null;
+        }
+        long size = source.length();
+        long lastModified = source.lastModified();
+        return new SourceKey(size, lastModified, checksum(source));
+    }
+
+    /**
+     * 스냅숏이 원본과 일치하면 항목을 만들어 반환합니다.
+     * 스냅숏이 없거나, 원본이 바뀌었거나, 손상되었거나, 카테고리가 categoryManager에 더 이상 없으면 null을 반환합니다.
+     */
+    public Loaded load(CategoryManager categoryManager) {
+        File snapshot = new File(fileName);
+        File source = new File(sourceFileName);
+        if (!snapshot.isFile() || !source.isFile()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(snapshot.toPath(), StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_SIZE) {
+                return null;
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                return null;
+            }
+            long sourceSize = header.getLong();
+            long sourceModified = header.getLong();
+            int sourceChecksum = header.getInt();
+            if (sourceSize != source.length() || sourceModified != source.lastModified()
+                    || sourceChecksum != checksum(source)) {
+                return null;
+            }
+            int count = header.getInt();
+            long itemsOffset = header.getLong();
+            long descriptionsOffset = header.getLong();
+            int descriptionCount = header.getInt();
+            int rejected = header.getInt();
+            int minEpochDay = header.getInt();
+            int maxEpochDay = header.getInt();
+            if (itemsOffset + (long) count * RECORD_SIZE != descriptionsOffset || descriptionsOffset > length
+                    || length - descriptionsOffset > Integer.MAX_VALUE) {
+                return null;
+            }
+
+            String[] categories = readStrings(channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, itemsOffset - HEADER_SIZE), -1);
+            for (String category : categories) {
+                if (!categoryManager.isValidCategory(category)) {
+                    return null;
+                }
+            }
+            String[] descriptions = readStrings(channel.map(FileChannel.MapMode.READ_ONLY, descriptionsOffset,
+                length - descriptionsOffset), descriptionCount);
+
+            List<LedgerItem> items = new ArrayList<>(count);
+            long days = (long) maxEpochDay - minEpochDay + 1;
+            LocalDate[] dates = new LocalDate[count > 0 && days <= MAX_SHARED_DAYS ? (int) days : 0];
+            for (int first = 0; first < count; first += RECORDS_PER_WINDOW) {
+                int records = Math.min(RECORDS_PER_WINDOW, count - first);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                    itemsOffset + (long) first * RECORD_SIZE, (long) records * RECORD_SIZE);
+                for (int i = 0; i < records; i++) {
+                    int id = window.getInt();
+                    int epochDay = window.getInt();
+                    int amount = window.getInt();
+                    boolean expense = window.get() != 0;
+                    int category = window.getShort();
+                    int description = window.getInt();
+                    LocalDate date;
+                    if (dates.length == 0) {
+                        date = LocalDate.ofEpochDay(epochDay);
+                    } else if ((date = dates[epochDay - minEpochDay]) == null) {
+                        date = dates[epochDay - minEpochDay] = LocalDate.ofEpochDay(epochDay);
+                    }
+                    items.add(new LedgerItem(id, expense ? EXPENSE_TYPE : INCOME_TYPE, date, amount,
+                        categories[category], description < 0 ? null : descriptions[description]));
+                }
+            }
+            return new Loaded(items, rejected);
+        } catch (IOException | RuntimeException e) {
+            // 손상된 스냅숏은 무시하고 원본을 다시 파싱
+            return null;
+        }
+    }
+
+    /**
+     * 스냅숏에서 불러온 결과
+     */
+    public static class Loaded {
+        public final List<LedgerItem> items;
+        // 스냅숏을 만들 때 원본에서 거부된 레코드 수
+        public final int rejected;
+
+        Loaded(List<LedgerItem> items, int rejected) {
+            this.items = items;
+            this.rejected = rejected;
+        }
+    }
+
+    /**
+     * items로 스냅숏을 씁니다 (임시 파일에 쓴 뒤 교체).
+     * @param key items를 얻은(또는 items를 저장한) 원본 파일의 키
+     * @param rejected 원본에서 거부된 레코드 수 (불러올 때 안내용)
+     */
+    public void save(List<LedgerItem> items, SourceKey key, int rejected) throws IOException {
+        Map<String, Integer> categoryCodes = new LinkedHashMap<>();
+        Map<String, Integer> descriptionCodes = new LinkedHashMap<>();
+        int minEpochDay = Integer.MAX_VALUE;
+        int maxEpochDay = Integer.MIN_VALUE;
+        for (LedgerItem item : items) {
+            int epochDay = (int) item.getDate().toEpochDay();
+            minEpochDay = Math.min(minEpochDay, epochDay);
+            maxEpochDay = Math.max(maxEpochDay, epochDay);
+            categoryCodes.putIfAbsent(item.getCategory(), categoryCodes.size());
+            if (item.getDescription() != null) {
+                descriptionCodes.putIfAbsent(item.getDescription(), descriptionCodes.size());
+            }
+        }
+        if (categoryCodes.size() > Short.MAX_VALUE) {
+            throw new IOException("카테고리가 너무 많습니다: " + categoryCodes.size());
+        }
+        byte[] categoryTable = encodeStrings(categoryCodes.keySet());
+        long itemsOffset = HEADER_SIZE + categoryTable.length;
+        long descriptionsOffset = itemsOffset + (long) items.size() * RECORD_SIZE;
+        int firstDay = minEpochDay;
+        int lastDay = maxEpochDay;
+
+        AtomicFileWriter.writeBinary(fileName, out -> {
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 4096);
+            buffer.putInt(MAGIC).putInt(VERSION)
+                .putLong(key.size).putLong(key.lastModified).putInt(key.checksum)
+                .putInt(items.size()).putLong(itemsOffset).putLong(descriptionsOffset)
+                .putInt(descriptionCodes.size()).putInt(rejected).putInt(firstDay).putInt(lastDay);
+            out.write(buffer.array(), 0, buffer.position());
+            out.write(categoryTable);
+
+            buffer.clear();
+            for (LedgerItem item : items) {
+                if (buffer.remaining() < RECORD_SIZE) {
+                    out.write(buffer.array(), 0, buffer.position());
+                    buffer.clear();
+                }
+                buffer.putInt(item.getId())
+                    .putInt((int) item.getDate().toEpochDay())
+                    .putInt(item.getAmount())
+                    .put((byte) (item.isExpense() ? 1 : 0))
+                    .putShort(categoryCodes.get(item.getCategory()).shortValue())
+                    .putInt(item.getDescription() == null ? -1 : descriptionCodes.get(item.getDescription()));
+            }
+            out.write(buffer.array(), 0, buffer.position());
+            writeStrings(out, descriptionCodes.keySet());
+        });
+    }
+
+    /**
+     * 스냅숏 파일을 지웁니다 (없으면 아무것도 하지 않음).
+     */
+    public void delete() {
+        new File(fileName).delete();
+    }
+
+    // ====== 문자열 표: 개수 다음에 (UTF-8 길이 short, 바이트) ======
+
+    private static byte[] encodeStrings(Iterable<String> strings) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeStrings(out, strings);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeStrings(DataOutputStream out, Iterable<String> strings) throws IOException {
+        int count = 0;
+        for (String ignored : strings) {
+            count++;
+        }
+        out.writeInt(count);
+        for (String string : strings) {
+            byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(utf8.length);
+            out.write(utf8);
+        }
+    }
+
+    private static String[] readStrings(ByteBuffer buffer, int expectedCount) {
+        int count = buffer.getInt();
+        if (expectedCount >= 0 && count != expectedCount) {
+            throw new IllegalStateException("문자열 수가 다릅니다");
+        }
+        String[] strings = new String[count];
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < count; i++) {
+            int length = Short.toUnsignedInt(buffer.getShort());
+            if (length > bytes.length) {
+                bytes = new byte[length];
+            }
+            buffer.get(bytes, 0, length);
+            strings[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    /**
+     * 파일 전체의 CRC32C (매핑한 구간 단위로 계산)
+     */
+    static int checksum(File file) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (FileChannel channel = FileChannel.open(Paths.get(file.getPath()), StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += CHECKSUM_WINDOW) {
+                crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(CHECKSUM_WINDOW, size - position)));
+            }
+        }
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,184 @@
+package com.accountbook.util;
+
+import com.accountbook.model.LedgerItem;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * 항목을 자바 힙 밖의 고정 길이 레코드로 저장하는 저장소입니다.
+ * 항목 하나가 객체 여러 개(LedgerItem, LocalDate, 문자열)로 힙에 흩어지지 않고 레코드 하나가 되므로
+ * 수백만 건을 올려도 힙 사용량과 GC가 훑을 객체 수가 거의 늘지 않습니다.
+ * 레코드는 추가만 할 수 있고, 위치(추가 순서)로 읽거나 재사용하는 뷰(ItemView)로 항목 객체 없이 읽습니다.
+ *
+ * 구현은 Foreign Function & Memory API(java.lang.foreign)를 쓰는 ForeignItemStore입니다. JDK 21 이상이 필요해
+ * src/foreign/java에 따로 두며, open이 리플렉션으로 불러옵니다 (이 인터페이스는 JDK 17로도 컴파일됨).
+ * 컴파일: JDK 21은 javac --release 21 --enable-preview -cp <본 클래스 경로> src/foreign/java/com/accountbook/util/*.java
+ *         (실행도 java --enable-preview), JDK 22 이상은 두 옵션 없이 같은 명령
+ *
+ * 읽기는 여러 스레드가 동시에 해도 되지만 추가는 한 스레드에서만 해야 합니다.
+ * close()는 메모리를 바로 해제하며, 닫은 뒤의 읽기와 추가는 IllegalStateException을 던집니다
+ * (해제된 메모리를 읽는 일은 없지만 읽는 도중에 닫으면 그 읽기가 실패하므로, 닫기는 호출하는 쪽에서 읽기와 겹치지 않게 함).
+ */
+public interface OffHeapItemStore extends Closeable {
+
+    String ENGINE_CLASS = "com.accountbook.util.ForeignItemStore";
+
+    /**
+     * 이 런타임에서 힙 밖 저장소를 쓸 수 있는지 (JDK 21 이상이고 ForeignItemStore가 컴파일되어 있음)
+     */
+    static boolean isAvailable() {
+        try {
+            Class.forName(ENGINE_CLASS);
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * 저장소를 엽니다.
+     * @param mappedFile null이면 프로세스 메모리(공유 아레나)에 담고, 아니면 이 파일(과 <파일>.strings)을 매핑해 담음.
+     *                   매핑한 파일은 저장소의 작업 공간이라 기존 내용은 지우고 시작하며 close()에서 삭제합니다.
+     *                   운영체제가 필요한 부분만 물리 메모리에 올리므로 물리 메모리보다 큰 가계부도 담을 수 있습니다.
+     * @throws UnsupportedOperationException 이 런타임에서 쓸 수 없을 때 (isAvailable 참고)
+     */
+    static OffHeapItemStore open(Path mappedFile) throws IOException {
+        Class<?> engine;
+        try {
+            engine = Class.forName(ENGINE_CLASS);
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new UnsupportedOperationException("힙 밖 저장소는 JDK 21 이상(JDK 21은 --enable-preview)에서 "
+                + "src/foreign/java를 함께 컴파일해야 쓸 수 있습니다.", e);
+        }
+        try {
+            return (OffHeapItemStore) engine.getDeclaredMethod("open", Path.class).invoke(null, mappedFile);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("힙 밖 저장소를 열지 못했습니다: " + cause, cause);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("힙 밖 저장소 구현을 불러오지 못했습니다: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 항목을 레코드로 추가하고 위치를 반환합니다. 항목 객체는 보관하지 않습니다.
+     */
+    int append(LedgerItem item);
+
+    /**
+     * 레코드 수 (위치 범위는 0 ~ size()-1)
+     */
+    int size();
+
+    /**
+     * 추가 순서가 ID 오름차순인지 (그렇다면 위치 순서가 곧 ID 순서)
+     */
+    boolean isIdAscending();
+
+    /**
+     * 파일을 매핑해 담는지
+     */
+    boolean isMapped();
+
+    /**
+     * 레코드와 문자열 영역이 차지한 힙 밖 메모리(또는 매핑한 파일) 바이트 수
+     */
+    long getReservedBytes();
+
+    /**
+     * ID의 레코드 위치, 없으면 -1. 추가 순서가 ID 오름차순이면 이진 탐색, 아니면 전체를 훑습니다.
+     */
+    int indexOfId(int id);
+
+    int idAt(int index);
+
+    int epochDayAt(int index);
+
+    /**
+     * 위치의 카테고리 번호 (categoryCodeOf와 비교용, 카테고리가 없으면 -1)
+     */
+    int categoryCodeAt(int index);
+
+    /**
+     * 카테고리 이름의 저장소 안 번호, 저장된 적 없는 이름이면 -1
+     */
+    int categoryCodeOf(String category);
+
+    /**
+     * 레코드를 항목 객체로 만들지 않고 읽는 뷰를 만듭니다. 뷰는 moveTo로 위치를 옮겨 가며 재사용합니다.
+     */
+    ItemView view();
+
+    /**
+     * 메모리를 해제하고 매핑 파일을 삭제합니다 (작업 공간이므로 디스크에 반영하지 않음). 여러 번 불러도 됩니다.
+     */
+    @Override
+    void close() throws IOException;
+
+    boolean isClosed();
+
+    /**
+     * 레코드 하나를 가리키는 재사용 가능한 읽기 뷰 (플라이웨이트).
+     * getDate, getCategory, getDescription 외에는 객체를 만들지 않습니다.
+     */
+    interface ItemView {
+        String INCOME_TYPE = "수입 (+)";
+        String EXPENSE_TYPE = " 지출 (-)";
+
+        ItemView moveTo(int index);
+
+        int getIndex();
+
+        int getId();
+
+        int getEpochDay();
+
+        int getAmount();
+
+        boolean isExpense();
+
+        int getCategoryCode();
+
+        String getCategory();
+
+        String getDescription();
+
+        default LocalDate getDate() {
+            return LocalDate.ofEpochDay(getEpochDay());
+        }
+
+        default String getType() {
+            return isExpense() ? EXPENSE_TYPE : INCOME_TYPE;
+        }
+
+        /**
+         * 레코드 내용을 target에 채웁니다 (내보내기 등에서 항목 객체 하나를 재사용할 때).
+         * target의 날짜가 이미 같은 날이면 날짜 객체를 새로 만들지 않습니다.
+         */
+        default LedgerItem copyTo(LedgerItem target) {
+            int epochDay = getEpochDay();
+            target.setId(getId());
+            target.setType(getType());
+            if (target.getDate() == null || target.getDate().toEpochDay() != epochDay) {
+                target.setDate(LocalDate.ofEpochDay(epochDay));
+            }
+            target.setAmount(getAmount());
+            target.setCategory(getCategory());
+            target.setDescription(getDescription());
+            return target;
+        }
+
+        default LedgerItem toItem() {
+            return copyTo(new LedgerItem());
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.accountbook.util;
+
+import com.accountbook.model.LedgerItem;
+import java.io.PrintStream;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * CSV/JSON 불러오기와 CLI 입력이 함께 쓰는 가계부 항목 검증 규칙과 일괄 검증기입니다.
+ * 규칙은 한 곳에만 정의되며, 일괄 검증은 레코드(CSV 한 줄, JSON 객체 하나)를 파싱·검증한 뒤
+ * 규칙별 위반 건수를 세고 경고 출력은 최대 개수까지만 남깁니다.
+ * 레코드가 많으면 파싱·검증을 병렬로 수행하고 결과는 원래 순서대로 합칩니다.
+ */
+public class RecordValidator {
+
+    public static final int MAX_AMOUNT = 100_000_000;
+    public static final int MAX_DESCRIPTION_LENGTH = 50;
+    // 2025-10-01의 에포크 일 (이 날짜 이후만 허용)
+    public static final int MIN_EPOCH_DAY = DateCodec.toEpochDay(2025, 10, 1);
+
+    // 출력할 경고의 최대 개수 (나머지는 건수만 집계)
+    private static final int MAX_PRINTED_WARNINGS = 20;
+    // 이 개수 이상이면 병렬로 검증
+    private static final int PARALLEL_THRESHOLD = 10_000;
+
+    /**
+     * 검증 규칙
+     */
+    public enum Rule {
+        FORMAT("형식"),
+        TYPE("유형"),
+        DATE("날짜 형식"),
+        DATE_RANGE("날짜 범위"),
+        AMOUNT("금액"),
+        CATEGORY("카테고리"),
+        DESCRIPTION_LENGTH("설명 길이"),
+        DESCRIPTION_SPECIAL_ONLY("설명 특수문자");
+
+        private final String label;
+
+        Rule(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * 규칙 위반 예외. 어떤 규칙을 위반했는지 함께 전달합니다.
+     */
+    public static class Violation extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+
+        private final Rule rule;
+
+        public Violation(Rule rule, String message) {
+            super(message);
+            this.rule = rule;
+        }
+
+        public Rule getRule() {
+            return rule;
+        }
+
+        // 잘못된 줄마다 생성되므로 스택 추적은 기록하지 않음 (메시지와 규칙만 사용)
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * 레코드 하나를 항목으로 파싱합니다. 빈 레코드는 null, 잘못된 레코드는 예외를 던집니다.
+     */
+    @FunctionalInterface
+    public interface RecordParser {
+        LedgerItem parse(String record);
+    }
+
+    // ====== 단일 규칙 ======
+
+    /**
+     * 항목 필드 전체를 검사합니다. 유형은 "수입"/"지출" 중 하나여야 하며, amount는 검사할 절댓값입니다.
+     * 카테고리는 항목이 속할 가계부의 카테고리 관리자(categories)에 등록되어 있어야 합니다.
+     * @throws Violation 규칙을 위반한 경우 (처음 위반한 규칙 하나)
+     */
+    public static void validate(String type, int epochDay, int amount, String category, String description,
+                                CategoryManager categories) {
+        if (!("수입".equals(type) || "지출".equals(type))) {
+            throw new Violation(Rule.TYPE, "유효하지 않은 유형: " + type);
+        }
+        if (!isAfterMinDate(epochDay)) {
+            throw new Violation(Rule.DATE_RANGE, "날짜는 2025-10-01 이후여야 합니다.");
+        }
+        if (!isValidAmount(amount)) {
+            throw new Violation(Rule.AMOUNT, "유효하지 않은 금액: " + amount);
+        }
+        if (!categories.isValidCategory(category)) {
+            throw new Violation(Rule.CATEGORY, "유효하지 않은 카테고리: " + category);
+        }
+        if (description != null) {
+            if (description.length() > MAX_DESCRIPTION_LENGTH) {
+                throw new Violation(Rule.DESCRIPTION_LENGTH, "설명이 50자를 초과합니다.");
+            }
+            if (isSpecialCharactersOnly(description)) {
+                throw new Violation(Rule.DESCRIPTION_SPECIAL_ONLY, "설명은 특수문자로만 구성될 수 없습니다.");
+            }
+        }
+    }
+
+    public static boolean isAfterMinDate(int epochDay) {
+        return epochDay > MIN_EPOCH_DAY;
+    }
+
+    public static boolean isValidAmount(int amount) {
+        return amount > 0 && amount <= MAX_AMOUNT;
+    }
+
+    /**
+     * 비어 있지 않고 영문, 숫자, 공백, 한글 음절이 하나도 없는지 확인합니다
+     * (정규식 ^[^a-zA-Z0-9\s가-힣]+$ 와 같은 판정을 문자 비교만으로 수행).
+     */
+    public static boolean isSpecialCharactersOnly(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || (c >= '가' && c <= '힣')
+                || c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 예외가 어떤 규칙 위반인지 분류합니다.
+     */
+    public static Rule ruleOf(Exception e) {
+        if (e instanceof Violation) {
+            return ((Violation) e).getRule();
+        }
+        if (e instanceof DateTimeParseException) {
+            return Rule.DATE;
+        }
+        return Rule.FORMAT;
+    }
+
+    // ====== 일괄 검증 ======
+
+    private final String positionFormat;
+    // JFR 이벤트에 기록할 출처 (파일명)
+    private final String sourceName;
+    private final int[] counts = new int[Rule.values().length];
+    private final List<String> warnings = new ArrayList<>();
+    private int accepted;
+    private int rejected;
+
+    /**
+     * @param positionFormat 경고에 표시할 레코드 위치 형식 (예: "%d번 줄")
+     */
+    public RecordValidator(String positionFormat) {
+        this(positionFormat, null);
+    }
+
+    /**
+     * @param sourceName 레코드를 읽은 파일명 (묶음 파싱 JFR 이벤트에 기록)
+     */
+    public RecordValidator(String positionFormat, String sourceName) {
+        this.positionFormat = positionFormat;
+        this.sourceName = sourceName;
+    }
+
+    /**
+     * 레코드 묶음을 파싱·검증하여 유효한 항목을 순서대로 out에 추가합니다.
+     * 여러 번 호출하면 결과가 누적됩니다 (큰 파일을 나누어 읽을 때).
+     * @param firstPosition 첫 레코드의 위치 번호 (경고 표시용)
+     */
+    public void validateBatch(List<String> records, int firstPosition, RecordParser parser, List<LedgerItem> out) {
+        LedgerEvents.ParseChunk event = new LedgerEvents.ParseChunk();
+        event.begin();
+        int acceptedBefore = accepted;
+        int rejectedBefore = rejected;
+        int size = records.size();
+        LedgerItem[] items = new LedgerItem[size];
+        RuntimeException[] errors = new RuntimeException[size];
+
+        IntStream indexes = IntStream.range(0, size);
+        if (size >= PARALLEL_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> {
+            try {
+                items[i] = parser.parse(records.get(i));
+            } catch (RuntimeException e) {
+                errors[i] = e;
+            }
+        });
+
+        for (int i = 0; i < size; i++) {
+            if (errors[i] != null) {
+                reject(firstPosition + i, errors[i]);
+            } else if (items[i] != null) {
+                out.add(items[i]);
+                accepted++;
+            }
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            long characters = 0;
+            for (String record : records) {
+                characters += record.length();
+            }
+            event.fileName = sourceName;
+            event.firstRecord = firstPosition;
+            event.records = size;
+            event.accepted = accepted - acceptedBefore;
+            event.rejected = rejected - rejectedBefore;
+            event.characters = characters;
+            event.commit();
+        }
+    }
+
+    private void reject(int position, RuntimeException e) {
+        rejected++;
+        counts[ruleOf(e).ordinal()]++;
+        if (warnings.size() < MAX_PRINTED_WARNINGS) {
+            warnings.add(String.format("경고: " + positionFormat + "의 유효하지 않은 항목을 건너뜁니다: %s", position, e.getMessage()));
+        }
+    }
+
+    public int getRejectedCount() {
+        return rejected;
+    }
+
+    public Report getReport() {
+        Map<Rule, Integer> byRule = new EnumMap<>(Rule.class);
+        for (Rule rule : Rule.values()) {
+            if (counts[rule.ordinal()] > 0) {
+                byRule.put(rule, counts[rule.ordinal()]);
+            }
+        }
+        return new Report(accepted, rejected, byRule, warnings);
+    }
+
+    /**
+     * 일괄 검증 결과
+     */
+    public static class Report {
+        public final int accepted;
+        public final int rejected;
+        // 위반이 있었던 규칙별 건수 (규칙 정의 순서)
+        public final Map<Rule, Integer> rejectedByRule;
+        // 출력할 경고 (최대 MAX_PRINTED_WARNINGS개)
+        public final List<String> warnings;
+
+        private Report(int accepted, int rejected, Map<Rule, Integer> rejectedByRule, List<String> warnings) {
+            this.accepted = accepted;
+            this.rejected = rejected;
+            this.rejectedByRule = Collections.unmodifiableMap(rejectedByRule);
+            this.warnings = Collections.unmodifiableList(new ArrayList<>(warnings));
+        }
+
+        /**
+         * 경고를 출력합니다. 생략된 경고가 있으면 규칙별 건수 요약을 함께 출력합니다.
+         */
+        public void print(PrintStream out) {
+            for (String warning : warnings) {
+                out.println(warning);
+            }
+            if (rejected > warnings.size()) {
+                StringBuilder summary = new StringBuilder();
+                for (Map.Entry<Rule, Integer> entry : rejectedByRule.entrySet()) {
+                    if (summary.length() > 0) summary.append(", ");
+                    summary.append(entry.getKey().getLabel()).append(' ').append(String.format("%,d", entry.getValue()));
+                }
+                out.printf("경고: 그 외 %,d건의 유효하지 않은 항목도 건너뛰었습니다. (총 %,d건 - %s)%n",
+                    rejected - warnings.size(), rejected, summary);
+            }
+        }
+    }
+}
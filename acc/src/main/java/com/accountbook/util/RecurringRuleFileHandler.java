@@ -0,0 +1,137 @@
+package com.accountbook.util;
+
+import com.accountbook.model.RecurringRule;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 반복 거래 규칙을 가계부 파일 옆의 CSV 파일(예: ledger.recurring.csv)에 저장하고 불러옵니다.
+ * 설명은 마지막 필드이므로 쉼표를 포함할 수 있습니다.
+ */
+public class RecurringRuleFileHandler {
+
+    private static final String DEFAULT_FILE_NAME = "ledger.recurring.csv";
+    private static final String CSV_HEADER = "id,type,category,amount,frequency,day,startDate,endDate,lastGenerated,description";
+    private static final int FIELD_COUNT = 10;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("uuuu-MM-dd").withResolverStyle(ResolverStyle.STRICT);
+
+    private final String fileName;
+
+    public RecurringRuleFileHandler() {
+        this.fileName = DEFAULT_FILE_NAME;
+    }
+
+    public RecurringRuleFileHandler(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * 반복 규칙을 불러옵니다. 파일이 없으면 빈 목록을 반환합니다.
+     */
+    public List<RecurringRule> loadFromFile() {
+        List<RecurringRule> rules = new ArrayList<>();
+        File file = new File(fileName);
+
+        if (!file.exists()) {
+            return rules;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+
+            if (line == null || !line.equals(CSV_HEADER)) {
+                System.out.println("경고: 유효하지 않은 반복 규칙 파일 헤더입니다. 반복 규칙 없이 시작합니다.");
+                return rules;
+            }
+
+            int lineNumber = 2;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    try {
+                        rules.add(parseLine(line));
+                    } catch (Exception e) {
+                        System.out.printf("경고: 반복 규칙 파일 %d번 줄을 건너뜁니다: %s%n", lineNumber, e.getMessage());
+                    }
+                }
+                lineNumber++;
+            }
+        } catch (IOException e) {
+            System.err.printf("파일 %s 읽기 오류: %s%n", fileName, e.getMessage());
+        }
+
+        return rules;
+    }
+
+    /**
+     * 반복 규칙을 파일에 저장합니다. 임시 파일에 쓴 뒤 교체하므로 실패해도 이전 파일이 그대로 남습니다.
+     */
+    public boolean saveToFile(List<RecurringRule> rules) {
+        try {
+            AtomicFileWriter.write(fileName, writer -> {
+                writer.println(CSV_HEADER);
+                for (RecurringRule rule : rules) {
+                    writer.println(formatLine(rule));
+                }
+            });
+            return true;
+        } catch (IOException e) {
+            System.err.printf("파일 %s 쓰기 오류: %s%n", fileName, e.getMessage());
+            return false;
+        }
+    }
+
+    private RecurringRule parseLine(String line) {
+        String[] parts = line.split(",", FIELD_COUNT);
+        if (parts.length != FIELD_COUNT) {
+            throw new IllegalArgumentException(FIELD_COUNT + "개의 필드가 필요하지만, " + parts.length + "개가 발견되었습니다.");
+        }
+
+        int id = Integer.parseInt(parts[0].trim());
+        String type = parts[1];
+        String category = parts[2].trim();
+        int amount = Integer.parseInt(parts[3].trim());
+        RecurringRule.Frequency frequency = RecurringRule.Frequency.valueOf(parts[4].trim());
+        int day = Integer.parseInt(parts[5].trim());
+        LocalDate startDate = LocalDate.parse(parts[6].trim(), DATE_FORMATTER);
+        LocalDate endDate = parseOptionalDate(parts[7]);
+        LocalDate lastGenerated = parseOptionalDate(parts[8]);
+        String description = parts[9].trim().isEmpty() ? null : parts[9].trim();
+
+        int maxDay = frequency == RecurringRule.Frequency.WEEKLY ? 7 : 31;
+        if (day < 1 || day > maxDay) {
+            throw new IllegalArgumentException("유효하지 않은 반복 일자: " + day);
+        }
+
+        return new RecurringRule(id, type, amount, category, description, frequency, day,
+            startDate, endDate, lastGenerated);
+    }
+
+    private LocalDate parseOptionalDate(String value) {
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : LocalDate.parse(trimmed, DATE_FORMATTER);
+    }
+
+    private String formatLine(RecurringRule rule) {
+        return String.format("%d,%s,%s,%d,%s,%d,%s,%s,%s,%s",
+            rule.getId(),
+            rule.getType(),
+            rule.getCategory(),
+            rule.getAmount(),
+            rule.getFrequency().name(),
+            rule.getDay(),
+            rule.getStartDate().format(DATE_FORMATTER),
+            rule.getEndDate() != null ? rule.getEndDate().format(DATE_FORMATTER) : "",
+            rule.getLastGeneratedDate() != null ? rule.getLastGeneratedDate().format(DATE_FORMATTER) : "",
+            rule.getDescription() != null ? rule.getDescription() : ""
+        );
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+}
@@ -0,0 +1,466 @@
+package com.accountbook.util;
+
+import com.accountbook.model.LedgerItem;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 로그 전송 방식 복제본이 들어 있는 디렉터리입니다.
+ *
+ * 디렉터리에는 기본 가계부의 기본 이름(<이름>)으로 다음 파일을 둡니다.
+ * - <이름>.csv: 복제본 가계부. 마지막으로 반영한 커밋 시점의 기본 가계부와 같은 내용이며 임시 파일 교체로만 저장
+ * - <이름>.categories.csv: 복제본의 카테고리 등록부. 전체 복사와 등록부가 담긴 커밋을 반영할 때 가계부보다 먼저 저장하며,
+ *   복제본 가계부는 기본 프로세스의 등록부가 아니라 이 파일로 검증해 불러옵니다
+ * - <이름>.csv.replog: 기본 쪽에서 보낸 변경 기록. 커밋마다 ChangeRecord 줄들 뒤에 커밋 표시
+ *   "번호,C,기본 파일 지문,커밋 시각(ms)"가 붙습니다
+ * - <이름>.csv.replica: 반영 상태 "반영한 커밋 번호,다음에 읽을 기록 위치,반영한 커밋 시각"
+ * - <이름>.csv.replica.lock: 기록을 보내거나 승격하는 프로세스가 잡는 잠금
+ * 커밋 표시까지 도착한 변경만 반영하므로, 보내는 도중 끊기더라도 복제본은 항상 기본 가계부의 어느 커밋 시점과 같습니다.
+ * 예산(<이름>.budget.csv)과 반복 거래 규칙(<이름>.recurring.csv) 파일은 복제하지 않으므로 승격한 뒤 다시 설정해야 합니다.
+ */
+public class ReplicaDirectory implements Closeable {
+
+    private static final String COMMIT = "C";
+    // 모두 반영한 뒤 기록이 이보다 크면 비움
+    private static final long LOG_COMPACT_BYTES = 4L << 20;
+
+    /**
+     * 복제 상태 (커밋/전송/반영한 커밋 번호와 지연)
+     */
+    public static class Status {
+        private final long committedSeq;
+        private final long shippedSeq;
+        private final long appliedSeq;
+        private final long lagMillis;
+        private final String error;
+
+        public Status(long committedSeq, long shippedSeq, long appliedSeq, long lagMillis, String error) {
+            this.committedSeq = committedSeq;
+            this.shippedSeq = shippedSeq;
+            this.appliedSeq = appliedSeq;
+            this.lagMillis = lagMillis;
+            this.error = error;
+        }
+
+        /** 기본 쪽에서 저장을 마친 마지막 커밋 번호 */
+        public long getCommittedSeq() { return committedSeq; }
+        /** 복제본 디렉터리의 기록에 도착한 마지막 커밋 번호 */
+        public long getShippedSeq() { return shippedSeq; }
+        /** 복제본 가계부에 반영된 마지막 커밋 번호 */
+        public long getAppliedSeq() { return appliedSeq; }
+        /** 아직 반영되지 않은 커밋 수 */
+        public long getLagCommits() { return committedSeq - appliedSeq; }
+        /** 반영되지 않은 가장 오래된 커밋이 저장된 뒤 지난 시간 (지연이 없으면 0) */
+        public long getLagMillis() { return lagMillis; }
+        /** 마지막 전송/반영 오류 (없으면 null) */
+        public String getError() { return error; }
+
+        public String describe() {
+            String text = String.format("커밋 %d, 전송 %d, 반영 %d (지연 %d건, %d ms)",
+                committedSeq, shippedSeq, appliedSeq, getLagCommits(), lagMillis);
+            return error != null ? text + " - 오류: " + error : text;
+        }
+    }
+
+    private final Path snapshotPath;
+    private final Path categoriesPath;
+    private final Path logPath;
+    private final Path statusPath;
+    private final Path lockPath;
+    private FileChannel lockChannel;
+    private FileLock lock;
+
+    // 복제본 가계부 (ID -> 항목, 파일 순서 유지). 처음 반영할 때 불러옴
+    private Map<Integer, LedgerItem> items;
+    // 반영한 커밋의 카테고리 등록부가 복제본 카테고리 파일과 다르면 다음 저장 때 씀 (없으면 null)
+    private CategoryRegistry pendingCategories;
+    private long appliedSeq;
+    private long logOffset;
+    private long appliedAtMillis;
+    // 기록의 마지막 커밋 표시 (없으면 shippedSeq = -1)
+    private long shippedSeq = -1;
+    private long shippedStamp;
+    private long shippedAtMillis;
+    // 반영되지 않은 가장 오래된 커밋의 시각
+    private long firstUnappliedMillis;
+
+    /**
+     * 기본 가계부 파일 dataFileName의 복제본 디렉터리를 엽니다 (없으면 만듭니다).
+     */
+    public ReplicaDirectory(String directory, String dataFileName) throws IOException {
+        Path dir = Paths.get(directory);
+        Files.createDirectories(dir);
+        String name = Paths.get(dataFileName).getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String baseName = dot > 0 ? name.substring(0, dot) : name;
+        this.snapshotPath = dir.resolve(baseName + ".csv");
+        this.categoriesPath = dir.resolve(baseName + ".categories.csv");
+        this.logPath = Paths.get(snapshotPath + ".replog");
+        this.statusPath = Paths.get(snapshotPath + ".replica");
+        this.lockPath = Paths.get(snapshotPath + ".replica.lock");
+        readStatus();
+        scanLog();
+    }
+
+    public String getSnapshotFileName() {
+        return snapshotPath.toString();
+    }
+
+    /**
+     * 복제본 디렉터리의 잠금을 잡습니다. 다른 프로세스가 이미 기록을 보내는 중이면 false를 반환합니다.
+     */
+    public synchronized boolean tryLock() throws IOException {
+        if (lock != null) {
+            return true;
+        }
+        lockChannel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        lock = lockChannel.tryLock();
+        if (lock == null) {
+            lockChannel.close();
+            lockChannel = null;
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (lock != null) {
+            lock.release();
+            lock = null;
+        }
+        if (lockChannel != null) {
+            lockChannel.close();
+            lockChannel = null;
+        }
+    }
+
+    /**
+     * 기록에 커밋 표시가 있으면 true (없으면 처음부터 복제본을 다시 만들어야 함)
+     */
+    public synchronized boolean hasCommitMarker() {
+        return shippedSeq >= 0;
+    }
+
+    public synchronized long getShippedSeq() {
+        return Math.max(shippedSeq, 0);
+    }
+
+    /**
+     * 마지막 커밋 직후 기본 가계부 파일의 지문 (이어서 보낼 수 있는지 확인하는 데 사용)
+     */
+    public synchronized long getShippedStamp() {
+        return shippedStamp;
+    }
+
+    /**
+     * 기본 가계부 전체(항목과 카테고리 등록부)로 복제본을 새로 만듭니다. items는 이 객체가 넘겨받습니다.
+     * 기록을 먼저 비우고 마지막에 커밋 표시를 쓰므로, 도중에 중단되면 다음 시작 때 다시 만듭니다.
+     */
+    public synchronized void seed(List<LedgerItem> seedItems, CategoryRegistry categories, long seq,
+                                  long primaryStamp) throws IOException {
+        try (FileChannel log = openLog()) {
+            log.truncate(0);
+        }
+        Map<Integer, LedgerItem> seeded = new LinkedHashMap<>(seedItems.size() * 2);
+        for (LedgerItem item : seedItems) {
+            seeded.put(item.getId(), item);
+        }
+        items = seeded;
+        pendingCategories = categories;
+        writeSnapshot();
+        long now = System.currentTimeMillis();
+        appliedSeq = seq;
+        appliedAtMillis = now;
+        logOffset = 0;
+        writeStatus();
+        StringBuilder marker = new StringBuilder(48);
+        appendCommitMarker(marker, seq, primaryStamp, now);
+        ship(marker, seq, primaryStamp, now, now);
+    }
+
+    /**
+     * 커밋 하나(기록 줄들과 커밋 표시)를 sb에 덧붙입니다. records는 번호 없는 ChangeRecord 줄입니다.
+     */
+    public static void appendCommit(StringBuilder sb, long seq, List<String> records, long primaryStamp, long commitMillis) {
+        for (String record : records) {
+            sb.append(seq).append(',').append(record).append('\n');
+        }
+        appendCommitMarker(sb, seq, primaryStamp, commitMillis);
+    }
+
+    private static void appendCommitMarker(StringBuilder sb, long seq, long primaryStamp, long commitMillis) {
+        sb.append(seq).append(',').append(COMMIT).append(',').append(primaryStamp).append(',')
+            .append(commitMillis).append('\n');
+    }
+
+    /**
+     * appendCommit으로 만든 커밋들을 기록 끝에 덧붙이고 디스크에 씁니다.
+     * 실패하면 덧붙이던 부분을 잘라 내므로 같은 내용을 다시 보내도 됩니다.
+     * @param firstCommitMillis 이 묶음에서 가장 먼저 저장된 커밋의 시각 (지연 계산용)
+     */
+    public synchronized void ship(CharSequence commits, long lastSeq, long primaryStamp,
+                                  long firstCommitMillis, long lastCommitMillis) throws IOException {
+        try (FileChannel log = openLog()) {
+            long start = log.size();
+            try {
+                ByteBuffer bytes = StandardCharsets.UTF_8.encode(commits.toString());
+                log.position(start);
+                while (bytes.hasRemaining()) {
+                    log.write(bytes);
+                }
+                log.force(false);
+            } catch (IOException e) {
+                log.truncate(start);
+                throw e;
+            }
+        }
+        if (shippedSeq <= appliedSeq) {
+            firstUnappliedMillis = firstCommitMillis;
+        }
+        shippedSeq = lastSeq;
+        shippedStamp = primaryStamp;
+        shippedAtMillis = lastCommitMillis;
+    }
+
+    /**
+     * 도착한 커밋 중 아직 반영하지 않은 것을 복제본 가계부에 반영하고 저장합니다.
+     * 커밋 표시가 없는 끝부분(보내는 중이던 커밋)은 남겨 둡니다.
+     * @return 반영한 커밋 수
+     */
+    public synchronized int apply() throws IOException {
+        if (shippedSeq <= appliedSeq) {
+            return 0;
+        }
+        if (items == null) {
+            items = new LinkedHashMap<>();
+            for (LedgerItem item : loadSnapshot()) {
+                items.put(item.getId(), item);
+            }
+        }
+        int applied = 0;
+        try (FileChannel log = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            if (logOffset > log.size()) {
+                logOffset = 0; // 비운 직후 중단된 경우: 이미 반영한 번호는 건너뜀
+            }
+            log.position(logOffset);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(
+                Channels.newInputStream(log), StandardCharsets.UTF_8), 1 << 16);
+            List<String[]> commit = new ArrayList<>();
+            CategoryRegistry commitCategories = null;
+            long consumed = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                consumed += line.getBytes(StandardCharsets.UTF_8).length + 1;
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String[] parts = ChangeRecord.split(line);
+                if (ChangeRecord.isCategory(parts)) {
+                    // 커밋에 담긴 카테고리 줄들이 곧 새 등록부 전체
+                    if (commitCategories == null) {
+                        commitCategories = CategoryRegistry.withFixedCategories(CategoryManager.getFixedCategories());
+                    }
+                    commitCategories = ChangeRecord.applyCategory(commitCategories, parts);
+                    continue;
+                }
+                if (!COMMIT.equals(parts[1])) {
+                    commit.add(parts);
+                    continue;
+                }
+                if (parts.length != 4) {
+                    break; // 쓰다 만 커밋 표시
+                }
+                long seq = Long.parseLong(parts[0]);
+                if (seq > appliedSeq) {
+                    for (String[] record : commit) {
+                        applyRecord(record, line);
+                    }
+                    if (commitCategories != null) {
+                        pendingCategories = commitCategories;
+                    }
+                    appliedSeq = seq;
+                    appliedAtMillis = Long.parseLong(parts[3]);
+                    applied++;
+                }
+                commit.clear();
+                commitCategories = null;
+                logOffset += consumed;
+                consumed = 0;
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("복제 기록을 읽을 수 없습니다: " + e.getMessage(), e);
+        }
+        if (applied > 0) {
+            writeSnapshot();
+            writeStatus();
+        }
+        return applied;
+    }
+
+    private void applyRecord(String[] parts, String commitLine) throws IOException {
+        if (ChangeRecord.isPut(parts)) {
+            LedgerItem item = ChangeRecord.parsePut(parts);
+            items.put(item.getId(), item);
+        } else if (ChangeRecord.isDelete(parts)) {
+            items.remove(Integer.parseInt(parts[2]));
+        } else {
+            throw new IOException("알 수 없는 복제 기록입니다 (커밋 " + commitLine + ")");
+        }
+    }
+
+    /**
+     * 모두 반영했고 기록이 커졌으면 기록을 비우고 마지막 커밋 표시만 남깁니다.
+     */
+    public synchronized void compactIfLarge() throws IOException {
+        if (shippedSeq != appliedSeq || !Files.exists(logPath) || Files.size(logPath) <= LOG_COMPACT_BYTES) {
+            return;
+        }
+        try (FileChannel log = openLog()) {
+            log.truncate(0);
+        }
+        logOffset = 0;
+        writeStatus();
+        StringBuilder marker = new StringBuilder(48);
+        appendCommitMarker(marker, shippedSeq, shippedStamp, shippedAtMillis);
+        ship(marker, shippedSeq, shippedStamp, shippedAtMillis, shippedAtMillis);
+    }
+
+    /**
+     * 현재 상태. committedSeq는 기본 쪽의 마지막 커밋 번호이며, 모르면(별도 프로세스) 음수를 주면 전송 번호를 씁니다.
+     */
+    public synchronized Status status(long committedSeq, long oldestUnshippedMillis, String error) {
+        long shipped = Math.max(shippedSeq, 0);
+        long committed = Math.max(committedSeq, shipped);
+        long oldest = 0;
+        if (shipped > appliedSeq) {
+            oldest = firstUnappliedMillis;
+        } else if (committed > shipped) {
+            oldest = oldestUnshippedMillis;
+        }
+        long lag = oldest > 0 ? Math.max(0, System.currentTimeMillis() - oldest) : 0;
+        return new Status(committed, shipped, appliedSeq, lag, error);
+    }
+
+    /**
+     * 복제본을 기본 가계부로 승격합니다. 도착한 커밋을 모두 반영한 뒤 복제 관련 파일을 지우고,
+     * 복제본 가계부와 카테고리 파일만 남깁니다. 기록을 보내는 프로세스가 실행 중이면 승격할 수 없으며,
+     * 복제본 가계부에 카테고리 파일로 검증되지 않는 행이 있으면 아무것도 지우지 않고 실패합니다.
+     * @return 승격된 가계부의 항목 수
+     */
+    public synchronized int promote() throws IOException {
+        if (!tryLock()) {
+            throw new IOException("기본 가계부 프로세스가 아직 이 디렉터리로 복제 중입니다. 먼저 종료하세요.");
+        }
+        try {
+            if (!Files.exists(snapshotPath) && shippedSeq < 0) {
+                throw new IOException("복제본이 없습니다: " + snapshotPath);
+            }
+            apply();
+            int count = items != null ? items.size() : loadSnapshot().size();
+            Files.deleteIfExists(logPath);
+            Files.deleteIfExists(statusPath);
+            return count;
+        } finally {
+            close();
+            Files.deleteIfExists(lockPath);
+        }
+    }
+
+    // ====== 파일 ======
+
+    private FileChannel openLog() throws IOException {
+        return FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * 복제본 가계부를 복제본의 카테고리 파일로 검증해 불러옵니다. 거부된 행이 있으면 항목을 잃지 않도록 실패합니다.
+     */
+    private List<LedgerItem> loadSnapshot() throws IOException {
+        CsvFileHandler handler = new CsvFileHandler(snapshotPath.toString(), new CategoryManager(categoriesPath.toString()));
+        List<LedgerItem> loaded = handler.loadFromFile();
+        if (handler.getLastRejectedCount() > 0) {
+            throw new IOException(String.format("복제본 %s의 %d개 행이 카테고리 파일 %s로 검증되지 않습니다.",
+                snapshotPath, handler.getLastRejectedCount(), categoriesPath));
+        }
+        return loaded;
+    }
+
+    // 등록부가 바뀌었으면 가계부보다 먼저 저장 (가계부의 항목이 새 카테고리를 쓸 수 있으므로)
+    private void writeSnapshot() throws IOException {
+        if (pendingCategories != null) {
+            if (!new CategoryFileHandler(categoriesPath.toString()).saveToFile(pendingCategories)) {
+                throw new IOException("복제본 카테고리 파일에 쓰지 못했습니다: " + categoriesPath);
+            }
+            pendingCategories = null;
+        }
+        AtomicFileWriter.write(snapshotPath.toString(), writer -> {
+            writer.println(CsvFileHandler.CSV_HEADER);
+            StringBuilder line = new StringBuilder(128);
+            for (LedgerItem item : items.values()) {
+                line.setLength(0);
+                writer.println(CsvFileHandler.appendCsvLine(line, item));
+            }
+        });
+    }
+
+    private void writeStatus() throws IOException {
+        String text = appliedSeq + "," + logOffset + "," + appliedAtMillis;
+        AtomicFileWriter.write(statusPath.toString(), writer -> writer.println(text));
+    }
+
+    private void readStatus() throws IOException {
+        File file = statusPath.toFile();
+        if (!file.exists()) {
+            return;
+        }
+        String[] parts = Files.readString(statusPath, StandardCharsets.UTF_8).trim().split(",");
+        try {
+            appliedSeq = Long.parseLong(parts[0]);
+            logOffset = Long.parseLong(parts[1]);
+            appliedAtMillis = Long.parseLong(parts[2]);
+        } catch (RuntimeException e) {
+            throw new IOException("복제 상태 파일이 손상되었습니다: " + statusPath, e);
+        }
+    }
+
+    // 기록 전체를 훑어 마지막 커밋 표시와 반영되지 않은 가장 오래된 커밋 시각을 찾음
+    private void scanLog() throws IOException {
+        if (!Files.exists(logPath)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(logPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = ChangeRecord.split(line);
+                if (parts.length == 4 && COMMIT.equals(parts[1])) {
+                    long seq = Long.parseLong(parts[0]);
+                    shippedSeq = seq;
+                    shippedStamp = Long.parseLong(parts[2]);
+                    shippedAtMillis = Long.parseLong(parts[3]);
+                    if (seq > appliedSeq && firstUnappliedMillis == 0) {
+                        firstUnappliedMillis = shippedAtMillis;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("복제 기록을 읽을 수 없습니다: " + logPath, e);
+        }
+    }
+}
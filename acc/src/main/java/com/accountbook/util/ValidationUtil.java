@@ -1,8 +1,6 @@
 package com.accountbook.util;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.ResolverStyle;
 import java.time.format.DateTimeParseException;
 
 /**
@@ -10,21 +8,15 @@ import java.time.format.DateTimeParseException;
  */
 public class ValidationUtil {
     
-    // 최소 날짜 기준 (2025-10-01)
-    private static final LocalDate MIN_DATE = LocalDate.of(2025, 10, 1);
-    // 최대 금액 (100,000,000)
-    private static final int MAX_AMOUNT = 100_000_000;
-    // 최대 설명 길이 (50자)
-    private static final int MAX_DESCRIPTION_LENGTH = 50;
-    // 날짜 형식 지정
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("uuuu-MM-dd").withResolverStyle(ResolverStyle.STRICT);
+    // 날짜/금액/설명 규칙(최소 날짜 2025-10-01, 최대 1억 원, 최대 50자 등)은
+    // 파일 불러오기와 같은 RecordValidator의 규칙을 사용하고, 메시지만 입력 화면에 맞게 표시합니다.
     
     /**
      * 요구사항에 따라 날짜 입력을 검증합니다:
      * - 형식: YYYY-MM-DD
      * - 범위: 2025-10-01 이후여야 함
-     * * NOTE: Java의 LocalDate.parse()는 "4월 31일"과 같은 달력에 존재하지 않는 날짜를 입력하면 
-     * DateTimeParseException을 자동으로 발생시켜 (날짜 존재) 유효성 검사를 수행합니다.
+     * * NOTE: DateCodec은 "4월 31일"과 같은 달력에 존재하지 않는 날짜를 입력하면
+     * DateTimeParseException을 발생시켜 (날짜 존재) 유효성 검사를 수행합니다.
      */
     public static ValidationResult validateDate(String dateStr) {
         if (dateStr == null || dateStr.trim().isEmpty()) {
@@ -33,14 +25,14 @@ public class ValidationUtil {
         
         try {
             // 1. 형식 및 달력 유효성 검사 (29,30/31일 자동 검증)
-            LocalDate date = LocalDate.parse(dateStr.trim(), DATE_FORMATTER);
+            int epochDay = DateCodec.parseEpochDay(dateStr.trim());
             
             // 2. 범위 검사
-            if (date.isBefore(MIN_DATE) || date.isEqual(MIN_DATE)) {
+            if (!RecordValidator.isAfterMinDate(epochDay)) {
                 return new ValidationResult(false, "날짜는 2025-10-01 이후여야 합니다.");
             }
             
-            return new ValidationResult(true, null, date);
+            return new ValidationResult(true, null, LocalDate.ofEpochDay(epochDay));
         } catch (DateTimeParseException e) {
             // [수정된 부분]: 오류 메시지를 더 명확하게 표시
             return new ValidationResult(false, "날짜 입력 오류: YYYY-MM-DD 형식이 아니거나 달력에 존재하지 않는 날짜입니다. ");
@@ -72,7 +64,7 @@ public class ValidationUtil {
                 return new ValidationResult(false, "금액은 양수여야 합니다.");
             }
             
-            if (amount > MAX_AMOUNT) {
+            if (!RecordValidator.isValidAmount(amount)) {
                 return new ValidationResult(false, "금액은 100,000,000을 초과할 수 없습니다.");
             }
             
@@ -94,12 +86,12 @@ public class ValidationUtil {
         
         String trimmed = description.trim();
         
-        if (trimmed.length() > MAX_DESCRIPTION_LENGTH) {
+        if (trimmed.length() > RecordValidator.MAX_DESCRIPTION_LENGTH) {
             return new ValidationResult(false, "설명은 50자를 초과할 수 없습니다.");
         }
         
         // 설명이 특수문자로만 구성되었는지 확인 (한글, 영문, 숫자, 공백 허용)
-        if (!trimmed.isEmpty() && trimmed.matches("^[^a-zA-Z0-9\\s가-힣]+$")) {
+        if (RecordValidator.isSpecialCharactersOnly(trimmed)) {
             return new ValidationResult(false, "설명은 특수문자로만 구성될 수 없습니다.");
         }
         
@@ -165,4 +157,4 @@ public class ValidationUtil {
             return (T) value;
         }
     }
-}
\ No newline at end of file
+}
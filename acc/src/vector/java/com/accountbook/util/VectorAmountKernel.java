@@ -0,0 +1,83 @@
+package com.accountbook.util;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * AmountColumns 합계의 SIMD 구현입니다 (jdk.incubator.vector, 이 CPU에서 가장 넓은 int 벡터 사용).
+ * 날짜/카테고리 조건을 레인별 비교 마스크로 만들고, 금액 절댓값을 마스크가 켜진 레인에만 int 누계로 더합니다.
+ * 레인 누계가 int를 넘지 않도록 금액 절댓값의 최댓값으로 정한 반복 수마다 누계를 long 합계로 옮기므로
+ * 결과는 스칼라 구현과 정확히 같습니다. 벡터 폭으로 나누어떨어지지 않는 끝부분은 스칼라 구현으로 처리합니다.
+ *
+ * 이 클래스는 모듈 옵션이 필요해 src/vector/java에 따로 두며, AmountColumns가 모듈이 있을 때만 리플렉션으로 불러옵니다.
+ * 컴파일: javac --add-modules jdk.incubator.vector -cp <본 클래스 경로> src/vector/java/com/accountbook/util/*.java
+ */
+final class VectorAmountKernel implements AmountColumns.AmountKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public void sum(AmountColumns columns, int fromDay, int toDay, int categoryCode, long[] result) {
+        if (columns.maxAbsAmount > Integer.MAX_VALUE) {
+            // Integer.MIN_VALUE의 절댓값은 int 레인에 담을 수 없음
+            AmountColumns.ScalarKernel.sumRange(columns, 0, columns.size, fromDay, toDay, categoryCode, result);
+            return;
+        }
+        int[] amounts = columns.amounts;
+        int[] epochDays = columns.epochDays;
+        int[] categories = columns.categories;
+        int[] expense = columns.expense;
+        boolean anyCategory = categoryCode == AmountColumns.ANY_CATEGORY;
+        int lanes = SPECIES.length();
+        int bound = SPECIES.loopBound(columns.size);
+        // 레인 하나에 이만큼 더해도 int를 넘지 않음
+        long iterationsPerBlock = columns.maxAbsAmount == 0 ? Integer.MAX_VALUE : Integer.MAX_VALUE / columns.maxAbsAmount;
+        int[] laneValues = new int[lanes];
+
+        long count = 0;
+        long income = 0;
+        long spent = 0;
+        for (int blockStart = 0; blockStart < bound; ) {
+            int blockEnd = (int) Math.min(bound, blockStart + iterationsPerBlock * lanes);
+            IntVector incomeSum = IntVector.zero(SPECIES);
+            IntVector expenseSum = IntVector.zero(SPECIES);
+            for (int i = blockStart; i < blockEnd; i += lanes) {
+                IntVector days = IntVector.fromArray(SPECIES, epochDays, i);
+                VectorMask<Integer> match = days.compare(VectorOperators.GE, fromDay)
+                    .and(days.compare(VectorOperators.LE, toDay));
+                if (!anyCategory) {
+                    match = match.and(IntVector.fromArray(SPECIES, categories, i).compare(VectorOperators.EQ, categoryCode));
+                }
+                IntVector absolute = IntVector.fromArray(SPECIES, amounts, i).lanewise(VectorOperators.ABS);
+                VectorMask<Integer> isExpense = IntVector.fromArray(SPECIES, expense, i).compare(VectorOperators.NE, 0);
+                expenseSum = expenseSum.add(absolute, match.and(isExpense));
+                incomeSum = incomeSum.add(absolute, match.andNot(isExpense));
+                count += match.trueCount();
+            }
+            income += widenedSum(incomeSum, laneValues);
+            spent += widenedSum(expenseSum, laneValues);
+            blockStart = blockEnd;
+        }
+        result[0] += count;
+        result[1] += income;
+        result[2] += spent;
+        AmountColumns.ScalarKernel.sumRange(columns, bound, columns.size, fromDay, toDay, categoryCode, result);
+    }
+
+    // 레인 값을 long으로 더함 (레인 합을 int로 줄이면 넘칠 수 있음)
+    private static long widenedSum(IntVector vector, int[] laneValues) {
+        vector.intoArray(laneValues, 0);
+        long sum = 0;
+        for (int value : laneValues) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Override
+    public String getName() {
+        return "vector(" + SPECIES.vectorBitSize() + "비트, int " + SPECIES.length() + "개)";
+    }
+}